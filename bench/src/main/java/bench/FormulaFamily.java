@@ -0,0 +1,96 @@
+package bench;
+
+import testing.generator.GeneratedProblem;
+import testing.generator.ProblemGenerator;
+
+/**
+ * Formula families the benchmarks are parameterised over.
+ *
+ * <p>
+ * Every family produces input of a chosen size in the syntax of the
+ * propositional scanner, and an analogous sentence in the syntax of the
+ * predicate scanner, so the same parameters drive every stage of both
+ * engines. The formulas come from the {@link ProblemGenerator}; random
+ * families are seeded with the size so that all runs measure the same
+ * formulas.</p>
+ *
+ * @author Mark Schlichtmann
+ * @version 2.0
+ * @since 2026
+ */
+public enum FormulaFamily {
+
+    /**
+     * A long implication chain, a theorem.
+     */
+    IMPLICATION_CHAIN {
+        @Override
+        public GeneratedProblem generate(int size) {
+            return ProblemGenerator.implicationChain(size);
+        }
+    },
+    /**
+     * A nested equivalence ladder compared with its reverse, a theorem.
+     */
+    IFF_LADDER {
+        @Override
+        public GeneratedProblem generate(int size) {
+            return ProblemGenerator.iffLadder(size);
+        }
+    },
+    /**
+     * The negation of a random 3-CNF over size atoms with 4.26 clauses per
+     * atom, which is valid exactly when the clause set is unsatisfiable.
+     */
+    RANDOM_3CNF {
+        @Override
+        public GeneratedProblem generate(int size) {
+            return ProblemGenerator.randomKCnf(3, size, 4.26, size);
+        }
+    };
+
+    /**
+     * Returns the member of the family of the given size.
+     *
+     * @param size the number of atoms
+     * @return the generated problem
+     */
+    public abstract GeneratedProblem generate(int size);
+
+    /**
+     * Returns a member of the family in propositional syntax.
+     *
+     * @param size the number of atoms
+     * @return the formula, terminated by a full stop
+     */
+    public String propositional(int size) {
+        return generate(size).getText();
+    }
+
+    /**
+     * Returns a member of the family in predicate syntax. Every atom Ai
+     * becomes the predicate Pi applied to the constant a, and the first one
+     * is stated for all x.
+     *
+     * @param size the number of atoms, at most 99
+     * @return the sentence, terminated by a full stop
+     */
+    public String predicate(int size) {
+        String formula = propositional(size);
+        StringBuilder sentence = new StringBuilder();
+        for (int i = 0; i < formula.length(); i++) {
+            char c = formula.charAt(i);
+            if (c == 'A') {
+                int end = i + 1;
+                while (end < formula.length() && Character.isDigit(formula.charAt(end))) {
+                    ++end;
+                }
+                sentence.append('P').append(formula, i + 1, end).append("(a)");
+                i = end - 1;
+            } else {
+                sentence.append(c);
+            }
+        }
+        return "(Ax P1(x)) => (" + sentence.substring(0, sentence.length() - 1) + ").";
+    }
+}
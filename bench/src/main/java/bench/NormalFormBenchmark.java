@@ -0,0 +1,74 @@
+package bench;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import optimized.OptimizedCNFConverter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import predicate.parser.FreeTermsTable;
+
+/**
+ * Measures conversion to conjunctive normal form with both normal form
+ * algorithms and the optimized converter. The formulas are parsed once in the
+ * setup. The sizes are kept small because the clause count of some families
+ * grows exponentially.
+ *
+ * @author Mark Schlichtmann
+ * @version 2.0
+ * @since 2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class NormalFormBenchmark {
+
+    @Param({"IMPLICATION_CHAIN", "IFF_LADDER", "RANDOM_3CNF"})
+    public FormulaFamily family;
+
+    @Param({"4", "8", "12"})
+    public int size;
+
+    private propositional.common.Formula propositionalFormula;
+    private predicate.common.WFExpression predicateFormula;
+    private String optimizedInput;
+
+    @Setup
+    public void setUp() {
+        String text = family.propositional(size);
+        propositionalFormula = new propositional.parser.Parser(new propositional.scanner.Scanner(text).getTokens()).parse();
+        ArrayList<?> tokens = new predicate.scanner.Scanner(family.predicate(size)).getScannedTokens();
+        predicateFormula = new predicate.parser.Parser(tokens).accept();
+        optimizedInput = text.substring(0, text.length() - 1);
+    }
+
+    @Benchmark
+    public propositional.resolution.NFList propositionalNormalForm() {
+        return new propositional.resolution.NormalFormAlgorithm(propositionalFormula).getNormalForm();
+    }
+
+    @Benchmark
+    public predicate.resolution.NFList predicateNormalForm() {
+        FreeTermsTable terms = new FreeTermsTable();
+        terms.initialisePars();
+        terms.initialiseVars();
+        return new predicate.resolution.NormalFormAlgorithm(predicateFormula, terms).getNormalForm();
+    }
+
+    @Benchmark
+    public List<List<String>> optimizedConverter() {
+        return OptimizedCNFConverter.convertToCNF(optimizedInput);
+    }
+}
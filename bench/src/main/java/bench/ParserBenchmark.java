@@ -0,0 +1,58 @@
+package bench;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures parsing of scanned tokens with the propositional and predicate
+ * parsers. Scanning is done once in the setup; each invocation parses a
+ * fresh copy of the token list.
+ *
+ * @author Mark Schlichtmann
+ * @version 2.0
+ * @since 2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class ParserBenchmark {
+
+    @Param({"IMPLICATION_CHAIN", "IFF_LADDER", "RANDOM_3CNF"})
+    public FormulaFamily family;
+
+    @Param({"8", "32", "96"})
+    public int size;
+
+    private ArrayList<propositional.scanner.Token> propositionalTokens;
+    private ArrayList<?> predicateTokens;
+
+    @Setup
+    public void setUp() {
+        propositionalTokens = new propositional.scanner.Scanner(family.propositional(size)).getTokens();
+        predicateTokens = new predicate.scanner.Scanner(family.predicate(size)).getScannedTokens();
+    }
+
+    @Benchmark
+    public propositional.common.Formula propositionalParser() {
+        return new propositional.parser.Parser(new ArrayList<>(propositionalTokens)).parse();
+    }
+
+    @Benchmark
+    public predicate.common.WFExpression predicateParser() {
+        return new predicate.parser.Parser(new ArrayList<>(predicateTokens)).accept();
+    }
+}
@@ -0,0 +1,63 @@
+package bench;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import propositional.common.Formula;
+import propositional.parser.Parser;
+import propositional.resolution.ResolutionMethod;
+import propositional.scanner.Scanner;
+import propositional.sequent.SequentMethod;
+
+/**
+ * Measures complete proof searches with the resolution and sequent methods.
+ * The sizes are smaller than for the other stages because both searches are
+ * exponential in the worst case; the sequent method does not finish the
+ * equivalence ladders beyond three atoms, so that family is left out.
+ *
+ * @author Mark Schlichtmann
+ * @version 2.0
+ * @since 2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+public class ProverBenchmark {
+
+    @Param({"IMPLICATION_CHAIN", "RANDOM_3CNF"})
+    public FormulaFamily family;
+
+    @Param({"3", "5", "7"})
+    public int size;
+
+    private Formula formula;
+
+    @Setup
+    public void setUp() {
+        formula = new Parser(new Scanner(family.propositional(size)).getTokens()).parse();
+    }
+
+    @Benchmark
+    public boolean resolution() {
+        return new ResolutionMethod(formula).resolve();
+    }
+
+    @Benchmark
+    public SequentMethod sequent() {
+        SequentMethod sequent = new SequentMethod(formula);
+        sequent.searchSequent();
+        return sequent;
+    }
+}
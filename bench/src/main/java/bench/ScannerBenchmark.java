@@ -0,0 +1,56 @@
+package bench;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures tokenising with the propositional and predicate scanners.
+ *
+ * @author Mark Schlichtmann
+ * @version 2.0
+ * @since 2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class ScannerBenchmark {
+
+    @Param({"IMPLICATION_CHAIN", "IFF_LADDER", "RANDOM_3CNF"})
+    public FormulaFamily family;
+
+    @Param({"8", "32", "96"})
+    public int size;
+
+    private String propositional;
+    private String predicate;
+
+    @Setup
+    public void setUp() {
+        propositional = family.propositional(size);
+        predicate = family.predicate(size);
+    }
+
+    @Benchmark
+    public ArrayList<propositional.scanner.Token> propositionalScanner() {
+        return new propositional.scanner.Scanner(propositional).getTokens();
+    }
+
+    @Benchmark
+    public ArrayList<?> predicateScanner() {
+        return new predicate.scanner.Scanner(predicate).getScannedTokens();
+    }
+}
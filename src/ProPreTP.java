@@ -1,4 +1,6 @@
 
+import common.EngineEvents;
+import inputoutput.ConsoleEngineListener;
 import inputoutput.InputReader;
 import inputoutput.OutputWriter;
 import inputoutput.Prompt;
@@ -6,8 +8,11 @@ import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.util.ArrayList;
+import java.util.Arrays;
 import predicate.parser.FreeTermsTable;
 import propositional.scanner.Token;
+import server.ProverDaemon;
+import server.ProverServer;
 
 /**
  * Main class for the Theorem Prover supporting both propositional and predicate
@@ -21,8 +26,8 @@ import propositional.scanner.Token;
  * <p>
  * Features:
  * <ul>
- * <li>Propositional logic theorem proving with resolution and sequent
- * methods</li>
+ * <li>Propositional logic theorem proving with a portfolio of resolution,
+ * BDD and truth table engines, and proofs by the sequent method</li>
  * <li>Predicate logic theorem proving with CNF conversion</li>
  * <li>Interactive user interface with input validation</li>
  * <li>Comprehensive error handling and user feedback</li>
@@ -35,7 +40,10 @@ import propositional.scanner.Token;
 public class ProPreTP {
 
     private propositional.sequent.SequentMethod sequent;
-    private propositional.resolution.ResolutionMethod resolutionPro;
+    /**
+     * Portfolio of propositional engines, raced on every formula
+     */
+    private propositional.portfolio.PortfolioProver portfolio;
     private propositional.scanner.Scanner scanPro;
     private propositional.parser.Parser parserPro;
     private String input;
@@ -121,6 +129,32 @@ public class ProPreTP {
         }
     }
 
+    /**
+     * Reads the engine selection table, starting an empty one if it cannot
+     * be read.
+     *
+     * @return the selector of the portfolio
+     */
+    private propositional.portfolio.EngineSelector loadEngineTable() {
+        try {
+            return propositional.portfolio.EngineSelector.load(propositional.portfolio.EngineSelector.defaultTable());
+        } catch (IOException e) {
+            OutputWriter.displayWarning("Ignoring the engine table: " + e.getMessage());
+            return new propositional.portfolio.EngineSelector();
+        }
+    }
+
+    /**
+     * Saves the engine selection table for the next session.
+     */
+    private void saveEngineTable() {
+        try {
+            portfolio.getSelector().save(propositional.portfolio.EngineSelector.defaultTable());
+        } catch (IOException e) {
+            OutputWriter.displayWarning("Could not save the engine table: " + e.getMessage());
+        }
+    }
+
     /**
      * Handles predicate logic theorem proving.
      *
@@ -181,15 +215,28 @@ public class ProPreTP {
                 OutputWriter.displaySectionHeader("PROPOSITIONAL LOGIC ANALYSIS");
                 OutputWriter.displayMessage("📝 Formula: " + formula);
 
-                resolutionPro = new propositional.resolution.ResolutionMethod(formula);
-                boolean isTheorem = resolutionPro.resolve();
-
-                prompt.displayTheoremResult(isTheorem, formula.toString());
-
-                if (isTheorem) {
-                    OutputWriter.displaySuccess("The formula is a valid theorem!");
+                if (portfolio == null) {
+                    portfolio = new propositional.portfolio.PortfolioProver();
+                    portfolio.setSelector(loadEngineTable());
+                }
+                propositional.portfolio.PortfolioProver.Result result = portfolio.prove(formula);
+                saveEngineTable();
+                if (!result.isDecided()) {
+                    OutputWriter.displayWarning("No engine reached a verdict within its limits.");
                 } else {
-                    OutputWriter.displayWarning("The formula is not a theorem.");
+                    boolean isTheorem = result.isTheorem();
+                    prompt.displayTheoremResult(isTheorem, formula.toString());
+                    OutputWriter.displayInfo("Decided by the " + result.getEngine().getLabel() + " engine in "
+                            + String.format("%.3f", result.getNanos() / 1e6) + " ms");
+
+                    if (isTheorem) {
+                        OutputWriter.displaySuccess("The formula is a valid theorem!");
+                    } else {
+                        OutputWriter.displayWarning("The formula is not a theorem.");
+                        if (result.getCountermodel() != null) {
+                            OutputWriter.displayMessage("Falsified by " + result.getCountermodel());
+                        }
+                    }
                 }
 
                 OutputWriter.displayMessage("");
@@ -208,9 +255,30 @@ public class ProPreTP {
     /**
      * Main entry point for the theorem prover application.
      *
-     * @param args command line arguments (not used)
+     * @param args command line arguments: none for the interactive prover,
+     *        {@code --server [port [threads]]} to answer JSON requests on a
+     *        local port, {@code --daemon [socket [threads]]} to answer them on
+     *        a Unix domain socket, or {@code --check [options] formula} for a
+     *        single check answered by the daemon when one runs
+     * @throws Exception if the server cannot be started
      */
-    public static void main(String[] args) {
+    public static void main(String[] args) throws Exception {
+        if (args.length > 0 && args[0].equals("--server")) {
+            ProverServer.main(Arrays.copyOfRange(args, 1, args.length));
+            return;
+        }
+        if (args.length > 0 && args[0].equals("--daemon")) {
+            ProverDaemon.main(Arrays.copyOfRange(args, 1, args.length));
+            return;
+        }
+        if (args.length > 0 && args[0].equals("--calibrate")) {
+            propositional.portfolio.EngineSelector.main(Arrays.copyOfRange(args, 1, args.length));
+            return;
+        }
+        if (args.length > 0 && args[0].equals("--check")) {
+            System.exit(ProverDaemon.check(Arrays.copyOfRange(args, 1, args.length)));
+        }
+        EngineEvents.setListener(new ConsoleEngineListener());
         ProPreTP protp = new ProPreTP();
         protp.run();
     }
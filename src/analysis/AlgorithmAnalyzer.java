@@ -1,5 +1,6 @@
 package analysis;
 
+import common.metrics.MetricsRegistry;
 import java.util.HashMap;
 import java.util.Map;
 import propositional.common.Formula;
@@ -25,7 +26,7 @@ public class AlgorithmAnalyzer {
 
         private int steps = 0;
         private int branchingFactor = 0;
-        private long executionTime = 0;
+        private long executionNanos = 0;
         private int memoryUsage = 0;
         private Map<String, Integer> ruleApplications = new HashMap<>();
 
@@ -37,8 +38,8 @@ public class AlgorithmAnalyzer {
             branchingFactor = factor;
         }
 
-        public void setExecutionTime(long time) {
-            executionTime = time;
+        public void setExecutionNanos(long nanos) {
+            executionNanos = nanos;
         }
 
         public void setMemoryUsage(int usage) {
@@ -55,14 +56,25 @@ public class AlgorithmAnalyzer {
                     "Algorithm Metrics:\n"
                     + "  Steps: %d\n"
                     + "  Branching Factor: %d\n"
-                    + "  Execution Time: %d ms\n"
+                    + "  Execution Time: %s\n"
                     + "  Memory Usage: %d bytes\n"
                     + "  Rule Applications: %s",
-                    steps, branchingFactor, executionTime, memoryUsage, ruleApplications
+                    steps, branchingFactor, MetricsRegistry.formatNanos(executionNanos), memoryUsage, ruleApplications
             );
         }
     }
 
+    /**
+     * Runs a proof and measures its duration. Proofs on other threads record
+     * into the shared metrics registry at the same time, so the duration is
+     * taken around the call itself.
+     */
+    private static void measureProof(AlgorithmMetrics metrics, Runnable proof) {
+        long start = System.nanoTime();
+        proof.run();
+        metrics.setExecutionNanos(System.nanoTime() - start);
+    }
+
     /**
      * Analyzes the sequent calculus algorithm implementation.
      */
@@ -74,6 +86,7 @@ public class AlgorithmAnalyzer {
 
         try {
             SequentMethod sequent = new SequentMethod(formula);
+            measureProof(metrics, sequent::searchSequent);
 
             // Analyze the sequent method structure
             System.out.println("📋 Sequent Calculus Analysis:");
@@ -117,6 +130,7 @@ public class AlgorithmAnalyzer {
 
         try {
             ResolutionMethod resolution = new ResolutionMethod(formula);
+            measureProof(metrics, resolution::resolve);
 
             // Analyze resolution strategy
             System.out.println("📋 Resolution Method Analysis:");
@@ -236,6 +250,14 @@ public class AlgorithmAnalyzer {
         // Complexity analysis
         analyzeComplexity();
 
+        // Measured latencies
+        System.out.println("\n📈 MEASURED PERFORMANCE");
+        System.out.println("=".repeat(60));
+        System.out.println("Sequent Calculus " + sequentMetrics);
+        System.out.println("Resolution Method " + resolutionMetrics);
+        System.out.println();
+        System.out.print(MetricsRegistry.getDefault().toText());
+
         // Summary
         System.out.println("\n📋 ANALYSIS SUMMARY");
         System.out.println("=".repeat(60));
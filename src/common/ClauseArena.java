@@ -0,0 +1,250 @@
+package common;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A per-thread bump allocator for temporary integer clauses.
+ *
+ * <p>
+ * Clauses are written one after the other into large int slabs, each as its
+ * length followed by its literals, and are addressed by an int reference.
+ * Allocating a clause only moves a pointer, and all clauses allocated after a
+ * {@link #mark()} are released at once by {@link #rewind(int)}, so producing
+ * millions of short-lived clauses and resolvents creates no garbage. Slabs are
+ * kept across rewinds and reused by the next proof on the same thread.</p>
+ *
+ * <p>
+ * A clause stays valid until the arena is rewound past it. The arena of a
+ * thread is shared by every engine running on it, so each engine rewinds to
+ * its own mark instead of clearing the arena; nested use, such as a CNF
+ * converter streaming into a resolution engine, is then safe. An arena must
+ * not be used by other threads.</p>
+ *
+ * @author Mark Schlichtmann
+ * @version 2.0
+ * @since 2026
+ */
+public final class ClauseArena {
+
+    /**
+     * The number of ints in a slab as a power of two.
+     */
+    private static final int SLAB_BITS = 18;
+    private static final int SLAB_SIZE = 1 << SLAB_BITS;
+    private static final int OFFSET_MASK = SLAB_SIZE - 1;
+    /**
+     * The number of slabs kept for reuse when the arena is rewound; the
+     * others are left to the garbage collector.
+     */
+    private static final int RETAINED_SLABS = 16;
+
+    private static final ThreadLocal<ClauseArena> ARENAS = ThreadLocal.withInitial(ClauseArena::new);
+
+    private final List<int[]> slabs = new ArrayList<>();
+    /**
+     * The slab clauses are allocated from
+     */
+    private int current;
+    /**
+     * The next free position in the current slab
+     */
+    private int top;
+    private long slabsCreated;
+    private long slabsReused;
+
+    /**
+     * Creates an arena with one slab.
+     */
+    public ClauseArena() {
+        slabs.add(new int[SLAB_SIZE]);
+        slabsCreated = 1;
+    }
+
+    /**
+     * Returns the arena of the calling thread.
+     *
+     * @return the arena, created on first use
+     */
+    public static ClauseArena forCurrentThread() {
+        return ARENAS.get();
+    }
+
+    /**
+     * Allocates a clause whose literals are still to be written.
+     *
+     * @param length the number of literals
+     * @return the reference of the clause
+     * @throws IllegalArgumentException if the clause does not fit into a slab
+     */
+    public int allocate(int length) {
+        if (length < 0 || length >= SLAB_SIZE) {
+            throw new IllegalArgumentException("clause length out of range: " + length);
+        }
+        if (top + length + 1 > SLAB_SIZE) {
+            nextSlab();
+        }
+        int ref = (current << SLAB_BITS) | top;
+        slabs.get(current)[top] = length;
+        top += length + 1;
+        return ref;
+    }
+
+    private void nextSlab() {
+        ++current;
+        if (current == slabs.size()) {
+            if (current > (Integer.MAX_VALUE >>> SLAB_BITS)) {
+                throw new IllegalStateException("clause arena exhausted");
+            }
+            slabs.add(new int[SLAB_SIZE]);
+            ++slabsCreated;
+        } else {
+            ++slabsReused;
+        }
+        top = 0;
+    }
+
+    /**
+     * Allocates a copy of a clause.
+     *
+     * @param literals the array holding the literals
+     * @param from the position of the first literal
+     * @param length the number of literals
+     * @return the reference of the copy
+     */
+    public int copyOf(int[] literals, int from, int length) {
+        int ref = allocate(length);
+        System.arraycopy(literals, from, slab(ref), offset(ref), length);
+        return ref;
+    }
+
+    /**
+     * Returns the slab holding a clause. Together with {@link #offset(int)}
+     * it gives loops direct access to the literals.
+     *
+     * @param ref the clause reference
+     * @return the slab
+     */
+    public int[] slab(int ref) {
+        return slabs.get(ref >>> SLAB_BITS);
+    }
+
+    /**
+     * Returns the position of the first literal of a clause in its slab.
+     *
+     * @param ref the clause reference
+     * @return the offset of the first literal
+     */
+    public static int offset(int ref) {
+        return (ref & OFFSET_MASK) + 1;
+    }
+
+    /**
+     * Returns the number of literals of a clause.
+     *
+     * @param ref the clause reference
+     * @return the clause length
+     */
+    public int length(int ref) {
+        return slabs.get(ref >>> SLAB_BITS)[ref & OFFSET_MASK];
+    }
+
+    /**
+     * Returns a literal of a clause.
+     *
+     * @param ref the clause reference
+     * @param position the position of the literal
+     * @return the literal as a signed variable number
+     */
+    public int literal(int ref, int position) {
+        return slabs.get(ref >>> SLAB_BITS)[(ref & OFFSET_MASK) + 1 + position];
+    }
+
+    /**
+     * Writes a literal of a clause.
+     *
+     * @param ref the clause reference
+     * @param position the position of the literal
+     * @param literal the literal as a signed variable number
+     */
+    public void setLiteral(int ref, int position, int literal) {
+        slabs.get(ref >>> SLAB_BITS)[(ref & OFFSET_MASK) + 1 + position] = literal;
+    }
+
+    /**
+     * Shortens the most recently allocated clause, for example after removing
+     * duplicate literals, and gives the space back to the arena.
+     *
+     * @param ref the reference of the last allocated clause
+     * @param length the new length, at most the current one
+     */
+    public void truncate(int ref, int length) {
+        int[] slab = slab(ref);
+        int start = ref & OFFSET_MASK;
+        if (length < 0 || length > slab[start] || (ref >>> SLAB_BITS) != current || start + slab[start] + 1 != top) {
+            throw new IllegalArgumentException("only the last clause can be shortened");
+        }
+        slab[start] = length;
+        top = start + length + 1;
+    }
+
+    /**
+     * Returns a copy of a clause as an array.
+     *
+     * @param ref the clause reference
+     * @return the literals
+     */
+    public int[] toArray(int ref) {
+        int from = offset(ref);
+        return Arrays.copyOfRange(slab(ref), from, from + length(ref));
+    }
+
+    /**
+     * Returns the current allocation position.
+     *
+     * @return a mark to rewind to
+     */
+    public int mark() {
+        return (current << SLAB_BITS) | top;
+    }
+
+    /**
+     * Releases every clause allocated since a mark was taken.
+     *
+     * @param mark the mark returned by {@link #mark()}
+     */
+    public void rewind(int mark) {
+        current = mark >>> SLAB_BITS;
+        top = mark & OFFSET_MASK;
+        while (slabs.size() > Math.max(RETAINED_SLABS, current + 1)) {
+            slabs.remove(slabs.size() - 1);
+        }
+    }
+
+    /**
+     * Releases every clause in the arena.
+     */
+    public void reset() {
+        rewind(0);
+    }
+
+    /**
+     * Returns the number of ints in use, including the clause lengths.
+     *
+     * @return the allocated size of the arena
+     */
+    public long getUsedInts() {
+        return (long) current * SLAB_SIZE + top;
+    }
+
+    /**
+     * Returns how often a slab was reused instead of created.
+     *
+     * @return the reused fraction of all slabs taken into use, from 0 to 1
+     */
+    public double getReuseRatio() {
+        long total = slabsCreated + slabsReused;
+        return total == 0 ? 0.0 : (double) slabsReused / total;
+    }
+}
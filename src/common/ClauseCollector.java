@@ -0,0 +1,38 @@
+package common;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * In-memory clause sink that keeps every clause it receives.
+ *
+ * <p>
+ * This is the sink to use when the caller really needs the complete clause
+ * set, for example to display it or to run an engine that works on a list.</p>
+ *
+ * @param <C> the clause type produced by the CNF producer
+ * @author Mark Schlichtmann
+ * @version 2.0
+ * @since 2026
+ */
+public class ClauseCollector<C> implements ClauseSink<C> {
+
+    /**
+     * The clauses received so far, in generation order
+     */
+    private final List<C> clauses = new ArrayList<>();
+
+    @Override
+    public void addClause(C clause) {
+        clauses.add(clause);
+    }
+
+    /**
+     * Returns the clauses received so far.
+     *
+     * @return the collected clauses in generation order
+     */
+    public List<C> getClauses() {
+        return clauses;
+    }
+}
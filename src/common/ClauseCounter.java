@@ -0,0 +1,89 @@
+package common;
+
+import java.util.Collection;
+
+/**
+ * Clause sink that only counts what it receives.
+ *
+ * <p>
+ * It records the number of clauses, the total number of literals, the number
+ * of unit clauses and the length of the longest clause, without keeping any
+ * clause alive. This makes it possible to measure the size of a conjunctive
+ * normal form that would not fit on the heap.</p>
+ *
+ * @author Mark Schlichtmann
+ * @version 2.0
+ * @since 2026
+ */
+public class ClauseCounter implements ClauseSink<Collection<?>> {
+
+    /**
+     * Number of clauses received
+     */
+    private long clauseCount = 0;
+    /**
+     * Number of literals over all clauses received
+     */
+    private long literalCount = 0;
+    /**
+     * Number of clauses with exactly one literal
+     */
+    private long unitCount = 0;
+    /**
+     * Length of the longest clause received
+     */
+    private int maxClauseLength = 0;
+
+    @Override
+    public void addClause(Collection<?> clause) {
+        int size = clause.size();
+        clauseCount++;
+        literalCount += size;
+        if (size == 1) {
+            unitCount++;
+        }
+        maxClauseLength = Math.max(maxClauseLength, size);
+    }
+
+    /**
+     * Returns the number of clauses received.
+     *
+     * @return the clause count
+     */
+    public long getClauseCount() {
+        return clauseCount;
+    }
+
+    /**
+     * Returns the number of literals over all clauses received.
+     *
+     * @return the literal count
+     */
+    public long getLiteralCount() {
+        return literalCount;
+    }
+
+    /**
+     * Returns the number of unit clauses received.
+     *
+     * @return the unit clause count
+     */
+    public long getUnitCount() {
+        return unitCount;
+    }
+
+    /**
+     * Returns the length of the longest clause received.
+     *
+     * @return the maximum clause length
+     */
+    public int getMaxClauseLength() {
+        return maxClauseLength;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d clauses, %d literals, %d units, longest clause %d",
+                clauseCount, literalCount, unitCount, maxClauseLength);
+    }
+}
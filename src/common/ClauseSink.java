@@ -0,0 +1,33 @@
+package common;
+
+/**
+ * Receives clauses one at a time as a CNF producer generates them.
+ *
+ * <p>
+ * The propositional and predicate normal form algorithms and the optimized CNF
+ * converter stream every finished clause into a sink instead of returning a
+ * fully materialized clause list. A sink decides what happens to each clause:
+ * keep it in memory, count it, write it to disk or hand it to a solver.</p>
+ *
+ * @param <C> the clause type produced by the CNF producer
+ * @author Mark Schlichtmann
+ * @version 2.0
+ * @since 2026
+ */
+@FunctionalInterface
+public interface ClauseSink<C> {
+
+    /**
+     * Accepts the next clause of the conjunctive normal form.
+     *
+     * @param clause the clause generated by the producer
+     */
+    void addClause(C clause);
+
+    /**
+     * Signals that the producer has generated its last clause. Sinks that hold
+     * external resources release them here.
+     */
+    default void close() {
+    }
+}
@@ -0,0 +1,178 @@
+package common;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Clause sink that writes integer clauses to a DIMACS CNF file as they arrive.
+ *
+ * <p>
+ * The problem line of a DIMACS file must state the number of variables and
+ * clauses before the first clause. Because the sink is streaming these numbers
+ * are not known in advance, so a fixed width header is reserved at the start
+ * of the file and overwritten with the real counts when the sink is closed.
+ * Literals are written through a direct buffer without creating strings.</p>
+ *
+ * @author Mark Schlichtmann
+ * @version 2.0
+ * @since 2026
+ */
+public class DimacsClauseSink implements ClauseSink<int[]> {
+
+    /**
+     * Width in bytes of the reserved problem line, including the newline
+     */
+    private static final int HEADER_WIDTH = 48;
+    /**
+     * Size of the output buffer
+     */
+    private static final int BUFFER_SIZE = 1 << 16;
+    /**
+     * The file being written
+     */
+    private final FileChannel channel;
+    /**
+     * Buffer holding encoded clauses until they are written
+     */
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    /**
+     * Scratch space for the digits of a single literal
+     */
+    private final byte[] digits = new byte[11];
+    /**
+     * Number of clauses written
+     */
+    private long clauseCount = 0;
+    /**
+     * Highest variable number written
+     */
+    private int maxVariable = 0;
+
+    /**
+     * Creates the file and reserves space for the problem line.
+     *
+     * @param path the DIMACS file to write
+     * @throws UncheckedIOException if the file cannot be created
+     */
+    public DimacsClauseSink(Path path) {
+        try {
+            channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+            for (int i = 0; i < HEADER_WIDTH - 1; i++) {
+                buffer.put((byte) ' ');
+            }
+            buffer.put((byte) '\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void addClause(int[] clause) {
+        for (int literal : clause) {
+            ensureSpace(digits.length + 1);
+            putInt(literal);
+            buffer.put((byte) ' ');
+            maxVariable = Math.max(maxVariable, Math.abs(literal));
+        }
+        ensureSpace(2);
+        buffer.put((byte) '0');
+        buffer.put((byte) '\n');
+        clauseCount++;
+    }
+
+    /**
+     * Flushes the remaining clauses, writes the problem line and closes the
+     * file.
+     *
+     * @throws UncheckedIOException if the file cannot be written
+     */
+    @Override
+    public void close() {
+        try {
+            flush();
+            String header = "p cnf " + maxVariable + " " + clauseCount;
+            ByteBuffer line = ByteBuffer.allocate(HEADER_WIDTH);
+            line.put(header.getBytes(StandardCharsets.US_ASCII));
+            while (line.position() < HEADER_WIDTH - 1) {
+                line.put((byte) ' ');
+            }
+            line.put((byte) '\n');
+            line.flip();
+            channel.write(line, 0);
+            channel.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Returns the number of clauses written.
+     *
+     * @return the clause count
+     */
+    public long getClauseCount() {
+        return clauseCount;
+    }
+
+    /**
+     * Returns the highest variable number written.
+     *
+     * @return the variable count of the problem line
+     */
+    public int getMaxVariable() {
+        return maxVariable;
+    }
+
+    /**
+     * Writes a signed integer into the buffer as decimal ASCII.
+     *
+     * @param value the value to write
+     */
+    private void putInt(int value) {
+        long v = value;
+        if (v < 0) {
+            buffer.put((byte) '-');
+            v = -v;
+        }
+        int n = 0;
+        do {
+            digits[n++] = (byte) ('0' + (v % 10));
+            v /= 10;
+        } while (v != 0);
+        while (n > 0) {
+            buffer.put(digits[--n]);
+        }
+    }
+
+    /**
+     * Flushes the buffer if fewer than the given number of bytes are free.
+     *
+     * @param bytes the number of bytes about to be written
+     */
+    private void ensureSpace(int bytes) {
+        if (buffer.remaining() < bytes) {
+            flush();
+        }
+    }
+
+    /**
+     * Writes the buffered bytes to the file.
+     */
+    private void flush() {
+        try {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package common;
+
+import java.util.Collection;
+
+/**
+ * Clause sink that translates clauses of literal objects into integer clauses
+ * and forwards them to another sink.
+ *
+ * <p>
+ * This is how the formula based producers feed integer consumers such as the
+ * DIMACS writer: each producer only has to supply a {@link LiteralEncoder}.</p>
+ *
+ * @param <L> the literal type of the incoming clauses
+ * @author Mark Schlichtmann
+ * @version 2.0
+ * @since 2026
+ */
+public class EncodingClauseSink<L> implements ClauseSink<Collection<? extends L>> {
+
+    /**
+     * Assigns variable numbers to atoms
+     */
+    private final SymbolTable symbols;
+    /**
+     * Turns a single literal into a signed variable number
+     */
+    private final LiteralEncoder<? super L> encoder;
+    /**
+     * Receives the encoded clauses
+     */
+    private final ClauseSink<int[]> target;
+
+    /**
+     * Constructs an encoding sink.
+     *
+     * @param symbols the table that assigns variable numbers to atoms
+     * @param encoder the encoder for single literals
+     * @param target the sink that receives the encoded clauses
+     */
+    public EncodingClauseSink(SymbolTable symbols, LiteralEncoder<? super L> encoder, ClauseSink<int[]> target) {
+        this.symbols = symbols;
+        this.encoder = encoder;
+        this.target = target;
+    }
+
+    @Override
+    public void addClause(Collection<? extends L> clause) {
+        int[] encoded = new int[clause.size()];
+        int i = 0;
+        for (L literal : clause) {
+            encoded[i++] = encoder.encode(literal, symbols);
+        }
+        target.addClause(encoded);
+    }
+
+    @Override
+    public void close() {
+        target.close();
+    }
+
+    /**
+     * Returns the symbol table used for the encoding.
+     *
+     * @return the symbol table
+     */
+    public SymbolTable getSymbols() {
+        return symbols;
+    }
+}
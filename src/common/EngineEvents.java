@@ -0,0 +1,38 @@
+package common;
+
+/**
+ * Holds the {@link EngineListener} the engines report their progress to.
+ *
+ * <p>
+ * The listener is shared by all engines of the process. It is
+ * {@link EngineListener#SILENT} until a front end registers another one.</p>
+ *
+ * @author Mark Schlichtmann
+ * @version 2.0
+ * @since 2026
+ */
+public final class EngineEvents {
+
+    private static volatile EngineListener listener = EngineListener.SILENT;
+
+    private EngineEvents() {
+    }
+
+    /**
+     * Returns the listener the engines report to.
+     *
+     * @return the registered listener, never null
+     */
+    public static EngineListener getListener() {
+        return listener;
+    }
+
+    /**
+     * Registers the listener the engines report to.
+     *
+     * @param engineListener the listener, or null for the silent listener
+     */
+    public static void setListener(EngineListener engineListener) {
+        listener = engineListener == null ? EngineListener.SILENT : engineListener;
+    }
+}
@@ -0,0 +1,83 @@
+package common;
+
+import java.util.List;
+
+/**
+ * Receives the progress reports of the scanners, parsers, normal form
+ * algorithms and provers.
+ *
+ * <p>
+ * The engines do not write to the console. They report each finished stage
+ * to the listener registered with {@link EngineEvents}, which by default is
+ * {@link #SILENT} and ignores everything, so an engine used as a library does
+ * not pay for building report strings. The interactive front end registers a
+ * listener that prints the reports.</p>
+ *
+ * <p>
+ * Every method does nothing by default, so a listener only overrides the
+ * reports it is interested in. Listeners may be called from several threads
+ * at once.</p>
+ *
+ * @author Mark Schlichtmann
+ * @version 2.0
+ * @since 2026
+ */
+public interface EngineListener {
+
+    /**
+     * The listener that ignores every report.
+     */
+    EngineListener SILENT = new EngineListener() {
+    };
+
+    /**
+     * Called when a scanner has tokenised its complete input.
+     */
+    default void scanningCompleted() {
+    }
+
+    /**
+     * Called when the predicate syntax analyser has accepted the token
+     * sequence.
+     */
+    default void lexicalAnalysisCompleted() {
+    }
+
+    /**
+     * Called when a parser has built the abstract formula.
+     */
+    default void parsingCompleted() {
+    }
+
+    /**
+     * Called when a parser could not build an abstract formula.
+     */
+    default void parsingFailed() {
+    }
+
+    /**
+     * Called when a normal form algorithm has built the conjunctive normal
+     * form of a formula.
+     *
+     * @param clauses the clauses of the normal form
+     */
+    default void normalFormCompleted(List<?> clauses) {
+    }
+
+    /**
+     * Called when a resolution prover starts on a clause set.
+     *
+     * @param clauses the clauses to be resolved
+     */
+    default void resolutionStarted(List<?> clauses) {
+    }
+
+    /**
+     * Called when a resolution prover has finished.
+     *
+     * @param clauses the clause set after resolution
+     * @param refuted whether the clause set was refuted
+     */
+    default void resolutionFinished(List<?> clauses, boolean refuted) {
+    }
+}
@@ -0,0 +1,23 @@
+package common;
+
+/**
+ * Converts a literal of some clause representation into a signed variable
+ * number.
+ *
+ * @param <L> the literal type of the clause representation
+ * @author Mark Schlichtmann
+ * @version 2.0
+ * @since 2026
+ */
+@FunctionalInterface
+public interface LiteralEncoder<L> {
+
+    /**
+     * Encodes a literal.
+     *
+     * @param literal the literal to encode
+     * @param symbols the table that assigns variable numbers to atoms
+     * @return the variable number of the atom, negated for a negative literal
+     */
+    int encode(L literal, SymbolTable symbols);
+}
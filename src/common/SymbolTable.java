@@ -0,0 +1,77 @@
+package common;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Maps atom names to the positive variable numbers used by integer clause
+ * encodings such as DIMACS.
+ *
+ * <p>
+ * Numbers are handed out in order of first appearance starting at 1, so a
+ * literal can be written as the signed number of its atom.</p>
+ *
+ * @author Mark Schlichtmann
+ * @version 2.0
+ * @since 2026
+ */
+public class SymbolTable {
+
+    /**
+     * Variable number of every atom name seen so far
+     */
+    private final Map<String, Integer> ids = new HashMap<>();
+    /**
+     * Atom names indexed by variable number minus one
+     */
+    private final List<String> names = new ArrayList<>();
+
+    /**
+     * Returns the variable number of an atom, assigning the next free number
+     * when the atom has not been seen before.
+     *
+     * @param name the atom name
+     * @return the positive variable number of the atom
+     */
+    public int getId(String name) {
+        Integer id = ids.get(name);
+        if (id == null) {
+            names.add(name);
+            id = names.size();
+            ids.put(name, id);
+        }
+        return id;
+    }
+
+    /**
+     * Returns the variable number of an atom without assigning a new one.
+     *
+     * @param name the atom name
+     * @return the variable number, or 0 if the atom is unknown
+     */
+    public int lookup(String name) {
+        Integer id = ids.get(name);
+        return id == null ? 0 : id;
+    }
+
+    /**
+     * Returns the atom name of a variable number.
+     *
+     * @param id the positive variable number
+     * @return the atom name
+     */
+    public String getName(int id) {
+        return names.get(id - 1);
+    }
+
+    /**
+     * Returns the number of atoms in the table.
+     *
+     * @return the highest variable number handed out
+     */
+    public int size() {
+        return names.size();
+    }
+}
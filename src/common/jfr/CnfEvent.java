@@ -0,0 +1,30 @@
+package common.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Emitted when a normal form algorithm has produced the clauses of a formula.
+ *
+ * @author Mark Schlichtmann
+ * @version 2.0
+ * @since 2026
+ */
+@Name("theoremprover.CNF")
+@Label("Conjunctive Normal Form")
+@Category({"Theorem Prover", "Normal Form"})
+@Description("Converting a formula into clauses")
+public class CnfEvent extends Event {
+
+    @Label("Engine")
+    public String engine;
+
+    @Label("Clauses")
+    public long clauses;
+
+    @Label("Literals")
+    public long literals;
+}
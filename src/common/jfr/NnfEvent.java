@@ -0,0 +1,25 @@
+package common.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Emitted when a formula has been rewritten into negation normal form.
+ *
+ * @author Mark Schlichtmann
+ * @version 2.0
+ * @since 2026
+ */
+@Name("theoremprover.NNF")
+@Label("Negation Normal Form")
+@Category({"Theorem Prover", "Normal Form"})
+@Description("Pushing negations down to the atoms")
+public class NnfEvent extends Event {
+
+    @Label("Nodes")
+    @Description("The number of nodes of the rewritten formula")
+    public int nodes;
+}
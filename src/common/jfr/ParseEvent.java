@@ -0,0 +1,30 @@
+package common.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Emitted when a parser has processed its token sequence.
+ *
+ * @author Mark Schlichtmann
+ * @version 2.0
+ * @since 2026
+ */
+@Name("theoremprover.Parse")
+@Label("Parse")
+@Category({"Theorem Prover", "Front End"})
+@Description("A parser building the abstract formula")
+public class ParseEvent extends Event {
+
+    @Label("Logic")
+    public String logic;
+
+    @Label("Tokens")
+    public int tokens;
+
+    @Label("Successful")
+    public boolean successful;
+}
@@ -0,0 +1,36 @@
+package common.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Emitted for every literal a resolution prover selects and resolves
+ * against the clause set.
+ *
+ * @author Mark Schlichtmann
+ * @version 2.0
+ * @since 2026
+ */
+@Name("theoremprover.ResolutionStep")
+@Label("Resolution Step")
+@Category({"Theorem Prover", "Prover"})
+@Description("A literal resolved against the clause set")
+public class ResolutionStepEvent extends Event {
+
+    @Label("Logic")
+    public String logic;
+
+    @Label("Literal")
+    public String literal;
+
+    @Label("Clauses")
+    @Description("The number of clauses left after the step")
+    public int clauses;
+
+    @Label("Resolved Literals")
+    @Description("The number of literals removed by the step")
+    public int resolvedLiterals;
+}
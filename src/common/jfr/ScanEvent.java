@@ -0,0 +1,31 @@
+package common.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Emitted when a scanner has tokenised its input.
+ *
+ * @author Mark Schlichtmann
+ * @version 2.0
+ * @since 2026
+ */
+@Name("theoremprover.Scan")
+@Label("Scan")
+@Category({"Theorem Prover", "Front End"})
+@Description("A scanner tokenising its input")
+public class ScanEvent extends Event {
+
+    @Label("Logic")
+    public String logic;
+
+    @Label("Input Length")
+    @Description("The number of characters scanned")
+    public int inputLength;
+
+    @Label("Tokens")
+    public int tokens;
+}
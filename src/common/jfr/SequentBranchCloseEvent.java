@@ -0,0 +1,30 @@
+package common.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Emitted when a branch of the sequent proof is fully expanded and
+ * closed.
+ *
+ * @author Mark Schlichtmann
+ * @version 2.0
+ * @since 2026
+ */
+@Name("theoremprover.SequentBranchClose")
+@Label("Sequent Branch Close")
+@Category({"Theorem Prover", "Prover"})
+@Description("A fully expanded sequent branch")
+public class SequentBranchCloseEvent extends Event {
+
+    @Label("Formulas")
+    @Description("The number of atoms left in the closed sequent")
+    public int formulas;
+
+    @Label("Open Branches")
+    @Description("The number of sequents still waiting to be expanded")
+    public int openBranches;
+}
@@ -0,0 +1,28 @@
+package common.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Emitted when a sequent rule splits a sequent into two branches.
+ *
+ * @author Mark Schlichtmann
+ * @version 2.0
+ * @since 2026
+ */
+@Name("theoremprover.SequentBranchOpen")
+@Label("Sequent Branch Open")
+@Category({"Theorem Prover", "Prover"})
+@Description("A sequent rule opening two branches")
+public class SequentBranchOpenEvent extends Event {
+
+    @Label("Rule")
+    public String rule;
+
+    @Label("Open Branches")
+    @Description("The number of sequents waiting to be expanded")
+    public int openBranches;
+}
@@ -0,0 +1,29 @@
+package common.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Emitted when a clause set has been checked for subsumed clauses.
+ *
+ * @author Mark Schlichtmann
+ * @version 2.0
+ * @since 2026
+ */
+@Name("theoremprover.Subsumption")
+@Label("Subsumption")
+@Category({"Theorem Prover", "Prover"})
+@Description("Removing clauses that are subsumed by other clauses")
+public class SubsumptionEvent extends Event {
+
+    @Label("Clauses")
+    @Description("The number of clauses checked")
+    public int clauses;
+
+    @Label("Subsumed")
+    @Description("The number of clauses removed")
+    public int subsumed;
+}
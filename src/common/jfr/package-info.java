@@ -0,0 +1,27 @@
+/**
+ * JDK Flight Recorder events of the theorem prover engines.
+ *
+ * <p>
+ * The scanners, parsers, normal form algorithms and provers emit these events
+ * so that a flight recording shows each stage of a proof with its counts and
+ * durations instead of anonymous collection frames. The events are in the
+ * "Theorem Prover" category and are named theoremprover.Scan,
+ * theoremprover.Parse and so on. Enable them together with the default
+ * settings, for example:</p>
+ *
+ * <pre>
+ * java -XX:StartFlightRecording=filename=proof.jfr,settings=default ProPreTP
+ * jfr print --categories "Theorem Prover" proof.jfr
+ * </pre>
+ *
+ * <p>
+ * An engine creates an event object around each stage and fills in its
+ * fields only when {@code shouldCommit()} is true, so while no recording is
+ * running the cost is a field write and a branch that the JIT compiler
+ * removes along with the allocation.</p>
+ *
+ * @author Mark Schlichtmann
+ * @version 2.0
+ * @since 2026
+ */
+package common.jfr;
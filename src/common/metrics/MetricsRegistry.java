@@ -0,0 +1,283 @@
+package common.metrics;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free latency histograms per pipeline stage, per engine and named event
+ * counters.
+ *
+ * <p>
+ * The scanners, parsers, normal form algorithms and renderers record the
+ * duration of every call into the process wide registry returned by
+ * {@link #getDefault()}. The prove stage holds one sample per query, recorded
+ * by the entry point that answers it, while each engine records its own runs
+ * into a histogram named after it, so that engines nested in or racing within
+ * one query do not add samples to the stage. Recording is an atomic increment and a few striped
+ * adder updates, so it can stay on under load. The registry reports the
+ * count, mean, maximum and the 50th, 99th and 99.9th percentiles of each
+ * stage as text or JSON; the percentiles show the tail latencies that the
+ * mean hides.</p>
+ *
+ * @author Mark Schlichtmann
+ * @version 2.0
+ * @since 2026
+ */
+public class MetricsRegistry {
+
+    private static final MetricsRegistry DEFAULT = new MetricsRegistry();
+
+    private final Map<Stage, LatencyHistogram> stages = new EnumMap<>(Stage.class);
+    private final ConcurrentHashMap<String, LatencyHistogram> engines = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, LongAdder> counters = new ConcurrentHashMap<>();
+
+    /**
+     * Creates an empty registry.
+     */
+    public MetricsRegistry() {
+        for (Stage stage : Stage.values()) {
+            stages.put(stage, new LatencyHistogram());
+        }
+    }
+
+    /**
+     * Returns the registry the engines record into.
+     *
+     * @return the process wide registry
+     */
+    public static MetricsRegistry getDefault() {
+        return DEFAULT;
+    }
+
+    /**
+     * Records the duration of a stage.
+     *
+     * @param stage the pipeline stage
+     * @param nanos the duration in nanoseconds
+     */
+    public void record(Stage stage, long nanos) {
+        stages.get(stage).record(nanos);
+    }
+
+    /**
+     * Records the duration of a stage that started at the given time.
+     *
+     * @param stage the pipeline stage
+     * @param startNanos the start as returned by System.nanoTime()
+     */
+    public void recordSince(Stage stage, long startNanos) {
+        stages.get(stage).record(System.nanoTime() - startNanos);
+    }
+
+    /**
+     * Returns the latency histogram of a stage.
+     *
+     * @param stage the pipeline stage
+     * @return the histogram, never null
+     */
+    public LatencyHistogram getHistogram(Stage stage) {
+        return stages.get(stage);
+    }
+
+    /**
+     * Records the duration of a completed run of an engine.
+     *
+     * @param engine the engine name, e.g. bdd
+     * @param nanos the duration in nanoseconds
+     */
+    public void recordEngine(String engine, long nanos) {
+        getEngineHistogram(engine).record(nanos);
+    }
+
+    /**
+     * Records the duration of a completed run of an engine that started at
+     * the given time.
+     *
+     * @param engine the engine name, e.g. bdd
+     * @param startNanos the start as returned by System.nanoTime()
+     */
+    public void recordEngineSince(String engine, long startNanos) {
+        getEngineHistogram(engine).record(System.nanoTime() - startNanos);
+    }
+
+    /**
+     * Returns the latency histogram of an engine, creating it if needed.
+     *
+     * @param engine the engine name
+     * @return the histogram, never null
+     */
+    public LatencyHistogram getEngineHistogram(String engine) {
+        return engines.computeIfAbsent(engine, key -> new LatencyHistogram());
+    }
+
+    /**
+     * Adds one to a named counter, creating it if needed.
+     *
+     * @param name the counter name, e.g. cache.hits
+     */
+    public void increment(String name) {
+        counter(name).increment();
+    }
+
+    /**
+     * Returns a named counter, creating it if needed.
+     *
+     * @param name the counter name
+     * @return the counter
+     */
+    public LongAdder counter(String name) {
+        return counters.computeIfAbsent(name, key -> new LongAdder());
+    }
+
+    /**
+     * Returns the value of a named counter.
+     *
+     * @param name the counter name
+     * @return the value, 0 for an unknown counter
+     */
+    public long getCount(String name) {
+        LongAdder counter = counters.get(name);
+        return counter == null ? 0 : counter.sum();
+    }
+
+    /**
+     * Removes all recorded latencies and counts.
+     */
+    public void reset() {
+        for (LatencyHistogram histogram : stages.values()) {
+            histogram.reset();
+        }
+        engines.clear();
+        counters.clear();
+    }
+
+    /**
+     * Returns a table of the stage and engine latencies and the counters.
+     *
+     * @return the report, one line per stage, engine and counter
+     */
+    public String toText() {
+        StringBuilder text = new StringBuilder();
+        appendHeader(text, "stage");
+        for (Stage stage : Stage.values()) {
+            appendLine(text, stage.getLabel(), stages.get(stage));
+        }
+        Map<String, LatencyHistogram> sortedEngines = new TreeMap<>(engines);
+        if (!sortedEngines.isEmpty()) {
+            appendHeader(text, "engine");
+        }
+        for (Map.Entry<String, LatencyHistogram> engine : sortedEngines.entrySet()) {
+            appendLine(text, engine.getKey(), engine.getValue());
+        }
+        for (Map.Entry<String, Long> counter : sortedCounters().entrySet()) {
+            text.append(String.format(Locale.ROOT, "%-30s %10d%n", counter.getKey(), counter.getValue()));
+        }
+        return text.toString();
+    }
+
+    private static void appendHeader(StringBuilder text, String kind) {
+        text.append(String.format(Locale.ROOT, "%-20s %10s %10s %10s %10s %10s %10s%n",
+                kind, "count", "mean", "p50", "p99", "p999", "max"));
+    }
+
+    private static void appendLine(StringBuilder text, String name, LatencyHistogram histogram) {
+        text.append(String.format(Locale.ROOT, "%-20s %10d %10s %10s %10s %10s %10s%n",
+                name, histogram.getCount(),
+                formatNanos(histogram.getMeanNanos()),
+                formatNanos(histogram.getValueAtQuantile(0.5)),
+                formatNanos(histogram.getValueAtQuantile(0.99)),
+                formatNanos(histogram.getValueAtQuantile(0.999)),
+                formatNanos(histogram.getMaxNanos())));
+    }
+
+    /**
+     * Returns the stage and engine latencies in nanoseconds and the counters
+     * as a JSON object.
+     *
+     * @return the report as JSON
+     */
+    public String toJson() {
+        StringBuilder json = new StringBuilder("{\"stages\":{");
+        boolean first = true;
+        for (Stage stage : Stage.values()) {
+            if (!first) {
+                json.append(',');
+            }
+            first = false;
+            appendObject(json, stage.getLabel(), stages.get(stage));
+        }
+        json.append("},\"engines\":{");
+        first = true;
+        for (Map.Entry<String, LatencyHistogram> engine : new TreeMap<>(engines).entrySet()) {
+            if (!first) {
+                json.append(',');
+            }
+            first = false;
+            appendObject(json, escape(engine.getKey()), engine.getValue());
+        }
+        json.append("},\"counters\":{");
+        first = true;
+        for (Map.Entry<String, Long> counter : sortedCounters().entrySet()) {
+            if (!first) {
+                json.append(',');
+            }
+            first = false;
+            json.append('"').append(escape(counter.getKey())).append("\":").append(counter.getValue());
+        }
+        return json.append("}}").toString();
+    }
+
+    private static void appendObject(StringBuilder json, String name, LatencyHistogram histogram) {
+        json.append('"').append(name).append("\":{")
+                .append("\"count\":").append(histogram.getCount())
+                .append(",\"totalNanos\":").append(histogram.getTotalNanos())
+                .append(",\"meanNanos\":").append(Math.round(histogram.getMeanNanos()))
+                .append(",\"p50Nanos\":").append(histogram.getValueAtQuantile(0.5))
+                .append(",\"p99Nanos\":").append(histogram.getValueAtQuantile(0.99))
+                .append(",\"p999Nanos\":").append(histogram.getValueAtQuantile(0.999))
+                .append(",\"maxNanos\":").append(histogram.getMaxNanos())
+                .append('}');
+    }
+
+    private Map<String, Long> sortedCounters() {
+        Map<String, Long> sorted = new TreeMap<>();
+        counters.forEach((name, counter) -> sorted.put(name, counter.sum()));
+        return sorted;
+    }
+
+    private static String escape(String text) {
+        StringBuilder escaped = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '"' || c == '\\') {
+                escaped.append('\\').append(c);
+            } else if (c < 0x20) {
+                escaped.append(String.format(Locale.ROOT, "\\u%04x", (int) c));
+            } else {
+                escaped.append(c);
+            }
+        }
+        return escaped.toString();
+    }
+
+    /**
+     * Formats a duration in the largest unit it reaches.
+     *
+     * @param nanos the duration in nanoseconds
+     * @return the duration, e.g. 850 ns, 12.4 us or 3.21 ms
+     */
+    public static String formatNanos(double nanos) {
+        if (nanos < 1_000) {
+            return String.format(Locale.ROOT, "%.0f ns", nanos);
+        } else if (nanos < 1_000_000) {
+            return String.format(Locale.ROOT, "%.1f us", nanos / 1_000);
+        } else if (nanos < 1_000_000_000) {
+            return String.format(Locale.ROOT, "%.2f ms", nanos / 1_000_000);
+        }
+        return String.format(Locale.ROOT, "%.2f s", nanos / 1_000_000_000);
+    }
+}
@@ -0,0 +1,49 @@
+package common.metrics;
+
+/**
+ * The stages of the proof pipeline whose latencies the
+ * {@link MetricsRegistry} records.
+ *
+ * @author Mark Schlichtmann
+ * @version 2.0
+ * @since 2026
+ */
+public enum Stage {
+
+    /**
+     * Tokenising the input.
+     */
+    SCAN("scan"),
+    /**
+     * Building the abstract formula from the tokens.
+     */
+    PARSE("parse"),
+    /**
+     * Converting a formula into conjunctive normal form.
+     */
+    CNF("cnf"),
+    /**
+     * Answering one query, whichever engines decide it; the engines record
+     * their runs under their own names.
+     */
+    PROVE("prove"),
+    /**
+     * Displaying or exporting a proof or a normal form.
+     */
+    RENDER("render");
+
+    private final String label;
+
+    Stage(String label) {
+        this.label = label;
+    }
+
+    /**
+     * Returns the name of the stage in reports.
+     *
+     * @return the lower case stage name
+     */
+    public String getLabel() {
+        return label;
+    }
+}
@@ -0,0 +1,55 @@
+package inputoutput;
+
+import common.EngineListener;
+import java.util.List;
+
+/**
+ * Prints the progress reports of the engines to the console.
+ *
+ * <p>
+ * This is the listener the interactive front end registers, so a user sees
+ * every stage of the proof as it completes.</p>
+ *
+ * @author Mark Schlichtmann
+ * @version 2.0
+ * @since 2026
+ */
+public class ConsoleEngineListener implements EngineListener {
+
+    @Override
+    public void scanningCompleted() {
+        OutputWriter.displayMessage("Scanning process completed successfully.");
+    }
+
+    @Override
+    public void lexicalAnalysisCompleted() {
+        OutputWriter.displayMessage("Lexical analysis of symbols completed successfully.");
+    }
+
+    @Override
+    public void parsingCompleted() {
+        OutputWriter.displayMessage("Parsing completed successfully.");
+    }
+
+    @Override
+    public void parsingFailed() {
+        OutputWriter.displayMessage("Parsing of input string was unsuccessfully.");
+    }
+
+    @Override
+    public void normalFormCompleted(List<?> clauses) {
+        OutputWriter.displayMessage("The conjunctive normal form of the proposition: " + clauses);
+    }
+
+    @Override
+    public void resolutionStarted(List<?> clauses) {
+        OutputWriter.displayMessage(String.valueOf(clauses));
+    }
+
+    @Override
+    public void resolutionFinished(List<?> clauses, boolean refuted) {
+        if (refuted) {
+            OutputWriter.displayMessage(Integer.toString(clauses.size()));
+        }
+    }
+}
@@ -1,10 +1,18 @@
 package optimization;
 
+import common.ClauseArena;
+import common.SymbolTable;
+import common.metrics.LatencyHistogram;
+import common.metrics.MetricsRegistry;
+import common.metrics.Stage;
 import java.util.*;
 import java.util.concurrent.*;
 import java.util.concurrent.atomic.AtomicInteger;
 import optimized.OptimizedCNFConverter;
+import optimized.ParallelCNFConverter;
 import propositional.common.Formula;
+import propositional.parser.Parser;
+import propositional.scanner.Scanner;
 
 /**
  * Advanced performance optimization system for the theorem prover.
@@ -70,127 +78,9 @@ public class PerformanceOptimizer {
         }
     }
 
-    /**
-     * Object pool for reducing garbage collection overhead.
-     */
-    private static class ObjectPool<T> {
-
-        private final Queue<T> pool = new ConcurrentLinkedQueue<>();
-        private final AtomicInteger created = new AtomicInteger(0);
-        private final AtomicInteger reused = new AtomicInteger(0);
-
-        public T acquire() {
-            T object = pool.poll();
-            if (object == null) {
-                object = createObject();
-                created.incrementAndGet();
-            } else {
-                reused.incrementAndGet();
-            }
-            return object;
-        }
-
-        public void release(T object) {
-            if (object != null) {
-                resetObject(object);
-                pool.offer(object);
-            }
-        }
-
-        @SuppressWarnings("unchecked")
-        private T createObject() {
-            // This would be implemented with a factory
-            return (T) new ArrayList<String>();
-        }
-
-        private void resetObject(T object) {
-            // Reset object to initial state
-        }
-
-        public double getReuseRatio() {
-            int total = created.get() + reused.get();
-            return total > 0 ? (double) reused.get() / total : 0.0;
-        }
-    }
-
-    /**
-     * Parallel CNF converter using multiple threads.
-     */
-    private static class ParallelCNFConverter {
-
-        private final ExecutorService executor;
-        private final int threadCount;
-
-        public ParallelCNFConverter(int threadCount) {
-            this.threadCount = threadCount;
-            this.executor = Executors.newFixedThreadPool(threadCount);
-        }
-
-        public List<List<String>> convertToCNFParallel(String formula) throws InterruptedException, ExecutionException {
-            // Split formula into sub-expressions for parallel processing
-            List<String> subExpressions = splitFormula(formula);
-
-            if (subExpressions.size() == 1) {
-                return OptimizedCNFConverter.convertToCNF(formula);
-            }
-
-            List<Future<List<List<String>>>> futures = new ArrayList<>();
-
-            for (String subExpr : subExpressions) {
-                Future<List<List<String>>> future = executor.submit(() -> {
-                    return OptimizedCNFConverter.convertToCNF(subExpr);
-                });
-                futures.add(future);
-            }
-
-            // Combine results
-            List<List<String>> result = new ArrayList<>();
-            for (Future<List<List<String>>> future : futures) {
-                List<List<String>> subResult = future.get();
-                if (subResult != null) {
-                    result.addAll(subResult);
-                }
-            }
-
-            return result;
-        }
-
-        private List<String> splitFormula(String formula) {
-            // Simple splitting strategy - in practice, this would be more sophisticated
-            List<String> parts = new ArrayList<>();
-
-            // Find top-level AND operators
-            int depth = 0;
-            int start = 0;
-            for (int i = 0; i < formula.length(); i++) {
-                char c = formula.charAt(i);
-                if (c == '(') {
-                    depth++; 
-                }else if (c == ')') {
-                    depth--; 
-                }else if (c == '&' && depth == 0) {
-                    parts.add(formula.substring(start, i).trim());
-                    start = i + 1;
-                }
-            }
-            if (start < formula.length()) {
-                parts.add(formula.substring(start).trim());
-            }
-
-            return parts.isEmpty() ? Arrays.asList(formula) : parts;
-        }
-
-        public void shutdown() {
-            executor.shutdown();
-        }
-    }
-
     // Static instances for global optimization
     private static final FormulaCache cache = new FormulaCache();
-    private static final ObjectPool<ArrayList<String>> clausePool = new ObjectPool<>();
-    private static final ParallelCNFConverter parallelConverter = new ParallelCNFConverter(
-            Runtime.getRuntime().availableProcessors()
-    );
+    private static final ParallelCNFConverter parallelConverter = new ParallelCNFConverter();
 
     /**
      * Optimized formula parsing with caching.
@@ -205,14 +95,19 @@ public class PerformanceOptimizer {
 
         // Parse and cache
         System.out.println("🔄 Parsing formula (cache miss)");
-        // This would integrate with the actual parser
-        Formula result = null; // parseFormula(formulaString);
-        cache.cacheParsedFormula(formulaString, result);
+        Formula result = new Parser(new Scanner(formulaString).getTokens()).parse();
+        if (result != null) {
+            cache.cacheParsedFormula(formulaString, result);
+        }
         return result;
     }
 
     /**
-     * Optimized CNF conversion with caching and parallel processing.
+     * Optimized CNF conversion with caching. Every formula goes through the
+     * fast path of the OptimizedCNFConverter.
+     *
+     * @param formula the formula in the syntax of the propositional scanner
+     * @return the clauses, or null if the formula is not well formed
      */
     public static List<List<String>> convertToCNFOptimized(String formula) {
         // Check cache first
@@ -222,81 +117,95 @@ public class PerformanceOptimizer {
             return cached;
         }
 
-        // Convert with parallel processing for large formulas
         System.out.println("🔄 Converting to CNF (cache miss)");
-        List<List<String>> result;
-
-        try {
-            if (formula.length() > 100) { // Use parallel for large formulas
-                System.out.println("🚀 Using parallel CNF conversion");
-                result = parallelConverter.convertToCNFParallel(formula);
-            } else {
-                result = OptimizedCNFConverter.convertToCNF(formula);
-            }
-
+        List<List<String>> result = OptimizedCNFConverter.convertToCNF(formula);
+        if (result != null) {
             cache.cacheCNF(formula, result);
-            return result;
-
-        } catch (Exception e) {
-            System.err.println("❌ Error in optimized CNF conversion: " + e.getMessage());
-            return OptimizedCNFConverter.convertToCNF(formula);
         }
+        return result;
     }
 
     /**
-     * Memory optimization through object pooling.
+     * CNF conversion of an already parsed formula, in parallel for large
+     * formulas.
+     *
+     * @param formula the parsed formula
+     * @return the clauses in canonical order
      */
-    public static ArrayList<String> acquireClauseList() {
-        return clausePool.acquire();
-    }
-
-    public static void releaseClauseList(ArrayList<String> clause) {
-        clausePool.release(clause);
+    public static List<List<String>> convertToCNFOptimized(Formula formula) {
+        SymbolTable symbols = new SymbolTable();
+        return ParallelCNFConverter.toLiteralLists(parallelConverter.convert(formula, symbols), symbols);
     }
 
     /**
-     * Performance monitoring and statistics.
+     * Performance monitoring and statistics, read from the metrics registry
+     * the engines record their stage latencies into. Operations timed by the
+     * caller are kept apart, since the entry points that answer a proof
+     * already record it in the prove stage.
      */
     public static class PerformanceStats {
 
-        private long totalExecutionTime = 0;
-        private int totalOperations = 0;
-        private long maxExecutionTime = 0;
-        private long minExecutionTime = Long.MAX_VALUE;
+        private final MetricsRegistry registry;
+        private final LatencyHistogram operations = new LatencyHistogram();
 
+        public PerformanceStats(MetricsRegistry registry) {
+            this.registry = registry;
+        }
+
+        /**
+         * Records the duration of an operation timed by the caller.
+         *
+         * @param executionTime the duration in milliseconds
+         */
         public void recordOperation(long executionTime) {
-            totalExecutionTime += executionTime;
-            totalOperations++;
-            maxExecutionTime = Math.max(maxExecutionTime, executionTime);
-            minExecutionTime = Math.min(minExecutionTime, executionTime);
+            operations.record(executionTime * 1_000_000L);
         }
 
+        /**
+         * Returns the mean duration of the recorded operations.
+         *
+         * @return the mean in milliseconds
+         */
         public double getAverageExecutionTime() {
-            return totalOperations > 0 ? (double) totalExecutionTime / totalOperations : 0.0;
+            return operations.getMeanNanos() / 1_000_000.0;
         }
 
         public void displayStats() {
             System.out.println("\n📊 PERFORMANCE STATISTICS");
             System.out.println("=".repeat(50));
-            System.out.println("Total Operations: " + totalOperations);
-            System.out.println("Total Execution Time: " + totalExecutionTime + " ms");
-            System.out.println("Average Execution Time: " + String.format("%.2f", getAverageExecutionTime()) + " ms");
-            System.out.println("Max Execution Time: " + maxExecutionTime + " ms");
-            System.out.println("Min Execution Time: " + (minExecutionTime == Long.MAX_VALUE ? 0 : minExecutionTime) + " ms");
+            System.out.print(registry.toText());
+            if (operations.getCount() > 0) {
+                System.out.println("Timed Operations: " + operations.getCount() + ", mean "
+                        + MetricsRegistry.formatNanos(operations.getMeanNanos()));
+            }
             System.out.println("Cache Hit Ratio: " + String.format("%.2f%%", cache.getHitRatio() * 100));
-            System.out.println("Object Reuse Ratio: " + String.format("%.2f%%", clausePool.getReuseRatio() * 100));
+            System.out.println("Clause Arena Slab Reuse: " + String.format("%.2f%%", ClauseArena.forCurrentThread().getReuseRatio() * 100));
         }
     }
 
-    private static final PerformanceStats stats = new PerformanceStats();
+    private static final PerformanceStats stats = new PerformanceStats(MetricsRegistry.getDefault());
 
     /**
      * Records performance metrics for an operation.
+     *
+     * @param startTime the start of the proof in milliseconds
+     * @param endTime the end of the proof in milliseconds
      */
     public static void recordOperation(long startTime, long endTime) {
         stats.recordOperation(endTime - startTime);
     }
 
+    /**
+     * Records the duration of a pipeline stage.
+     *
+     * @param stage the stage
+     * @param startNanos the start as returned by System.nanoTime()
+     * @param endNanos the end as returned by System.nanoTime()
+     */
+    public static void recordOperation(Stage stage, long startNanos, long endNanos) {
+        MetricsRegistry.getDefault().record(stage, endNanos - startNanos);
+    }
+
     /**
      * Displays comprehensive performance statistics.
      */
@@ -310,12 +219,14 @@ public class PerformanceOptimizer {
             System.out.println("⚠️ Low cache hit ratio - consider formula preprocessing");
         }
 
-        if (clausePool.getReuseRatio() < 0.5) {
-            System.out.println("⚠️ Low object reuse - consider more aggressive pooling");
+        if (ClauseArena.forCurrentThread().getUsedInts() > 0) {
+            System.out.println("⚠️ Clause arena not rewound - an engine leaks temporary clauses");
         }
 
-        if (stats.getAverageExecutionTime() > 1000) {
-            System.out.println("⚠️ High execution time - consider algorithm optimization");
+        long proveP99 = MetricsRegistry.getDefault().getHistogram(Stage.PROVE).getValueAtQuantile(0.99);
+        if (proveP99 > 1_000_000_000L) {
+            System.out.println("⚠️ High p99 proof latency (" + MetricsRegistry.formatNanos(proveP99)
+                    + ") - consider algorithm optimization");
         }
 
         System.out.println("✅ Performance monitoring active");
@@ -328,7 +239,6 @@ public class PerformanceOptimizer {
      * Cleanup resources and shutdown optimization systems.
      */
     public static void shutdown() {
-        parallelConverter.shutdown();
         cache.clear();
         System.out.println("🔄 Performance optimizer shutdown complete");
     }
@@ -1,24 +1,50 @@
 package optimized;
 
+import common.ClauseArena;
+import common.ClauseCollector;
+import common.ClauseSink;
+import common.SymbolTable;
+import common.jfr.CnfEvent;
+import common.jfr.NnfEvent;
+import common.metrics.MetricsRegistry;
+import common.metrics.Stage;
 import java.util.*;
+import java.util.concurrent.CancellationException;
+import propositional.common.Formula;
+import propositional.common.Propositional;
+import propositional.common.Unary;
+import propositional.parser.Parser;
+import propositional.scanner.Precedence;
+import propositional.scanner.Scanner;
+import propositional.scanner.Token;
 
 /**
  * Optimized CNF converter that implements more efficient algorithms.
  *
  * <p>
- * This class provides an improved implementation for converting logical
- * formulas to conjunctive normal form (CNF). It addresses the exponential
- * blowup problem common in naive CNF conversion by using optimized algorithms
- * and preprocessing steps.</p>
+ * This class is the fast path for converting propositional formulas to
+ * conjunctive normal form (CNF). It converts the formulas of the
+ * propositional {@link Parser}, the grammar shared by all engines, so it
+ * accepts the full input syntax and reads every formula the way the other
+ * engines do: every connective including &lt;=&gt;, atoms with digits such
+ * as A12, brackets and an optional full stop. The formula is copied once into
+ * int arrays, brought into negation normal form by pushing each negation down
+ * to the atoms, and distributed into clauses of signed variable numbers.</p>
  *
  * <p>
  * Key optimizations:
  * <ul>
- * <li>Pre-processing optimizations (double negation elimination)</li>
- * <li>Efficient AST-based parsing</li>
- * <li>Post-processing cleanup (removes tautological clauses)</li>
- * <li>Smart distribution algorithms</li>
- * </ul></p>
+ * <li>A single linear pass over the parsed formula, no string matching</li>
+ * <li>Negation normal form as a shared graph, so the two polarities of a
+ * subformula under &lt;=&gt; are built once each</li>
+ * <li>Clauses are built in the {@link ClauseArena} and streamed out one
+ * top-level conjunct at a time</li>
+ * <li>Post-processing cleanup (removes duplicate literals and tautological
+ * clauses)</li>
+ * </ul>
+ * The literal lists returned by {@link #convertToCNF(String)} are a view of
+ * the int clauses that names the literals on access, ¬ marking negated
+ * atoms.</p>
  *
  * @author Mark Schlichtmann
  * @version 2.0
@@ -27,53 +53,37 @@ import java.util.*;
 public class OptimizedCNFConverter {
 
     /**
-     * Internal node class for representing formulas as abstract syntax trees.
+     * Node kinds of the parse tree and of the negation normal form.
      */
-    private static class FormulaNode {
+    private static final int ATOM = 0;
+    private static final int NOT = 1;
+    private static final int AND = 2;
+    private static final int OR = 3;
+    private static final int IMPLY = 4;
+    private static final int IFF = 5;
+    private static final int LITERAL = 6;
 
-        /**
-         * The symbol or operator at this node
-         */
-        String symbol;
-        /**
-         * Left child node
-         */
-        FormulaNode left;
-        /**
-         * Right child node
-         */
-        FormulaNode right;
-        /**
-         * Whether this node is negated
-         */
-        boolean isNegated;
-        /**
-         * The operator (for non-leaf nodes)
-         */
-        String operator;
-
-        /**
-         * Constructs a leaf node with a symbol.
-         *
-         * @param symbol the symbol for this node
-         */
-        FormulaNode(String symbol) {
-            this.symbol = symbol;
-            this.isNegated = false;
-        }
-
-        /**
-         * Constructs an internal node with an operator and children.
-         *
-         * @param operator the operator for this node
-         * @param left the left child
-         * @param right the right child
-         */
-        FormulaNode(String operator, FormulaNode left, FormulaNode right) {
-            this.operator = operator;
-            this.left = left;
-            this.right = right;
-            this.isNegated = false;
+    /**
+     * A formula graph held in int arrays. An atom keeps its variable number
+     * and a literal its signed variable number as the left child.
+     */
+    private static final class Nodes {
+
+        private int[] kinds = new int[16];
+        private int[] lefts = new int[16];
+        private int[] rights = new int[16];
+        private int size;
+
+        int add(int kind, int left, int right) {
+            if (size == kinds.length) {
+                kinds = Arrays.copyOf(kinds, size * 2);
+                lefts = Arrays.copyOf(lefts, size * 2);
+                rights = Arrays.copyOf(rights, size * 2);
+            }
+            kinds[size] = kind;
+            lefts[size] = left;
+            rights[size] = right;
+            return size++;
         }
     }
 
@@ -86,228 +96,430 @@ public class OptimizedCNFConverter {
      * if conversion fails
      */
     public static List<List<String>> convertToCNF(String formula) {
-        try {
-            FormulaNode root = parseFormula(formula);
-            if (root == null) {
-                return null;
-            }
-
-            // Apply optimizations
-            root = optimizeFormula(root);
+        SymbolTable symbols = new SymbolTable();
+        ClauseCollector<int[]> collector = new ClauseCollector<>();
+        return convertToClauses(formula, symbols, collector) ? asLiteralLists(collector.getClauses(), symbols) : null;
+    }
 
-            // Convert to CNF
-            List<List<String>> cnf = convertToCNFInternal(root);
+    /**
+     * Converts a logical formula to conjunctive normal form and streams the
+     * clauses into a sink as lists of literal names.
+     *
+     * @param formula the logical formula to convert
+     * @param sink the sink that receives the clauses
+     * @return true if the formula was converted, false if it is not a well
+     * formed formula
+     */
+    public static boolean convertToCNF(String formula, ClauseSink<? super List<String>> sink) {
+        SymbolTable symbols = new SymbolTable();
+        return convertToClauses(formula, symbols, new ClauseSink<int[]>() {
+            @Override
+            public void addClause(int[] clause) {
+                sink.addClause(new LiteralList(clause, symbols));
+            }
 
-            // Post-processing optimizations
-            cnf = optimizeCNF(cnf);
+            @Override
+            public void close() {
+                sink.close();
+            }
+        });
+    }
 
-            return cnf;
-        } catch (Exception e) {
-            return null;
-        }
+    /**
+     * Converts a logical formula to conjunctive normal form and streams the
+     * clauses into a sink as signed variable numbers.
+     *
+     * <p>
+     * The top-level conjuncts of the formula are converted one after the other
+     * and their clauses are cleaned and handed to the sink straight away, so
+     * only the clauses of a single conjunct are held in memory at a time. The
+     * sink is closed after the last clause; nothing is streamed and the sink
+     * is left open if the formula is not well formed.</p>
+     *
+     * @param formula the logical formula to convert
+     * @param symbols the table that numbers the atoms
+     * @param sink the sink that receives the clauses
+     * @return true if the formula was converted, false if it is not a well
+     * formed formula
+     */
+    public static boolean convertToClauses(String formula, SymbolTable symbols, ClauseSink<int[]> sink) {
+        Formula parsed = parse(formula);
+        return parsed != null && convertToClauses(parsed, symbols, sink);
     }
 
     /**
-     * Parses a formula string into an abstract syntax tree.
+     * Parses a formula with the propositional {@link Parser}.
      *
      * <p>
-     * This is a simplified parser for demonstration purposes. In practice, you
-     * would use the existing parser and convert its output to FormulaNode
-     * structure.</p>
+     * Formulas printed by the engines negate with ¬, which the scanner does
+     * not read, so it is taken for !.</p>
      *
-     * @param formula the formula string to parse
-     * @return the root node of the AST, or null if parsing fails
+     * @param formula the formula, with or without a full stop
+     * @return the parsed formula, or null if it is not well formed
      */
-    private static FormulaNode parseFormula(String formula) {
-        // This is a simplified parser - in practice, you'd use the existing parser
-        // and convert its output to the FormulaNode structure
+    public static Formula parse(String formula) {
+        ArrayList<Token> tokens = new Scanner(formula.replace('¬', '!')).getTokens();
+        return tokens.isEmpty() ? null : new Parser(tokens).parse();
+    }
 
-        if (formula.matches("[A-Z]")) {
-            return new FormulaNode(formula);
-        }
+    /**
+     * Converts a parsed formula to conjunctive normal form and streams the
+     * clauses into a sink as signed variable numbers, as
+     * {@link #convertToClauses(String, SymbolTable, ClauseSink)} does.
+     *
+     * @param formula the formula of the propositional parser
+     * @param symbols the table that numbers the atoms
+     * @param sink the sink that receives the clauses
+     * @return true, since a parsed formula is well formed
+     * @throws CancellationException if the thread is interrupted while the
+     *         clauses are distributed
+     */
+    public static boolean convertToClauses(Formula formula, SymbolTable symbols, ClauseSink<int[]> sink) {
+        long start = System.nanoTime();
+        ClauseArena arena = ClauseArena.forCurrentThread();
+        int mark = arena.mark();
+        try {
+            CnfEvent cnfEvent = new CnfEvent();
+            cnfEvent.begin();
+            Nodes tree = new Nodes();
+            int root = copy(formula, tree, symbols);
+
+            NnfEvent nnfEvent = new NnfEvent();
+            nnfEvent.begin();
+            Nodes nnf = new Nodes();
+            int nnfRoot = new NegationNormalForm(tree, nnf).convert(root);
+            if (nnfEvent.shouldCommit()) {
+                nnfEvent.nodes = nnf.size;
+                nnfEvent.commit();
+            }
 
-        // Handle negations
-        if (formula.startsWith("!")) {
-            FormulaNode child = parseFormula(formula.substring(1));
-            if (child != null) {
-                child.isNegated = !child.isNegated;
+            // Convert each top-level conjunct and post-process its clauses;
+            // a conjunct shared in the graph is converted only once
+            Deque<Integer> conjuncts = new ArrayDeque<>();
+            conjuncts.push(nnfRoot);
+            boolean[] converted = new boolean[nnf.size];
+            long clauses = 0;
+            long literals = 0;
+            LiteralSet seen = new LiteralSet();
+            while (!conjuncts.isEmpty()) {
+                int node = conjuncts.pop();
+                if (converted[node]) {
+                    continue;
+                }
+                converted[node] = true;
+                if (nnf.kinds[node] == AND) {
+                    conjuncts.push(nnf.rights[node]);
+                    conjuncts.push(nnf.lefts[node]);
+                } else {
+                    // the clauses of one conjunct live in the arena until
+                    // they are handed to the sink
+                    int conjunctMark = arena.mark();
+                    ClauseRefs cnf = convertToCNFInternal(nnf, node, arena);
+                    for (int i = 0; i < cnf.size; i++) {
+                        int[] cleanClause = optimizeClause(cnf.refs[i], arena, symbols, seen);
+                        if (cleanClause != null) {
+                            ++clauses;
+                            literals += cleanClause.length;
+                            sink.addClause(cleanClause);
+                        }
+                    }
+                    arena.rewind(conjunctMark);
+                }
+            }
+            sink.close();
+            if (cnfEvent.shouldCommit()) {
+                cnfEvent.engine = "optimized";
+                cnfEvent.clauses = clauses;
+                cnfEvent.literals = literals;
+                cnfEvent.commit();
             }
-            return child;
+            return true;
+        } finally {
+            arena.rewind(mark);
+            MetricsRegistry.getDefault().recordSince(Stage.CNF, start);
         }
+    }
 
-        // Handle binary operators (simplified)
-        if (formula.contains("=>")) {
-            String[] parts = splitFormula(formula, "=>");
-            if (parts.length == 2) {
-                return new FormulaNode("=>", parseFormula(parts[0]), parseFormula(parts[1]));
-            }
+    /**
+     * Copies a formula of the propositional parser into a formula tree,
+     * numbering the atoms in the order met.
+     */
+    private static int copy(Formula formula, Nodes tree, SymbolTable symbols) {
+        if (formula instanceof Propositional) {
+            return tree.add(ATOM, symbols.getId(formula.getToken().getData()), -1);
         }
+        if (formula instanceof Unary) {
+            return tree.add(NOT, copy(formula.getRightPredicate(), tree, symbols), -1);
+        }
+        Precedence connective = formula.getToken().getType();
+        int kind = connective == Precedence.AND ? AND : connective == Precedence.OR ? OR
+                : connective == Precedence.IMPLY ? IMPLY : IFF;
+        int left = copy(formula.getleftPredicate(), tree, symbols);
+        return tree.add(kind, left, copy(formula.getRightPredicate(), tree, symbols));
+    }
 
-        if (formula.contains("&")) {
-            String[] parts = splitFormula(formula, "&");
-            if (parts.length == 2) {
-                return new FormulaNode("&", parseFormula(parts[0]), parseFormula(parts[1]));
-            }
+    /**
+     * Builds the negation normal form of a formula tree as a graph of
+     * literals, conjunctions and disjunctions. The form of each subformula in
+     * each polarity is built once and shared.
+     */
+    private static final class NegationNormalForm {
+
+        private final Nodes tree;
+        private final Nodes nnf;
+        /**
+         * The normal form of node n, or of its negation at n + size, plus one
+         */
+        private final int[] built;
+
+        NegationNormalForm(Nodes tree, Nodes nnf) {
+            this.tree = tree;
+            this.nnf = nnf;
+            this.built = new int[2 * tree.size];
         }
 
-        if (formula.contains("|")) {
-            String[] parts = splitFormula(formula, "|");
-            if (parts.length == 2) {
-                return new FormulaNode("|", parseFormula(parts[0]), parseFormula(parts[1]));
-            }
+        int convert(int root) {
+            return convert(root, true);
         }
 
-        return null;
+        private int convert(int node, boolean positive) {
+            int slot = positive ? node : node + tree.size;
+            if (built[slot] != 0) {
+                return built[slot] - 1;
+            }
+            int left = tree.lefts[node];
+            int right = tree.rights[node];
+            int result;
+            switch (tree.kinds[node]) {
+                case ATOM:
+                    result = nnf.add(LITERAL, positive ? left : -left, -1);
+                    break;
+                case NOT:
+                    result = convert(left, !positive);
+                    break;
+                case AND:
+                    // ¬(A & B) becomes ¬A | ¬B
+                    result = nnf.add(positive ? AND : OR, convert(left, positive), convert(right, positive));
+                    break;
+                case OR:
+                    result = nnf.add(positive ? OR : AND, convert(left, positive), convert(right, positive));
+                    break;
+                case IMPLY:
+                    // A => B becomes ¬A | B, its negation A & ¬B
+                    result = positive
+                            ? nnf.add(OR, convert(left, false), convert(right, true))
+                            : nnf.add(AND, convert(left, true), convert(right, false));
+                    break;
+                default:
+                    // A <=> B becomes (¬A | B) & (A | ¬B), its negation
+                    // (A | B) & (¬A | ¬B)
+                    result = nnf.add(AND,
+                            nnf.add(OR, convert(left, !positive), convert(right, true)),
+                            nnf.add(OR, convert(left, positive), convert(right, false)));
+                    break;
+            }
+            built[slot] = result + 1;
+            return result;
+        }
     }
 
     /**
-     * Splits a formula by an operator while properly handling parentheses.
-     *
-     * @param formula the formula to split
-     * @param operator the operator to split by
-     * @return array of two parts, or empty array if splitting fails
+     * Convert a negation normal form to CNF. The clauses are allocated in the
+     * clause arena as signed variable numbers.
      */
-    private static String[] splitFormula(String formula, String operator) {
-        int parenCount = 0;
-        for (int i = 0; i <= formula.length() - operator.length(); i++) {
-            if (formula.charAt(i) == '(') {
-                parenCount++;
-            } else if (formula.charAt(i) == ')') {
-                parenCount--;
-            } else if (parenCount == 0 && formula.substring(i, i + operator.length()).equals(operator)) {
-                return new String[]{
-                    formula.substring(0, i).trim(),
-                    formula.substring(i + operator.length()).trim()
-                };
+    private static ClauseRefs convertToCNFInternal(Nodes nnf, int node, ClauseArena arena) {
+        switch (nnf.kinds[node]) {
+            case LITERAL: {
+                int clause = arena.allocate(1);
+                arena.setLiteral(clause, 0, nnf.lefts[node]);
+                ClauseRefs result = new ClauseRefs();
+                result.add(clause);
+                return result;
             }
+            case AND: {
+                ClauseRefs result = new ClauseRefs();
+                result.addAll(convertToCNFInternal(nnf, nnf.lefts[node], arena));
+                result.addAll(convertToCNFInternal(nnf, nnf.rights[node], arena));
+                return result;
+            }
+            default:
+                return distributeOr(convertToCNFInternal(nnf, nnf.lefts[node], arena),
+                        convertToCNFInternal(nnf, nnf.rights[node], arena), arena);
         }
-        return new String[0];
     }
 
     /**
-     * Optimize formula before CNF conversion
+     * Distribute OR over AND
      */
-    private static FormulaNode optimizeFormula(FormulaNode node) {
-        if (node == null) {
-            return null;
-        }
+    private static ClauseRefs distributeOr(ClauseRefs left, ClauseRefs right, ClauseArena arena) {
+        ClauseRefs result = new ClauseRefs();
 
-        // Apply double negation elimination
-        while (node.isNegated && node.left == null && node.right == null) {
-            node.isNegated = false;
+        for (int i = 0; i < left.size; i++) {
+            if (Thread.currentThread().isInterrupted()) {
+                throw new CancellationException("the CNF conversion was interrupted");
+            }
+            int leftClause = left.refs[i];
+            int leftLength = arena.length(leftClause);
+            for (int j = 0; j < right.size; j++) {
+                int rightClause = right.refs[j];
+                int rightLength = arena.length(rightClause);
+                int newClause = arena.allocate(leftLength + rightLength);
+                int[] slab = arena.slab(newClause);
+                int offset = ClauseArena.offset(newClause);
+                System.arraycopy(arena.slab(leftClause), ClauseArena.offset(leftClause), slab, offset, leftLength);
+                System.arraycopy(arena.slab(rightClause), ClauseArena.offset(rightClause), slab, offset + leftLength, rightLength);
+                result.add(newClause);
+            }
         }
 
-        // Recursively optimize children
-        if (node.left != null) {
-            node.left = optimizeFormula(node.left);
+        return result;
+    }
+
+    /**
+     * Post-process a clause to remove redundancies
+     *
+     * @param clause the reference of the clause in the arena
+     * @return the clause without duplicate literals, in order of first
+     * occurrence, or null if the clause is tautological (contains both P and
+     * ¬P)
+     */
+    private static int[] optimizeClause(int clause, ClauseArena arena, SymbolTable symbols, LiteralSet seen) {
+        int length = arena.length(clause);
+        int[] slab = arena.slab(clause);
+        int offset = ClauseArena.offset(clause);
+        seen.clear(symbols.size());
+        int distinct = 0;
+        for (int i = offset; i < offset + length; i++) {
+            if (seen.contains(-slab[i])) {
+                return null;
+            }
+            if (seen.add(slab[i])) {
+                ++distinct;
+            }
         }
-        if (node.right != null) {
-            node.right = optimizeFormula(node.right);
+
+        // Remove duplicate literals in clause, keeping the first occurrence
+        seen.clear(symbols.size());
+        int[] cleanClause = new int[distinct];
+        int size = 0;
+        for (int i = offset; i < offset + length; i++) {
+            if (seen.add(slab[i])) {
+                cleanClause[size++] = slab[i];
+            }
         }
+        return cleanClause;
+    }
 
-        return node;
+    /**
+     * Returns int clauses as lists of literal names. The lists are a view:
+     * each literal is named when it is read.
+     *
+     * @param clauses the clauses as signed variable numbers
+     * @param symbols the table that numbered the atoms
+     * @return the clauses as literal lists, negated atoms marked with ¬
+     */
+    public static List<List<String>> asLiteralLists(List<int[]> clauses, SymbolTable symbols) {
+        return new AbstractList<List<String>>() {
+            @Override
+            public List<String> get(int index) {
+                return new LiteralList(clauses.get(index), symbols);
+            }
+
+            @Override
+            public int size() {
+                return clauses.size();
+            }
+        };
     }
 
     /**
-     * Convert optimized formula to CNF
+     * A clause of signed variable numbers seen as a list of literal names.
      */
-    private static List<List<String>> convertToCNFInternal(FormulaNode node) {
-        if (node == null) {
-            return new ArrayList<>();
-        }
+    private static final class LiteralList extends AbstractList<String> {
 
-        // Base case: literal
-        if (node.left == null && node.right == null) {
-            List<List<String>> result = new ArrayList<>();
-            List<String> clause = new ArrayList<>();
-            clause.add(node.isNegated ? "¬" + node.symbol : node.symbol);
-            result.add(clause);
-            return result;
-        }
+        private final int[] clause;
+        private final SymbolTable symbols;
 
-        // Handle operators
-        if ("&".equals(node.operator)) {
-            List<List<String>> leftCNF = convertToCNFInternal(node.left);
-            List<List<String>> rightCNF = convertToCNFInternal(node.right);
-            leftCNF.addAll(rightCNF);
-            return leftCNF;
+        LiteralList(int[] clause, SymbolTable symbols) {
+            this.clause = clause;
+            this.symbols = symbols;
         }
 
-        if ("|".equals(node.operator)) {
-            List<List<String>> leftCNF = convertToCNFInternal(node.left);
-            List<List<String>> rightCNF = convertToCNFInternal(node.right);
-            return distributeOr(leftCNF, rightCNF);
+        @Override
+        public String get(int index) {
+            int literal = clause[index];
+            String name = symbols.getName(Math.abs(literal));
+            return literal < 0 ? "¬" + name : name;
         }
 
-        if ("=>".equals(node.operator)) {
-            // P => Q becomes ¬P | Q
-            FormulaNode notP = new FormulaNode(node.left.symbol);
-            notP.isNegated = true;
-            return convertToCNFInternal(new FormulaNode("|", notP, node.right));
+        @Override
+        public int size() {
+            return clause.length;
         }
-
-        return new ArrayList<>();
     }
 
     /**
-     * Distribute OR over AND (simplified)
+     * A growable list of clause references into the clause arena.
      */
-    private static List<List<String>> distributeOr(List<List<String>> left, List<List<String>> right) {
-        List<List<String>> result = new ArrayList<>();
-
-        for (List<String> leftClause : left) {
-            for (List<String> rightClause : right) {
-                List<String> newClause = new ArrayList<>();
-                newClause.addAll(leftClause);
-                newClause.addAll(rightClause);
-                result.add(newClause);
+    private static final class ClauseRefs {
+
+        private int[] refs = new int[4];
+        private int size;
+
+        void add(int ref) {
+            if (size == refs.length) {
+                refs = Arrays.copyOf(refs, size * 2);
             }
+            refs[size++] = ref;
         }
 
-        return result;
+        void addAll(ClauseRefs other) {
+            for (int i = 0; i < other.size; i++) {
+                add(other.refs[i]);
+            }
+        }
     }
 
     /**
-     * Post-process CNF to remove redundancies
+     * A set of literals that is cleared in constant time by advancing a stamp.
      */
-    private static List<List<String>> optimizeCNF(List<List<String>> cnf) {
-        List<List<String>> optimized = new ArrayList<>();
+    private static final class LiteralSet {
 
-        for (List<String> clause : cnf) {
-            // Remove duplicate literals in clause
-            Set<String> uniqueLiterals = new LinkedHashSet<>(clause);
-            List<String> cleanClause = new ArrayList<>(uniqueLiterals);
+        private int[] stamps = new int[16];
+        private int stamp;
 
-            // Skip tautological clauses (contain both P and ¬P)
-            if (!isTautological(cleanClause)) {
-                optimized.add(cleanClause);
+        /**
+         * Empties the set and makes room for literals of the given number of
+         * variables.
+         */
+        void clear(int variables) {
+            if (2 * variables + 2 > stamps.length) {
+                stamps = Arrays.copyOf(stamps, Math.max(stamps.length * 2, 2 * variables + 2));
             }
+            ++stamp;
         }
 
-        return optimized;
-    }
+        private static int index(int literal) {
+            return literal < 0 ? -2 * literal + 1 : 2 * literal;
+        }
 
-    /**
-     * Check if a clause is tautological
-     */
-    private static boolean isTautological(List<String> clause) {
-        Set<String> literals = new HashSet<>();
-
-        for (String literal : clause) {
-            if (literal.startsWith("¬")) {
-                String positive = literal.substring(1);
-                if (literals.contains(positive)) {
-                    return true;
-                }
-            } else {
-                if (literals.contains("¬" + literal)) {
-                    return true;
-                }
-            }
-            literals.add(literal);
+        boolean contains(int literal) {
+            return stamps[index(literal)] == stamp;
         }
 
-        return false;
+        /**
+         * Adds a literal.
+         *
+         * @return true if the literal was not in the set
+         */
+        boolean add(int literal) {
+            int index = index(literal);
+            if (stamps[index] == stamp) {
+                return false;
+            }
+            stamps[index] = stamp;
+            return true;
+        }
     }
 
     /**
@@ -344,4 +556,15 @@ public class OptimizedCNFConverter {
         sb.append("]");
         return sb.toString();
     }
+
+    /**
+     * Formats int clauses for display as a readable string.
+     *
+     * @param clauses the clauses as signed variable numbers
+     * @param symbols the table that numbered the atoms
+     * @return formatted string representation of the CNF
+     */
+    public static String formatCNF(List<int[]> clauses, SymbolTable symbols) {
+        return formatCNF(asLiteralLists(clauses, symbols));
+    }
 }
@@ -0,0 +1,426 @@
+package optimized;
+
+import common.SymbolTable;
+import common.jfr.CnfEvent;
+import common.metrics.MetricsRegistry;
+import common.metrics.Stage;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+import propositional.common.Formula;
+
+/**
+ * Converts parsed propositional formulas to conjunctive normal form, in
+ * parallel for large formulas.
+ *
+ * <p>
+ * The conversion works on the formula tree built by the propositional parser,
+ * so the precedence of the connectives is already resolved. Negations are
+ * pushed inwards by tracking the polarity of each subformula, and every
+ * connective reduces to one of two set operations on clause sets: the union
+ * of the clauses of a conjunction, or the product of the clauses of a
+ * disjunction. Above a size threshold the two sides of a union are converted
+ * in separate fork-join tasks, and large products are split over the clauses
+ * of the left side.</p>
+ *
+ * <p>
+ * Union and product are commutative and associative up to the order of
+ * clauses, and every clause is kept in a canonical form (literals ordered by
+ * variable, no duplicates, tautologies dropped). The result is deduplicated
+ * and sorted canonically at the end, so {@link #convert(Formula, SymbolTable)}
+ * returns exactly the clauses of
+ * {@link #convertSequential(Formula, SymbolTable)}, whatever the split. Atoms
+ * are numbered in one pass before any task starts, so the numbering does not
+ * depend on scheduling either.</p>
+ *
+ * @author Mark Schlichtmann
+ * @version 2.0
+ * @since 2026
+ */
+public class ParallelCNFConverter {
+
+    /**
+     * The default number of formula nodes from which a subformula is
+     * converted in its own task.
+     */
+    public static final int DEFAULT_THRESHOLD = 512;
+    /**
+     * The number of clause pairs from which a product is split into tasks.
+     */
+    private static final int PRODUCT_THRESHOLD = 4096;
+
+    private final ForkJoinPool pool;
+    private final int threshold;
+
+    /**
+     * Creates a converter that runs on the common fork-join pool.
+     */
+    public ParallelCNFConverter() {
+        this(ForkJoinPool.commonPool(), DEFAULT_THRESHOLD);
+    }
+
+    /**
+     * Creates a converter.
+     *
+     * @param pool the pool the tasks run on
+     * @param threshold the number of formula nodes from which a subformula is
+     * converted in its own task, at least 1
+     */
+    public ParallelCNFConverter(ForkJoinPool pool, int threshold) {
+        if (threshold < 1) {
+            throw new IllegalArgumentException("threshold must be at least 1, got " + threshold);
+        }
+        this.pool = pool;
+        this.threshold = threshold;
+    }
+
+    /**
+     * Converts a formula, forking tasks for large subformulas.
+     *
+     * @param formula the parsed formula
+     * @param symbols the table that numbers the atoms
+     * @return the clauses as signed variable numbers in canonical order
+     * @throws IllegalArgumentException if the formula contains an unknown
+     * connective
+     */
+    public List<int[]> convert(Formula formula, SymbolTable symbols) {
+        return run(formula, symbols, true);
+    }
+
+    /**
+     * Converts a formula on the calling thread. The conversion stops when
+     * the thread is interrupted while clauses are being multiplied out.
+     *
+     * @param formula the parsed formula
+     * @param symbols the table that numbers the atoms
+     * @return the clauses as signed variable numbers in canonical order
+     * @throws IllegalArgumentException if the formula contains an unknown
+     * connective
+     * @throws CancellationException if the thread was interrupted
+     */
+    public List<int[]> convertSequential(Formula formula, SymbolTable symbols) {
+        return run(formula, symbols, false);
+    }
+
+    private List<int[]> run(Formula formula, SymbolTable symbols, boolean parallel) {
+        long start = System.nanoTime();
+        CnfEvent event = new CnfEvent();
+        event.begin();
+        try {
+            Conversion conversion = new Conversion(formula, symbols, parallel);
+            List<int[]> clauses = parallel
+                    ? pool.invoke(conversion.task(formula, true))
+                    : conversion.cnf(formula, true);
+            clauses = canonical(clauses);
+            if (event.shouldCommit()) {
+                event.engine = parallel ? "parallel" : "parallel-sequential";
+                event.clauses = clauses.size();
+                for (int[] clause : clauses) {
+                    event.literals += clause.length;
+                }
+                event.commit();
+            }
+            return clauses;
+        } finally {
+            MetricsRegistry.getDefault().recordSince(Stage.CNF, start);
+        }
+    }
+
+    /**
+     * Returns clauses as lists of literal names, negative literals prefixed
+     * with ¬, as produced by {@link OptimizedCNFConverter}.
+     *
+     * @param clauses the clauses as signed variable numbers
+     * @param symbols the table that numbered the atoms
+     * @return the clauses as literal lists
+     */
+    public static List<List<String>> toLiteralLists(List<int[]> clauses, SymbolTable symbols) {
+        List<List<String>> result = new ArrayList<>(clauses.size());
+        for (int[] clause : clauses) {
+            List<String> literals = new ArrayList<>(clause.length);
+            for (int literal : clause) {
+                String name = symbols.getName(Math.abs(literal));
+                literals.add(literal < 0 ? "¬" + name : name);
+            }
+            result.add(literals);
+        }
+        return result;
+    }
+
+    /**
+     * The state of one conversion: the node counts of the subformulas and the
+     * atom numbers, both computed before any task starts and only read
+     * afterwards.
+     */
+    private final class Conversion {
+
+        private final Map<Formula, Integer> sizes = new IdentityHashMap<>();
+        private final Map<Formula, Integer> atoms = new IdentityHashMap<>();
+        private final boolean parallel;
+
+        Conversion(Formula formula, SymbolTable symbols, boolean parallel) {
+            this.parallel = parallel;
+            // number the atoms from left to right and count nodes bottom up
+            Deque<Formula> pending = new ArrayDeque<>();
+            Deque<Formula> visited = new ArrayDeque<>();
+            pending.push(formula);
+            while (!pending.isEmpty()) {
+                Formula node = pending.pop();
+                visited.push(node);
+                switch (node.getToken().getType()) {
+                    case PREDICATE:
+                        atoms.put(node, symbols.getId(node.getToken().getData()));
+                        break;
+                    case NOT:
+                        pending.push(node.getRightPredicate());
+                        break;
+                    case AND:
+                    case OR:
+                    case IMPLY:
+                    case IFF:
+                        pending.push(node.getRightPredicate());
+                        pending.push(node.getleftPredicate());
+                        break;
+                    default:
+                        throw new IllegalArgumentException("unexpected connective " + node.getToken().getData());
+                }
+            }
+            while (!visited.isEmpty()) {
+                Formula node = visited.pop();
+                int size = 1;
+                if (node.getleftPredicate() != null) {
+                    size += sizes.get(node.getleftPredicate());
+                }
+                if (node.getRightPredicate() != null) {
+                    size += sizes.get(node.getRightPredicate());
+                }
+                sizes.put(node, size);
+            }
+        }
+
+        RecursiveTask<List<int[]>> task(Formula formula, boolean positive) {
+            return new RecursiveTask<List<int[]>>() {
+                @Override
+                protected List<int[]> compute() {
+                    return cnf(formula, positive);
+                }
+            };
+        }
+
+        /**
+         * Converts a subformula, or its negation when positive is false.
+         */
+        List<int[]> cnf(Formula formula, boolean positive) {
+            Formula left = formula.getleftPredicate();
+            Formula right = formula.getRightPredicate();
+            switch (formula.getToken().getType()) {
+                case PREDICATE:
+                    int variable = atoms.get(formula);
+                    List<int[]> unit = new ArrayList<>(1);
+                    unit.add(new int[]{positive ? variable : -variable});
+                    return unit;
+                case NOT:
+                    return cnf(right, !positive);
+                case AND:
+                    // A & B, or ¬A | ¬B when negated
+                    return positive ? union(left, true, right, true) : product(left, false, right, false);
+                case OR:
+                    return positive ? product(left, true, right, true) : union(left, false, right, false);
+                case IMPLY:
+                    // ¬A | B, or A & ¬B when negated
+                    return positive ? product(left, false, right, true) : union(left, true, right, false);
+                case IFF:
+                    // (¬A | B) & (A | ¬B), or (A | B) & (¬A | ¬B) when negated
+                    List<int[]> first = product(left, !positive, right, true);
+                    List<int[]> second = product(left, positive, right, false);
+                    first.addAll(second);
+                    return dedupe(first);
+                default:
+                    throw new IllegalArgumentException("unexpected connective " + formula.getToken().getData());
+            }
+        }
+
+        private boolean fork(Formula formula) {
+            return parallel && sizes.get(formula) >= threshold;
+        }
+
+        private List<int[]> union(Formula left, boolean leftPositive, Formula right, boolean rightPositive) {
+            List<int[]> leftClauses;
+            List<int[]> rightClauses;
+            if (fork(left) && fork(right)) {
+                RecursiveTask<List<int[]>> leftTask = task(left, leftPositive);
+                RecursiveTask<List<int[]>> rightTask = task(right, rightPositive);
+                ForkJoinTask.invokeAll(leftTask, rightTask);
+                leftClauses = leftTask.join();
+                rightClauses = rightTask.join();
+            } else {
+                leftClauses = cnf(left, leftPositive);
+                rightClauses = cnf(right, rightPositive);
+            }
+            leftClauses.addAll(rightClauses);
+            return dedupe(leftClauses);
+        }
+
+        private List<int[]> product(Formula left, boolean leftPositive, Formula right, boolean rightPositive) {
+            List<int[]> leftClauses;
+            List<int[]> rightClauses;
+            if (fork(left) && fork(right)) {
+                RecursiveTask<List<int[]>> leftTask = task(left, leftPositive);
+                RecursiveTask<List<int[]>> rightTask = task(right, rightPositive);
+                ForkJoinTask.invokeAll(leftTask, rightTask);
+                leftClauses = leftTask.join();
+                rightClauses = rightTask.join();
+            } else {
+                leftClauses = cnf(left, leftPositive);
+                rightClauses = cnf(right, rightPositive);
+            }
+            return dedupe(distribute(leftClauses, 0, leftClauses.size(), rightClauses));
+        }
+
+        /**
+         * Returns the disjunctions of a range of the left clauses with every
+         * right clause, splitting large ranges into tasks.
+         */
+        private List<int[]> distribute(List<int[]> left, int from, int to, List<int[]> right) {
+            if (parallel && to - from > 1 && (long) (to - from) * right.size() >= PRODUCT_THRESHOLD) {
+                int middle = (from + to) >>> 1;
+                RecursiveTask<List<int[]>> lower = new RecursiveTask<List<int[]>>() {
+                    @Override
+                    protected List<int[]> compute() {
+                        return distribute(left, from, middle, right);
+                    }
+                };
+                RecursiveTask<List<int[]>> upper = new RecursiveTask<List<int[]>>() {
+                    @Override
+                    protected List<int[]> compute() {
+                        return distribute(left, middle, to, right);
+                    }
+                };
+                ForkJoinTask.invokeAll(lower, upper);
+                List<int[]> result = lower.join();
+                result.addAll(upper.join());
+                return result;
+            }
+            List<int[]> result = new ArrayList<>((to - from) * right.size());
+            for (int i = from; i < to; i++) {
+                if (!parallel && Thread.currentThread().isInterrupted()) {
+                    throw new CancellationException("CNF conversion was interrupted");
+                }
+                for (int[] clause : right) {
+                    int[] merged = merge(left.get(i), clause);
+                    if (merged != null) {
+                        result.add(merged);
+                    }
+                }
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Returns the sort key of a literal: literals are ordered by variable,
+     * the positive one first, so complementary literals are adjacent.
+     */
+    private static int key(int literal) {
+        return literal < 0 ? -2 * literal + 1 : 2 * literal;
+    }
+
+    /**
+     * Merges two canonical clauses into their disjunction.
+     *
+     * @return the canonical disjunction, or null if it is a tautology
+     */
+    private static int[] merge(int[] first, int[] second) {
+        int[] merged = new int[first.length + second.length];
+        int i = 0;
+        int j = 0;
+        int length = 0;
+        while (i < first.length || j < second.length) {
+            int literal;
+            if (j == second.length || (i < first.length && key(first[i]) <= key(second[j]))) {
+                literal = first[i++];
+            } else {
+                literal = second[j++];
+            }
+            if (length > 0) {
+                int previous = merged[length - 1];
+                if (previous == literal) {
+                    continue;
+                }
+                if (previous == -literal) {
+                    return null;
+                }
+            }
+            merged[length++] = literal;
+        }
+        return length == merged.length ? merged : Arrays.copyOf(merged, length);
+    }
+
+    /**
+     * Removes repeated clauses, keeping the first occurrence.
+     */
+    private static List<int[]> dedupe(List<int[]> clauses) {
+        Set<ClauseKey> seen = new HashSet<>(clauses.size() * 2);
+        List<int[]> result = new ArrayList<>(clauses.size());
+        for (int[] clause : clauses) {
+            if (seen.add(new ClauseKey(clause))) {
+                result.add(clause);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Removes repeated clauses and sorts the rest by length and then by
+     * their literals.
+     */
+    private static List<int[]> canonical(List<int[]> clauses) {
+        List<int[]> result = dedupe(clauses);
+        result.sort((first, second) -> {
+            if (first.length != second.length) {
+                return Integer.compare(first.length, second.length);
+            }
+            for (int i = 0; i < first.length; i++) {
+                if (first[i] != second[i]) {
+                    return Integer.compare(key(first[i]), key(second[i]));
+                }
+            }
+            return 0;
+        });
+        return result;
+    }
+
+    /**
+     * A clause as a hash key.
+     */
+    private static final class ClauseKey {
+
+        private final int[] literals;
+        private final int hash;
+
+        ClauseKey(int[] literals) {
+            this.literals = literals;
+            this.hash = Arrays.hashCode(literals);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof ClauseKey && Arrays.equals(literals, ((ClauseKey) other).literals);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
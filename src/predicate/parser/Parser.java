@@ -1,5 +1,9 @@
 package predicate.parser;
 
+import common.EngineEvents;
+import common.jfr.ParseEvent;
+import common.metrics.MetricsRegistry;
+import common.metrics.Stage;
 import inputoutput.InputReader;
 import java.util.ArrayList;
 import java.util.Iterator;
@@ -48,7 +52,7 @@ public class Parser {
     /** Another stack is used to parse all the logical symbols* */
     private ConnectiveStack operators = new ConnectiveStack();
     /** Is used to allocate free variables and parameters during parsing */
-    private static FreeTermsTable variableTable = new FreeTermsTable();
+    private FreeTermsTable variableTable = new FreeTermsTable();
     /** Counts the number of quantifiers during parsing */
     private int quantifiers = 0;
     /** A list of all variables */
@@ -78,14 +82,15 @@ public class Parser {
                 if (functions.isEmpty()) {
                     Token n = terms.popTerm();
                     Term t = new Term(n, null);
-                    if (t instanceof Variable) {
-                        variableTable.addVariable(t);
-                    }
+                    variableTable.addVariable(t);
                     formulas.pushFormula(t);
                     return true;
                 } else if (terms.isEmpty()) {
                     formulas.pushFormula(functions.popFunction());
                 }
+            } else if (predicates.isEmpty() && formulas.size() == 1) {
+                // the brackets around the sentence closed it already
+                return true;
             } else {
                 return false;
             }
@@ -129,6 +134,26 @@ public class Parser {
      * @return WFExpression is the parsed abstract formula
      */
     public WFExpression accept() {
+        long start = System.nanoTime();
+        ParseEvent event = new ParseEvent();
+        event.begin();
+        WFExpression result = this.acceptTokens();
+        MetricsRegistry.getDefault().recordSince(Stage.PARSE, start);
+        if (event.shouldCommit()) {
+            event.logic = "predicate";
+            event.tokens = tokens.size();
+            event.successful = result != null;
+            event.commit();
+        }
+        return result;
+    }
+
+    /**
+     * This method accepts the tokens that are left in the sequence
+     * 
+     * @return WFExpression is the parsed abstract formula
+     */
+    private WFExpression acceptTokens() {
         boolean var = false;
         while (it.hasNext()) {
             Token t = (Token) it.next();
@@ -173,7 +198,7 @@ public class Parser {
         /** Reduce all items in the stacks and return the abstract formula* */
         if (reduce()) {
             syntax = formulas.popFormula();
-            System.out.println("Parsing completed successfully.");
+            EngineEvents.getListener().parsingCompleted();
         }
         return syntax;
     }
@@ -194,7 +219,8 @@ public class Parser {
                     if (!predicates.isEmpty() && !terms.isEmpty()) {
                         Term temp = null;
                         Token token;
-                        while (!terms.isEmpty()) {
+                        // the variables of enclosing quantifiers stay on the stack
+                        while (terms.size() > this.quantifiers) {
                             token = terms.popTerm();
                             if (token == null) {
                                 Term term = functions.popFunction();
@@ -202,9 +228,8 @@ public class Parser {
                                 temp = term;
                             } else {
                                 temp = new Term(token, temp);
-                                if (temp instanceof Variable) {
-                                    variableTable.addVariable(temp);
-                                }
+                                // constants are recorded too, so no parameter takes their name
+                                variableTable.addVariable(temp);
                             }
                         }
                         token = predicates.popPredicate();
@@ -215,7 +240,7 @@ public class Parser {
                         return;
                     }
                 } else if (nextOp.isQuantifier()) {
-                    while (this.quantifiers != 0) {
+                    while (this.quantifiers != 0 && !operators.isEmpty() && operators.peekOp().isQuantifier()) {
                         if (!predicates.isEmpty() && !terms.isEmpty()) {
                             Term temp = null;
                             Token token;
@@ -242,6 +267,7 @@ public class Parser {
                                     } else {
                                         Term v = new Term(token, temp);
                                         temp = v;
+                                        variableTable.addVariable(temp);
                                     }
                                 }
                             }
@@ -269,32 +295,31 @@ public class Parser {
                     }
                     return;
                 }
-            } else if (op.isBinary() || op.isUnary()) {
-                op = operators.popOp();
-                if (predicates.isEmpty()) {
-                    if (op.getType() == 11) {
-                        // parsing unary formula
-                        Formula f = (Formula) formulas.popFormula();
-                        Unary u = new Unary(op, f);
-                        formulas.pushFormula(u);
-                        return;
-                    } else {
-                        // parsing binary formula
-                        Formula f2 = (Formula) formulas.popFormula();
-                        Formula f1 = (Formula) formulas.popFormula();
-                        Binary b = new Binary(op, f1, f2);
-                        formulas.pushFormula(b);
-                        return;
-                    }
+            } else {
+                return;
+            }
+        } else if (op.isBinary() || op.isUnary()) {
+            op = operators.popOp();
+            if (predicates.isEmpty()) {
+                if (op.getType() == 11) {
+                    // parsing unary formula
+                    Formula f = (Formula) formulas.popFormula();
+                    Unary u = new Unary(op, f);
+                    formulas.pushFormula(u);
                 } else {
-                    System.out.println("Error in syntax - not a first-order logic sentence");
-                    return;
+                    // parsing binary formula
+                    Formula f2 = (Formula) formulas.popFormula();
+                    Formula f1 = (Formula) formulas.popFormula();
+                    Binary b = new Binary(op, f1, f2);
+                    formulas.pushFormula(b);
+                }
+                // close the bracket around the connective, applying the quantifiers before it
+                if (!operators.isEmpty()) {
+                    acceptFormula();
                 }
             } else {
-                return;
+                System.out.println("Error in syntax - not a first-order logic sentence");
             }
-        } else {
-            return;
         }
     }
 
@@ -379,6 +404,7 @@ public class Parser {
                                 } else {
                                     Term v = new Term(token, temp);
                                     temp = v;
+                                    variableTable.addVariable(temp);
                                 }
                             }
                             token = terms.popTerm();
@@ -0,0 +1,852 @@
+package predicate.resolution;
+
+import common.jfr.ResolutionStepEvent;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.PriorityQueue;
+import java.util.concurrent.CancellationException;
+import predicate.common.Function;
+import predicate.common.Predicate;
+import predicate.common.Term;
+import predicate.common.Unary;
+import predicate.common.Variable;
+import predicate.common.WFExpression;
+
+/**
+ * <p>Title: Predicate Logic Theorem Prover</p>
+ * <p>Description: A theorem prover for predicate logic</p>
+ * <p>Copyright: Copyright (c) 2005</p>
+ * <p>Department: Computer Science</p>
+ * @author Mark Schlichtmann
+ * @version 2.0*/
+/*******************************************************************************
+ * The ClauseResolver class refutes a set of first order clauses by binary
+ * resolution and factoring with most general unifiers. It follows the given
+ * clause loop: the lightest clause waiting is made active and resolved
+ * against every active clause, until the empty clause is derived or no clause
+ * is waiting. The ResolutionStrategy decides which clauses wait and which
+ * literals are resolved upon. With the set of support strategy only the
+ * clauses of the negated goal wait at the start, while the axioms are active
+ * from the beginning and so are never resolved with each other.
+ *
+ * Literals are atoms of a TermBank with the sign in the lowest bit, so a clause
+ * is an int array and two literals are equal when their numbers are. The
+ * variables of a clause are numbered from 0; the variables of the second
+ * clause of a resolution step are shifted past those of the first instead of
+ * being renamed, and the bindings of the unifier are undone after each step.
+ * New clauses that are tautologies or subsumed by a kept clause are dropped.
+ * The kept clauses that may subsume a new one are found by the predicate
+ * symbol and sign of their first literal, and then filtered by a feature
+ * vector: the symbols of the positive and of the negative literals and the
+ * depth of the deepest atom, none of which can be larger in a clause than in
+ * a clause it subsumes.
+ *
+ * Terms are shared in the TermBank, so a term of depth n can stand for a
+ * written term of length 2^n, and unifying, instantiating or matching it
+ * costs as much. The search is therefore bounded three ways: by the number of
+ * kept clauses, by the depth of the atoms of a kept clause, deeper clauses
+ * being dropped, and by time. A search cut short by any of them has not
+ * shown the clauses satisfiable.
+ ******************************************************************************/
+public class ClauseResolver {
+    /** The default limit on the number of kept clauses */
+    public static final int DEFAULT_CLAUSE_LIMIT = 5000;
+    /** The default limit on the depth of the atoms of a kept clause */
+    public static final int DEFAULT_DEPTH_LIMIT = 16;
+    /** The default limit on the time of a search, in milliseconds */
+    public static final long DEFAULT_TIME_LIMIT = 10000;
+    /** Marks a variable without binding */
+    private static final int UNBOUND = Integer.MIN_VALUE;
+    /** The restrictions placed on resolution */
+    private final ResolutionStrategy strategy;
+    /** Holds the atoms and terms of all clauses */
+    private final TermBank bank;
+    /** Selects the literals resolved upon, or null for all literals */
+    private final TermOrdering ordering;
+    /** The number of kept clauses after which the search gives up */
+    private final int clauseLimit;
+    /** The depth of atoms beyond which a new clause is dropped */
+    private final int depthLimit;
+    /** The time after which the search gives up, in milliseconds */
+    private final long timeLimit;
+    /** The value of System.nanoTime at which the search gives up */
+    private long deadline;
+    /** Set when a clause without support was added */
+    private boolean axioms;
+    /** The literals of the kept clauses */
+    private final ArrayList<int[]> clauses = new ArrayList<int[]>();
+    /** The number of variables of each kept clause */
+    private int[] variableCounts = new int[64];
+    /** The symbols of the positive literals of each kept clause */
+    private long[] positiveSymbols = new long[64];
+    /** The symbols of the negative literals of each kept clause */
+    private long[] negativeSymbols = new long[64];
+    /** The depth of the deepest atom of each kept clause */
+    private int[] depths = new int[64];
+    /** The clauses waiting to be given, by weight and then by age */
+    private final PriorityQueue<Long> waiting = new PriorityQueue<Long>();
+    /**
+     * The literals that may be resolved upon in the active clauses, as pairs of
+     * clause and position, for each predicate symbol and sign
+     */
+    private int[][] occurrences = new int[16][];
+    /** The number of ints used in each occurrence list */
+    private int[] occurrenceCounts = new int[16];
+    /** The kept clauses by the predicate symbol and sign of their first literal */
+    private int[][] firsts = new int[16][];
+    /** The number of clauses in each list of firsts */
+    private int[] firstCounts = new int[16];
+    /** The term bound to each variable of a resolution step */
+    private int[] bindings = new int[64];
+    /** The variable offset of the term bound to each variable */
+    private int[] bindingOffsets = new int[64];
+    /** The variables bound during a step */
+    private int[] trail = new int[64];
+    /** The number of variables on the trail */
+    private int trailSize;
+    /** The variable numbers of a new clause, by variable of the step */
+    private int[] renaming = new int[64];
+    /** The number of variables of the new clause */
+    private int renamed;
+    /** Holds the arguments of the terms being instantiated */
+    private int[] stack = new int[64];
+    /** The number of ints used on the stack */
+    private int stackSize;
+    /** Holds the literals of a new clause */
+    private int[] buffer = new int[16];
+    /** The term each variable of a subsuming clause is matched with */
+    private int[] matches = new int[64];
+    /** The variables matched during a subsumption test */
+    private int[] matchTrail = new int[64];
+    /** The number of variables on the match trail */
+    private int matchTrailSize;
+    /** The result of deref: the term */
+    private int derefTerm;
+    /** The result of deref: the offset of its variables */
+    private int derefOffset;
+    /** The number of resolvents and factors built, including discarded ones */
+    private long resolventCount;
+    /** Set when the empty clause has been derived */
+    private boolean refuted;
+    /** Set when the search stopped at the clause or time limit */
+    private boolean limitReached;
+    /** Set when a clause was dropped for the depth of its atoms */
+    private boolean pruned;
+
+    /** Initialising a resolver with the set of support strategy */
+    public ClauseResolver() {
+        this(ResolutionStrategy.SET_OF_SUPPORT, DEFAULT_CLAUSE_LIMIT);
+    }
+
+    /**
+     * Initialising a resolver
+     *
+     * @param strategy
+     *            ResolutionStrategy is the restriction placed on resolution
+     * @param clauseLimit
+     *            int is the number of kept clauses after which the search
+     *            gives up
+     */
+    public ClauseResolver(ResolutionStrategy strategy, int clauseLimit) {
+        this(strategy, clauseLimit, DEFAULT_DEPTH_LIMIT, DEFAULT_TIME_LIMIT);
+    }
+
+    /**
+     * Initialising a resolver with all its limits
+     *
+     * @param strategy
+     *            ResolutionStrategy is the restriction placed on resolution
+     * @param clauseLimit
+     *            int is the number of kept clauses after which the search
+     *            gives up
+     * @param depthLimit
+     *            int is the depth of atoms beyond which a new clause is
+     *            dropped
+     * @param timeLimit
+     *            long is the time in milliseconds after which the search gives
+     *            up
+     */
+    public ClauseResolver(ResolutionStrategy strategy, int clauseLimit, int depthLimit, long timeLimit) {
+        this.strategy = strategy;
+        this.clauseLimit = clauseLimit;
+        this.depthLimit = depthLimit;
+        this.timeLimit = timeLimit;
+        this.deadline = System.nanoTime() + timeLimit * 1000000;
+        bank = new TermBank();
+        ordering = strategy.createOrdering(bank);
+        Arrays.fill(bindings, UNBOUND);
+        Arrays.fill(renaming, -1);
+        Arrays.fill(matches, UNBOUND);
+    }
+
+    /**
+     * This method adds a clause of the normal form algorithm. Its variables
+     * are the Variable terms, all other terms are constants or functions.
+     *
+     * @param clause
+     *            NormalForm is the disjunction of literals
+     * @param support
+     *            boolean: true if the clause comes from the negated goal
+     * @throws IllegalArgumentException
+     *             if the clause holds a formula that is not a literal
+     */
+    public void addClause(NormalForm clause, boolean support) {
+        HashMap<String, Integer> variables = new HashMap<String, Integer>();
+        int[] literals = new int[clause.size()];
+        for (int i = 0; i < literals.length; i++) {
+            literals[i] = literal(clause.getFormula(i), variables);
+        }
+        axioms |= !support;
+        keep(literals, literals.length, variables.size(), support || !strategy.isSetOfSupport());
+    }
+
+    private int literal(WFExpression formula, HashMap<String, Integer> variables) {
+        if (formula instanceof Unary && ((Unary) formula).getRightPredicate() instanceof Predicate) {
+            return atom((Predicate) ((Unary) formula).getRightPredicate(), variables) << 1 | 1;
+        }
+        if (formula instanceof Predicate) {
+            return atom((Predicate) formula, variables) << 1;
+        }
+        throw new IllegalArgumentException("not a literal: " + formula);
+    }
+
+    private int atom(Predicate predicate, HashMap<String, Integer> variables) {
+        return application(predicate.getToken().getData(), (Term) predicate.getRightExpression(), variables);
+    }
+
+    private int term(Term term, HashMap<String, Integer> variables) {
+        String name = term.getToken().getData();
+        if (term instanceof Variable) {
+            Integer number = variables.get(name);
+            if (number == null) {
+                number = variables.size();
+                variables.put(name, number);
+            }
+            return TermBank.variable(number);
+        }
+        if (term instanceof Function) {
+            return application(name, ((Function) term).getArguments(), variables);
+        }
+        return application(name, null, variables);
+    }
+
+    /** Builds a term or atom from a symbol and a chain of argument terms */
+    private int application(String name, Term first, HashMap<String, Integer> variables) {
+        ArrayList<Integer> args = new ArrayList<Integer>();
+        for (Term argument = first; argument != null; argument = (Term) argument.getRightExpression()) {
+            args.add(term(argument, variables));
+        }
+        int[] values = new int[args.size()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = args.get(i);
+        }
+        return bank.make(bank.symbol(name, values.length), values, 0);
+    }
+
+    /**
+     * This method saturates the clauses. It stops at the empty clause, when no
+     * clause is waiting or at the clause limit.
+     *
+     * @return boolean is true if the empty clause was derived, so the clauses
+     *         are unsatisfiable
+     */
+    public boolean refute() {
+        deadline = System.nanoTime() + timeLimit * 1000000;
+        while (!refuted && !limitReached && !waiting.isEmpty()) {
+            if (Thread.currentThread().isInterrupted()) {
+                throw new CancellationException("the resolution was interrupted");
+            }
+            int given = (int) (waiting.poll().longValue() & 0xFFFFFFFFL);
+            int[] selected = activate(given, true);
+            ResolutionStepEvent event = new ResolutionStepEvent();
+            event.begin();
+            factor(given, selected, true);
+            for (int i = 0; i < selected.length && !refuted && !limitReached; i++) {
+                resolveAll(given, selected[i]);
+            }
+            if (event.shouldCommit()) {
+                event.logic = "predicate";
+                event.literal = toString(given);
+                event.clauses = clauses.size();
+                event.resolvedLiterals = selected.length;
+                event.commit();
+            }
+        }
+        return refuted;
+    }
+
+    /**
+     * This method makes a clause active by entering the literals it may be
+     * resolved upon in the occurrence lists. The axioms of the set of support
+     * strategy are not restricted by the ordering: they are only resolved with
+     * clauses of the goal, whose literals the ordering does restrict.
+     *
+     * @return int[] is the positions of those literals
+     */
+    private int[] activate(int clause, boolean restricted) {
+        int[] selected = select(clauses.get(clause), restricted);
+        for (int position : selected) {
+            int key = key(clauses.get(clause)[position]);
+            occurrences = grow(occurrences, key);
+            occurrenceCounts = grow(occurrenceCounts, key);
+            int[] list = occurrences[key];
+            int count = occurrenceCounts[key];
+            if (list == null || count + 2 > list.length) {
+                list = list == null ? new int[8] : Arrays.copyOf(list, list.length * 2);
+                occurrences[key] = list;
+            }
+            list[count] = clause;
+            list[count + 1] = position;
+            occurrenceCounts[key] = count + 2;
+        }
+        return selected;
+    }
+
+    /**
+     * This method finds the literals of a clause that may be resolved upon.
+     * Without an ordering these are all literals. With one, a negative literal
+     * of greatest weight is selected if there is one, and otherwise each
+     * literal that no other literal of the clause is greater than.
+     *
+     * @param literals
+     *            int[] is the clause
+     * @param restricted
+     *            boolean: false to select every literal
+     * @return int[] is the positions of the literals
+     */
+    private int[] select(int[] literals, boolean restricted) {
+        int[] positions = new int[literals.length];
+        if (ordering == null || !restricted) {
+            for (int i = 0; i < positions.length; i++) {
+                positions[i] = i;
+            }
+            return positions;
+        }
+        int negative = -1;
+        for (int i = 0; i < literals.length; i++) {
+            if ((literals[i] & 1) == 1 && (negative < 0 || bank.weight(literals[i] >>> 1) > bank.weight(literals[negative] >>> 1))) {
+                negative = i;
+            }
+        }
+        if (negative >= 0) {
+            return new int[] { negative };
+        }
+        int count = 0;
+        for (int i = 0; i < literals.length; i++) {
+            boolean maximal = true;
+            for (int j = 0; j < literals.length && maximal; j++) {
+                maximal = j == i || !ordering.greater(literals[j] >>> 1, literals[i] >>> 1);
+            }
+            if (maximal) {
+                positions[count++] = i;
+            }
+        }
+        return Arrays.copyOf(positions, count);
+    }
+
+    /** Returns the index of a literal by predicate symbol and sign */
+    private int key(int literal) {
+        return bank.functor(literal >>> 1) << 1 | (literal & 1);
+    }
+
+    /**
+     * This method resolves a literal of the given clause against the literals
+     * of opposite sign in the active clauses
+     */
+    private void resolveAll(int given, int position) {
+        int key = key(clauses.get(given)[position]) ^ 1;
+        if (key >= occurrences.length || occurrences[key] == null) {
+            return;
+        }
+        int count = occurrenceCounts[key];
+        for (int i = 0; i < count && !refuted && !limitReached; i += 2) {
+            resolve(given, position, occurrences[key][i], occurrences[key][i + 1]);
+            limitReached |= System.nanoTime() - deadline > 0;
+        }
+    }
+
+    /**
+     * This method builds the resolvent of two clauses upon a literal of each,
+     * if the atoms unify, and keeps it
+     */
+    private void resolve(int first, int firstPosition, int second, int secondPosition) {
+        int[] left = clauses.get(first);
+        int[] right = clauses.get(second);
+        int offset = variableCounts[first];
+        ensureVariables(offset + variableCounts[second]);
+        if (unify(left[firstPosition] >>> 1, 0, right[secondPosition] >>> 1, offset)) {
+            ++resolventCount;
+            int length = instantiate(left, firstPosition, 0, 0);
+            length = instantiate(right, secondPosition, offset, length);
+            undo();
+            keepResolvent(length, offset + variableCounts[second], true);
+        } else {
+            undo();
+        }
+    }
+
+    /**
+     * This method builds the factors of the given clause: a literal that may be
+     * resolved upon is unified with another literal of the same sign, which is
+     * then left out. With an ordering only positive literals are factored.
+     * The factors of a clause that waits wait too.
+     */
+    private void factor(int clause, int[] selected, boolean waits) {
+        int[] literals = clauses.get(clause);
+        int variables = variableCounts[clause];
+        boolean all = selected.length == literals.length;
+        ensureVariables(variables);
+        for (int position : selected) {
+            if (!all && (literals[position] & 1) == 1) {
+                continue;
+            }
+            for (int other = 0; other < literals.length && !refuted && !limitReached; other++) {
+                // when every literal is selected each pair is tried once
+                if (other == position || (all && other < position) || key(literals[other]) != key(literals[position])) {
+                    continue;
+                }
+                if (unify(literals[position] >>> 1, 0, literals[other] >>> 1, 0)) {
+                    ++resolventCount;
+                    int length = instantiate(literals, other, 0, 0);
+                    undo();
+                    keepResolvent(length, variables, waits);
+                } else {
+                    undo();
+                }
+            }
+        }
+    }
+
+    /**
+     * This method writes the instances of all literals of a clause but one
+     * into the buffer
+     *
+     * @return int is the new length of the buffer
+     */
+    private int instantiate(int[] literals, int skipped, int offset, int length) {
+        if (length + literals.length > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, length + literals.length));
+        }
+        for (int i = 0; i < literals.length; i++) {
+            if (i != skipped) {
+                int atom = instantiate(literals[i] >>> 1, offset);
+                buffer[length++] = atom << 1 | (literals[i] & 1);
+            }
+        }
+        return length;
+    }
+
+    /**
+     * This method applies the current bindings to a term. The variables left
+     * unbound are numbered from 0 in the order they are met.
+     */
+    private int instantiate(int term, int offset) {
+        deref(term, offset);
+        term = derefTerm;
+        offset = derefOffset;
+        if (term < 0) {
+            int slot = TermBank.variableNumber(term) + offset;
+            if (renaming[slot] < 0) {
+                renaming[slot] = renamed++;
+            }
+            return TermBank.variable(renaming[slot]);
+        }
+        if (bank.isGround(term)) {
+            return term;
+        }
+        int arity = bank.arity(term);
+        int base = stackSize;
+        stackSize += arity;
+        if (stackSize > stack.length) {
+            stack = Arrays.copyOf(stack, stackSize * 2);
+        }
+        for (int i = 0; i < arity; i++) {
+            int argument = bank.argument(term, i);
+            // an argument shared with an earlier one has the same instance
+            int same = i - 1;
+            while (same >= 0 && bank.argument(term, same) != argument) {
+                --same;
+            }
+            argument = same >= 0 ? stack[base + same] : instantiate(argument, offset);
+            stack[base + i] = argument;
+        }
+        int result = bank.make(bank.functor(term), stack, base);
+        stackSize = base;
+        return result;
+    }
+
+    /** Follows the bindings of a variable, leaving the result in derefTerm */
+    private void deref(int term, int offset) {
+        while (term < 0) {
+            int slot = TermBank.variableNumber(term) + offset;
+            if (bindings[slot] == UNBOUND) {
+                break;
+            }
+            term = bindings[slot];
+            offset = bindingOffsets[slot];
+        }
+        derefTerm = term;
+        derefOffset = offset;
+    }
+
+    /**
+     * This method unifies two terms whose variables are shifted by offsets,
+     * recording the bindings on the trail
+     */
+    private boolean unify(int s, int sOffset, int t, int tOffset) {
+        deref(s, sOffset);
+        s = derefTerm;
+        sOffset = derefOffset;
+        deref(t, tOffset);
+        t = derefTerm;
+        tOffset = derefOffset;
+        if (s < 0) {
+            int slot = TermBank.variableNumber(s) + sOffset;
+            if (t < 0 && TermBank.variableNumber(t) + tOffset == slot) {
+                return true;
+            }
+            return t < 0 || !occurs(slot, t, tOffset) ? bind(slot, t, tOffset) : false;
+        }
+        if (t < 0) {
+            int slot = TermBank.variableNumber(t) + tOffset;
+            return occurs(slot, s, sOffset) ? false : bind(slot, s, sOffset);
+        }
+        if (bank.functor(s) != bank.functor(t)) {
+            return false;
+        }
+        if (s == t && (sOffset == tOffset || bank.isGround(s))) {
+            return true;
+        }
+        for (int i = 0; i < bank.arity(s); i++) {
+            if (!unify(bank.argument(s, i), sOffset, bank.argument(t, i), tOffset)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean occurs(int slot, int term, int offset) {
+        deref(term, offset);
+        term = derefTerm;
+        offset = derefOffset;
+        if (term < 0) {
+            return TermBank.variableNumber(term) + offset == slot;
+        }
+        if (bank.isGround(term)) {
+            return false;
+        }
+        for (int i = 0; i < bank.arity(term); i++) {
+            if (occurs(slot, bank.argument(term, i), offset)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean bind(int slot, int term, int offset) {
+        bindings[slot] = term;
+        bindingOffsets[slot] = offset;
+        if (trailSize == trail.length) {
+            trail = Arrays.copyOf(trail, trailSize * 2);
+        }
+        trail[trailSize++] = slot;
+        return true;
+    }
+
+    /** Removes every binding of the last step */
+    private void undo() {
+        while (trailSize > 0) {
+            bindings[trail[--trailSize]] = UNBOUND;
+        }
+    }
+
+    private void ensureVariables(int count) {
+        if (count > bindings.length) {
+            int size = Math.max(bindings.length * 2, count);
+            int old = bindings.length;
+            bindings = Arrays.copyOf(bindings, size);
+            bindingOffsets = Arrays.copyOf(bindingOffsets, size);
+            renaming = Arrays.copyOf(renaming, size);
+            Arrays.fill(bindings, old, size, UNBOUND);
+            Arrays.fill(renaming, old, size, -1);
+        }
+    }
+
+    /** Keeps the clause in the buffer and forgets the renaming used to build it */
+    private void keepResolvent(int length, int slots, boolean waits) {
+        int variables = renamed;
+        Arrays.fill(renaming, 0, slots, -1);
+        renamed = 0;
+        keep(buffer, length, variables, waits);
+    }
+
+    /**
+     * This method keeps a clause unless it is a tautology or subsumed. A clause
+     * that does not wait, an axiom of the set of support strategy, is made
+     * active at once together with its factors.
+     *
+     * @param literals
+     *            int[] holds the literals, duplicates are removed in place
+     * @param length
+     *            int is the number of literals
+     * @param variables
+     *            int is the number of variables, numbered from 0
+     * @param waits
+     *            boolean: true if the clause waits to be given
+     */
+    private void keep(int[] literals, int length, int variables, boolean waits) {
+        int size = 0;
+        for (int i = 0; i < length; i++) {
+            int literal = literals[i];
+            boolean duplicate = false;
+            for (int j = 0; j < size && !duplicate; j++) {
+                if (literals[j] == (literal ^ 1)) {
+                    return;
+                }
+                duplicate = literals[j] == literal;
+            }
+            if (!duplicate) {
+                literals[size++] = literal;
+            }
+        }
+        if (size == 0) {
+            refuted = true;
+            return;
+        }
+        long positive = 0;
+        long negative = 0;
+        int depth = 0;
+        for (int i = 0; i < size; i++) {
+            int atom = literals[i] >>> 1;
+            if ((literals[i] & 1) == 0) {
+                positive |= bank.symbolSet(atom);
+            } else {
+                negative |= bank.symbolSet(atom);
+            }
+            depth = Math.max(depth, bank.depth(atom));
+        }
+        if (depth > depthLimit) {
+            pruned = true;
+            return;
+        }
+        if (subsumed(literals, size, positive, negative, depth)) {
+            return;
+        }
+        int clause = clauses.size();
+        clauses.add(Arrays.copyOf(literals, size));
+        if (clause == variableCounts.length) {
+            variableCounts = Arrays.copyOf(variableCounts, clause * 2);
+            positiveSymbols = Arrays.copyOf(positiveSymbols, clause * 2);
+            negativeSymbols = Arrays.copyOf(negativeSymbols, clause * 2);
+            depths = Arrays.copyOf(depths, clause * 2);
+        }
+        variableCounts[clause] = variables;
+        positiveSymbols[clause] = positive;
+        negativeSymbols[clause] = negative;
+        depths[clause] = depth;
+        int key = key(literals[0]);
+        firsts = grow(firsts, key);
+        firstCounts = grow(firstCounts, key);
+        if (firsts[key] == null || firstCounts[key] == firsts[key].length) {
+            firsts[key] = firsts[key] == null ? new int[8] : Arrays.copyOf(firsts[key], firsts[key].length * 2);
+        }
+        firsts[key][firstCounts[key]++] = clause;
+        limitReached = clauses.size() >= clauseLimit;
+        if (waits) {
+            long weight = 0;
+            for (int i = 0; i < size; i++) {
+                weight += bank.weight(literals[i] >>> 1);
+            }
+            waiting.add(Math.min(weight, Integer.MAX_VALUE) << 32 | clause);
+        } else {
+            factor(clause, activate(clause, false), false);
+        }
+    }
+
+    /**
+     * This method tests whether a kept clause subsumes a new one, that is
+     * whether an instance of the kept clause is part of the new one. Only the
+     * kept clauses whose features do not exceed those of the new clause are
+     * matched.
+     */
+    private boolean subsumed(int[] literals, int length, long positive, long negative, int depth) {
+        for (int i = 0; i < length; i++) {
+            int key = key(literals[i]);
+            boolean seen = false;
+            for (int j = 0; j < i && !seen; j++) {
+                seen = key(literals[j]) == key;
+            }
+            if (seen || key >= firsts.length || firsts[key] == null) {
+                continue;
+            }
+            for (int k = 0; k < firstCounts[key]; k++) {
+                int clause = firsts[key][k];
+                int[] general = clauses.get(clause);
+                if (general.length <= length && depths[clause] <= depth && (positiveSymbols[clause] & ~positive) == 0
+                        && (negativeSymbols[clause] & ~negative) == 0) {
+                    if (variableCounts[clause] > matches.length) {
+                        int old = matches.length;
+                        matches = Arrays.copyOf(matches, variableCounts[clause] * 2);
+                        Arrays.fill(matches, old, matches.length, UNBOUND);
+                    }
+                    boolean subsumes = subsumes(general, 0, literals, length);
+                    undoMatches(0);
+                    if (subsumes) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    private boolean subsumes(int[] general, int position, int[] literals, int length) {
+        if (position == general.length) {
+            return true;
+        }
+        int literal = general[position];
+        for (int i = 0; i < length; i++) {
+            if ((literals[i] & 1) == (literal & 1)) {
+                int mark = matchTrailSize;
+                if (match(literal >>> 1, literals[i] >>> 1) && subsumes(general, position + 1, literals, length)) {
+                    return true;
+                }
+                undoMatches(mark);
+            }
+        }
+        return false;
+    }
+
+    /**
+     * This method matches a term of a kept clause onto a term of a new clause,
+     * binding only the variables of the kept clause
+     */
+    private boolean match(int pattern, int term) {
+        if (pattern < 0) {
+            int slot = TermBank.variableNumber(pattern);
+            if (matches[slot] == UNBOUND) {
+                matches[slot] = term;
+                if (matchTrailSize == matchTrail.length) {
+                    matchTrail = Arrays.copyOf(matchTrail, matchTrailSize * 2);
+                }
+                matchTrail[matchTrailSize++] = slot;
+                return true;
+            }
+            return matches[slot] == term;
+        }
+        if (bank.isGround(pattern)) {
+            return pattern == term;
+        }
+        if (term < 0 || bank.functor(pattern) != bank.functor(term)) {
+            return false;
+        }
+        for (int i = 0; i < bank.arity(pattern); i++) {
+            int argument = bank.argument(pattern, i);
+            // an argument shared with an earlier one matched the same way
+            boolean done = false;
+            for (int j = 0; j < i && !done; j++) {
+                done = bank.argument(pattern, j) == argument && bank.argument(term, j) == bank.argument(term, i);
+            }
+            if (!done && !match(argument, bank.argument(term, i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void undoMatches(int mark) {
+        while (matchTrailSize > mark) {
+            matches[matchTrail[--matchTrailSize]] = UNBOUND;
+        }
+    }
+
+    private static int[][] grow(int[][] lists, int key) {
+        return key < lists.length ? lists : Arrays.copyOf(lists, Math.max(lists.length * 2, key + 1));
+    }
+
+    private static int[] grow(int[] counts, int key) {
+        return key < counts.length ? counts : Arrays.copyOf(counts, Math.max(counts.length * 2, key + 1));
+    }
+
+    /**
+     * The method is used to find out if the empty clause was derived
+     *
+     * @return boolean: true if the clauses were refuted
+     */
+    public boolean isRefuted() {
+        return refuted;
+    }
+
+    /**
+     * The method is used to find out if the search was cut short by one of
+     * its limits
+     *
+     * @return boolean: true if the clause or time limit was reached or a
+     *         clause was dropped for its depth, so clauses not refuted may
+     *         still be unsatisfiable
+     */
+    public boolean isLimitReached() {
+        return limitReached || pruned;
+    }
+
+    /**
+     * The method is used to find out if the search is complete, so that
+     * clauses it saturates without refuting them are satisfiable
+     *
+     * @return boolean: true if the strategy is complete or, with the set of
+     *         support strategy, no clause was added as an axiom
+     */
+    public boolean isComplete() {
+        return strategy.isComplete() || !axioms;
+    }
+
+    /**
+     * The method is used to get the number of resolvents and factors built
+     *
+     * @return long is the number built, including those discarded
+     */
+    public long getResolventCount() {
+        return resolventCount;
+    }
+
+    /**
+     * The method is used to get the number of kept clauses
+     *
+     * @return int is the number of input clauses and resolvents kept
+     */
+    public int size() {
+        return clauses.size();
+    }
+
+    /**
+     * The method is used to get the strategy of the resolver
+     *
+     * @return ResolutionStrategy is the restriction placed on resolution
+     */
+    public ResolutionStrategy getStrategy() {
+        return strategy;
+    }
+
+    /**
+     * This method writes a kept clause as a list of literals
+     *
+     * @param clause
+     *            int is the index of the clause
+     * @return String is the clause as text
+     */
+    public String toString(int clause) {
+        StringBuilder text = new StringBuilder("[");
+        int[] literals = clauses.get(clause);
+        for (int i = 0; i < literals.length; i++) {
+            if (i > 0) {
+                text.append(", ");
+            }
+            if ((literals[i] & 1) == 1) {
+                text.append('\u00AC');
+            }
+            text.append(bank.toString(literals[i] >>> 1));
+        }
+        return text.append(']').toString();
+    }
+}
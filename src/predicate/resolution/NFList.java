@@ -1,5 +1,6 @@
 package predicate.resolution;
 
+import common.ClauseSink;
 import java.util.ArrayList;
 
 /**
@@ -12,10 +13,10 @@ import java.util.ArrayList;
 /*******************************************************************************
  * The NFList class is used to represent a conjunctive normal form. It has as
  * its items NormalForm, which are disjuctions of propositional literals, P, Q,
- * R, and so on. This class is used to store and retrieve disjunctions. It has
- * no other significant methods.
+ * R, and so on. This class is used to store and retrieve disjunctions. It is
+ * also the in-memory sink for the normal form algorithm.
  ******************************************************************************/
-public class NFList extends ArrayList {
+public class NFList extends ArrayList<NormalForm> implements ClauseSink<NormalForm> {
     /** Initialising the NFList */
     public NFList() {
         super();
@@ -27,6 +28,7 @@ public class NFList extends ArrayList {
      * @param list
      *            NormalForm is the disjunction added to the NFList
      */
+    @Override
     public void addClause(NormalForm list) {
         super.add(list);
     }
@@ -48,6 +50,6 @@ public class NFList extends ArrayList {
      * @return NormalForm is the item returned by this method call
      */
     public NormalForm getClause(int index) {
-        return (NormalForm) super.get(index);
+        return super.get(index);
     }
 }
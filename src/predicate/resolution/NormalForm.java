@@ -1,6 +1,8 @@
 package predicate.resolution;
 
+import common.SymbolTable;
 import java.util.ArrayList;
+import predicate.common.Unary;
 import predicate.common.WFExpression;
 
 /**
@@ -15,7 +17,7 @@ import predicate.common.WFExpression;
  * used in the normalisation of propositional sentences, and is part of a
  * conjunctive normal form. Its items are of type Formula.
  ******************************************************************************/
-public class NormalForm extends ArrayList {
+public class NormalForm extends ArrayList<WFExpression> {
     /** Initialising the NormalForm */
     public NormalForm() {
         super();
@@ -49,7 +51,7 @@ public class NormalForm extends ArrayList {
      * @return Formula is the item being returned by this method call
      */
     public WFExpression getFormula(int index) {
-        return (WFExpression) super.get(index);
+        return super.get(index);
     }
 
     /**
@@ -60,7 +62,7 @@ public class NormalForm extends ArrayList {
      * @return Formula is the that is returned after it is removed
      */
     public WFExpression removeFormula(int index) {
-        WFExpression f = (WFExpression) super.remove(index);
+        WFExpression f = super.remove(index);
         this.trimToSize();
         return f;
     }
@@ -73,4 +75,22 @@ public class NormalForm extends ArrayList {
     public NormalForm cloneNormalForm() {
         return (NormalForm) super.clone();
     }
+
+    /**
+     * This method encodes a literal as a signed variable number. Each distinct
+     * atomic formula, predicate symbol together with its arguments, is one
+     * variable; a negated atomic formula gives a negative number.
+     * 
+     * @param literal
+     *            WFExpression is the literal to encode
+     * @param symbols
+     *            SymbolTable assigns the variable numbers
+     * @return int is the signed variable number of the literal
+     */
+    public static int encode(WFExpression literal, SymbolTable symbols) {
+        if (literal instanceof Unary) {
+            return -symbols.getId(((Unary) literal).getRightPredicate().toString().trim());
+        }
+        return symbols.getId(literal.toString().trim());
+    }
 }
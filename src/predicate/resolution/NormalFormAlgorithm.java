@@ -1,9 +1,12 @@
 package predicate.resolution;
 
+import common.ClauseSink;
+import common.jfr.CnfEvent;
+import common.metrics.MetricsRegistry;
+import common.metrics.Stage;
 import inputoutput.InputReader;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
-import java.util.Iterator;
-import java.util.ListIterator;
 import predicate.common.Binary;
 import predicate.common.Formula;
 import predicate.common.Function;
@@ -21,12 +24,10 @@ import predicate.scanner.Scanner;
 import predicate.scanner.SyntaxAnalyser;
 
 public class NormalFormAlgorithm {
-    /** A temporary disjunction for this method */
-    private NormalForm temp;
-    /** Iterator is declared global to allow access to it form differnt methods */
-    private ListIterator it;
-    /** The start formula is initialise using a disjunction */
-    private NormalForm start = new NormalForm();
+    /** The disjunction currently being expanded */
+    private Branch current;
+    /** The disjunctions that still have formulas waiting to be expanded */
+    private ArrayDeque<Branch> worklist = new ArrayDeque<Branch>();
     /** The conjunctive normal form */
     private NFList clause = new NFList();
     /** A stack for keeping formulas during normalisation */
@@ -39,6 +40,33 @@ public class NormalFormAlgorithm {
      */
     private FreeTermsTable freeTerms = new FreeTermsTable();
 
+    /***************************************************************************
+     * A Branch is a disjunction under expansion. It holds the literals that
+     * have already been settled and the formulas still waiting to be expanded
+     * into the same disjunction.
+     **************************************************************************/
+    private static final class Branch {
+        /** The literals settled so far */
+        private final NormalForm literals;
+        /** The formulas still to be expanded */
+        private final ArrayDeque<Formula> pending;
+
+        private Branch(NormalForm literals, ArrayDeque<Formula> pending) {
+            this.literals = literals;
+            this.pending = pending;
+        }
+
+        /**
+         * Copies this branch so that each copy can receive one side of a
+         * conjunction
+         * 
+         * @return Branch is the copy of this branch
+         */
+        private Branch split() {
+            return new Branch(literals.cloneNormalForm(), pending.clone());
+        }
+    }
+
     /**
      * Initialise the instance variables
      * 
@@ -46,13 +74,14 @@ public class NormalFormAlgorithm {
      *            WFExpression is the input formula for normalisation
      */
     public NormalFormAlgorithm(WFExpression inputFormula, FreeTermsTable vars) {
-        start.addFormula(inputFormula);
-        clause.addClause(start);
+        Branch start = new Branch(new NormalForm(), new ArrayDeque<Formula>());
+        start.pending.add((Formula) inputFormula);
+        worklist.add(start);
         this.freeTerms = vars;
     }
 
     /**
-     * This method is used to implement the resolution expansion rule   Z.
+     * This method is used to implement the resolution expansion rule !!Z.
      * 
      * @param formula
      *            is the item for verification
@@ -110,13 +139,15 @@ public class NormalFormAlgorithm {
     }
 
     private void addFormula(Formula u1, Formula u2) {
-        this.temp.add(u1);
-        this.temp.add(u2);
+        this.current.pending.add(u1);
+        this.current.pending.add(u2);
     }
 
-    private void addClause(NormalForm list1, NormalForm list2) {
-        this.clause.add(list1);
-        this.clause.add(list2);
+    private void addClause(Formula u1, Formula u2) {
+        Branch copy = this.current.split();
+        this.current.pending.add(u1);
+        copy.pending.add(u2);
+        this.worklist.add(copy);
     }
 
     private void subFunctionGamma(Term function, Term bindingVar) {
@@ -164,76 +195,49 @@ public class NormalFormAlgorithm {
      * 
      * @param formula
      *            is the formula being normalised
-     * @return boolean indicates whether the normalisation has caused a
-     *         branching of the formula. True if it has false otherwise
      */
-    private boolean normalise(Formula formula) {
+    private void normalise(Formula formula) {
         if (formula instanceof Unary && formula.getRightPredicate() instanceof Binary) {
             Binary temp = (Binary) formula.getRightPredicate();
             if (temp.getToken().getType() == 7) {
-                NormalForm list1 = this.temp.cloneNormalForm();
-                NormalForm list2 = this.temp.cloneNormalForm();
-                list2.add(new Unary(new Token("", 11), temp.getleftPredicate()));
-                list1.add(temp.getRightPredicate());
-                addClause(list1, list2);
-                return true;
+                // not (A <=> B) holds when one of A, B is true and one false
+                addClause(new Binary(new Token("|", 9), temp.getleftPredicate(), temp.getRightPredicate()),
+                        new Binary(new Token("|", 9), new Unary(new Token("\u00AC", 11), temp.getleftPredicate()),
+                                new Unary(new Token("\u00AC", 11), temp.getRightPredicate())));
             } else if (temp.getToken().getType() == 8) {
-                NormalForm list1 = this.temp.cloneNormalForm();
-                NormalForm list2 = this.temp.cloneNormalForm();
-                list1.addFormula(temp.getleftPredicate());
-                list2.addFormula(new Unary(new Token("", 11), temp.getRightPredicate()));
-                addClause(list1, list2);
-                return true;
+                addClause(temp.getleftPredicate(), new Unary(new Token("\u00AC", 11), temp.getRightPredicate()));
             } else if (temp.getToken().getType() == 9) {
-                NormalForm list1 = this.temp.cloneNormalForm();
-                NormalForm list2 = this.temp.cloneNormalForm();
-                list1.add(new Unary(new Token("", 11), temp.getleftPredicate()));
-                list2.add(new Unary(new Token("", 11), temp.getRightPredicate()));
-                addClause(list1, list2);
-                return true;
+                addClause(new Unary(new Token("\u00AC", 11), temp.getleftPredicate()), new Unary(new Token("\u00AC", 11), temp.getRightPredicate()));
             } else if (temp.getToken().getType() == 10) {
-                addFormula(new Unary(new Token("", 11), temp.getleftPredicate()), new Unary(new Token("", 11), temp.getRightPredicate()));
-                return false;
+                addFormula(new Unary(new Token("\u00AC", 11), temp.getleftPredicate()), new Unary(new Token("\u00AC", 11), temp.getRightPredicate()));
             }
         } else if (formula instanceof Unary && formula.getRightPredicate() instanceof Quantifier) {
             Quantifier quantifier = (Quantifier) formula.getRightPredicate();
             if (quantifier.getToken().getType() == 3) {
                 deltaRule(quantifier, true);
-                return false;
-            }
-            if (quantifier.getToken().getType() == 4) {
+            } else if (quantifier.getToken().getType() == 4) {
                 gammaRule(quantifier, true);
-                return false;
             }
         } else if (formula instanceof Binary) {
             if (formula.getToken().getType() == 7) {
-                addFormula(formula.getleftPredicate(), new Unary(new Token("", 11), formula.getRightPredicate()));
-                return false;
+                // A <=> B holds when A => B and B => A
+                addClause(new Binary(new Token("=>", 8), formula.getleftPredicate(), formula.getRightPredicate()),
+                        new Binary(new Token("=>", 8), formula.getRightPredicate(), formula.getleftPredicate()));
             } else if (formula.getToken().getType() == 8) {
-                addFormula(new Unary(new Token("", 11), formula.getleftPredicate()), formula.getRightPredicate());
-                return false;
+                addFormula(new Unary(new Token("\u00AC", 11), formula.getleftPredicate()), formula.getRightPredicate());
             } else if (formula.getToken().getType() == 9) { // wrong
                 addFormula(formula.getleftPredicate(), formula.getRightPredicate());
-                return false;
             } else if (formula.getToken().getType() == 10) {
-                NormalForm list1 = this.temp.cloneNormalForm();
-                NormalForm list2 = this.temp.cloneNormalForm();
-                list1.add(formula.getleftPredicate());
-                list2.add(formula.getRightPredicate());
-                addClause(list1, list2);
-                return true;
+                addClause(formula.getleftPredicate(), formula.getRightPredicate());
             }
         } else if (formula instanceof Quantifier) {
             Quantifier quantifier = (Quantifier) formula;
             if (quantifier.getToken().getType() == 3) {
                 gammaRule(quantifier, false);
-                return false;
             } else if (formula.getToken().getType() == 4) {
                 deltaRule(quantifier, false);
-                return false;
             }
         }
-        return false;
     }
 
     private void substituteVariable(Term bindingVar, Term terms, WFExpression freeFunc) {
@@ -282,10 +286,30 @@ public class NormalFormAlgorithm {
         this.formStack.pushFormula(v);
     }
 
+    /**
+     * This method checks that the scope of a quantifier is an atom, possibly
+     * under further quantifiers, which is all the substitutions of the gamma
+     * and delta rules handle
+     * 
+     * @param formula
+     *            Formula is the scope of the quantifier
+     * @throws IllegalArgumentException
+     *             if a connective occurs in the scope
+     */
+    private static void requireQuantifiedAtom(Formula formula) {
+        while (formula instanceof Quantifier) {
+            formula = formula.getRightPredicate();
+        }
+        if (!(formula instanceof Predicate)) {
+            throw new IllegalArgumentException("a quantifier must range over an atom, not over " + formula);
+        }
+    }
+
     private void deltaRule(Quantifier quantifier, boolean negation) {
         Term bindingVar = quantifier.getVariable();
         // throw away initial quantifier
         Formula formula = quantifier.getRightPredicate();
+        requireQuantifiedAtom(formula);
         Formula tempA = null;
         while (!(formula.getToken().isPredicate())) {
             // keep quantifiers without the right expression
@@ -310,6 +334,7 @@ public class NormalFormAlgorithm {
         Term bindingVar = quantifier.getVariable();
         // throw away initial quantifier
         Formula formula = quantifier.getRightPredicate();
+        requireQuantifiedAtom(formula);
         Formula tempA = null;
         while (!(formula.getToken().isPredicate())) {
             // keep quantifiers without the right expression
@@ -364,11 +389,11 @@ public class NormalFormAlgorithm {
             }
         }
         if (negation) {
-            Token t = new Token("", 11);
+            Token t = new Token("\u00AC", 11);
             Unary u = new Unary(t, (Formula) temp);
-            this.temp.addFormula(u);
+            this.current.pending.add(u);
         } else {
-            this.temp.addFormula(temp);
+            this.current.pending.add((Formula) temp);
         }
     }
 
@@ -418,35 +443,43 @@ public class NormalFormAlgorithm {
     }
 
     /**
-     * This method applies the resolution expansion rules to a propositional
-     * formula.
+     * This method applies the resolution expansion rules to a predicate
+     * formula. Disjunctions are taken from the worklist one at a time and each
+     * pending formula is expanded exactly once, so the work done is linear in
+     * the size of the conjunctive normal form produced.
+     * 
+     * @param sink
+     *            receives every disjunction as soon as it is fully expanded
      */
-    private void expandFormula() {
-        int i = 0;
-        it = clause.listIterator();
-        while (it.hasNext()) {
-            temp = (NormalForm) it.next();
-            i = it.nextIndex();
-            Iterator it2 = temp.iterator();
-            while (it2.hasNext()) {
-                Formula formula = (Formula) it2.next();
-                if (!formula.isLiteral() && !negationOfUnary(formula)) {
-                    it2.remove();
-                    if (this.normalise(formula)) {
-                        it2 = temp.iterator();
-                        clause.remove((i - 1));
-                        it = clause.listIterator();
-                    } else {
-                        it2 = temp.iterator();
-                        it = clause.listIterator();
-                    }
+    private void expandFormula(ClauseSink<? super NormalForm> sink) {
+        long start = System.nanoTime();
+        CnfEvent event = new CnfEvent();
+        event.begin();
+        long clauses = 0;
+        long literals = 0;
+        while (!worklist.isEmpty()) {
+            current = worklist.poll();
+            while (!current.pending.isEmpty()) {
+                Formula formula = current.pending.poll();
+                if (formula.isLiteral()) {
+                    current.literals.addFormula(formula);
                 } else if (negationOfUnary(formula)) {
-                    it2.remove();
-                    Formula f1 = formula.getRightPredicate().getRightPredicate();
-                    temp.addFormula(f1);
-                    it2 = temp.iterator();
+                    current.pending.add(formula.getRightPredicate().getRightPredicate());
+                } else {
+                    this.normalise(formula);
                 }
             }
+            ++clauses;
+            literals += current.literals.size();
+            sink.addClause(current.literals);
+        }
+        current = null;
+        MetricsRegistry.getDefault().recordSince(Stage.CNF, start);
+        if (event.shouldCommit()) {
+            event.engine = "predicate";
+            event.clauses = clauses;
+            event.literals = literals;
+            event.commit();
         }
     }
 
@@ -457,13 +490,27 @@ public class NormalFormAlgorithm {
      */
     public NFList getNormalForm() {
         if (clause != null) {
-            this.expandFormula();
+            this.expandFormula(clause);
             return clause;
         } else {
             return clause;
         }
     }
 
+    /**
+     * This method normalises the formula and streams each disjunction of the
+     * conjunctive normal form into a sink as soon as it is generated, without
+     * holding the whole conjunctive normal form in memory. The formula can only
+     * be normalised once, either by this method or by getNormalForm.
+     * 
+     * @param sink
+     *            ClauseSink receives the disjunctions
+     */
+    public void streamNormalForm(ClauseSink<? super NormalForm> sink) {
+        this.expandFormula(sink);
+        sink.close();
+    }
+
     public static void main(String[] args) {
         InputReader ir = new InputReader();
         String s = ir.getInput();
@@ -484,7 +531,7 @@ public class NormalFormAlgorithm {
                 tab.printVars();
             }
             Formula formula = (Formula) f;
-            Formula unary = new Unary(new Token("", 6), formula);
+            Formula unary = new Unary(new Token("\u00AC", 6), formula);
             System.out.println("Input " + unary);
             NormalFormAlgorithm nrf = new NormalFormAlgorithm(unary, tab);
             NFList k = nrf.getNormalForm();
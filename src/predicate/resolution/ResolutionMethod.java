@@ -1,11 +1,13 @@
 package predicate.resolution;
 
+import common.EngineEvents;
+import common.metrics.MetricsRegistry;
 import inputoutput.InputReader;
 import java.util.ArrayList;
-import java.util.Iterator;
-import java.util.ListIterator;
+import java.util.List;
+import predicate.common.Binary;
 import predicate.common.Formula;
-import predicate.common.Predicate;
+import predicate.common.Token;
 import predicate.common.Unary;
 import predicate.common.WFExpression;
 import predicate.parser.FreeTermsTable;
@@ -13,100 +15,201 @@ import predicate.parser.Parser;
 import predicate.scanner.Scanner;
 
 public class ResolutionMethod {
-    /** Allows to normalise a formula into conjunctive normal form */
+    /** The token type of the implies connective */
+    private static final int IMPLIES = 8;
+    /** Normalises the premises of an implication, or null without premises */
     private NormalFormAlgorithm normalise;
-    /** The conjunctive normal form of the input formula */
+    /** Normalises the negated goal */
+    private NormalFormAlgorithm negatedGoal;
+    /** The clauses of the premises */
+    private NFList axiomClauses;
+    /** The clauses of the negated goal, the set of support */
+    private NFList goalClauses;
+    /** The conjunctive normal form of the negated input formula */
     private NFList cnForm;
-    /** This stack is used in the resolve method to hold literals */
-    private ArrayList literal;
+    /** The restrictions placed on resolution */
+    private final ResolutionStrategy strategy;
+    /** The number of kept clauses after which the search gives up */
+    private final int clauseLimit;
+    /** The resolver of the last call of resolve */
+    private ClauseResolver resolver;
+
     /**
-     * This stack is used in the resolve method to hold literals, that are
-     * negation of predicates.
+     * Initialising the resolution method with the set of support strategy
+     *
+     * @param formula
+     *            WFExpression is the sentence to prove
      */
-    private ArrayList negLiteral;
-
     public ResolutionMethod(WFExpression formula) {
-        // normalise = new NormalFormAlgorithm(formula);
-        cnForm = new NFList();
-        normalise = new NormalFormAlgorithm(formula, new FreeTermsTable());
+        this(formula, ResolutionStrategy.SET_OF_SUPPORT);
     }
 
-    private void findLiterals(Formula formula) {
-        ListIterator it = cnForm.listIterator();
-        NormalForm temp;
-        while (it.hasNext()) {
-            temp = (NormalForm) it.next();
-            Iterator it2 = temp.iterator();
-            while (it2.hasNext()) {
-                Formula f = (Formula) it2.next();
-                if (formula instanceof Predicate) {
-                    if (f instanceof Predicate) {
-                        if (f.getToken().compareTo(formula.getToken().getData()) == 0) {
-                            literal.add(f);
-                            it2.remove();
-                        }
-                    } else if (f instanceof Unary) {
-                        if ((f.getRightPredicate()).getToken().compareTo(formula.getToken().getData()) == 0) {
-                            negLiteral.add(f);
-                            it2.remove();
-                        }
-                    }
-                } else if (formula instanceof Unary) {
-                    if (f instanceof Predicate) {
-                        if ((formula.getRightPredicate()).getToken().compareTo(f.getToken().getData()) == 0) {
-                            literal.add(f);
-                            it2.remove();
-                        }
-                    } else if (f instanceof Unary) { // some problem
-                        if (formula.getRightPredicate().getToken().compareTo(f.getRightPredicate().getToken().getData()) == 0) {
-                            negLiteral.add(f);
-                            it2.remove();
-                        }
-                    }
-                }
-            }
-            if (temp.isEmpty()) {
-                it.remove();
-                it = cnForm.listIterator();
-            }
+    /**
+     * Initialising the resolution method
+     *
+     * @param formula
+     *            WFExpression is the sentence to prove
+     * @param strategy
+     *            ResolutionStrategy is the restriction placed on resolution
+     */
+    public ResolutionMethod(WFExpression formula, ResolutionStrategy strategy) {
+        this(formula, strategy, ClauseResolver.DEFAULT_CLAUSE_LIMIT);
+    }
+
+    /**
+     * Initialising the resolution method. If the sentence is an implication
+     * its premises are the axioms and its conclusion is the goal, otherwise
+     * the whole sentence is the goal. The goal is negated here, and the
+     * clauses of the negated goal are the set of support.
+     *
+     * @param formula
+     *            WFExpression is the sentence to prove
+     * @param strategy
+     *            ResolutionStrategy is the restriction placed on resolution
+     * @param clauseLimit
+     *            int is the number of kept clauses after which the search
+     *            gives up
+     */
+    public ResolutionMethod(WFExpression formula, ResolutionStrategy strategy, int clauseLimit) {
+        this(formula, null, strategy, clauseLimit);
+    }
+
+    /**
+     * Initialising the resolution method with the reference table of the
+     * parser, so that the parameters and variables introduced by
+     * normalisation differ from the symbols of the sentence
+     *
+     * @param formula
+     *            WFExpression is the sentence to prove
+     * @param freeTerms
+     *            FreeTermsTable is the reference table of the parser of the
+     *            sentence, or null for a fresh table
+     * @param strategy
+     *            ResolutionStrategy is the restriction placed on resolution
+     * @param clauseLimit
+     *            int is the number of kept clauses after which the search
+     *            gives up
+     */
+    public ResolutionMethod(WFExpression formula, FreeTermsTable freeTerms, ResolutionStrategy strategy, int clauseLimit) {
+        this.strategy = strategy;
+        this.clauseLimit = clauseLimit;
+        if (freeTerms == null) {
+            freeTerms = new FreeTermsTable();
+            freeTerms.initialisePars();
+            freeTerms.initialiseVars();
+        }
+        Formula goal = (Formula) formula;
+        if (formula instanceof Binary && ((Binary) formula).getToken().getType() == IMPLIES) {
+            normalise = new NormalFormAlgorithm(goal.getleftPredicate(), freeTerms);
+            goal = goal.getRightPredicate();
+        }
+        negatedGoal = new NormalFormAlgorithm(new Unary(new Token("\u00AC", 11), goal), freeTerms);
+    }
+
+    /**
+     * Initialising the resolution method with clauses, such as those of a TPTP
+     * problem
+     *
+     * @param axioms
+     *            List holds the clauses of the axioms
+     * @param goal
+     *            List holds the clauses of the negated goal, the set of
+     *            support
+     * @param strategy
+     *            ResolutionStrategy is the restriction placed on resolution
+     * @param clauseLimit
+     *            int is the number of kept clauses after which the search
+     *            gives up
+     */
+    public ResolutionMethod(List<NormalForm> axioms, List<NormalForm> goal, ResolutionStrategy strategy, int clauseLimit) {
+        this.strategy = strategy;
+        this.clauseLimit = clauseLimit;
+        axiomClauses = new NFList();
+        axiomClauses.addAll(axioms);
+        goalClauses = new NFList();
+        goalClauses.addAll(goal);
+    }
+
+    /** Normalises the premises and the negated goal the first time */
+    private void normaliseClauses() {
+        if (goalClauses == null) {
+            axiomClauses = normalise == null ? new NFList() : normalise.getNormalForm();
+            goalClauses = negatedGoal.getNormalForm();
+            normalise = null;
+            negatedGoal = null;
         }
+        cnForm = new NFList();
+        cnForm.addAll(axiomClauses);
+        cnForm.addAll(goalClauses);
     }
 
+    /**
+     * This method resolves the conjunctive normal form, to see if the sentence
+     * is valid
+     *
+     * @return boolean: true is the sentence is valid, false otherwise
+     */
     public boolean resolve() {
-        cnForm = normalise.getNormalForm();
-        System.out.println(cnForm);
-        ListIterator it = cnForm.listIterator();
-        NormalForm temp;
-        int i = 0;
-        while (it.hasNext()) {
-            temp = (NormalForm) it.next();
-            i = it.nextIndex();
-            Iterator it2 = temp.iterator();
-            while (it2.hasNext()) {
-                Formula f = (Formula) it2.next();
-                if (f instanceof Predicate) {
-                    literal.add(f);
-                    it2.remove();
-                    this.findLiterals(f);
-                    it2 = temp.iterator(); // is this ok
-                    it = cnForm.listIterator();
-                } else if (f instanceof Unary) {
-                    negLiteral.add(f);
-                    it2.remove();
-                    this.findLiterals(f);
-                    it2 = temp.iterator(); // is this ok
-                    it = cnForm.listIterator();
-                }
-            }
+        long start = System.nanoTime();
+        boolean valid = this.resolveClauses();
+        MetricsRegistry.getDefault().recordEngineSince("predicate-resolution", start);
+        return valid;
+    }
+
+    private boolean resolveClauses() {
+        normaliseClauses();
+        EngineEvents.getListener().resolutionStarted(cnForm);
+        resolver = new ClauseResolver(strategy, clauseLimit);
+        for (NormalForm clause : axiomClauses) {
+            resolver.addClause(clause, false);
         }
-        if (literal.isEmpty() || negLiteral.isEmpty()) {
-            return false;
-        } else {
-            literal.clear();
-            negLiteral.clear();
-            System.out.println(this.cnForm.size());
-            return true;
+        for (NormalForm clause : goalClauses) {
+            resolver.addClause(clause, true);
         }
+        boolean refuted = resolver.refute();
+        EngineEvents.getListener().resolutionFinished(cnForm, refuted);
+        return refuted;
+    }
+
+    /**
+     * The method is used to find out if the last call of resolve was cut
+     * short by a limit of the resolver, so that its answer is not a proof of
+     * invalidity
+     *
+     * @return boolean: true if a clause, depth or time limit was reached
+     */
+    public boolean isLimitReached() {
+        return resolver != null && resolver.isLimitReached();
+    }
+
+    /**
+     * The method is used to find out if the last call of resolve was
+     * complete, so that clauses it did not refute without reaching a limit
+     * are satisfiable and the sentence is invalid
+     *
+     * @return boolean: true if the strategy is complete on the clauses
+     */
+    public boolean isComplete() {
+        return resolver == null ? strategy.isComplete() : resolver.isComplete();
+    }
+
+    /**
+     * The method is used to get the number of resolvents and factors built by
+     * the last call of resolve
+     *
+     * @return long is the number built, including those discarded
+     */
+    public long getResolventCount() {
+        return resolver == null ? 0 : resolver.getResolventCount();
+    }
+
+    /**
+     * The method is used to get the strategy of the resolution method
+     *
+     * @return ResolutionStrategy is the restriction placed on resolution
+     */
+    public ResolutionStrategy getStrategy() {
+        return strategy;
     }
 
     public void cnForm() {
@@ -126,13 +229,12 @@ public class ResolutionMethod {
         System.out.println(f);
         if (f != null) {
             rm = new ResolutionMethod(f);
+            if (rm.resolve()) {
+                System.out.println("yes");
+            } else {
+                System.out.println("no");
+            }
             System.out.println(rm.cnForm);
-            /*
-             * if (rm.resolve()) { System.out.println("yes"); } else {
-             * System.out.println("no"); } System.out.println(rm.cnForm);
-             * System.out.println(rm.literal);
-             * System.out.println(rm.negLiteral);
-             */
         }
     }
 }
@@ -0,0 +1,151 @@
+package predicate.resolution;
+
+/**
+ * <p>Title: Predicate Logic Theorem Prover</p>
+ * <p>Description: A theorem prover for predicate logic</p>
+ * <p>Copyright: Copyright (c) 2005</p>
+ * <p>Department: Computer Science</p>
+ * @author Mark Schlichtmann
+ * @version 2.0*/
+/*******************************************************************************
+ * The ResolutionStrategy class selects the restrictions the clause resolver
+ * places on resolution. With the set of support strategy two clauses are only
+ * resolved if at least one of them comes from the negated goal or was derived
+ * from it, so the axioms are never resolved with each other. This is complete
+ * whenever the axioms are consistent. With ordered resolution a clause is only
+ * resolved upon a literal selected by a term ordering: a negative literal of
+ * greatest weight if the clause has one, otherwise a literal that no other
+ * literal of the clause is greater than. This is complete on its own. The two
+ * restrictions can be combined: the ordering then restricts the clauses with
+ * support only, while the axioms may be resolved upon every literal. This
+ * keeps the search directed at the goal but is no longer complete.
+ ******************************************************************************/
+public class ResolutionStrategy {
+    /** The term orderings that ordered resolution can use */
+    public enum Ordering {
+        /** Every literal may be resolved upon */
+        NONE,
+        /** The Knuth-Bendix ordering */
+        KBO,
+        /** The lexicographic path ordering */
+        LPO
+    }
+
+    /** Resolution without restrictions */
+    public static final ResolutionStrategy UNRESTRICTED = new ResolutionStrategy(false, Ordering.NONE);
+    /** The set of support strategy alone, the default */
+    public static final ResolutionStrategy SET_OF_SUPPORT = new ResolutionStrategy(true, Ordering.NONE);
+    /** Ordered resolution with the Knuth-Bendix ordering */
+    public static final ResolutionStrategy ORDERED_KBO = new ResolutionStrategy(false, Ordering.KBO);
+    /** Ordered resolution with the lexicographic path ordering */
+    public static final ResolutionStrategy ORDERED_LPO = new ResolutionStrategy(false, Ordering.LPO);
+
+    /** Set when only clauses with support are resolved */
+    private final boolean setOfSupport;
+    /** The ordering selecting the literals resolved upon */
+    private final Ordering ordering;
+
+    /**
+     * Initialising a strategy
+     *
+     * @param setOfSupport
+     *            boolean: true to resolve only clauses of which one has
+     *            support
+     * @param ordering
+     *            Ordering selects the literals resolved upon, NONE for all
+     */
+    public ResolutionStrategy(boolean setOfSupport, Ordering ordering) {
+        if (ordering == null) {
+            throw new IllegalArgumentException("ordering must not be null, use Ordering.NONE");
+        }
+        this.setOfSupport = setOfSupport;
+        this.ordering = ordering;
+    }
+
+    /**
+     * The method is used to find out if the set of support strategy is used
+     *
+     * @return boolean: true if only clauses with support are resolved
+     */
+    public boolean isSetOfSupport() {
+        return setOfSupport;
+    }
+
+    /**
+     * The method is used to find out if the strategy is complete, so that a
+     * search that saturates without the empty clause shows the clauses
+     * satisfiable. The set of support strategy is only complete when the
+     * axioms are consistent, which is not known before the search, and
+     * combined with an ordering it is not complete at all.
+     *
+     * @return boolean: true if the set of support strategy is not used
+     */
+    public boolean isComplete() {
+        return !setOfSupport;
+    }
+
+    /**
+     * The method is used to get the term ordering of ordered resolution
+     *
+     * @return Ordering is the ordering, NONE if resolution is not ordered
+     */
+    public Ordering getOrdering() {
+        return ordering;
+    }
+
+    /**
+     * This method creates the term ordering for the terms of a bank
+     *
+     * @param bank
+     *            TermBank holds the terms to compare
+     * @return TermOrdering is the ordering, or null if resolution is not
+     *         ordered
+     */
+    public TermOrdering createOrdering(TermBank bank) {
+        switch (ordering) {
+        case KBO:
+            return TermOrdering.knuthBendix(bank);
+        case LPO:
+            return TermOrdering.lexicographicPath(bank);
+        default:
+            return null;
+        }
+    }
+
+    /**
+     * This method reads a strategy from its name: unrestricted, sos, kbo or
+     * lpo, or sos+kbo and sos+lpo for the combinations
+     *
+     * @param name
+     *            String is the name of the strategy
+     * @return ResolutionStrategy is the strategy
+     * @throws IllegalArgumentException
+     *             if the name is not known
+     */
+    public static ResolutionStrategy forName(String name) {
+        String lower = name.trim().toLowerCase();
+        if (lower.equals("unrestricted")) {
+            return UNRESTRICTED;
+        }
+        if (lower.equals("sos")) {
+            return SET_OF_SUPPORT;
+        }
+        boolean support = lower.startsWith("sos+");
+        String rest = support ? lower.substring(4) : lower;
+        if (rest.equals("kbo")) {
+            return new ResolutionStrategy(support, Ordering.KBO);
+        }
+        if (rest.equals("lpo")) {
+            return new ResolutionStrategy(support, Ordering.LPO);
+        }
+        throw new IllegalArgumentException("unknown resolution strategy: " + name);
+    }
+
+    public String toString() {
+        String name = ordering == Ordering.NONE ? "" : ordering.name().toLowerCase();
+        if (setOfSupport) {
+            return name.isEmpty() ? "sos" : "sos+" + name;
+        }
+        return name.isEmpty() ? "unrestricted" : name;
+    }
+}
@@ -0,0 +1,389 @@
+package predicate.resolution;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+
+/**
+ * <p>Title: Predicate Logic Theorem Prover</p>
+ * <p>Description: A theorem prover for predicate logic</p>
+ * <p>Copyright: Copyright (c) 2005</p>
+ * <p>Department: Computer Science</p>
+ * @author Mark Schlichtmann
+ * @version 2.0*/
+/*******************************************************************************
+ * The TermBank class holds the terms and atoms of the clause resolver. Every
+ * term is stored once and named by an int: equal terms get the same number,
+ * so terms are compared with ==, and the symbol, arguments and weight of a
+ * term are read from flat arrays without an object per term. Variables are
+ * not stored; the variable numbered k is the negative number -k - 1. Function
+ * symbols, constants and predicate symbols share one numbering, a symbol being
+ * identified by its name together with its arity.
+ ******************************************************************************/
+public class TermBank {
+    /** The symbol of each term */
+    private int[] functors;
+    /** The position of the first argument of each term in the argument array */
+    private int[] starts;
+    /** The number of symbol and variable occurrences of each term */
+    private int[] weights;
+    /** The nesting depth of each term */
+    private int[] depths;
+    /** The symbols occurring in each term, one bit per symbol number modulo 64 */
+    private long[] symbolSets;
+    /** Set for the terms without variables */
+    private boolean[] grounds;
+    /** The arguments of all terms, one term after the other */
+    private int[] arguments;
+    /** The number of arguments used */
+    private int argumentCount;
+    /** The number of terms in the bank */
+    private int termCount;
+    /** Open addressing index of the terms, holding term number plus one */
+    private int[] index;
+    /** The symbol numbers by name and arity */
+    private final HashMap<String, Integer> symbolNumbers = new HashMap<String, Integer>();
+    /** The names of the symbols */
+    private final ArrayList<String> symbolNames = new ArrayList<String>();
+    /** The arities of the symbols */
+    private int[] arities = new int[16];
+
+    /** Initialising an empty TermBank */
+    public TermBank() {
+        functors = new int[64];
+        starts = new int[65];
+        weights = new int[64];
+        depths = new int[64];
+        symbolSets = new long[64];
+        grounds = new boolean[64];
+        arguments = new int[128];
+        index = new int[128];
+    }
+
+    /**
+     * This method returns the number of a symbol, adding it on first use
+     *
+     * @param name
+     *            String is the name of the symbol
+     * @param arity
+     *            int is the number of arguments it takes
+     * @return int is the symbol number
+     */
+    public int symbol(String name, int arity) {
+        String key = name + "/" + arity;
+        Integer number = symbolNumbers.get(key);
+        if (number != null) {
+            return number;
+        }
+        int symbol = symbolNames.size();
+        symbolNames.add(name);
+        if (symbol == arities.length) {
+            arities = Arrays.copyOf(arities, symbol * 2);
+        }
+        arities[symbol] = arity;
+        symbolNumbers.put(key, symbol);
+        return symbol;
+    }
+
+    /**
+     * This method returns the term applying a symbol to arguments, adding it
+     * to the bank if it is new
+     *
+     * @param symbol
+     *            int is the symbol number
+     * @param args
+     *            int[] holds the argument terms
+     * @param from
+     *            int is the position of the first argument
+     * @return int is the term number
+     */
+    public int make(int symbol, int[] args, int from) {
+        int arity = arities[symbol];
+        int hash = symbol;
+        for (int i = 0; i < arity; i++) {
+            hash = hash * 31 + args[from + i];
+        }
+        int mask = index.length - 1;
+        int slot = mix(hash) & mask;
+        while (index[slot] != 0) {
+            int term = index[slot] - 1;
+            if (functors[term] == symbol && sameArguments(term, args, from, arity)) {
+                return term;
+            }
+            slot = (slot + 1) & mask;
+        }
+        int term = termCount;
+        if (term == functors.length) {
+            functors = Arrays.copyOf(functors, term * 2);
+            weights = Arrays.copyOf(weights, term * 2);
+            depths = Arrays.copyOf(depths, term * 2);
+            symbolSets = Arrays.copyOf(symbolSets, term * 2);
+            grounds = Arrays.copyOf(grounds, term * 2);
+            starts = Arrays.copyOf(starts, term * 2 + 1);
+        }
+        if (argumentCount + arity > arguments.length) {
+            arguments = Arrays.copyOf(arguments, Math.max(arguments.length * 2, argumentCount + arity));
+        }
+        long weight = 1;
+        int depth = 0;
+        long symbols = 1L << symbol;
+        boolean ground = true;
+        for (int i = 0; i < arity; i++) {
+            int argument = args[from + i];
+            arguments[argumentCount + i] = argument;
+            weight += weight(argument);
+            depth = Math.max(depth, depth(argument));
+            symbols |= symbolSet(argument);
+            ground &= argument >= 0 && grounds[argument];
+        }
+        functors[term] = symbol;
+        // shared arguments can make the written term exponentially long
+        weights[term] = (int) Math.min(weight, Integer.MAX_VALUE);
+        depths[term] = depth + 1;
+        symbolSets[term] = symbols;
+        grounds[term] = ground;
+        starts[term] = argumentCount;
+        argumentCount += arity;
+        starts[term + 1] = argumentCount;
+        ++termCount;
+        index[slot] = term + 1;
+        if (termCount * 2 > index.length) {
+            rehash();
+        }
+        return term;
+    }
+
+    private boolean sameArguments(int term, int[] args, int from, int arity) {
+        int start = starts[term];
+        for (int i = 0; i < arity; i++) {
+            if (arguments[start + i] != args[from + i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void rehash() {
+        index = new int[index.length * 2];
+        int mask = index.length - 1;
+        for (int term = 0; term < termCount; term++) {
+            int hash = functors[term];
+            for (int i = starts[term]; i < starts[term + 1]; i++) {
+                hash = hash * 31 + arguments[i];
+            }
+            int slot = mix(hash) & mask;
+            while (index[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            index[slot] = term + 1;
+        }
+    }
+
+    private static int mix(int hash) {
+        hash *= 0x9E3779B9;
+        return hash ^ (hash >>> 16);
+    }
+
+    /**
+     * This method returns the term standing for a variable
+     *
+     * @param number
+     *            int is the variable number, from 0
+     * @return int is the term number of the variable
+     */
+    public static int variable(int number) {
+        return -number - 1;
+    }
+
+    /**
+     * This method tests whether a term is a variable
+     *
+     * @param term
+     *            int is the term number
+     * @return boolean: true if the term is a variable
+     */
+    public static boolean isVariable(int term) {
+        return term < 0;
+    }
+
+    /**
+     * This method returns the number of a variable
+     *
+     * @param term
+     *            int is the term number of the variable
+     * @return int is the variable number
+     */
+    public static int variableNumber(int term) {
+        return -term - 1;
+    }
+
+    /**
+     * The method is used to get the symbol of a term
+     *
+     * @param term
+     *            int is a term that is not a variable
+     * @return int is the symbol number
+     */
+    public int functor(int term) {
+        return functors[term];
+    }
+
+    /**
+     * The method is used to get the number of arguments of a term
+     *
+     * @param term
+     *            int is a term that is not a variable
+     * @return int is the arity of its symbol
+     */
+    public int arity(int term) {
+        return starts[term + 1] - starts[term];
+    }
+
+    /**
+     * The method is used to get an argument of a term
+     *
+     * @param term
+     *            int is a term that is not a variable
+     * @param position
+     *            int is the position of the argument
+     * @return int is the argument term
+     */
+    public int argument(int term, int position) {
+        return arguments[starts[term] + position];
+    }
+
+    /**
+     * The method is used to get the weight of a term, the number of its symbol
+     * and variable occurrences
+     *
+     * @param term
+     *            int is the term number
+     * @return int is the weight, 1 for a variable
+     */
+    public int weight(int term) {
+        return term < 0 ? 1 : weights[term];
+    }
+
+    /**
+     * The method is used to get the depth of a term
+     *
+     * @param term
+     *            int is the term number
+     * @return int is the length of the longest path from the term to an
+     *         argument without arguments, 1 for a variable or constant
+     */
+    public int depth(int term) {
+        return term < 0 ? 1 : depths[term];
+    }
+
+    /**
+     * The method is used to get the symbols of a term as a set of bits, bit
+     * k standing for the symbols whose number is k modulo 64. A term can only
+     * be an instance of another if its set holds all bits of the other's.
+     *
+     * @param term
+     *            int is the term number
+     * @return long is the set of symbols, 0 for a variable
+     */
+    public long symbolSet(int term) {
+        return term < 0 ? 0 : symbolSets[term];
+    }
+
+    /**
+     * This method tests whether a term contains no variables
+     *
+     * @param term
+     *            int is the term number
+     * @return boolean: true if the term is ground
+     */
+    public boolean isGround(int term) {
+        return term >= 0 && grounds[term];
+    }
+
+    /**
+     * The method is used to get the arity of a symbol
+     *
+     * @param symbol
+     *            int is the symbol number
+     * @return int is the number of arguments the symbol takes
+     */
+    public int symbolArity(int symbol) {
+        return arities[symbol];
+    }
+
+    /**
+     * The method is used to get the name of a symbol
+     *
+     * @param symbol
+     *            int is the symbol number
+     * @return String is the name
+     */
+    public String symbolName(int symbol) {
+        return symbolNames.get(symbol);
+    }
+
+    /**
+     * The method is used to get the number of terms in the bank
+     *
+     * @return int is the number of stored terms
+     */
+    public int size() {
+        return termCount;
+    }
+
+    /**
+     * This method tests whether a variable occurs in a term
+     *
+     * @param variable
+     *            int is the term number of the variable
+     * @param term
+     *            int is the term searched
+     * @return boolean: true if the variable occurs in the term
+     */
+    public boolean occurs(int variable, int term) {
+        if (term < 0) {
+            return term == variable;
+        }
+        if (grounds[term]) {
+            return false;
+        }
+        for (int i = starts[term]; i < starts[term + 1]; i++) {
+            if (occurs(variable, arguments[i])) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * This method writes a term in the usual function notation, with the
+     * variables named X0, X1 and so on
+     *
+     * @param term
+     *            int is the term number
+     * @return String is the term as text
+     */
+    public String toString(int term) {
+        StringBuilder text = new StringBuilder();
+        append(term, text);
+        return text.toString();
+    }
+
+    private void append(int term, StringBuilder text) {
+        if (term < 0) {
+            text.append('X').append(variableNumber(term));
+            return;
+        }
+        text.append(symbolNames.get(functors[term]));
+        if (arity(term) > 0) {
+            text.append('(');
+            for (int i = starts[term]; i < starts[term + 1]; i++) {
+                if (i > starts[term]) {
+                    text.append(',');
+                }
+                append(arguments[i], text);
+            }
+            text.append(')');
+        }
+    }
+}
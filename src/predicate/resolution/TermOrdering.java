@@ -0,0 +1,215 @@
+package predicate.resolution;
+
+import java.util.Arrays;
+
+/**
+ * <p>Title: Predicate Logic Theorem Prover</p>
+ * <p>Description: A theorem prover for predicate logic</p>
+ * <p>Copyright: Copyright (c) 2005</p>
+ * <p>Department: Computer Science</p>
+ * @author Mark Schlichtmann
+ * @version 2.0*/
+/*******************************************************************************
+ * The TermOrdering class is a reduction ordering on the terms and atoms of a
+ * TermBank. It is used by ordered resolution to decide which literals of a
+ * clause may be resolved upon. Two orderings are provided, the Knuth-Bendix
+ * ordering, which compares terms by weight first, and the lexicographic path
+ * ordering, which compares them by their symbols. Both rest on the same
+ * precedence of symbols: a symbol of higher arity is greater, and of two
+ * symbols with the same arity the one entered into the bank later is greater.
+ ******************************************************************************/
+public abstract class TermOrdering {
+    /** The bank holding the terms compared */
+    protected final TermBank bank;
+
+    /**
+     * Initialising the ordering
+     *
+     * @param bank
+     *            TermBank holds the terms compared
+     */
+    protected TermOrdering(TermBank bank) {
+        this.bank = bank;
+    }
+
+    /**
+     * This method returns the Knuth-Bendix ordering in which every symbol and
+     * variable has weight one
+     *
+     * @param bank
+     *            TermBank holds the terms compared
+     * @return TermOrdering is the ordering
+     */
+    public static TermOrdering knuthBendix(TermBank bank) {
+        return new KnuthBendix(bank);
+    }
+
+    /**
+     * This method returns the lexicographic path ordering
+     *
+     * @param bank
+     *            TermBank holds the terms compared
+     * @return TermOrdering is the ordering
+     */
+    public static TermOrdering lexicographicPath(TermBank bank) {
+        return new LexicographicPath(bank);
+    }
+
+    /**
+     * This method decides whether a term is greater than another. The result
+     * is kept by every substitution, so two terms that are not ordered now
+     * may become ordered by unification but never the other way round.
+     *
+     * @param s
+     *            int is the first term
+     * @param t
+     *            int is the second term
+     * @return boolean: true if s is greater than t
+     */
+    public abstract boolean greater(int s, int t);
+
+    /**
+     * This method compares two symbols in the precedence
+     *
+     * @param f
+     *            int is the first symbol
+     * @param g
+     *            int is the second symbol
+     * @return boolean: true if f is greater than g
+     */
+    protected boolean precedes(int f, int g) {
+        int arityF = bank.symbolArity(f);
+        int arityG = bank.symbolArity(g);
+        return arityF != arityG ? arityF > arityG : f > g;
+    }
+
+    /***************************************************************************
+     * The Knuth-Bendix ordering. A term is greater than another if no variable
+     * occurs in it fewer times and it is heavier, or equally heavy with a
+     * greater symbol, or with the same symbol and greater arguments.
+     **************************************************************************/
+    private static final class KnuthBendix extends TermOrdering {
+        /** The occurrences of each variable in s less those in t */
+        private int[] balance = new int[16];
+
+        private KnuthBendix(TermBank bank) {
+            super(bank);
+        }
+
+        public boolean greater(int s, int t) {
+            if (s == t || TermBank.isVariable(s)) {
+                return false;
+            }
+            if (TermBank.isVariable(t)) {
+                return bank.occurs(t, s);
+            }
+            if (!coversVariables(s, t)) {
+                return false;
+            }
+            return heavier(s, t);
+        }
+
+        /**
+         * This method compares two terms that meet the variable condition by
+         * weight, then by symbol, then by their first differing arguments
+         */
+        private boolean heavier(int s, int t) {
+            int weightS = bank.weight(s);
+            int weightT = bank.weight(t);
+            if (weightS != weightT) {
+                return weightS > weightT;
+            }
+            int f = bank.functor(s);
+            int g = bank.functor(t);
+            if (f != g) {
+                return precedes(f, g);
+            }
+            for (int i = 0; i < bank.arity(s); i++) {
+                int a = bank.argument(s, i);
+                int b = bank.argument(t, i);
+                if (a != b) {
+                    return greater(a, b);
+                }
+            }
+            return false;
+        }
+
+        private boolean coversVariables(int s, int t) {
+            count(s, 1);
+            count(t, -1);
+            boolean covered = true;
+            for (int i = 0; i < balance.length; i++) {
+                if (balance[i] < 0) {
+                    covered = false;
+                }
+                balance[i] = 0;
+            }
+            return covered;
+        }
+
+        private void count(int term, int step) {
+            if (TermBank.isVariable(term)) {
+                int number = TermBank.variableNumber(term);
+                if (number >= balance.length) {
+                    balance = Arrays.copyOf(balance, Math.max(balance.length * 2, number + 1));
+                }
+                balance[number] += step;
+                return;
+            }
+            for (int i = 0; i < bank.arity(term); i++) {
+                count(bank.argument(term, i), step);
+            }
+        }
+    }
+
+    /***************************************************************************
+     * The lexicographic path ordering. A term is greater than another if one
+     * of its arguments is at least as great, or if it is greater than all
+     * arguments of the other term and has a greater symbol, or the same
+     * symbol and lexicographically greater arguments.
+     **************************************************************************/
+    private static final class LexicographicPath extends TermOrdering {
+
+        private LexicographicPath(TermBank bank) {
+            super(bank);
+        }
+
+        public boolean greater(int s, int t) {
+            if (s == t || TermBank.isVariable(s)) {
+                return false;
+            }
+            if (TermBank.isVariable(t)) {
+                return bank.occurs(t, s);
+            }
+            for (int i = 0; i < bank.arity(s); i++) {
+                int argument = bank.argument(s, i);
+                if (argument == t || greater(argument, t)) {
+                    return true;
+                }
+            }
+            int f = bank.functor(s);
+            int g = bank.functor(t);
+            if (f == g) {
+                for (int i = 0; i < bank.arity(s); i++) {
+                    int a = bank.argument(s, i);
+                    int b = bank.argument(t, i);
+                    if (a != b) {
+                        return greater(a, b) && dominates(s, t, i + 1);
+                    }
+                }
+                return false;
+            }
+            return precedes(f, g) && dominates(s, t, 0);
+        }
+
+        /** Tests that s is greater than the arguments of t from a position on */
+        private boolean dominates(int s, int t, int from) {
+            for (int i = from; i < bank.arity(t); i++) {
+                if (!greater(s, bank.argument(t, i))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -1,8 +1,13 @@
 package predicate.scanner;
 
+import common.EngineEvents;
+import common.jfr.ScanEvent;
+import common.metrics.MetricsRegistry;
+import common.metrics.Stage;
 import inputoutput.InputReader;
 import inputoutput.OutputWriter;
 import java.util.ArrayList;
+import predicate.common.Token;
 
 /**
  * <p>Title: Predicate Logic Theorem Prover</p>
@@ -66,7 +71,6 @@ public class Scanner {
             temp[(i - chars)] = formula[i];
         }
         formula = temp;
-        this.getCharState();
     }
 
     /**
@@ -112,7 +116,30 @@ public class Scanner {
         }
     }
 
+    /**
+     * Scans the input one item at a time until the end of the input or an
+     * error is reached. As in the former recursive scanner the outcome is
+     * decided by the first character: the tokens are rejected only if the
+     * input does not start with a recognised symbol.
+     * 
+     * @return boolean true if the tokens are accepted, false otherwise
+     */
     private boolean getCharState() {
+        Boolean state = this.scanItem();
+        boolean accepted = state == null || state;
+        while (state == null) {
+            state = this.scanItem();
+        }
+        return accepted;
+    }
+
+    /**
+     * This method tokenises the item at the front of the input
+     * 
+     * @return Boolean null if more input is to be scanned, otherwise whether
+     *         the scanning is finished successfully
+     */
+    private Boolean scanItem() {
         if (formula != null) {
             switch (formula[0]) {
                 // tokenising bracket symbols
@@ -133,17 +160,19 @@ public class Scanner {
                 // tokenising iff connective "<=>"
                 case '<':
                     if (formula.length > 2 && (formula[1] == '=' && formula[2] == '>')) {
-                        nextItem(this.PRECEDENCE_IMP, 3);
+                        nextItem(this.PRECEDENCE_IFF, 3);
                     } else {
                         OutputWriter.displayError("Error in input. Please try again.");
+                        return true;
                     }
                     break;
                 // tokenising implies connective "=>"
                 case '=':
                     if (formula.length > 1 && formula[1] == '>') {
-                        nextItem(this.PRECEDENCE_IFF, 2);
+                        nextItem(this.PRECEDENCE_IMP, 2);
                     } else {
                         OutputWriter.displayError("Error in input. Please try again.");
+                        return true;
                     }
                     break;
                 // tokenising variables symbols
@@ -155,6 +184,7 @@ public class Scanner {
                 case 'z':
                     if (formula.length > 3 && (this.isNumber(formula[3]) && this.isNumber(formula[1]) && this.isNumber(formula[2]))) {
                         OutputWriter.displayError("Error in input. Please try again.");
+                        return true;
                     } else if ((formula.length > 2) && (this.isNumber(formula[1]) && this.isNumber(formula[2]))) {
                         nextItem(this.PRECEDENCE_VARIABLE, 3);
                     } else if (formula.length > 1 && this.isNumber(formula[1])) {
@@ -188,6 +218,7 @@ public class Scanner {
                 case 'T':
                     if (formula.length > 3 && (this.isNumber(formula[3]) && this.isNumber(formula[1]) && this.isNumber(formula[2]))) {
                         OutputWriter.displayError("Error in input. Please try again.");
+                        return true;
                     } else if ((formula.length > 2) && (this.isNumber(formula[1]) && this.isNumber(formula[2]))) {
                         nextItem(this.PRECEDENCE_PREDICATE, 3);
                     } else if (formula.length > 1 && this.isNumber(formula[1])) {
@@ -204,6 +235,7 @@ public class Scanner {
                 case 'e':
                     if (formula.length > 3 && (this.isNumber(formula[3]) && this.isNumber(formula[1]) && this.isNumber(formula[2]))) {
                         OutputWriter.displayError("Error in input. Please try again.");
+                        return true;
                     } else if ((formula.length > 2) && (this.isNumber(formula[1]) && this.isNumber(formula[2]))) {
                         nextItem(this.PRECEDENCE_CONSTANT, 3);
                     } else if (formula.length > 1 && this.isNumber(formula[1])) {
@@ -230,6 +262,7 @@ public class Scanner {
                 case 't':
                     if (formula.length > 3 && (this.isNumber(formula[3]) && this.isNumber(formula[1]) && this.isNumber(formula[2]))) {
                         OutputWriter.displayError("Error in input. Please try again.");
+                        return true;
                     } else if ((formula.length > 2) && (this.isNumber(formula[1]) && this.isNumber(formula[2]))) {
                         nextItem(this.PRECEDENCE_FUNCTION, 3);
                     } else if (formula.length > 1 && this.isNumber(formula[1])) {
@@ -247,7 +280,7 @@ public class Scanner {
                 // End of input string
                 case '.':
                     tokens.makeToken(")", 6);
-                    OutputWriter.displayMessage("Scanning process completed successfully.");
+                    EngineEvents.getListener().scanningCompleted();
                     return true;
                 default:
                     OutputWriter.displayError("Error in input; unrecognised character used. Please try again.");
@@ -256,7 +289,7 @@ public class Scanner {
         } else {
             return false;
         }
-        return true;
+        return null;
     }
 
     /**
@@ -275,8 +308,20 @@ public class Scanner {
      * 
      * @return ArrayList is the sequence of tokens generated by the scanner
      */
-    public ArrayList getScannedTokens() {
-        if (this.getCharState()) {
+    public ArrayList<Token> getScannedTokens() {
+        long start = System.nanoTime();
+        ScanEvent event = new ScanEvent();
+        event.begin();
+        int length = formula == null ? 0 : formula.length;
+        boolean accepted = this.getCharState();
+        if (event.shouldCommit()) {
+            event.logic = "predicate";
+            event.inputLength = length;
+            event.tokens = tokens.getTokens().size();
+            event.commit();
+        }
+        MetricsRegistry.getDefault().recordSince(Stage.SCAN, start);
+        if (accepted) {
             return tokens.getTokens();
         } else {
             return null;
@@ -1,5 +1,6 @@
 package predicate.scanner;
 
+import common.EngineEvents;
 import inputoutput.InputReader;
 import inputoutput.OutputWriter;
 import java.util.ArrayList;
@@ -139,7 +140,7 @@ public class SyntaxAnalyser {
             OutputWriter.displayError("Unable to analyse an empty input.i");
             return false;
         }
-        OutputWriter.displayMessage("Lexical analysis of symbols completed successfully.");
+        EngineEvents.getListener().lexicalAnalysisCompleted();
         return true;
     }
 
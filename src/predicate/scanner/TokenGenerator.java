@@ -15,11 +15,11 @@ import predicate.common.Token;
  ******************************************************************************/
 public class TokenGenerator {
     /** Is an ArrayList that holds the tokens */
-    private ArrayList tokens;
+    private ArrayList<Token> tokens;
 
     /** Initialisation of private data members */
     public TokenGenerator() {
-        tokens = new ArrayList();
+        tokens = new ArrayList<Token>();
     }
 
     /**
@@ -40,7 +40,7 @@ public class TokenGenerator {
      * @return ArrayList is the tokens generated by this class; will return null
      *         if ArrayList size is zero
      */
-    public ArrayList getTokens() {
+    public ArrayList<Token> getTokens() {
         if (tokens.size() == 0) {
             return null;
         } else {
@@ -52,6 +52,6 @@ public class TokenGenerator {
      * This method can be used to clear the tokens
      */
     public void clearTokens() {
-        tokens = new ArrayList();
+        tokens = new ArrayList<Token>();
     }
 }
@@ -0,0 +1,113 @@
+package predicate.tptp;
+
+import predicate.common.Formula;
+
+/**
+ * <p>Title: Predicate Logic Theorem Prover</p>
+ * <p>Description: A theorem prover for predicate logic</p>
+ * <p>Copyright: Copyright (c) 2005</p>
+ * <p>Department: Computer Science</p>
+ * @author Mark Schlichtmann
+ * @version 2.0*/
+/*******************************************************************************
+ * The TptpFormula class holds one annotated formula read from a TPTP file: its
+ * name, its role, the language it was written in and the formula itself.
+ ******************************************************************************/
+public class TptpFormula {
+    /** The language of the annotated formula, either fof or cnf */
+    private final String language;
+    /** The name of the annotated formula */
+    private final String name;
+    /** The role of the formula such as axiom or conjecture */
+    private final String role;
+    /** The formula in the abstract representation of the prover */
+    private final Formula formula;
+
+    /**
+     * Initialising the annotated formula
+     *
+     * @param language
+     *            String is either fof or cnf
+     * @param name
+     *            String is the name of the formula
+     * @param role
+     *            String is the role of the formula
+     * @param formula
+     *            Formula is the formula itself
+     */
+    public TptpFormula(String language, String name, String role, Formula formula) {
+        this.language = language;
+        this.name = name;
+        this.role = role;
+        this.formula = formula;
+    }
+
+    /**
+     * Returns the language of the annotated formula
+     *
+     * @return String is either fof or cnf
+     */
+    public String getLanguage() {
+        return this.language;
+    }
+
+    /**
+     * Returns the name of the annotated formula
+     *
+     * @return String is the name
+     */
+    public String getName() {
+        return this.name;
+    }
+
+    /**
+     * Returns the role of the annotated formula
+     *
+     * @return String is the role such as axiom, hypothesis or conjecture
+     */
+    public String getRole() {
+        return this.role;
+    }
+
+    /**
+     * Returns the formula
+     *
+     * @return Formula is the formula
+     */
+    public Formula getFormula() {
+        return this.formula;
+    }
+
+    /**
+     * Checks whether the formula is a clause, i.e. was written in cnf
+     *
+     * @return boolean: true if the formula is a clause
+     */
+    public boolean isClause() {
+        return this.language.equals("cnf");
+    }
+
+    /**
+     * Checks whether the formula is a conjecture that has to be negated
+     * before it is added to the axioms
+     *
+     * @return boolean: true if the role is conjecture
+     */
+    public boolean isConjecture() {
+        return this.role.equals("conjecture");
+    }
+
+    /**
+     * Checks whether the formula is the negation of a conjecture, the role
+     * TPTP gives to the goal clauses of cnf problems
+     *
+     * @return boolean: true if the role is negated_conjecture
+     */
+    public boolean isNegatedConjecture() {
+        return this.role.equals("negated_conjecture");
+    }
+
+    public String toString() {
+        return new String(this.language + "(" + this.name + ", " + this.role + ", " + this.formula + ")");
+    }
+}
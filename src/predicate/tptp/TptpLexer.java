@@ -0,0 +1,385 @@
+package predicate.tptp;
+
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * <p>Title: Predicate Logic Theorem Prover</p>
+ * <p>Description: A theorem prover for predicate logic</p>
+ * <p>Copyright: Copyright (c) 2005</p>
+ * <p>Department: Computer Science</p>
+ * @author Mark Schlichtmann
+ * @version 2.0*/
+/*******************************************************************************
+ * The TptpLexer class splits TPTP input into tokens. The input is pulled from
+ * a reader in fixed size blocks, so only the current token is ever held in
+ * memory and axiom files of any size can be scanned. Comments are skipped.
+ ******************************************************************************/
+public class TptpLexer {
+    /** The end of the input */
+    public static final int EOF = 0;
+    /** A word starting with a lower case letter */
+    public static final int LOWER_WORD = 1;
+    /** A word starting with an upper case letter, i.e. a variable */
+    public static final int UPPER_WORD = 2;
+    /** A word starting with a dollar sign such as $true */
+    public static final int DOLLAR_WORD = 3;
+    /** A single quoted atomic word, the text holds the unquoted name */
+    public static final int SINGLE_QUOTED = 4;
+    /** A double quoted distinct object, the text keeps its quotes */
+    public static final int DISTINCT_OBJECT = 5;
+    /** An integer, rational or real number */
+    public static final int NUMBER = 6;
+    /** One of the punctuation symbols ( ) [ ] , . : */
+    public static final int PUNCTUATION = 7;
+    /** A connective, quantifier or equality symbol */
+    public static final int OPERATOR = 8;
+    /** The size of a block read from the input */
+    private static final int BUFFER_SIZE = 1 << 13;
+    /** The input being tokenised */
+    private final Reader input;
+    /** The current block of input characters */
+    private final char[] buffer = new char[BUFFER_SIZE];
+    /** The position of the next character in the buffer */
+    private int position;
+    /** The number of valid characters in the buffer */
+    private int limit;
+    /** Collects the characters of the current token */
+    private final StringBuilder text = new StringBuilder();
+    /** The kind of the current token */
+    private int kind;
+    /** The line of the next character */
+    private int line = 1;
+    /** The line on which the current token starts */
+    private int tokenLine;
+
+    /**
+     * Initialising the lexer
+     *
+     * @param input
+     *            Reader is the TPTP input
+     */
+    public TptpLexer(Reader input) {
+        this.input = input;
+    }
+
+    /**
+     * This method returns the next character without consuming it
+     *
+     * @return int is the character, or -1 at the end of the input
+     * @throws IOException
+     *             if the input cannot be read
+     */
+    private int peek() throws IOException {
+        if (position == limit) {
+            limit = input.read(buffer, 0, BUFFER_SIZE);
+            position = 0;
+            if (limit <= 0) {
+                limit = 0;
+                return -1;
+            }
+        }
+        return buffer[position];
+    }
+
+    /**
+     * This method returns the character after the next one without consuming
+     * either, moving the unread characters to the front of the buffer when
+     * the second one has not been read yet
+     *
+     * @return int is the character, or -1 at the end of the input
+     * @throws IOException
+     *             if the input cannot be read
+     */
+    private int peekSecond() throws IOException {
+        if (position + 1 >= limit) {
+            System.arraycopy(buffer, position, buffer, 0, limit - position);
+            limit -= position;
+            position = 0;
+            int count = input.read(buffer, limit, BUFFER_SIZE - limit);
+            if (count > 0) {
+                limit += count;
+            }
+        }
+        return position + 1 < limit ? buffer[position + 1] : -1;
+    }
+
+    /**
+     * This method consumes and returns the next character
+     *
+     * @return int is the character, or -1 at the end of the input
+     * @throws IOException
+     *             if the input cannot be read
+     */
+    private int read() throws IOException {
+        int c = peek();
+        if (c != -1) {
+            ++position;
+            if (c == '\n') {
+                ++line;
+            }
+        }
+        return c;
+    }
+
+    /**
+     * This method skips white space, line comments and block comments
+     *
+     * @throws IOException
+     *             if the input cannot be read or a comment is not closed
+     */
+    private void skipLayout() throws IOException {
+        while (true) {
+            int c = peek();
+            if (c == ' ' || c == '\t' || c == '\n' || c == '\r' || c == '\f') {
+                read();
+            } else if (c == '%') {
+                while (c != -1 && c != '\n') {
+                    c = read();
+                }
+            } else if (c == '/') {
+                read();
+                if (read() != '*') {
+                    throw error("unexpected character '/'");
+                }
+                int previous = 0;
+                c = read();
+                while (c != -1 && !(previous == '*' && c == '/')) {
+                    previous = c;
+                    c = read();
+                }
+                if (c == -1) {
+                    throw error("unterminated comment");
+                }
+            } else {
+                return;
+            }
+        }
+    }
+
+    /**
+     * This method advances the lexer to the next token
+     *
+     * @return int is the kind of the new current token
+     * @throws IOException
+     *             if the input cannot be read or contains an illegal token
+     */
+    public int next() throws IOException {
+        skipLayout();
+        text.setLength(0);
+        tokenLine = line;
+        int c = read();
+        if (c == -1) {
+            kind = EOF;
+        } else if (Character.isLetter(c) || c == '$') {
+            text.append((char) c);
+            if (c == '$' && peek() == '$') {
+                text.append((char) read());
+            }
+            readWord();
+            if (c == '$') {
+                kind = DOLLAR_WORD;
+            } else if (Character.isUpperCase(c)) {
+                kind = UPPER_WORD;
+            } else {
+                kind = LOWER_WORD;
+            }
+        } else if (Character.isDigit(c) || ((c == '+' || c == '-') && isDigit(peek()))) {
+            text.append((char) c);
+            readNumber();
+            kind = NUMBER;
+        } else if (c == '\'') {
+            readQuoted('\'');
+            kind = SINGLE_QUOTED;
+        } else if (c == '"') {
+            text.append('"');
+            readQuoted('"');
+            text.append('"');
+            kind = DISTINCT_OBJECT;
+        } else if (c == '(' || c == ')' || c == '[' || c == ']' || c == ',' || c == '.' || c == ':') {
+            text.append((char) c);
+            kind = PUNCTUATION;
+        } else {
+            readOperator(c);
+            kind = OPERATOR;
+        }
+        return kind;
+    }
+
+    /**
+     * Checks whether a character is a decimal digit
+     *
+     * @param c
+     *            int is the character
+     * @return boolean: true if the character is a digit
+     */
+    private static boolean isDigit(int c) {
+        return c >= '0' && c <= '9';
+    }
+
+    /**
+     * This method reads the remaining alphanumeric characters of a word
+     *
+     * @throws IOException
+     *             if the input cannot be read
+     */
+    private void readWord() throws IOException {
+        int c = peek();
+        while (c != -1 && (Character.isLetterOrDigit(c) || c == '_')) {
+            text.append((char) read());
+            c = peek();
+        }
+    }
+
+    /**
+     * This method reads the remaining characters of a number
+     *
+     * @throws IOException
+     *             if the input cannot be read
+     */
+    private void readNumber() throws IOException {
+        int c = peek();
+        while (isDigit(c) || c == '.' || c == '/' || c == 'E' || c == 'e') {
+            if (c == '.') {
+                // a full stop that is not followed by a digit ends the formula
+                if (!isDigit(peekSecond())) {
+                    return;
+                }
+                text.append((char) read());
+            } else {
+                text.append((char) read());
+                if ((c == 'E' || c == 'e') && (peek() == '+' || peek() == '-')) {
+                    text.append((char) read());
+                }
+            }
+            c = peek();
+        }
+    }
+
+    /**
+     * This method reads a quoted word up to its closing quote, resolving the
+     * escape sequences \\ and \' or \"
+     *
+     * @param quote
+     *            char is the quote character that closes the word
+     * @throws IOException
+     *             if the input ends before the closing quote
+     */
+    private void readQuoted(char quote) throws IOException {
+        int c = read();
+        while (c != quote) {
+            if (c == -1) {
+                throw error("unterminated quoted word");
+            }
+            if (c == '\\') {
+                c = read();
+                if (c == -1) {
+                    throw error("unterminated quoted word");
+                }
+            }
+            text.append((char) c);
+            c = read();
+        }
+    }
+
+    /**
+     * This method reads a connective, quantifier or equality symbol
+     *
+     * @param c
+     *            int is the first character of the symbol
+     * @throws IOException
+     *             if the characters do not form a TPTP operator
+     */
+    private void readOperator(int c) throws IOException {
+        text.append((char) c);
+        switch (c) {
+            case '|':
+            case '&':
+            case '?':
+                return;
+            case '!':
+                if (peek() == '=') {
+                    text.append((char) read());
+                }
+                return;
+            case '~':
+                if (peek() == '|' || peek() == '&') {
+                    text.append((char) read());
+                }
+                return;
+            case '=':
+                if (peek() == '>') {
+                    text.append((char) read());
+                }
+                return;
+            case '<':
+                if (peek() == '=') {
+                    text.append((char) read());
+                    if (peek() == '>') {
+                        text.append((char) read());
+                    }
+                    return;
+                } else if (peek() == '~') {
+                    text.append((char) read());
+                    if (peek() == '>') {
+                        text.append((char) read());
+                        return;
+                    }
+                }
+                break;
+            default:
+                break;
+        }
+        throw error("unexpected symbol '" + text + "'");
+    }
+
+    /**
+     * Returns the kind of the current token
+     *
+     * @return int is one of the token kind constants
+     */
+    public int getKind() {
+        return this.kind;
+    }
+
+    /**
+     * Returns the text of the current token
+     *
+     * @return String is the token text
+     */
+    public String getText() {
+        return this.text.toString();
+    }
+
+    /**
+     * Checks whether the current token is the given punctuation or operator
+     * symbol
+     *
+     * @param symbol
+     *            String is the symbol to compare
+     * @return boolean: true if the current token is the symbol
+     */
+    public boolean is(String symbol) {
+        return (kind == PUNCTUATION || kind == OPERATOR) && symbol.contentEquals(text);
+    }
+
+    /**
+     * Returns the line on which the current token starts
+     *
+     * @return int is the line number counted from 1
+     */
+    public int getLine() {
+        return this.tokenLine;
+    }
+
+    /**
+     * Creates an exception describing a syntax error at the current line
+     *
+     * @param message
+     *            String describes the error
+     * @return IOException is the exception to throw
+     */
+    public IOException error(String message) {
+        return new IOException("TPTP syntax error on line " + line + ": " + message);
+    }
+}
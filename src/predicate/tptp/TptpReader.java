@@ -0,0 +1,819 @@
+package predicate.tptp;
+
+import common.ClauseSink;
+import common.SymbolTable;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Set;
+import predicate.common.Binary;
+import predicate.common.Formula;
+import predicate.common.Function;
+import predicate.common.Predicate;
+import predicate.common.Quantifier;
+import predicate.common.Term;
+import predicate.common.Token;
+import predicate.common.Unary;
+import predicate.common.Variable;
+import predicate.parser.FreeTermsTable;
+import predicate.resolution.NormalForm;
+import predicate.resolution.NormalFormAlgorithm;
+
+/**
+ * <p>Title: Predicate Logic Theorem Prover</p>
+ * <p>Description: A theorem prover for predicate logic</p>
+ * <p>Copyright: Copyright (c) 2005</p>
+ * <p>Department: Computer Science</p>
+ * @author Mark Schlichtmann
+ * @version 2.0*/
+/*******************************************************************************
+ * The TptpReader class reads problems written in the fof and cnf languages of
+ * the TPTP library and returns the annotated formulas one at a time, so large
+ * axiom files are never held in memory as a whole. Include directives are
+ * followed as they are met, and can be confined to one directory or refused
+ * for input that is not trusted.
+ *
+ * TPTP identifiers are not restricted to the one letter alphabet of the
+ * predicate scanner, so every functor, predicate and variable name is entered
+ * in a symbol table and the tokens carry a kind letter followed by the symbol
+ * number: P for predicates, F for functions, C for constants and X for
+ * variables. Upper case letters are used because the free variables and
+ * parameters handed out by the FreeTermsTable are lower case. The original
+ * names can be recovered with getOriginalName.
+ *
+ * The connectives are mapped onto the ones the normal form algorithm knows:
+ * <= swaps the operands of =>, <=> becomes a conjunction of two implications
+ * and the negated connectives <~>, ~| and ~& are negations. Equality is an
+ * ordinary predicate named =, and $true and $false are the tautology
+ * $true | ~$true and its negation.
+ ******************************************************************************/
+public class TptpReader implements Closeable {
+    /** The kind letter of predicate symbols */
+    private static final char PREDICATE = 'P';
+    /** The kind letter of function symbols */
+    private static final char FUNCTION = 'F';
+    /** The kind letter of constant symbols */
+    private static final char CONSTANT = 'C';
+    /** The kind letter of variable symbols */
+    private static final char VARIABLE = 'X';
+    /** The symbol table numbering all TPTP identifiers */
+    private final SymbolTable symbols = new SymbolTable();
+    /** The stack of open input files, the innermost include on top */
+    private final ArrayDeque<Source> sources = new ArrayDeque<Source>();
+    /** The names of the variables bound by the enclosing quantifiers */
+    private final ArrayList<String> bound = new ArrayList<String>();
+    /** Supplies the free variables and parameters for clausal form */
+    private FreeTermsTable freeTerms;
+    /** The lexer of the file being read */
+    private TptpLexer lexer;
+    /** True if include directives may only open files below includeRoot */
+    private boolean includesRestricted;
+    /** The directory included files must lie in, or null to refuse includes */
+    private Path includeRoot;
+
+    /***************************************************************************
+     * The Source class records an open input: its lexer, the directory that
+     * include paths are resolved against and the names selected by the
+     * include directive that opened it.
+     **************************************************************************/
+    private static final class Source {
+        /** The input being read */
+        private final Reader reader;
+        /** The lexer over the input */
+        private final TptpLexer lexer;
+        /** The directory include paths are resolved against */
+        private final Path directory;
+        /** The names of the formulas to return, or null for all */
+        private final Set<String> selection;
+
+        /**
+         * Initialising the source
+         *
+         * @param reader
+         *            Reader is the input
+         * @param directory
+         *            Path is the directory for include paths
+         * @param selection
+         *            Set is the selected formula names, or null for all
+         */
+        private Source(Reader reader, Path directory, Set<String> selection) {
+            this.reader = reader;
+            this.lexer = new TptpLexer(reader);
+            this.directory = directory;
+            this.selection = selection;
+        }
+    }
+
+    /**
+     * Opens a TPTP file for reading
+     *
+     * @param file
+     *            Path is the TPTP problem or axiom file
+     * @throws IOException
+     *             if the file cannot be opened
+     */
+    public TptpReader(Path file) throws IOException {
+        open(file, null);
+    }
+
+    /**
+     * Reads TPTP input from a reader, resolving include paths against the
+     * working directory
+     *
+     * @param input
+     *            Reader is the TPTP input
+     */
+    public TptpReader(Reader input) {
+        sources.push(new Source(input, Paths.get(""), null));
+    }
+
+    /**
+     * This method confines include directives to the files below a
+     * directory, such as the TPTP library. Paths are normalised and links
+     * followed before they are checked, so neither .. nor a link leads out of
+     * the directory.
+     *
+     * @param root
+     *            Path is the directory included files must lie in, or null to
+     *            refuse every include directive
+     */
+    public void restrictIncludes(Path root) {
+        includesRestricted = true;
+        includeRoot = root;
+    }
+
+    /**
+     * This method opens a file and pushes it on the stack of inputs
+     *
+     * @param file
+     *            Path is the file to open
+     * @param selection
+     *            Set is the selected formula names, or null for all
+     * @throws IOException
+     *             if the file cannot be opened
+     */
+    private void open(Path file, Set<String> selection) throws IOException {
+        Path directory = file.toAbsolutePath().getParent();
+        Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8);
+        sources.push(new Source(reader, directory, selection));
+    }
+
+    /**
+     * This method returns the next annotated formula of the input
+     *
+     * @return TptpFormula is the next formula, or null at the end of the input
+     * @throws IOException
+     *             if the input cannot be read or is not valid TPTP
+     */
+    public TptpFormula next() throws IOException {
+        while (!sources.isEmpty()) {
+            Source source = sources.peek();
+            lexer = source.lexer;
+            int kind = lexer.next();
+            if (kind == TptpLexer.EOF) {
+                sources.pop().reader.close();
+                continue;
+            }
+            if (kind != TptpLexer.LOWER_WORD) {
+                throw lexer.error("annotated formula expected but found '" + lexer.getText() + "'");
+            }
+            String language = lexer.getText();
+            if (language.equals("include")) {
+                include(source);
+                continue;
+            }
+            if (!language.equals("fof") && !language.equals("cnf")) {
+                throw lexer.error("unsupported language " + language);
+            }
+            lexer.next();
+            expect("(");
+            String name = parseName();
+            expect(",");
+            if (lexer.getKind() != TptpLexer.LOWER_WORD) {
+                throw lexer.error("formula role expected");
+            }
+            String role = lexer.getText();
+            lexer.next();
+            expect(",");
+            Formula formula;
+            if (language.equals("fof")) {
+                formula = parseFormula();
+            } else {
+                formula = parseClause();
+            }
+            if (lexer.is(",")) {
+                skipAnnotations();
+            }
+            expect(")");
+            if (!lexer.is(".")) {
+                throw lexer.error("'.' expected after " + language + "(" + name + ", ...)");
+            }
+            if (source.selection == null || source.selection.contains(name)) {
+                return new TptpFormula(language, name, role, formula);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * This method reads all formulas of the input and streams their clauses
+     * into a sink. Clauses written in cnf are passed on as they are, fof
+     * formulas are converted by the normal form algorithm after negating
+     * conjectures. The sink is closed at the end of the input.
+     *
+     * @param sink
+     *            ClauseSink receives each clause
+     * @return long is the number of clauses streamed
+     * @throws IOException
+     *             if the input cannot be read or is not valid TPTP
+     */
+    public long readClauses(final ClauseSink<? super NormalForm> sink) throws IOException {
+        long count = streamClauses(sink, sink);
+        sink.close();
+        return count;
+    }
+
+    /**
+     * This method reads all formulas of the input and streams the clauses of
+     * the negated conjectures into one sink and all other clauses into
+     * another, so that a prover can tell the goal from the axioms. A fof
+     * conjecture is negated before it is converted, a cnf negated_conjecture
+     * is passed on as it is. Both sinks are closed at the end of the input.
+     *
+     * @param axioms
+     *            ClauseSink receives the clauses of the axioms and hypotheses
+     * @param goal
+     *            ClauseSink receives the clauses of the negated conjectures
+     * @return long is the number of clauses streamed
+     * @throws IOException
+     *             if the input cannot be read or is not valid TPTP
+     */
+    public long readClauses(ClauseSink<? super NormalForm> axioms, ClauseSink<? super NormalForm> goal) throws IOException {
+        long count = streamClauses(axioms, goal);
+        axioms.close();
+        goal.close();
+        return count;
+    }
+
+    private long streamClauses(final ClauseSink<? super NormalForm> axioms, final ClauseSink<? super NormalForm> goal) throws IOException {
+        final long[] count = new long[1];
+        TptpFormula annotated = next();
+        while (annotated != null) {
+            final ClauseSink<? super NormalForm> sink = annotated.isConjecture() || annotated.isNegatedConjecture() ? goal : axioms;
+            if (annotated.isClause()) {
+                NormalForm clause = new NormalForm();
+                addLiterals(annotated.getFormula(), clause);
+                sink.addClause(clause);
+                ++count[0];
+            } else {
+                Formula formula = annotated.getFormula();
+                if (annotated.isConjecture()) {
+                    formula = negate(formula);
+                }
+                new NormalFormAlgorithm(formula, getFreeTerms()).streamNormalForm(new ClauseSink<NormalForm>() {
+                    public void addClause(NormalForm clause) {
+                        sink.addClause(clause);
+                        ++count[0];
+                    }
+                });
+            }
+            annotated = next();
+        }
+        return count[0];
+    }
+
+    /**
+     * This method collects the literals of a disjunction read from a cnf
+     * clause. The negated tautology that stands for $false is left out.
+     *
+     * @param formula
+     *            Formula is the disjunction
+     * @param clause
+     *            NormalForm receives the literals
+     */
+    private void addLiterals(Formula formula, NormalForm clause) {
+        if (formula instanceof Binary) {
+            addLiterals(formula.getleftPredicate(), clause);
+            addLiterals(formula.getRightPredicate(), clause);
+        } else if (formula.isLiteral()) {
+            clause.addFormula(formula);
+        }
+    }
+
+    /**
+     * Returns the table of free variables and parameters shared by all fof
+     * formulas, so that the parameters of one formula are never reused in
+     * another
+     *
+     * @return FreeTermsTable is the table
+     */
+    private FreeTermsTable getFreeTerms() {
+        if (freeTerms == null) {
+            freeTerms = new FreeTermsTable();
+            freeTerms.initialisePars();
+            freeTerms.initialiseVars();
+        }
+        return freeTerms;
+    }
+
+    /**
+     * This method follows an include directive, opening the included file on
+     * top of the current one
+     *
+     * @param source
+     *            Source is the input containing the directive
+     * @throws IOException
+     *             if the directive is malformed or the file cannot be opened
+     */
+    private void include(Source source) throws IOException {
+        lexer.next();
+        expect("(");
+        if (lexer.getKind() != TptpLexer.SINGLE_QUOTED) {
+            throw lexer.error("quoted file name expected in include");
+        }
+        String file = lexer.getText();
+        lexer.next();
+        Set<String> selection = null;
+        if (lexer.is(",")) {
+            lexer.next();
+            expect("[");
+            selection = new HashSet<String>();
+            while (!lexer.is("]")) {
+                selection.add(parseName());
+                if (lexer.is(",")) {
+                    lexer.next();
+                }
+            }
+            lexer.next();
+        }
+        expect(")");
+        if (!lexer.is(".")) {
+            throw lexer.error("'.' expected after include");
+        }
+        Path path;
+        if (includesRestricted) {
+            path = confine(file);
+        } else {
+            path = source.directory.resolve(file);
+            String root = System.getenv("TPTP");
+            if (!Files.exists(path) && root != null) {
+                path = Paths.get(root).resolve(file);
+            }
+        }
+        open(path, selection);
+    }
+
+    /**
+     * This method resolves the file of an include directive against the
+     * include directory and checks that it lies in it. The error names
+     * neither the file nor its content.
+     *
+     * @param file
+     *            String is the file name of the directive
+     * @return Path is the file to open
+     * @throws IOException
+     *             if includes are refused or the file is not a file in the
+     *             include directory
+     */
+    private Path confine(String file) throws IOException {
+        if (includeRoot == null) {
+            throw lexer.error("include directives are not allowed");
+        }
+        Path root = includeRoot.toRealPath();
+        Path path = root.resolve(file).normalize();
+        if (!path.startsWith(root) || !Files.isRegularFile(path) || !path.toRealPath().startsWith(root)) {
+            throw lexer.error("include of a file outside the include directory");
+        }
+        return path;
+    }
+
+    /**
+     * This method skips the source and useful info annotations of a formula,
+     * leaving the closing bracket of the annotated formula as current token
+     *
+     * @throws IOException
+     *             if the input ends inside the annotations
+     */
+    private void skipAnnotations() throws IOException {
+        int depth = 0;
+        lexer.next();
+        while (depth > 0 || !lexer.is(")")) {
+            if (lexer.getKind() == TptpLexer.EOF) {
+                throw lexer.error("unterminated annotations");
+            } else if (lexer.is("(") || lexer.is("[")) {
+                ++depth;
+            } else if (lexer.is(")") || lexer.is("]")) {
+                --depth;
+            }
+            lexer.next();
+        }
+    }
+
+    /**
+     * This method checks that the current token is a given symbol and advances
+     * past it
+     *
+     * @param symbol
+     *            String is the expected symbol
+     * @throws IOException
+     *             if the current token is a different one
+     */
+    private void expect(String symbol) throws IOException {
+        if (!lexer.is(symbol)) {
+            throw lexer.error("'" + symbol + "' expected but found '" + lexer.getText() + "'");
+        }
+        lexer.next();
+    }
+
+    /**
+     * This method reads the name of an annotated formula
+     *
+     * @return String is the name
+     * @throws IOException
+     *             if the current token cannot be a name
+     */
+    private String parseName() throws IOException {
+        int kind = lexer.getKind();
+        if (kind != TptpLexer.LOWER_WORD && kind != TptpLexer.SINGLE_QUOTED && kind != TptpLexer.NUMBER) {
+            throw lexer.error("formula name expected but found '" + lexer.getText() + "'");
+        }
+        String name = lexer.getText();
+        lexer.next();
+        return name;
+    }
+
+    /**
+     * This method parses a fof formula. Chains of | and & associate to the
+     * left, the other binary connectives may not be chained without brackets.
+     *
+     * @return Formula is the parsed formula
+     * @throws IOException
+     *             if the input is not a valid formula
+     */
+    private Formula parseFormula() throws IOException {
+        Formula left = parseUnitary();
+        if (lexer.is("|") || lexer.is("&")) {
+            String op = lexer.getText();
+            while (lexer.is(op)) {
+                lexer.next();
+                left = connect(op, left, parseUnitary());
+            }
+        } else if (lexer.getKind() == TptpLexer.OPERATOR && isBinary(lexer.getText())) {
+            String op = lexer.getText();
+            lexer.next();
+            left = connect(op, left, parseUnitary());
+        }
+        return left;
+    }
+
+    /**
+     * Checks whether a symbol is one of the non associative binary connectives
+     *
+     * @param op
+     *            String is the symbol
+     * @return boolean: true if the symbol is a binary connective
+     */
+    private static boolean isBinary(String op) {
+        return op.equals("=>") || op.equals("<=") || op.equals("<=>") || op.equals("<~>") || op.equals("~|") || op.equals("~&");
+    }
+
+    /**
+     * This method parses a bracketed, quantified, negated or atomic formula
+     *
+     * @return Formula is the parsed formula
+     * @throws IOException
+     *             if the input is not a valid formula
+     */
+    private Formula parseUnitary() throws IOException {
+        if (lexer.is("(")) {
+            lexer.next();
+            Formula formula = parseFormula();
+            expect(")");
+            return formula;
+        } else if (lexer.is("!") || lexer.is("?")) {
+            boolean universal = lexer.is("!");
+            lexer.next();
+            expect("[");
+            ArrayList<String> names = new ArrayList<String>();
+            while (!lexer.is("]")) {
+                if (lexer.getKind() != TptpLexer.UPPER_WORD) {
+                    throw lexer.error("variable expected but found '" + lexer.getText() + "'");
+                }
+                names.add(lexer.getText());
+                lexer.next();
+                if (lexer.is(",")) {
+                    lexer.next();
+                }
+            }
+            lexer.next();
+            expect(":");
+            bound.addAll(names);
+            Formula formula = parseUnitary();
+            for (int i = names.size() - 1; i >= 0; i--) {
+                bound.remove(bound.size() - 1);
+                Token token = universal ? new Token("A", 3) : new Token("E", 4);
+                Term var = new Term(new Token(symbol(VARIABLE, names.get(i)), 2), null);
+                formula = new Quantifier(token, var, formula);
+            }
+            return formula;
+        } else if (lexer.is("~")) {
+            lexer.next();
+            return negate(parseUnitary());
+        }
+        return parseAtom();
+    }
+
+    /**
+     * This method parses a cnf clause, a disjunction of literals that may be
+     * enclosed in brackets
+     *
+     * @return Formula is the clause as a disjunction
+     * @throws IOException
+     *             if the input is not a valid clause
+     */
+    private Formula parseClause() throws IOException {
+        if (lexer.is("(")) {
+            lexer.next();
+            Formula clause = parseClause();
+            expect(")");
+            return clause;
+        }
+        Formula clause = parseLiteral();
+        while (lexer.is("|")) {
+            lexer.next();
+            clause = connect("|", clause, parseLiteral());
+        }
+        return clause;
+    }
+
+    /**
+     * This method parses a possibly negated atom of a clause
+     *
+     * @return Formula is the literal
+     * @throws IOException
+     *             if the input is not a valid literal
+     */
+    private Formula parseLiteral() throws IOException {
+        if (lexer.is("~")) {
+            lexer.next();
+            Formula atom = parseAtom();
+            if (atom instanceof Unary) {
+                // ~ $false and ~ (s != t) drop the double negation
+                return atom.getRightPredicate();
+            }
+            return negate(atom);
+        }
+        return parseAtom();
+    }
+
+    /**
+     * This method parses an atom: a predicate applied to its arguments, an
+     * equation or inequation between terms, or a truth value
+     *
+     * @return Formula is the atom
+     * @throws IOException
+     *             if the input is not a valid atom
+     */
+    private Formula parseAtom() throws IOException {
+        int kind = lexer.getKind();
+        if (kind == TptpLexer.DOLLAR_WORD && (lexer.getText().equals("$true") || lexer.getText().equals("$false"))) {
+            boolean value = lexer.getText().equals("$true");
+            lexer.next();
+            Predicate atom = new Predicate(new Token(symbol(PREDICATE, "$true"), 5), null);
+            Formula tautology = connect("|", atom, negate(atom));
+            return value ? tautology : negate(tautology);
+        } else if (kind == TptpLexer.UPPER_WORD || kind == TptpLexer.NUMBER || kind == TptpLexer.DISTINCT_OBJECT) {
+            return parseEquation(parseTerm());
+        } else if (kind != TptpLexer.LOWER_WORD && kind != TptpLexer.SINGLE_QUOTED && kind != TptpLexer.DOLLAR_WORD) {
+            throw lexer.error("atom expected but found '" + lexer.getText() + "'");
+        }
+        String name = lexer.getText();
+        lexer.next();
+        ArrayList<Term> arguments = null;
+        if (lexer.is("(")) {
+            arguments = parseArguments();
+        }
+        if (lexer.is("=") || lexer.is("!=")) {
+            return parseEquation(makeTerm(name, arguments));
+        }
+        return new Predicate(new Token(symbol(PREDICATE, name), 5), link(arguments));
+    }
+
+    /**
+     * This method parses the right hand side of an equation or inequation
+     *
+     * @param left
+     *            Term is the left hand side
+     * @return Formula is the equation
+     * @throws IOException
+     *             if the current token is not = or != or no term follows
+     */
+    private Formula parseEquation(Term left) throws IOException {
+        boolean negated = lexer.is("!=");
+        if (!negated && !lexer.is("=")) {
+            throw lexer.error("'=' expected after a term but found '" + lexer.getText() + "'");
+        }
+        lexer.next();
+        left.setRightExpression(parseTerm());
+        Predicate equation = new Predicate(new Token(symbol(PREDICATE, "="), 5), left);
+        return negated ? negate(equation) : equation;
+    }
+
+    /**
+     * This method parses a term: a variable, a constant or a function applied
+     * to its arguments
+     *
+     * @return Term is the term
+     * @throws IOException
+     *             if the input is not a valid term
+     */
+    private Term parseTerm() throws IOException {
+        int kind = lexer.getKind();
+        String name = lexer.getText();
+        if (kind == TptpLexer.UPPER_WORD) {
+            lexer.next();
+            Token token = new Token(symbol(VARIABLE, name), 2);
+            return new Variable(token, null, !bound.contains(name));
+        } else if (kind == TptpLexer.NUMBER || kind == TptpLexer.DISTINCT_OBJECT) {
+            lexer.next();
+            return new Term(new Token(symbol(CONSTANT, name), 1), null);
+        } else if (kind == TptpLexer.LOWER_WORD || kind == TptpLexer.SINGLE_QUOTED || kind == TptpLexer.DOLLAR_WORD) {
+            lexer.next();
+            ArrayList<Term> arguments = null;
+            if (lexer.is("(")) {
+                arguments = parseArguments();
+            }
+            return makeTerm(name, arguments);
+        }
+        throw lexer.error("term expected but found '" + name + "'");
+    }
+
+    /**
+     * This method parses a bracketed list of terms
+     *
+     * @return ArrayList is the list of terms
+     * @throws IOException
+     *             if the input is not a valid argument list
+     */
+    private ArrayList<Term> parseArguments() throws IOException {
+        ArrayList<Term> arguments = new ArrayList<Term>();
+        expect("(");
+        arguments.add(parseTerm());
+        while (lexer.is(",")) {
+            lexer.next();
+            arguments.add(parseTerm());
+        }
+        expect(")");
+        return arguments;
+    }
+
+    /**
+     * This method creates a constant, or a function if there are arguments.
+     * As in the parser, a function with a bound variable argument is bound.
+     *
+     * @param name
+     *            String is the TPTP name of the symbol
+     * @param arguments
+     *            ArrayList is the list of arguments, or null for a constant
+     * @return Term is the term
+     */
+    private Term makeTerm(String name, ArrayList<Term> arguments) {
+        if (arguments == null) {
+            return new Term(new Token(symbol(CONSTANT, name), 1), null);
+        }
+        Function function = new Function(new Token(symbol(FUNCTION, name), 0), null, link(arguments));
+        for (int i = 0; i < arguments.size(); i++) {
+            if (arguments.get(i) instanceof Variable && !arguments.get(i).isFree()) {
+                function.bind();
+            }
+        }
+        return function;
+    }
+
+    /**
+     * This method chains a list of terms through their right expressions, the
+     * way argument lists are represented
+     *
+     * @param terms
+     *            ArrayList is the list of terms, or null
+     * @return Term is the first term of the chain, or null
+     */
+    private static Term link(ArrayList<Term> terms) {
+        if (terms == null) {
+            return null;
+        }
+        Term next = null;
+        for (int i = terms.size() - 1; i >= 0; i--) {
+            terms.get(i).setRightExpression(next);
+            next = terms.get(i);
+        }
+        return next;
+    }
+
+    /**
+     * This method combines two formulas with a TPTP binary connective
+     *
+     * @param op
+     *            String is the connective
+     * @param left
+     *            Formula is the left operand
+     * @param right
+     *            Formula is the right operand
+     * @return Formula is the combined formula
+     */
+    private static Formula connect(String op, Formula left, Formula right) {
+        if (op.equals("&")) {
+            return new Binary(new Token("&", 10), left, right);
+        } else if (op.equals("|")) {
+            return new Binary(new Token("|", 9), left, right);
+        } else if (op.equals("=>")) {
+            return new Binary(new Token("=>", 8), left, right);
+        } else if (op.equals("<=")) {
+            return new Binary(new Token("=>", 8), right, left);
+        } else if (op.equals("<=>")) {
+            return connect("&", connect("=>", left, right), connect("=>", right, left));
+        } else if (op.equals("<~>")) {
+            return negate(connect("<=>", left, right));
+        } else if (op.equals("~|")) {
+            return negate(connect("|", left, right));
+        } else {
+            return negate(connect("&", left, right));
+        }
+    }
+
+    /**
+     * This method negates a formula
+     *
+     * @param formula
+     *            Formula is the formula to negate
+     * @return Formula is the negation
+     */
+    private static Formula negate(Formula formula) {
+        return new Unary(new Token("!", 11), formula);
+    }
+
+    /**
+     * This method returns the token data of a TPTP identifier, entering the
+     * identifier in the symbol table when it is new
+     *
+     * @param kind
+     *            char is the kind letter of the symbol
+     * @param name
+     *            String is the TPTP identifier
+     * @return String is the token data
+     */
+    private String symbol(char kind, String name) {
+        return kind + Integer.toString(symbols.getId(name));
+    }
+
+    /**
+     * Returns the TPTP identifier a token was created for
+     *
+     * @param token
+     *            Token is a predicate, function, constant or variable token
+     * @return String is the TPTP identifier, or the token data if the token
+     *         does not stand for a TPTP identifier
+     */
+    public String getOriginalName(Token token) {
+        String data = token.getData();
+        if (data.length() > 1 && "PFCX".indexOf(data.charAt(0)) >= 0) {
+            try {
+                int id = Integer.parseInt(data.substring(1));
+                if (id >= 1 && id <= symbols.size()) {
+                    return symbols.getName(id);
+                }
+            } catch (NumberFormatException e) {
+                return data;
+            }
+        }
+        return data;
+    }
+
+    /**
+     * Returns the symbol table numbering the TPTP identifiers read so far
+     *
+     * @return SymbolTable is the symbol table
+     */
+    public SymbolTable getSymbols() {
+        return this.symbols;
+    }
+
+    /**
+     * Closes all open inputs
+     *
+     * @throws IOException
+     *             if an input cannot be closed
+     */
+    public void close() throws IOException {
+        while (!sources.isEmpty()) {
+            sources.pop().reader.close();
+        }
+    }
+}
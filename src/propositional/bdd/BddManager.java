@@ -0,0 +1,746 @@
+package propositional.bdd;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.concurrent.CancellationException;
+
+/* <p>Title:Propositional Theorem Prover</p>
+ * <p>Description: A theorem prover for propositional logic.</p>
+ * <p>Copyright: Copyright (c) 2005</p>
+ * <p>Department: Computer Science</p>
+ * @author Mark Schlichtmann
+ * @version 2.0*/
+/*******************************************************************************
+ * The BddManager class holds reduced ordered binary decision diagrams over a
+ * common variable order. A node is three ints in one array, its variable and
+ * the nodes of its else and then branches, and is known by its index; 0 and 1
+ * are the constant nodes. An open addressing unique table makes every node
+ * unique, so two BDDs of the manager denote the same function exactly when
+ * they are the same node. All operations are reduced to if-then-else, whose
+ * results are remembered in a computed table of fixed size that simply
+ * overwrites on collision.
+ *
+ * Nodes are reference counted. A node is live while it is referenced from
+ * outside with ref or from a live parent, and the nodes nobody references are
+ * reclaimed by collectGarbage. Results of the operations start unreferenced,
+ * so a BDD that must survive a collection has to be referenced first; the
+ * manager never collects on its own inside an operation, only in checkpoint.
+ *
+ * The variable order can be improved by sifting: each variable in turn is
+ * moved through all levels by swapping adjacent levels in place, and left
+ * where the live BDDs were smallest. Swapping keeps the index of every node
+ * and the function it denotes, so references held outside stay valid.
+ ******************************************************************************/
+public class BddManager {
+    /** The constant false node */
+    public static final int ZERO = 0;
+    /** The constant true node */
+    public static final int ONE = 1;
+    /** The default number of entries of the computed table */
+    public static final int DEFAULT_CACHE_SIZE = 1 << 16;
+    /** The variable field of the constants and of free nodes */
+    private static final int NONE = -1;
+    /** An unused slot of the unique table; node 0 is never in the table */
+    private static final int EMPTY = 0;
+    /** A slot of the unique table whose node was moved; node 1 is never in the table */
+    private static final int DELETED = 1;
+    /** The number of dead nodes below which no garbage is collected */
+    private static final int COLLECT_THRESHOLD = 1 << 14;
+    /** The growth of the live nodes at which sifting stops moving a variable */
+    private static final double MAX_GROWTH = 1.2;
+    /** The number of computed table misses between checks for interruption */
+    private static final int POLL_MISSES = 1 << 12;
+
+    /** Variable, else and then branch of each node */
+    private int[] nodes;
+    /** The number of external references and live parents of each node */
+    private int[] refs;
+    /** The number of node indices in use, free ones included */
+    private int nodeCount;
+    /** The first free node, chained through the else field */
+    private int freeList;
+    /** The number of free nodes */
+    private int freeCount;
+    /** The number of live nodes, the constants not included */
+    private int liveCount;
+    /** Open addressing index of the nodes */
+    private int[] table;
+    /** The number of used and deleted slots of the unique table */
+    private int tableUsed;
+    /** Condition, then, else and result of each computed table entry */
+    private final int[] cache;
+    /** The level of each variable, 0 being the top */
+    private int[] levels;
+    /** The variable of each level */
+    private int[] variables;
+    /** The number of variables */
+    private int variableCount;
+    /** Set when checkpoint may reorder the variables */
+    private boolean dynamicReordering;
+    /** The number of live nodes above which checkpoint sifts */
+    private int reorderThreshold;
+    /** Statistics */
+    private long cacheLookups;
+    private long cacheHits;
+    private long cacheMisses;
+    private int collections;
+    private int reorderings;
+
+    /** Initialising a manager with the default computed table */
+    public BddManager() {
+        this(DEFAULT_CACHE_SIZE);
+    }
+
+    /**
+     * Initialising a manager
+     *
+     * @param cacheSize
+     *            int is the number of entries of the computed table, rounded
+     *            up to a power of two
+     */
+    public BddManager(int cacheSize) {
+        nodes = new int[3 * 1024];
+        refs = new int[1024];
+        nodes[0] = NONE;
+        nodes[3] = NONE;
+        refs[ZERO] = 1;
+        refs[ONE] = 1;
+        nodeCount = 2;
+        freeList = NONE;
+        table = new int[2048];
+        cache = new int[4 * Integer.highestOneBit(Math.max(2, cacheSize - 1) << 1)];
+        clearCache();
+        levels = new int[16];
+        variables = new int[16];
+        reorderThreshold = COLLECT_THRESHOLD;
+    }
+
+    /**
+     * This method adds a variable below all existing ones
+     *
+     * @return int is the number of the new variable
+     */
+    public int newVariable() {
+        if (variableCount == levels.length) {
+            levels = Arrays.copyOf(levels, 2 * variableCount);
+            variables = Arrays.copyOf(variables, 2 * variableCount);
+        }
+        levels[variableCount] = variableCount;
+        variables[variableCount] = variableCount;
+        return variableCount++;
+    }
+
+    /**
+     * This method returns the BDD of a variable
+     *
+     * @param variable
+     *            int is the number of the variable
+     * @return int is the node that is true exactly when the variable is
+     */
+    public int variable(int variable) {
+        if (variable < 0 || variable >= variableCount) {
+            throw new IllegalArgumentException("no variable " + variable);
+        }
+        return node(variable, ZERO, ONE);
+    }
+
+    /**
+     * This method returns the BDD of if f then g else h
+     *
+     * @param f
+     *            int is the condition
+     * @param g
+     *            int is the then branch
+     * @param h
+     *            int is the else branch
+     * @return int is the node of the result
+     * @throws CancellationException
+     *             if the thread is interrupted; the manager stays usable
+     */
+    public int ite(int f, int g, int h) {
+        if (f == ONE) {
+            return g;
+        }
+        if (f == ZERO) {
+            return h;
+        }
+        if (g == f) {
+            g = ONE;
+        }
+        if (h == f) {
+            h = ZERO;
+        }
+        if (g == h) {
+            return g;
+        }
+        if (g == ONE && h == ZERO) {
+            return f;
+        }
+        int entry = 4 * (hash(f, g, h) & (cache.length / 4 - 1));
+        ++cacheLookups;
+        if (cache[entry] == f && cache[entry + 1] == g && cache[entry + 2] == h) {
+            ++cacheHits;
+            return cache[entry + 3];
+        }
+        if (++cacheMisses % POLL_MISSES == 0 && Thread.currentThread().isInterrupted()) {
+            throw new CancellationException("the BDD operation was interrupted");
+        }
+        int top = Math.min(level(f), Math.min(level(g), level(h)));
+        int variable = variables[top];
+        int result = node(variable, ite(cofactor(f, top, false), cofactor(g, top, false), cofactor(h, top, false)),
+                ite(cofactor(f, top, true), cofactor(g, top, true), cofactor(h, top, true)));
+        cache[entry] = f;
+        cache[entry + 1] = g;
+        cache[entry + 2] = h;
+        cache[entry + 3] = result;
+        return result;
+    }
+
+    /**
+     * This method returns the negation of a BDD
+     *
+     * @param f
+     *            int is the node to negate
+     * @return int is the node of not f
+     */
+    public int not(int f) {
+        return ite(f, ZERO, ONE);
+    }
+
+    /**
+     * This method returns the conjunction of two BDDs
+     *
+     * @return int is the node of f and g
+     */
+    public int and(int f, int g) {
+        return ite(f, g, ZERO);
+    }
+
+    /**
+     * This method returns the disjunction of two BDDs
+     *
+     * @return int is the node of f or g
+     */
+    public int or(int f, int g) {
+        return ite(f, ONE, g);
+    }
+
+    /**
+     * This method returns the implication of two BDDs
+     *
+     * @return int is the node of f implies g
+     */
+    public int imply(int f, int g) {
+        return ite(f, g, ONE);
+    }
+
+    /**
+     * This method returns the equivalence of two BDDs
+     *
+     * @return int is the node of f if and only if g
+     */
+    public int iff(int f, int g) {
+        return ite(f, g, not(g));
+    }
+
+    /**
+     * This method returns the exclusive or of two BDDs
+     *
+     * @return int is the node of f exclusive or g
+     */
+    public int xor(int f, int g) {
+        return ite(f, not(g), g);
+    }
+
+    /**
+     * This method references a node, keeping it and its descendants through
+     * garbage collections until it is dereferenced
+     *
+     * @param f
+     *            int is the node to reference
+     * @return int is the same node
+     */
+    public int ref(int f) {
+        increment(f);
+        return f;
+    }
+
+    /**
+     * This method drops a reference taken with ref
+     *
+     * @param f
+     *            int is the node to dereference
+     */
+    public void deref(int f) {
+        if (f > ONE && refs[f] == 0) {
+            throw new IllegalStateException("node " + f + " is not referenced");
+        }
+        decrement(f);
+    }
+
+    /**
+     * This method is called at points where every BDD still needed is
+     * referenced. It collects garbage when the dead nodes outnumber the live
+     * ones and, with dynamic reordering, sifts the variables whenever the live
+     * nodes have doubled since the last reordering.
+     */
+    public void checkpoint() {
+        if (dynamicReordering && liveCount > reorderThreshold) {
+            sift();
+            reorderThreshold = Math.max(COLLECT_THRESHOLD, 2 * liveCount);
+        }
+        int dead = nodeCount - 2 - freeCount - liveCount;
+        if (dead > COLLECT_THRESHOLD && dead > liveCount) {
+            collectGarbage();
+        }
+    }
+
+    /**
+     * This method reclaims every node that is not live and empties the
+     * computed table
+     */
+    public void collectGarbage() {
+        for (int node = 2; node < nodeCount; node++) {
+            if (nodes[3 * node] != NONE && refs[node] == 0) {
+                nodes[3 * node] = NONE;
+                nodes[3 * node + 1] = freeList;
+                freeList = node;
+                ++freeCount;
+            }
+        }
+        Arrays.fill(table, EMPTY);
+        tableUsed = 0;
+        int mask = table.length - 1;
+        for (int node = 2; node < nodeCount; node++) {
+            if (nodes[3 * node] != NONE) {
+                int slot = hash(nodes[3 * node], nodes[3 * node + 1], nodes[3 * node + 2]) & mask;
+                while (table[slot] != EMPTY) {
+                    slot = (slot + 1) & mask;
+                }
+                table[slot] = node;
+                ++tableUsed;
+            }
+        }
+        clearCache();
+        ++collections;
+    }
+
+    /**
+     * This method improves the variable order by sifting. The variables with
+     * the most nodes go first; each is moved to every level and left at the
+     * one where the live nodes were fewest. Unreferenced nodes are collected.
+     */
+    public void sift() {
+        collectGarbage();
+        int[] counts = new int[variableCount];
+        for (int node = 2; node < nodeCount; node++) {
+            if (nodes[3 * node] != NONE) {
+                ++counts[nodes[3 * node]];
+            }
+        }
+        Integer[] order = new Integer[variableCount];
+        for (int variable = 0; variable < variableCount; variable++) {
+            order[variable] = variable;
+        }
+        Arrays.sort(order, (a, b) -> Integer.compare(counts[b], counts[a]));
+        for (int variable : order) {
+            if (counts[variable] > 0) {
+                siftVariable(variable);
+            }
+        }
+        collectGarbage();
+        ++reorderings;
+    }
+
+    /**
+     * Moves one variable to the bottom, then to the top, then back to the
+     * level where the fewest nodes were live. A direction is abandoned when
+     * the live nodes grow too much.
+     */
+    private void siftVariable(int variable) {
+        int level = levels[variable];
+        int best = liveCount;
+        int bestLevel = level;
+        boolean up = level < variableCount - 1 - level;
+        for (int pass = 0; pass < 2; pass++, up = !up) {
+            while (up ? level > 0 : level < variableCount - 1) {
+                if (up) {
+                    swap(--level);
+                } else {
+                    swap(level++);
+                }
+                if (liveCount < best) {
+                    best = liveCount;
+                    bestLevel = level;
+                } else if (liveCount > MAX_GROWTH * best) {
+                    break;
+                }
+            }
+        }
+        while (level < bestLevel) {
+            swap(level++);
+        }
+        while (level > bestLevel) {
+            swap(--level);
+        }
+    }
+
+    /**
+     * Exchanges the variables of a level and the level below it. Every node
+     * of the upper variable with a child of the lower variable is rewritten in
+     * place to test the lower variable first, so it keeps its index and its
+     * function; the other nodes stay as they are.
+     */
+    private void swap(int level) {
+        int x = variables[level];
+        int y = variables[level + 1];
+        int end = nodeCount;
+        for (int node = 2; node < end; node++) {
+            if (nodes[3 * node] != x) {
+                continue;
+            }
+            int f0 = nodes[3 * node + 1];
+            int f1 = nodes[3 * node + 2];
+            boolean split0 = variableOf(f0) == y;
+            boolean split1 = variableOf(f1) == y;
+            if (!split0 && !split1) {
+                continue;
+            }
+            int f00 = split0 ? nodes[3 * f0 + 1] : f0;
+            int f01 = split0 ? nodes[3 * f0 + 2] : f0;
+            int f10 = split1 ? nodes[3 * f1 + 1] : f1;
+            int f11 = split1 ? nodes[3 * f1 + 2] : f1;
+            remove(node);
+            int low = node(x, f00, f10);
+            int high = node(x, f01, f11);
+            if (refs[node] > 0) {
+                increment(low);
+                increment(high);
+                decrement(f0);
+                decrement(f1);
+            }
+            nodes[3 * node] = y;
+            nodes[3 * node + 1] = low;
+            nodes[3 * node + 2] = high;
+            insert(node);
+        }
+        variables[level] = y;
+        variables[level + 1] = x;
+        levels[x] = level + 1;
+        levels[y] = level;
+        int dead = nodeCount - 2 - freeCount - liveCount;
+        if (dead > COLLECT_THRESHOLD && dead > liveCount) {
+            collectGarbage();
+        }
+    }
+
+    /**
+     * Returns the unique node with a variable and branches, creating it if it
+     * does not exist yet
+     */
+    private int node(int variable, int low, int high) {
+        if (low == high) {
+            return low;
+        }
+        int mask = table.length - 1;
+        int slot = hash(variable, low, high) & mask;
+        int deleted = -1;
+        int known;
+        while ((known = table[slot]) != EMPTY) {
+            if (known == DELETED) {
+                if (deleted < 0) {
+                    deleted = slot;
+                }
+            } else if (nodes[3 * known] == variable && nodes[3 * known + 1] == low && nodes[3 * known + 2] == high) {
+                return known;
+            }
+            slot = (slot + 1) & mask;
+        }
+        int node = allocate();
+        nodes[3 * node] = variable;
+        nodes[3 * node + 1] = low;
+        nodes[3 * node + 2] = high;
+        if (deleted >= 0) {
+            table[deleted] = node;
+        } else {
+            table[slot] = node;
+            if (++tableUsed > table.length / 2) {
+                rehash();
+            }
+        }
+        return node;
+    }
+
+    private int allocate() {
+        if (freeList != NONE) {
+            int node = freeList;
+            freeList = nodes[3 * node + 1];
+            --freeCount;
+            refs[node] = 0;
+            return node;
+        }
+        if (nodeCount == refs.length) {
+            nodes = Arrays.copyOf(nodes, 6 * nodeCount);
+            refs = Arrays.copyOf(refs, 2 * nodeCount);
+        }
+        return nodeCount++;
+    }
+
+    /** Takes a node out of the unique table before its fields change */
+    private void remove(int node) {
+        int mask = table.length - 1;
+        int slot = hash(nodes[3 * node], nodes[3 * node + 1], nodes[3 * node + 2]) & mask;
+        while (table[slot] != node) {
+            slot = (slot + 1) & mask;
+        }
+        table[slot] = DELETED;
+    }
+
+    /** Puts a node whose key is not in the unique table into it */
+    private void insert(int node) {
+        int mask = table.length - 1;
+        int slot = hash(nodes[3 * node], nodes[3 * node + 1], nodes[3 * node + 2]) & mask;
+        while (table[slot] != EMPTY && table[slot] != DELETED) {
+            slot = (slot + 1) & mask;
+        }
+        if (table[slot] == EMPTY && ++tableUsed > table.length / 2) {
+            table[slot] = node;
+            rehash();
+        } else {
+            table[slot] = node;
+        }
+    }
+
+    /**
+     * Rebuilds the unique table from its own entries, twice as large unless
+     * most used slots were deleted ones
+     */
+    private void rehash() {
+        int entries = 0;
+        for (int known : table) {
+            if (known != EMPTY && known != DELETED) {
+                ++entries;
+            }
+        }
+        int[] rehashed = new int[entries > table.length / 4 ? 2 * table.length : table.length];
+        int mask = rehashed.length - 1;
+        for (int known : table) {
+            if (known != EMPTY && known != DELETED) {
+                int slot = hash(nodes[3 * known], nodes[3 * known + 1], nodes[3 * known + 2]) & mask;
+                while (rehashed[slot] != EMPTY) {
+                    slot = (slot + 1) & mask;
+                }
+                rehashed[slot] = known;
+            }
+        }
+        table = rehashed;
+        tableUsed = entries;
+    }
+
+    private void increment(int f) {
+        if (f > ONE && refs[f]++ == 0) {
+            ++liveCount;
+            increment(nodes[3 * f + 1]);
+            increment(nodes[3 * f + 2]);
+        }
+    }
+
+    private void decrement(int f) {
+        if (f > ONE && --refs[f] == 0) {
+            --liveCount;
+            decrement(nodes[3 * f + 1]);
+            decrement(nodes[3 * f + 2]);
+        }
+    }
+
+    private void clearCache() {
+        for (int entry = 0; entry < cache.length; entry += 4) {
+            cache[entry] = NONE;
+        }
+    }
+
+    /** Returns the branch of a node for a value of the variable at a level */
+    private int cofactor(int f, int level, boolean value) {
+        if (level(f) != level) {
+            return f;
+        }
+        return nodes[3 * f + (value ? 2 : 1)];
+    }
+
+    private int variableOf(int f) {
+        return nodes[3 * f];
+    }
+
+    private int level(int f) {
+        return f <= ONE ? Integer.MAX_VALUE : levels[nodes[3 * f]];
+    }
+
+    private static int hash(int a, int b, int c) {
+        int hash = (a * 31 + b) * 31 + c;
+        hash *= 0x9E3779B9;
+        return hash ^ (hash >>> 16);
+    }
+
+    /**
+     * This method returns the variable tested by a node
+     *
+     * @param f
+     *            int is a node other than the constants
+     * @return int is the number of the variable
+     */
+    public int getVariable(int f) {
+        return nodes[3 * f];
+    }
+
+    /**
+     * This method returns the branch of a node taken when its variable is
+     * false
+     *
+     * @return int is the else branch of f
+     */
+    public int getLow(int f) {
+        return nodes[3 * f + 1];
+    }
+
+    /**
+     * This method returns the branch of a node taken when its variable is
+     * true
+     *
+     * @return int is the then branch of f
+     */
+    public int getHigh(int f) {
+        return nodes[3 * f + 2];
+    }
+
+    /**
+     * This method returns the level of a variable in the current order
+     *
+     * @return int is the level, 0 being the top
+     */
+    public int getLevel(int variable) {
+        return levels[variable];
+    }
+
+    /**
+     * This method returns an assignment under which a BDD takes a value. Each
+     * variable is 1 if true, -1 if false and 0 if its value does not matter.
+     *
+     * @param f
+     *            int is the node
+     * @param value
+     *            boolean is the value wanted
+     * @return int[] is the assignment indexed by variable, or null if the BDD
+     *         never takes the value
+     */
+    public int[] findPath(int f, boolean value) {
+        int target = value ? ONE : ZERO;
+        int other = value ? ZERO : ONE;
+        if (f == other) {
+            return null;
+        }
+        int[] assignment = new int[variableCount];
+        while (f > ONE) {
+            int low = nodes[3 * f + 1];
+            if (low != other) {
+                assignment[nodes[3 * f]] = -1;
+                f = low;
+            } else {
+                assignment[nodes[3 * f]] = 1;
+                f = nodes[3 * f + 2];
+            }
+        }
+        return f == target ? assignment : null;
+    }
+
+    /**
+     * This method counts the nodes of a BDD, the constants included
+     *
+     * @param f
+     *            int is the root node
+     * @return int is the number of nodes reachable from it
+     */
+    public int size(int f) {
+        BitSet seen = new BitSet(nodeCount);
+        int[] stack = new int[64];
+        int top = 0;
+        stack[top++] = f;
+        int count = 0;
+        while (top > 0) {
+            int node = stack[--top];
+            if (seen.get(node)) {
+                continue;
+            }
+            seen.set(node);
+            ++count;
+            if (node > ONE) {
+                if (top + 2 > stack.length) {
+                    stack = Arrays.copyOf(stack, 2 * stack.length);
+                }
+                stack[top++] = nodes[3 * node + 1];
+                stack[top++] = nodes[3 * node + 2];
+            }
+        }
+        return count;
+    }
+
+    /**
+     * This method lets checkpoint sift the variables when the BDDs grow
+     *
+     * @param enabled
+     *            boolean is true to reorder dynamically
+     */
+    public void setDynamicReordering(boolean enabled) {
+        dynamicReordering = enabled;
+    }
+
+    /**
+     * @return int is the number of variables
+     */
+    public int getVariableCount() {
+        return variableCount;
+    }
+
+    /**
+     * @return int is the number of live nodes, the constants not included
+     */
+    public int getLiveNodeCount() {
+        return liveCount;
+    }
+
+    /**
+     * @return int is the number of nodes held, live or not, the constants not
+     *         included
+     */
+    public int getNodeCount() {
+        return nodeCount - 2 - freeCount;
+    }
+
+    /**
+     * @return long is the number of computed table lookups
+     */
+    public long getCacheLookups() {
+        return cacheLookups;
+    }
+
+    /**
+     * @return long is the number of computed table lookups that found the
+     *         result
+     */
+    public long getCacheHits() {
+        return cacheHits;
+    }
+
+    /**
+     * @return int is the number of garbage collections
+     */
+    public int getCollections() {
+        return collections;
+    }
+
+    /**
+     * @return int is the number of times the variables were sifted
+     */
+    public int getReorderings() {
+        return reorderings;
+    }
+}
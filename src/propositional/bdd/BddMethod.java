@@ -0,0 +1,253 @@
+package propositional.bdd;
+
+import common.metrics.MetricsRegistry;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import propositional.common.Binary;
+import propositional.common.Formula;
+import propositional.common.Propositional;
+import propositional.common.Unary;
+import propositional.scanner.Precedence;
+
+/* <p>Title:Propositional Theorem Prover</p>
+ * <p>Description: A theorem prover for propositional logic.</p>
+ * <p>Copyright: Copyright (c) 2005</p>
+ * <p>Department: Computer Science</p>
+ * @author Mark Schlichtmann
+ * @version 2.0*/
+/*******************************************************************************
+ * The BddMethod class decides propositional formulas by building their
+ * reduced ordered binary decision diagram. A formula is a theorem exactly when
+ * its BDD is the constant true node, and two formulas built in the same
+ * manager are equivalent exactly when their BDDs are the same node. Unlike
+ * resolution and the sequent method, the cost does not depend on how many
+ * clauses or branches the connectives produce but on the size of the BDDs,
+ * which stays small for formulas made of &lt;=&gt; and for most formulas
+ * whose atoms are ordered well.
+ *
+ * The atoms are ordered by a depth first walk of the formula that visits the
+ * larger operand of each connective first, so atoms that meet in a
+ * subformula get neighbouring levels. Optionally the manager sifts the order
+ * while the BDDs grow.
+ ******************************************************************************/
+public class BddMethod {
+    /** The manager holding the BDDs */
+    private final BddManager manager;
+    /** The variable of each atom, in the order of the heuristic */
+    private final Map<String, Integer> atoms;
+    /** The BDDs of the formulas, referenced */
+    private final int[] roots;
+
+    /**
+     * Initialising the method for a formula without reordering
+     *
+     * @param formula
+     *            Formula is the formula to decide
+     */
+    public BddMethod(Formula formula) {
+        this(false, formula);
+    }
+
+    /**
+     * Initialising the method and building the BDDs of formulas in one manager
+     *
+     * @param sifting
+     *            boolean is true to sift the variable order while the BDDs
+     *            grow
+     * @param formulas
+     *            Formula are the formulas, whose atoms share one order
+     * @throws CancellationException
+     *             if the thread is interrupted while the BDDs are built
+     */
+    public BddMethod(boolean sifting, Formula... formulas) {
+        long start = System.nanoTime();
+        manager = new BddManager();
+        manager.setDynamicReordering(sifting);
+        atoms = new LinkedHashMap<String, Integer>();
+        for (String atom : variableOrder(formulas)) {
+            atoms.put(atom, manager.newVariable());
+        }
+        roots = new int[formulas.length];
+        for (int i = 0; i < formulas.length; i++) {
+            roots[i] = build(formulas[i]);
+            manager.checkpoint();
+        }
+        MetricsRegistry.getDefault().recordEngineSince("bdd", start);
+        MetricsRegistry.getDefault().counter("bdd.nodes").add(manager.getLiveNodeCount());
+    }
+
+    /**
+     * This method returns the atoms of formulas in the order used for the
+     * variables. The atoms are collected depth first, and at each binary
+     * connective the operand with more atom occurrences is visited first.
+     *
+     * @param formulas
+     *            Formula are the formulas
+     * @return List is the atoms, each once
+     */
+    public static List<String> variableOrder(Formula... formulas) {
+        Map<Formula, Integer> weights = new IdentityHashMap<Formula, Integer>();
+        Map<String, Boolean> order = new LinkedHashMap<String, Boolean>();
+        for (Formula formula : formulas) {
+            visit(formula, weights, order);
+        }
+        return new ArrayList<String>(order.keySet());
+    }
+
+    private static void visit(Formula formula, Map<Formula, Integer> weights, Map<String, Boolean> order) {
+        if (formula instanceof Propositional) {
+            order.putIfAbsent(formula.getToken().getData(), Boolean.TRUE);
+        } else if (formula instanceof Unary) {
+            visit(formula.getRightPredicate(), weights, order);
+        } else {
+            Formula left = formula.getleftPredicate();
+            Formula right = formula.getRightPredicate();
+            if (weight(right, weights) > weight(left, weights)) {
+                visit(right, weights, order);
+                visit(left, weights, order);
+            } else {
+                visit(left, weights, order);
+                visit(right, weights, order);
+            }
+        }
+    }
+
+    /** Returns the number of atom occurrences of a formula, remembered */
+    private static int weight(Formula formula, Map<Formula, Integer> weights) {
+        if (formula instanceof Propositional) {
+            return 1;
+        }
+        Integer known = weights.get(formula);
+        if (known == null) {
+            known = formula instanceof Unary ? weight(formula.getRightPredicate(), weights)
+                    : weight(formula.getleftPredicate(), weights) + weight(formula.getRightPredicate(), weights);
+            weights.put(formula, known);
+        }
+        return known;
+    }
+
+    /**
+     * Returns the referenced BDD of a formula. The operands are referenced
+     * while the connective is applied, so the manager may collect garbage
+     * between connectives.
+     */
+    private int build(Formula formula) {
+        if (formula instanceof Propositional) {
+            return manager.ref(manager.variable(atoms.get(formula.getToken().getData())));
+        }
+        if (formula instanceof Unary) {
+            int operand = build(formula.getRightPredicate());
+            int result = manager.ref(manager.not(operand));
+            manager.deref(operand);
+            return result;
+        }
+        Binary binary = (Binary) formula;
+        int left = build(binary.getleftPredicate());
+        int right = build(binary.getRightPredicate());
+        Precedence connective = binary.getToken().getType();
+        int result;
+        if (connective == Precedence.AND) {
+            result = manager.and(left, right);
+        } else if (connective == Precedence.OR) {
+            result = manager.or(left, right);
+        } else if (connective == Precedence.IMPLY) {
+            result = manager.imply(left, right);
+        } else if (connective == Precedence.IFF) {
+            result = manager.iff(left, right);
+        } else {
+            throw new IllegalArgumentException("unknown connective " + binary.getToken());
+        }
+        manager.ref(result);
+        manager.deref(left);
+        manager.deref(right);
+        manager.checkpoint();
+        return result;
+    }
+
+    /**
+     * This method decides the first formula
+     *
+     * @return boolean is true if the formula is true under every assignment
+     */
+    public boolean isTheorem() {
+        return roots[0] == BddManager.ONE;
+    }
+
+    /**
+     * This method decides whether the first formula can be true
+     *
+     * @return boolean is true if some assignment makes the formula true
+     */
+    public boolean isSatisfiable() {
+        return roots[0] != BddManager.ZERO;
+    }
+
+    /**
+     * This method decides whether all formulas are equivalent. Since the BDDs
+     * of a manager are canonical this is a comparison of their nodes.
+     *
+     * @return boolean is true if the formulas are true under the same
+     *         assignments
+     */
+    public boolean isEquivalent() {
+        for (int root : roots) {
+            if (root != roots[0]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * This method decides whether two formulas are equivalent
+     *
+     * @param first
+     *            Formula is one formula
+     * @param second
+     *            Formula is the other formula
+     * @return boolean is true if they are true under the same assignments
+     */
+    public static boolean equivalent(Formula first, Formula second) {
+        return new BddMethod(false, first, second).isEquivalent();
+    }
+
+    /**
+     * This method returns an assignment that falsifies the first formula.
+     * Atoms whose value does not matter are left out.
+     *
+     * @return Map is the value of each atom, or null if the formula is a
+     *         theorem
+     */
+    public Map<String, Boolean> getCountermodel() {
+        int[] path = manager.findPath(roots[0], false);
+        if (path == null) {
+            return null;
+        }
+        Map<String, Boolean> model = new LinkedHashMap<String, Boolean>();
+        for (Map.Entry<String, Integer> atom : atoms.entrySet()) {
+            if (path[atom.getValue()] != 0) {
+                model.put(atom.getKey(), path[atom.getValue()] > 0);
+            }
+        }
+        return model;
+    }
+
+    /**
+     * @return int is the number of nodes of the BDD of the first formula, the
+     *         constants included
+     */
+    public int getNodeCount() {
+        return manager.size(roots[0]);
+    }
+
+    /**
+     * @return BddManager is the manager holding the BDDs
+     */
+    public BddManager getManager() {
+        return manager;
+    }
+}
@@ -0,0 +1,218 @@
+package propositional.dimacs;
+
+import common.ClauseSink;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/* <p>Title:Propositional Theorem Prover</p>
+ * <p>Description: A theorem prover for propositional logic.</p>
+ * <p>Copyright: Copyright (c) 2005</p>
+ * <p>Department: Computer Science</p>
+ * @author Mark Schlichtmann
+ * @version 2.0*/
+/*******************************************************************************
+ * The DimacsReader class reads a DIMACS CNF file and streams its clauses into a
+ * clause sink. The file is read through a direct buffer and parsed byte by
+ * byte, so no line strings are created and files of any size can be read with
+ * constant memory apart from the longest clause.
+ ******************************************************************************/
+public class DimacsReader {
+    /** The size of the read buffer */
+    private static final int BUFFER_SIZE = 1 << 16;
+    /** The number of variables stated by the problem line */
+    private int declaredVariables;
+    /** The number of clauses stated by the problem line */
+    private int declaredClauses;
+    /** The number of clauses read */
+    private long clauseCount;
+
+    /** Initialising the DimacsReader */
+    public DimacsReader() {
+        declaredVariables = -1;
+        declaredClauses = -1;
+        clauseCount = 0;
+    }
+
+    /**
+     * This method reads a DIMACS file and streams its clauses into a sink
+     * 
+     * @param path
+     *            Path is the DIMACS file to read
+     * @param sink
+     *            ClauseSink receives each clause as signed variable numbers
+     * @return long is the number of clauses read
+     * @throws IOException
+     *             if the file cannot be read or is not valid DIMACS
+     */
+    public long read(Path path, ClauseSink<int[]> sink) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return read(channel, sink);
+        }
+    }
+
+    /**
+     * This method reads DIMACS input from a channel and streams its clauses
+     * into a sink
+     * 
+     * @param channel
+     *            ReadableByteChannel is the DIMACS input
+     * @param sink
+     *            ClauseSink receives each clause as signed variable numbers
+     * @return long is the number of clauses read
+     * @throws IOException
+     *             if the input cannot be read or is not valid DIMACS
+     */
+    public long read(ReadableByteChannel channel, ClauseSink<int[]> sink) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        byte[] header = new byte[128];
+        int headerLength = 0;
+        int[] clause = new int[16];
+        int length = 0;
+        long value = 0;
+        boolean negative = false;
+        boolean inNumber = false;
+        boolean lineStart = true;
+        boolean skipLine = false;
+        boolean inHeader = false;
+        boolean finished = false;
+        clauseCount = 0;
+        while (!finished && channel.read(buffer) != -1) {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                byte b = buffer.get();
+                if (skipLine || inHeader) {
+                    // comment lines are skipped, the problem line is kept
+                    if (b == '\n') {
+                        if (inHeader) {
+                            parseHeader(new String(header, 0, headerLength, StandardCharsets.US_ASCII));
+                        }
+                        skipLine = false;
+                        inHeader = false;
+                        lineStart = true;
+                    } else if (inHeader && headerLength < header.length) {
+                        header[headerLength++] = b;
+                    }
+                    continue;
+                }
+                if (b >= '0' && b <= '9') {
+                    value = value * 10 + (b - '0');
+                    if (value > Integer.MAX_VALUE) {
+                        throw new IOException("Variable number out of range in DIMACS input");
+                    }
+                    inNumber = true;
+                    lineStart = false;
+                } else if (b == '-' && !inNumber && !negative) {
+                    negative = true;
+                    lineStart = false;
+                } else if (b == ' ' || b == '\t' || b == '\r' || b == '\n') {
+                    if (inNumber) {
+                        if (value == 0) {
+                            sink.addClause(Arrays.copyOf(clause, length));
+                            ++clauseCount;
+                            length = 0;
+                        } else {
+                            if (length == clause.length) {
+                                clause = Arrays.copyOf(clause, length * 2);
+                            }
+                            clause[length++] = negative ? (int) -value : (int) value;
+                        }
+                    } else if (negative) {
+                        throw new IOException("Malformed literal in DIMACS input");
+                    }
+                    value = 0;
+                    negative = false;
+                    inNumber = false;
+                    // blanks before a comment or problem line keep it at the line start
+                    lineStart |= b == '\n';
+                } else if (lineStart && b == 'c') {
+                    skipLine = true;
+                } else if (lineStart && b == 'p') {
+                    inHeader = true;
+                    headerLength = 0;
+                    header[headerLength++] = b;
+                } else if (lineStart && b == '%') {
+                    // SATLIB files end with a percent line
+                    finished = true;
+                    break;
+                } else {
+                    throw new IOException("Unexpected character '" + (char) b + "' in DIMACS input");
+                }
+            }
+            buffer.clear();
+        }
+        if (inHeader) {
+            parseHeader(new String(header, 0, headerLength, StandardCharsets.US_ASCII));
+        }
+        if (inNumber && value != 0) {
+            if (length == clause.length) {
+                clause = Arrays.copyOf(clause, length + 1);
+            }
+            clause[length++] = negative ? (int) -value : (int) value;
+        } else if (inNumber) {
+            sink.addClause(Arrays.copyOf(clause, length));
+            ++clauseCount;
+            length = 0;
+        }
+        if (length > 0) {
+            // the last clause was not terminated by 0
+            sink.addClause(Arrays.copyOf(clause, length));
+            ++clauseCount;
+        }
+        sink.close();
+        return clauseCount;
+    }
+
+    /**
+     * This method parses the problem line "p cnf variables clauses"
+     * 
+     * @param line
+     *            String is the problem line
+     * @throws IOException
+     *             if the problem line is not a cnf problem line
+     */
+    private void parseHeader(String line) throws IOException {
+        String[] parts = line.trim().split("\\s+");
+        if (parts.length != 4 || !parts[0].equals("p") || !parts[1].equals("cnf")) {
+            throw new IOException("Invalid DIMACS problem line: " + line);
+        }
+        try {
+            declaredVariables = Integer.parseInt(parts[2]);
+            declaredClauses = Integer.parseInt(parts[3]);
+        } catch (NumberFormatException e) {
+            throw new IOException("Invalid DIMACS problem line: " + line);
+        }
+    }
+
+    /**
+     * The method is used to get the number of variables of the problem line
+     * 
+     * @return int is the declared number of variables, -1 if there was none
+     */
+    public int getDeclaredVariables() {
+        return declaredVariables;
+    }
+
+    /**
+     * The method is used to get the number of clauses of the problem line
+     * 
+     * @return int is the declared number of clauses, -1 if there was none
+     */
+    public int getDeclaredClauses() {
+        return declaredClauses;
+    }
+
+    /**
+     * The method is used to get the number of clauses read
+     * 
+     * @return long is the number of clauses read by the last call to read
+     */
+    public long getClauseCount() {
+        return clauseCount;
+    }
+}
@@ -0,0 +1,141 @@
+package propositional.dimacs;
+
+import common.DimacsClauseSink;
+import common.EncodingClauseSink;
+import common.SymbolTable;
+import java.nio.file.Path;
+import java.util.List;
+import optimized.OptimizedCNFConverter;
+import propositional.common.Formula;
+import propositional.resolution.ClauseStore;
+import propositional.resolution.NormalForm;
+import propositional.resolution.NormalFormAlgorithm;
+
+/* <p>Title:Propositional Theorem Prover</p>
+ * <p>Description: A theorem prover for propositional logic.</p>
+ * <p>Copyright: Copyright (c) 2005</p>
+ * <p>Department: Computer Science</p>
+ * @author Mark Schlichtmann
+ * @version 2.0*/
+/*******************************************************************************
+ * The DimacsWriter class writes the conjunctive normal form produced by the
+ * propositional engines to DIMACS CNF files. The clauses are streamed from the
+ * producer straight into a buffered file channel, so the conjunctive normal
+ * form is never held in memory as a whole. The symbol table that is returned
+ * maps the DIMACS variable numbers back to the propositional symbols.
+ ******************************************************************************/
+public class DimacsWriter {
+    /** The variable numbers of the propositional symbols written so far */
+    private SymbolTable symbols;
+
+    /** Initialising the DimacsWriter with an empty symbol table */
+    public DimacsWriter() {
+        symbols = new SymbolTable();
+    }
+
+    /**
+     * Initialising the DimacsWriter with an existing symbol table, so that
+     * several files share the same variable numbers
+     * 
+     * @param symbols
+     *            SymbolTable is the table of variable numbers
+     */
+    public DimacsWriter(SymbolTable symbols) {
+        this.symbols = symbols;
+    }
+
+    /**
+     * This method normalises a formula with the NormalFormAlgorithm and writes
+     * its conjunctive normal form to a DIMACS file
+     * 
+     * @param formula
+     *            Formula is the formula to normalise
+     * @param path
+     *            Path is the DIMACS file to write
+     * @return long is the number of clauses written
+     */
+    public long writeNormalForm(Formula formula, Path path) {
+        DimacsClauseSink dimacs = new DimacsClauseSink(path);
+        new NormalFormAlgorithm(formula).streamNormalForm(new EncodingClauseSink<Formula>(symbols, NormalForm::encode, dimacs));
+        return dimacs.getClauseCount();
+    }
+
+    /**
+     * This method converts a formula with the OptimizedCNFConverter and writes
+     * its conjunctive normal form to a DIMACS file
+     * 
+     * @param formula
+     *            String is the formula to convert
+     * @param path
+     *            Path is the DIMACS file to write
+     * @return long is the number of clauses written, -1 if conversion failed
+     */
+    public long writeOptimizedCNF(String formula, Path path) {
+        DimacsClauseSink dimacs = new DimacsClauseSink(path);
+        if (!OptimizedCNFConverter.convertToClauses(formula, symbols, dimacs)) {
+            dimacs.close();
+            return -1;
+        }
+        return dimacs.getClauseCount();
+    }
+
+    /**
+     * This method writes clauses already built by the OptimizedCNFConverter
+     * to a DIMACS file
+     * 
+     * @param cnf
+     *            List is the clauses of the OptimizedCNFConverter
+     * @param path
+     *            Path is the DIMACS file to write
+     * @return long is the number of clauses written
+     */
+    public long writeClauses(List<List<String>> cnf, Path path) {
+        DimacsClauseSink dimacs = new DimacsClauseSink(path);
+        EncodingClauseSink<String> sink = new EncodingClauseSink<String>(symbols, DimacsWriter::encode, dimacs);
+        for (List<String> clause : cnf) {
+            sink.addClause(clause);
+        }
+        sink.close();
+        return dimacs.getClauseCount();
+    }
+    /**
+     * This method writes the clauses of a clause store to a DIMACS file
+     * 
+     * @param store
+     *            ClauseStore holds the clauses to write
+     * @param path
+     *            Path is the DIMACS file to write
+     * @return long is the number of clauses written
+     */
+    public long writeClauseStore(ClauseStore store, Path path) {
+        DimacsClauseSink dimacs = new DimacsClauseSink(path);
+        store.replay(dimacs);
+        return dimacs.getClauseCount();
+    }
+
+    /**
+     * The method is used to get the symbol table of the written files
+     * 
+     * @return SymbolTable maps variable numbers to propositional symbols
+     */
+    public SymbolTable getSymbols() {
+        return symbols;
+    }
+
+    /**
+     * This method encodes a literal of the OptimizedCNFConverter, which is a
+     * propositional symbol optionally preceded by the negation sign
+     * 
+     * @param literal
+     *            String is the literal
+     * @param symbols
+     *            SymbolTable assigns the variable numbers
+     * @return int is the signed variable number of the literal
+     */
+    private static int encode(String literal, SymbolTable symbols) {
+        if (literal.startsWith("¬")) {
+            return -symbols.getId(literal.substring(1));
+        }
+        return symbols.getId(literal);
+    }
+}
@@ -0,0 +1,341 @@
+package propositional.parity;
+
+import common.metrics.MetricsRegistry;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import propositional.bdd.BddMethod;
+import propositional.common.Binary;
+import propositional.common.Formula;
+import propositional.common.Propositional;
+import propositional.common.Unary;
+import propositional.scanner.Precedence;
+import propositional.scanner.Token;
+
+/* <p>Title:Propositional Theorem Prover</p>
+ * <p>Description: A theorem prover for propositional logic.</p>
+ * <p>Copyright: Copyright (c) 2005</p>
+ * <p>Department: Computer Science</p>
+ * @author Mark Schlichtmann
+ * @version 2.0*/
+/*******************************************************************************
+ * The ParityMethod class decides propositional formulas whose &lt;=&gt; chains
+ * would blow up the normal form and the sequent tree. Over GF(2) A &lt;=&gt; B
+ * is A + B + 1 and !A is A + 1, so a subformula built from atoms with ! and
+ * &lt;=&gt; only is an exclusive or of atoms and a constant, found in one
+ * walk by counting: an atom occurring an even number of times cancels out,
+ * and the constant is the parity of the connectives.
+ *
+ * A formula is a theorem exactly when its negation has no model. The method
+ * splits the negation into the conjuncts that must all be true, through &amp;
+ * and through |, =&gt; and ! under negation. Each conjunct made of atoms, !
+ * and &lt;=&gt; is an equation, and the equations are solved by Gaussian
+ * elimination in a ParitySystem. An operand of &lt;=&gt; with another
+ * connective at its top stands in the equation for a fresh atom, and the
+ * other conjuncts together with the definitions of the fresh atoms are the
+ * residual. If the equations have no solution the formula is a theorem, and
+ * if there is no residual any solution falsifies it. Otherwise the residual
+ * is handed to the BDD method with the eliminated equations whose pivots it
+ * mentions, which is all it needs: the other pivots occur in their own
+ * equation only and can always be set to satisfy it.
+ ******************************************************************************/
+public class ParityMethod {
+    /** The connectives of the formulas built for the residual */
+    private static final Token NOT = new Token("!", Precedence.NOT);
+    private static final Token AND = new Token("&", Precedence.AND);
+    private static final Token IFF = new Token("<=>", Precedence.IFF);
+    /** The start of the names of fresh atoms, which no scanned atom has */
+    private static final String FRESH = "#";
+
+    /** The atoms of the formula, in the order met */
+    private final Set<String> atoms = new LinkedHashSet<String>();
+    /** The variable of each atom or fresh atom of the equations */
+    private final Map<String, Integer> variables = new LinkedHashMap<String, Integer>();
+    /** The name of each variable */
+    private final List<String> names = new ArrayList<String>();
+    /** The fresh atom of each operand of &lt;=&gt; that is not linear */
+    private final Map<Formula, String> fresh = new IdentityHashMap<Formula, String>();
+    /** The atoms of each equation */
+    private final List<BitSet> equations = new ArrayList<BitSet>();
+    /** The right hand side of each equation */
+    private final BitSet constants = new BitSet();
+    /** The conjuncts of the negation that are not equations, and the definitions of fresh atoms */
+    private final List<Formula> residual = new ArrayList<Formula>();
+    /** The eliminated equations */
+    private final ParitySystem system;
+    /** True if the equations have a solution */
+    private final boolean consistent;
+    /** The verdict, once decided */
+    private Boolean theorem;
+    /** An assignment falsifying the formula, once decided */
+    private Map<String, Boolean> countermodel;
+
+    /**
+     * Initialising the method, which extracts and eliminates the equations of
+     * the formula. The residual is only decided when the verdict is asked
+     * for.
+     *
+     * @param formula
+     *            Formula is the formula to decide
+     * @throws CancellationException
+     *             if the thread is interrupted during elimination
+     */
+    public ParityMethod(Formula formula) {
+        collect(formula, false);
+        system = new ParitySystem(names.size());
+        for (int i = 0; i < equations.size(); i++) {
+            system.addEquation(equations.get(i).toLongArray(), constants.get(i));
+        }
+        consistent = system.eliminate();
+    }
+
+    /**
+     * Splits the formula into conjuncts that must take a value, turning
+     * linear ones into equations. The walk keeps its own stack, so chains of
+     * thousands of connectives do not overflow the thread stack.
+     *
+     * @param formula
+     *            Formula is the formula
+     * @param value
+     *            boolean is the value it must take
+     */
+    private void collect(Formula formula, boolean value) {
+        Deque<Formula> pending = new ArrayDeque<Formula>();
+        Deque<Boolean> values = new ArrayDeque<Boolean>();
+        pending.push(formula);
+        values.push(value);
+        while (!pending.isEmpty()) {
+            Formula conjunct = pending.pop();
+            boolean wanted = values.pop();
+            Precedence connective = conjunct instanceof Propositional ? Precedence.PREDICATE : conjunct.getToken().getType();
+            if (connective == Precedence.NOT) {
+                pending.push(conjunct.getRightPredicate());
+                values.push(!wanted);
+            } else if (connective == Precedence.AND && wanted || connective == Precedence.OR && !wanted
+                    || connective == Precedence.IMPLY && !wanted) {
+                // the left operand of => must be true, the other operands take the value
+                pending.push(conjunct.getRightPredicate());
+                values.push(wanted);
+                pending.push(conjunct.getleftPredicate());
+                values.push(wanted || connective == Precedence.IMPLY);
+            } else if (connective == Precedence.PREDICATE || connective == Precedence.IFF) {
+                BitSet equation = new BitSet();
+                // the sum of the atoms plus the constant of the conjunct is its value
+                constants.set(equations.size(), linear(conjunct, equation) != wanted);
+                equations.add(equation);
+            } else {
+                atomsOf(conjunct, atoms);
+                residual.add(wanted ? conjunct : new Unary(NOT, conjunct));
+            }
+        }
+    }
+
+    /**
+     * Adds the atoms of a linear formula to an equation, flipping their bits,
+     * and replaces operands that are not linear by fresh atoms
+     *
+     * @return boolean is the constant of the formula, the parity of its !
+     *         and &lt;=&gt;
+     */
+    private boolean linear(Formula formula, BitSet equation) {
+        boolean constant = false;
+        Deque<Formula> pending = new ArrayDeque<Formula>();
+        pending.push(formula);
+        while (!pending.isEmpty()) {
+            Formula operand = pending.pop();
+            String name;
+            if (operand instanceof Propositional) {
+                name = operand.getToken().getData();
+                atoms.add(name);
+            } else if (operand instanceof Unary) {
+                constant = !constant;
+                pending.push(operand.getRightPredicate());
+                continue;
+            } else if (operand.getToken().getType() == Precedence.IFF) {
+                constant = !constant;
+                pending.push(operand.getRightPredicate());
+                pending.push(operand.getleftPredicate());
+                continue;
+            } else {
+                name = fresh.get(operand);
+                if (name == null) {
+                    name = FRESH + (fresh.size() + 1);
+                    fresh.put(operand, name);
+                    atomsOf(operand, atoms);
+                    residual.add(new Binary(IFF, atom(name), operand));
+                }
+            }
+            equation.flip(variable(name));
+        }
+        return constant;
+    }
+
+    /** Returns the variable of an atom, numbering new atoms */
+    private int variable(String atom) {
+        Integer variable = variables.get(atom);
+        if (variable == null) {
+            variable = names.size();
+            variables.put(atom, variable);
+            names.add(atom);
+        }
+        return variable;
+    }
+
+    /** Adds the atoms of a formula to a set, in the order met */
+    private static void atomsOf(Formula formula, Set<String> atoms) {
+        Deque<Formula> pending = new ArrayDeque<Formula>();
+        pending.push(formula);
+        while (!pending.isEmpty()) {
+            Formula operand = pending.pop();
+            if (operand instanceof Propositional) {
+                atoms.add(operand.getToken().getData());
+            } else {
+                pending.push(operand.getRightPredicate());
+                if (operand instanceof Binary) {
+                    pending.push(operand.getleftPredicate());
+                }
+            }
+        }
+    }
+
+    private static Formula atom(String name) {
+        return new Propositional(new Token(name, Precedence.PREDICATE));
+    }
+
+    /**
+     * This method decides the formula
+     *
+     * @return boolean is true if the formula is true under every assignment
+     * @throws CancellationException
+     *             if the thread is interrupted while the residual is decided
+     */
+    public boolean isTheorem() {
+        if (theorem == null) {
+            decide();
+        }
+        return theorem;
+    }
+
+    /**
+     * This method returns an assignment that falsifies the formula
+     *
+     * @return Map is the value of each atom of the formula, or null if the
+     *         formula is a theorem
+     */
+    public Map<String, Boolean> getCountermodel() {
+        return isTheorem() ? null : new LinkedHashMap<String, Boolean>(countermodel);
+    }
+
+    /**
+     * The method is used to find out whether the equations alone decide the
+     * formula
+     *
+     * @return boolean is true if the equations have no solution or the
+     *         formula has no residual, so no BDD is built
+     */
+    public boolean isLinearlyDecided() {
+        return !consistent || residual.isEmpty();
+    }
+
+    /**
+     * This method decides the formula from the equations, and the residual
+     * with the BDD method if the equations leave it open
+     */
+    private void decide() {
+        boolean[] values = new boolean[names.size()];
+        Map<String, Boolean> model = new LinkedHashMap<String, Boolean>();
+        if (!consistent) {
+            theorem = Boolean.TRUE;
+        } else if (residual.isEmpty()) {
+            theorem = Boolean.FALSE;
+        } else {
+            BddMethod bdd = new BddMethod(new Unary(NOT, residualFormula()));
+            MetricsRegistry.getDefault().increment("parity.residual");
+            theorem = bdd.isTheorem();
+            if (!theorem) {
+                model = bdd.getCountermodel();
+                for (int variable = 0; variable < values.length; variable++) {
+                    values[variable] = Boolean.TRUE.equals(model.get(names.get(variable)));
+                }
+            }
+        }
+        if (!theorem) {
+            system.solve(values);
+            countermodel = new LinkedHashMap<String, Boolean>();
+            for (String atom : atoms) {
+                Integer variable = variables.get(atom);
+                countermodel.put(atom, variable == null ? Boolean.TRUE.equals(model.get(atom)) : values[variable]);
+            }
+        }
+        MetricsRegistry.getDefault().increment("parity.decided");
+    }
+
+    /**
+     * Builds the conjunction of the residual and the eliminated equations
+     * whose pivots occur in it
+     */
+    private Formula residualFormula() {
+        Set<String> mentioned = new LinkedHashSet<String>();
+        Formula conjunction = null;
+        for (Formula conjunct : residual) {
+            atomsOf(conjunct, mentioned);
+            conjunction = conjunction == null ? conjunct : new Binary(AND, conjunction, conjunct);
+        }
+        for (int row = 0; row < system.getRank(); row++) {
+            String pivot = names.get(system.getPivot(row));
+            if (mentioned.contains(pivot)) {
+                conjunction = new Binary(AND, conjunction, equation(row));
+            }
+        }
+        return conjunction;
+    }
+
+    /**
+     * Builds an eliminated equation as a chain of &lt;=&gt;, whose constant
+     * is one less than the number of its atoms
+     */
+    private Formula equation(int row) {
+        long[] bits = system.getRow(row);
+        Formula chain = null;
+        int count = 0;
+        for (int word = 0; word < bits.length; word++) {
+            for (long rest = bits[word]; rest != 0; rest &= rest - 1) {
+                Formula next = atom(names.get(64 * word + Long.numberOfTrailingZeros(rest)));
+                chain = chain == null ? next : new Binary(IFF, chain, next);
+                ++count;
+            }
+        }
+        // the chain is the sum of its atoms plus count - 1, which must equal the constant
+        return system.getConstant(row) != ((count - 1) % 2 == 1) ? chain : new Unary(NOT, chain);
+    }
+
+    /**
+     * @return int is the number of equations extracted from the formula
+     */
+    public int getEquationCount() {
+        return equations.size();
+    }
+
+    /**
+     * @return int is the number of independent equations
+     */
+    public int getRank() {
+        return system.getRank();
+    }
+
+    /**
+     * @return int is the number of conjuncts and definitions of fresh atoms
+     *         left to the BDD method
+     */
+    public int getResidualCount() {
+        return residual.size();
+    }
+}
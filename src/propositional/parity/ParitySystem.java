@@ -0,0 +1,208 @@
+package propositional.parity;
+
+import java.util.Arrays;
+import java.util.concurrent.CancellationException;
+
+/* <p>Title:Propositional Theorem Prover</p>
+ * <p>Description: A theorem prover for propositional logic.</p>
+ * <p>Copyright: Copyright (c) 2005</p>
+ * <p>Department: Computer Science</p>
+ * @author Mark Schlichtmann
+ * @version 2.0*/
+/*******************************************************************************
+ * The ParitySystem class solves systems of linear equations over GF(2), in
+ * which each equation says that the exclusive or of some variables is 0 or 1.
+ * An equation is a row of bits, one per variable, packed 64 to a long, and
+ * its right hand side. Gauss-Jordan elimination picks for each column a row
+ * holding it as its pivot and adds that row, by exclusive or of whole words,
+ * to every other row holding the column, until each pivot occurs in its own
+ * row only. A row left without variables but with right hand side 1 says 0 =
+ * 1, and the system has no solution; otherwise every assignment of the
+ * variables that are not pivots extends to exactly one solution.
+ ******************************************************************************/
+public class ParitySystem {
+    /** The number of variables */
+    private final int variables;
+    /** The number of longs in a row */
+    private final int words;
+    /** The rows, each of words longs */
+    private long[][] rows = new long[8][];
+    /** The right hand side of each row */
+    private boolean[] constants = new boolean[8];
+    /** The number of rows */
+    private int size;
+    /** The pivot variable of each row after elimination, -1 for none */
+    private int[] pivots;
+    /** Set by eliminate when a row says 0 = 1 */
+    private boolean inconsistent;
+
+    /**
+     * Initialising an empty system
+     *
+     * @param variables
+     *            int is the number of variables, numbered from 0
+     */
+    public ParitySystem(int variables) {
+        this.variables = variables;
+        this.words = (variables + 63) >>> 6;
+    }
+
+    /**
+     * This method adds an equation
+     *
+     * @param row
+     *            long[] is the bits of the variables of the equation, at
+     *            least as many longs as the variables need
+     * @param constant
+     *            boolean is the right hand side, true for 1
+     */
+    public void addEquation(long[] row, boolean constant) {
+        if (size == rows.length) {
+            rows = Arrays.copyOf(rows, 2 * size);
+            constants = Arrays.copyOf(constants, 2 * size);
+        }
+        rows[size] = Arrays.copyOf(row, words);
+        constants[size++] = constant;
+        pivots = null;
+    }
+
+    /**
+     * This method brings the rows into reduced row echelon form
+     *
+     * @return boolean is true if the system has a solution
+     * @throws CancellationException
+     *             if the thread is interrupted during elimination
+     */
+    public boolean eliminate() {
+        pivots = new int[size];
+        Arrays.fill(pivots, -1);
+        int rank = 0;
+        for (int column = 0; column < variables && rank < size; column++) {
+            if ((column & 63) == 0 && Thread.currentThread().isInterrupted()) {
+                throw new CancellationException("the elimination was interrupted");
+            }
+            int word = column >>> 6;
+            long bit = 1L << column;
+            int pivot = rank;
+            while (pivot < size && (rows[pivot][word] & bit) == 0) {
+                ++pivot;
+            }
+            if (pivot == size) {
+                continue;
+            }
+            swap(rank, pivot);
+            long[] pivotRow = rows[rank];
+            for (int row = 0; row < size; row++) {
+                if (row != rank && (rows[row][word] & bit) != 0) {
+                    long[] target = rows[row];
+                    // the columns before the pivot word are clear in the pivot row
+                    for (int w = word; w < words; w++) {
+                        target[w] ^= pivotRow[w];
+                    }
+                    constants[row] ^= constants[rank];
+                }
+            }
+            pivots[rank++] = column;
+        }
+        inconsistent = false;
+        for (int row = rank; row < size; row++) {
+            inconsistent |= constants[row];
+        }
+        return !inconsistent;
+    }
+
+    private void swap(int a, int b) {
+        long[] row = rows[a];
+        rows[a] = rows[b];
+        rows[b] = row;
+        boolean constant = constants[a];
+        constants[a] = constants[b];
+        constants[b] = constant;
+    }
+
+    /**
+     * @return int is the number of pivots found by eliminate
+     */
+    public int getRank() {
+        int rank = 0;
+        while (pivots != null && rank < pivots.length && pivots[rank] >= 0) {
+            ++rank;
+        }
+        return rank;
+    }
+
+    /**
+     * The method is used to get the pivot of a row after elimination
+     *
+     * @param row
+     *            int is the row, below the rank
+     * @return int is the variable that occurs in this row only
+     */
+    public int getPivot(int row) {
+        return pivots[row];
+    }
+
+    /**
+     * The method is used to get a row after elimination
+     *
+     * @param row
+     *            int is the row
+     * @return long[] is the bits of the variables of the row
+     */
+    public long[] getRow(int row) {
+        return rows[row].clone();
+    }
+
+    /**
+     * The method is used to get the right hand side of a row
+     *
+     * @param row
+     *            int is the row
+     * @return boolean is true for 1
+     */
+    public boolean getConstant(int row) {
+        return constants[row];
+    }
+
+    /**
+     * This method completes an assignment of the variables that are not
+     * pivots to a solution
+     *
+     * @param values
+     *            boolean[] is the value of each variable; the values of the
+     *            pivots are overwritten
+     * @return boolean[] is the values, now a solution
+     * @throws IllegalStateException
+     *             if the system has not been eliminated or has no solution
+     */
+    public boolean[] solve(boolean[] values) {
+        if (pivots == null || inconsistent) {
+            throw new IllegalStateException(pivots == null ? "the system is not eliminated" : "the system has no solution");
+        }
+        int rank = getRank();
+        for (int row = 0; row < rank; row++) {
+            boolean value = constants[row];
+            for (int variable = 0; variable < variables; variable++) {
+                if (variable != pivots[row] && (rows[row][variable >>> 6] & (1L << variable)) != 0) {
+                    value ^= values[variable];
+                }
+            }
+            values[pivots[row]] = value;
+        }
+        return values;
+    }
+
+    /**
+     * @return int is the number of equations
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return int is the number of variables
+     */
+    public int getVariableCount() {
+        return variables;
+    }
+}
@@ -1,5 +1,9 @@
 package propositional.parser;
 
+import common.EngineEvents;
+import common.jfr.ParseEvent;
+import common.metrics.MetricsRegistry;
+import common.metrics.Stage;
 import inputoutput.InputReader;
 import java.util.ArrayList;
 import java.util.Iterator;
@@ -153,12 +157,17 @@ public class Parser {
     /**
      * This method accepts a sub-expression whenever the right parenthesis is
      * parsed. This helps to parse the preceding tokens in the stack upto this
-     * enclosing bracket.
+     * enclosing bracket, which is then removed so that the next right
+     * parenthesis closes the bracket around it.
      *
      * @return boolean is true when there is no error in the syntax, false
      * otherwise
      */
     private boolean acceptFormula() {
+        if (operators.isEmpty()) {
+            System.out.println("Error in syntax - 7");
+            return false;
+        }
         Token op = operators.peekOp();
         while (!op.isBracket()) {
             if (!formulas.isEmpty()) {
@@ -184,8 +193,13 @@ public class Parser {
                 System.out.println("Error in syntax - 6");
                 return false;
             }
+            if (operators.isEmpty()) {
+                System.out.println("Error in syntax - 7");
+                return false;
+            }
             op = operators.peekOp();
         }
+        operators.popOp();
         return true;
     }
 
@@ -197,12 +211,22 @@ public class Parser {
      */
     public Formula parse() {
         if (this.tokens != null) {
+            long start = System.nanoTime();
+            ParseEvent event = new ParseEvent();
+            event.begin();
             syntax = this.accept();
+            MetricsRegistry.getDefault().recordSince(Stage.PARSE, start);
+            if (event.shouldCommit()) {
+                event.logic = "propositional";
+                event.tokens = tokens.size();
+                event.successful = syntax != null;
+                event.commit();
+            }
             if (syntax != null) {
-                System.out.println("Parsing completed successfully.");
+                EngineEvents.getListener().parsingCompleted();
                 return this.syntax;
             }
-            System.out.println("Parsing of input string was unsuccessfully.");
+            EngineEvents.getListener().parsingFailed();
             return null;
         }
         return null;
@@ -0,0 +1,356 @@
+package propositional.portfolio;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import propositional.common.Formula;
+import propositional.parser.Parser;
+import propositional.portfolio.PortfolioProver.Engine;
+import propositional.scanner.Scanner;
+
+/* <p>Title:Propositional Theorem Prover</p>
+ * <p>Description: A theorem prover for propositional logic.</p>
+ * <p>Copyright: Copyright (c) 2005</p>
+ * <p>Department: Computer Science</p>
+ * @author Mark Schlichtmann
+ * @version 2.0*/
+/*******************************************************************************
+ * The EngineSelector class learns which engine decides the formulas of a
+ * bucket fastest, so the portfolio can run that engine alone instead of
+ * racing all of them. For each bucket of FormulaFeatures it counts the
+ * comparisons of engines, which are portfolio races of all engines and
+ * calibration rounds, how many of them each engine won, and the runs and
+ * runtime of each engine. A selected engine running alone is no comparison,
+ * since no other engine had the chance to win. Once a bucket has seen
+ * MIN_COMPARISONS comparisons and one engine won at least CONFIDENCE of them,
+ * that engine is selected.
+ *
+ * So that a bucket whose formulas change goes back to racing, every
+ * EXPLORATION_INTERVAL-th selection of a bucket, and the first one after the
+ * selected engine failed to decide a formula, races the engines again, and
+ * the counts of a bucket are halved whenever it reaches DECAY_COMPARISONS
+ * comparisons, so recent comparisons outweigh old ones.
+ *
+ * The table is kept in a properties file, by default in the home directory
+ * or where THEOREM_PROVER_ENGINE_TABLE points, so what one run learned about
+ * the workload serves the next. The main method calibrates the table from
+ * files of formulas, running every engine on every formula alone.
+ ******************************************************************************/
+public class EngineSelector {
+    /** The environment variable naming the file of the table */
+    public static final String TABLE_VARIABLE = "THEOREM_PROVER_ENGINE_TABLE";
+    /** The comparisons a bucket needs before an engine is selected for it */
+    public static final int MIN_COMPARISONS = 8;
+    /** The share of the comparisons the selected engine must have won */
+    public static final double CONFIDENCE = 0.75;
+    /** Every this many selections of a bucket, the engines are raced instead */
+    public static final int EXPLORATION_INTERVAL = 16;
+    /** The comparisons of a bucket at which its counts are halved */
+    public static final int DECAY_COMPARISONS = 64;
+    /** The time an engine may take on one formula during calibration */
+    private static final long CALIBRATION_SECONDS = 10;
+
+    /** The statistics of each bucket */
+    private final Map<String, Bucket> buckets = new TreeMap<String, Bucket>();
+
+    /***************************************************************************
+     * A Bucket holds the comparisons of a bucket and, per engine, the wins,
+     * decided runs, total runtime of those and undecided runs. The
+     * selections and the pending exploration are not saved.
+     **************************************************************************/
+    private static final class Bucket {
+        private long comparisons;
+        private long selections;
+        private Engine selected;
+        private boolean explore;
+        private final long[] wins = new long[Engine.values().length];
+        private final long[] runs = new long[Engine.values().length];
+        private final long[] nanos = new long[Engine.values().length];
+        private final long[] undecided = new long[Engine.values().length];
+    }
+
+    /**
+     * This method returns the file of the table, from
+     * THEOREM_PROVER_ENGINE_TABLE or else in the home directory
+     *
+     * @return Path is the file of the table
+     */
+    public static Path defaultTable() {
+        String table = System.getenv(TABLE_VARIABLE);
+        if (table != null && !table.isEmpty()) {
+            return Paths.get(table);
+        }
+        return Paths.get(System.getProperty("user.home"), ".theorem-prover-engines.properties");
+    }
+
+    /**
+     * This method selects the engine for a formula
+     *
+     * @param features
+     *            FormulaFeatures is the features of the formula
+     * @return Engine is the engine that won most comparisons of the bucket,
+     *         or null if the engines should be raced because the bucket has
+     *         too few comparisons, no clear winner or is due for exploration
+     */
+    public synchronized Engine select(FormulaFeatures features) {
+        Bucket bucket = buckets.get(features.getBucket());
+        if (bucket == null || bucket.comparisons < MIN_COMPARISONS) {
+            return null;
+        }
+        Engine best = null;
+        for (Engine engine : Engine.values()) {
+            if (best == null || bucket.wins[engine.ordinal()] > bucket.wins[best.ordinal()]
+                    || bucket.wins[engine.ordinal()] == bucket.wins[best.ordinal()]
+                    && meanNanos(bucket, engine) < meanNanos(bucket, best)) {
+                best = engine;
+            }
+        }
+        if (best == Engine.TRUTH_TABLE && features.getAtoms() > PortfolioProver.TRUTH_TABLE_ATOMS) {
+            return null;
+        }
+        if (bucket.wins[best.ordinal()] < CONFIDENCE * bucket.comparisons) {
+            return null;
+        }
+        if (bucket.explore || ++bucket.selections % EXPLORATION_INTERVAL == 0) {
+            bucket.explore = false;
+            return null;
+        }
+        bucket.selected = best;
+        return best;
+    }
+
+    private static double meanNanos(Bucket bucket, Engine engine) {
+        int i = engine.ordinal();
+        return bucket.runs[i] == 0 ? Double.MAX_VALUE : (double) bucket.nanos[i] / bucket.runs[i];
+    }
+
+    /**
+     * This method records one run of an engine. A run of the engine last
+     * selected for the bucket that reaches no verdict makes the next
+     * selection of the bucket race the engines.
+     *
+     * @param bucket
+     *            String is the bucket of the formula
+     * @param engine
+     *            Engine is the engine that ran
+     * @param nanos
+     *            long is the runtime in nanoseconds
+     * @param decided
+     *            boolean is true if the engine reached a verdict
+     */
+    public synchronized void recordRun(String bucket, Engine engine, long nanos, boolean decided) {
+        Bucket statistics = buckets.computeIfAbsent(bucket, key -> new Bucket());
+        if (decided) {
+            ++statistics.runs[engine.ordinal()];
+            statistics.nanos[engine.ordinal()] += nanos;
+        } else {
+            ++statistics.undecided[engine.ordinal()];
+            statistics.explore |= engine == statistics.selected;
+        }
+    }
+
+    /**
+     * This method records a comparison of the engines on a formula, which is
+     * a race of all engines or a calibration round, and halves the counts of
+     * the bucket once it has DECAY_COMPARISONS comparisons
+     *
+     * @param bucket
+     *            String is the bucket of the formula
+     * @param winner
+     *            Engine is the engine that decided the formula first, or null
+     *            if none decided it
+     */
+    public synchronized void recordComparison(String bucket, Engine winner) {
+        Bucket statistics = buckets.computeIfAbsent(bucket, key -> new Bucket());
+        ++statistics.comparisons;
+        if (winner != null) {
+            ++statistics.wins[winner.ordinal()];
+        }
+        if (statistics.comparisons >= DECAY_COMPARISONS) {
+            statistics.comparisons /= 2;
+            for (int i = 0; i < statistics.wins.length; i++) {
+                statistics.wins[i] /= 2;
+                statistics.runs[i] /= 2;
+                statistics.nanos[i] /= 2;
+                statistics.undecided[i] /= 2;
+            }
+        }
+    }
+
+    /**
+     * The method is used to get the comparisons of a bucket
+     *
+     * @param bucket
+     *            String is the bucket
+     * @return long is the number of comparisons recorded for it
+     */
+    public synchronized long getComparisons(String bucket) {
+        Bucket statistics = buckets.get(bucket);
+        return statistics == null ? 0 : statistics.comparisons;
+    }
+
+    /**
+     * The method is used to get the wins of an engine in a bucket
+     *
+     * @param bucket
+     *            String is the bucket
+     * @param engine
+     *            Engine is the engine
+     * @return long is the number of comparisons of the bucket the engine won
+     */
+    public synchronized long getWins(String bucket, Engine engine) {
+        Bucket statistics = buckets.get(bucket);
+        return statistics == null ? 0 : statistics.wins[engine.ordinal()];
+    }
+
+    /**
+     * This method reads a table
+     *
+     * @param file
+     *            Path is the file of the table
+     * @return EngineSelector is the table, empty if the file does not exist
+     * @throws IOException
+     *             if the file cannot be read
+     */
+    public static EngineSelector load(Path file) throws IOException {
+        EngineSelector selector = new EngineSelector();
+        if (!Files.exists(file)) {
+            return selector;
+        }
+        Properties table = new Properties();
+        try (InputStream in = Files.newInputStream(file)) {
+            table.load(in);
+        }
+        for (String key : table.stringPropertyNames()) {
+            int dot = key.lastIndexOf('.');
+            if (dot < 0) {
+                continue;
+            }
+            Bucket bucket = selector.buckets.computeIfAbsent(key.substring(0, dot), name -> new Bucket());
+            String field = key.substring(dot + 1);
+            String value = table.getProperty(key).trim();
+            try {
+                if (field.equals("comparisons")) {
+                    bucket.comparisons = Long.parseLong(value);
+                    continue;
+                }
+                for (Engine engine : Engine.values()) {
+                    if (field.equals(engine.getLabel())) {
+                        String[] numbers = value.split(",");
+                        bucket.wins[engine.ordinal()] = Long.parseLong(numbers[0].trim());
+                        bucket.runs[engine.ordinal()] = Long.parseLong(numbers[1].trim());
+                        bucket.nanos[engine.ordinal()] = Long.parseLong(numbers[2].trim());
+                        bucket.undecided[engine.ordinal()] = Long.parseLong(numbers[3].trim());
+                    }
+                }
+            } catch (NumberFormatException | ArrayIndexOutOfBoundsException e) {
+                throw new IOException("malformed entry " + key + "=" + value + " in " + file, e);
+            }
+        }
+        return selector;
+    }
+
+    /**
+     * This method writes the table. The file is replaced in one step, so a
+     * reader never sees half a table.
+     *
+     * @param file
+     *            Path is the file of the table
+     * @throws IOException
+     *             if the file cannot be written
+     */
+    public synchronized void save(Path file) throws IOException {
+        Properties table = new Properties();
+        for (Map.Entry<String, Bucket> entry : buckets.entrySet()) {
+            Bucket bucket = entry.getValue();
+            table.setProperty(entry.getKey() + ".comparisons", Long.toString(bucket.comparisons));
+            for (Engine engine : Engine.values()) {
+                int i = engine.ordinal();
+                table.setProperty(entry.getKey() + "." + engine.getLabel(),
+                        bucket.wins[i] + "," + bucket.runs[i] + "," + bucket.nanos[i] + "," + bucket.undecided[i]);
+            }
+        }
+        Path directory = file.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Path temporary = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+        try {
+            try (OutputStream out = Files.newOutputStream(temporary)) {
+                table.store(out, "engine selection table: comparisons, and wins,runs,nanos,undecided per engine");
+            }
+            Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    /**
+     * The method is used to get the table as text
+     *
+     * @return String is one line per bucket with its comparisons and, per
+     *         engine, the wins and mean runtime
+     */
+    public synchronized String getReport() {
+        StringBuilder report = new StringBuilder();
+        for (Map.Entry<String, Bucket> entry : buckets.entrySet()) {
+            Bucket bucket = entry.getValue();
+            report.append(String.format("%-10s %6d", entry.getKey(), bucket.comparisons));
+            for (Engine engine : Engine.values()) {
+                double mean = meanNanos(bucket, engine);
+                report.append(String.format("  %s %d/%s", engine.getLabel(), bucket.wins[engine.ordinal()],
+                        mean == Double.MAX_VALUE ? "-" : String.format("%.3fms", mean / 1e6)));
+            }
+            report.append(String.format("%n"));
+        }
+        return report.toString();
+    }
+
+    /**
+     * Calibrates the table from files holding one formula per line, running
+     * every engine alone on every formula, and saves it
+     *
+     * @param args
+     *            String[] is the files of formulas
+     * @throws IOException
+     *             if a file cannot be read or the table cannot be written
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length == 0) {
+            System.err.println("Usage: EngineSelector FILE... (one propositional formula per line)");
+            return;
+        }
+        List<Formula> formulas = new ArrayList<Formula>();
+        for (String name : args) {
+            for (String line : Files.readAllLines(Paths.get(name))) {
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                Formula formula = new Parser(new Scanner(line.endsWith(".") ? line : line + ".").getTokens()).parse();
+                if (formula == null) {
+                    System.err.println("Skipping " + line);
+                } else {
+                    formulas.add(formula);
+                }
+            }
+        }
+        Path file = defaultTable();
+        EngineSelector selector = load(file);
+        try (PortfolioProver portfolio = new PortfolioProver()) {
+            portfolio.setSelector(selector);
+            portfolio.calibrate(formulas, CALIBRATION_SECONDS, TimeUnit.SECONDS);
+        }
+        selector.save(file);
+        System.out.println("Calibrated " + formulas.size() + " formulas into " + file);
+        System.out.print(selector.getReport());
+    }
+}
@@ -0,0 +1,198 @@
+package propositional.portfolio;
+
+import java.util.HashSet;
+import java.util.Set;
+import propositional.common.Formula;
+import propositional.common.Propositional;
+import propositional.common.Unary;
+import propositional.scanner.Precedence;
+
+/* <p>Title:Propositional Theorem Prover</p>
+ * <p>Description: A theorem prover for propositional logic.</p>
+ * <p>Copyright: Copyright (c) 2005</p>
+ * <p>Department: Computer Science</p>
+ * @author Mark Schlichtmann
+ * @version 2.0*/
+/*******************************************************************************
+ * The FormulaFeatures class measures a propositional formula in one walk over
+ * its tree, cheaply enough to decide which engine to run before running any.
+ * Besides the atoms, connectives and depth it estimates how many clauses the
+ * negated formula has in conjunctive normal form. The estimate counts the
+ * clauses of every subformula and of its negation bottom up, multiplying
+ * where a disjunction distributes over conjunctions, as the CNF converter
+ * does before it removes tautologies and duplicates, so it is an upper bound
+ * of the clauses resolution would start from.
+ *
+ * The features are summarised in a bucket, the key under which the
+ * EngineSelector keeps the runtimes of the engines on similar formulas.
+ ******************************************************************************/
+public final class FormulaFeatures {
+    /** The largest clause count, at which the estimate saturates */
+    private static final long SATURATED = Long.MAX_VALUE;
+
+    private final Set<String> atoms = new HashSet<String>();
+    private int nodes;
+    private int depth;
+    private int negations;
+    private int conjunctions;
+    private int disjunctions;
+    private int implications;
+    private int equivalences;
+    /** The clauses of the formula itself, while walking */
+    private final long clauses;
+    /** The clauses of the negated formula */
+    private final long negatedClauses;
+
+    /**
+     * Initialising the features of a formula
+     *
+     * @param formula
+     *            Formula is the formula to measure
+     */
+    public FormulaFeatures(Formula formula) {
+        long[] counts = walk(formula, 1);
+        clauses = counts[0];
+        negatedClauses = counts[1];
+    }
+
+    /**
+     * Walks a subformula and returns the clauses of it and of its negation
+     */
+    private long[] walk(Formula formula, int level) {
+        ++nodes;
+        depth = Math.max(depth, level);
+        if (formula instanceof Propositional) {
+            atoms.add(formula.getToken().getData());
+            return new long[] {1, 1};
+        }
+        if (formula instanceof Unary) {
+            ++negations;
+            long[] operand = walk(formula.getRightPredicate(), level + 1);
+            return new long[] {operand[1], operand[0]};
+        }
+        long[] left = walk(formula.getleftPredicate(), level + 1);
+        long[] right = walk(formula.getRightPredicate(), level + 1);
+        Precedence connective = formula.getToken().getType();
+        if (connective == Precedence.AND) {
+            ++conjunctions;
+            return new long[] {add(left[0], right[0]), multiply(left[1], right[1])};
+        } else if (connective == Precedence.OR) {
+            ++disjunctions;
+            return new long[] {multiply(left[0], right[0]), add(left[1], right[1])};
+        } else if (connective == Precedence.IMPLY) {
+            ++implications;
+            return new long[] {multiply(left[1], right[0]), add(left[0], right[1])};
+        }
+        ++equivalences;
+        // a <=> b is (!a | b) & (a | !b), and !(a <=> b) is (a | b) & (!a | !b)
+        return new long[] {add(multiply(left[1], right[0]), multiply(left[0], right[1])),
+            add(multiply(left[0], right[0]), multiply(left[1], right[1]))};
+    }
+
+    private static long add(long a, long b) {
+        return a > SATURATED - b ? SATURATED : a + b;
+    }
+
+    private static long multiply(long a, long b) {
+        return b != 0 && a > SATURATED / b ? SATURATED : a * b;
+    }
+
+    /**
+     * @return int is the number of distinct atoms
+     */
+    public int getAtoms() {
+        return atoms.size();
+    }
+
+    /**
+     * @return int is the number of atom occurrences and connectives
+     */
+    public int getNodes() {
+        return nodes;
+    }
+
+    /**
+     * @return int is the length of the longest path from the root to an atom,
+     *         counting both
+     */
+    public int getDepth() {
+        return depth;
+    }
+
+    /**
+     * @return int is the number of negations
+     */
+    public int getNegations() {
+        return negations;
+    }
+
+    /**
+     * @return int is the number of conjunctions
+     */
+    public int getConjunctions() {
+        return conjunctions;
+    }
+
+    /**
+     * @return int is the number of disjunctions
+     */
+    public int getDisjunctions() {
+        return disjunctions;
+    }
+
+    /**
+     * @return int is the number of implications
+     */
+    public int getImplications() {
+        return implications;
+    }
+
+    /**
+     * @return int is the number of equivalences
+     */
+    public int getEquivalences() {
+        return equivalences;
+    }
+
+    /**
+     * @return long is the estimated number of clauses of the formula,
+     *         Long.MAX_VALUE if the estimate overflows
+     */
+    public long getClauseEstimate() {
+        return clauses;
+    }
+
+    /**
+     * @return long is the estimated number of clauses of the negated formula,
+     *         which resolution refutes, Long.MAX_VALUE if the estimate
+     *         overflows
+     */
+    public long getNegatedClauseEstimate() {
+        return negatedClauses;
+    }
+
+    /**
+     * This method returns the bucket of the formula. Formulas in one bucket
+     * have about as many atoms, about as many clauses in the negated normal
+     * form, and the same balance of equivalences, which decide how the
+     * engines fare: the truth table depends on the atoms only, resolution on
+     * the clauses and the BDD method suffers least from equivalences.
+     *
+     * @return String is the bucket, such as "a2.c1.e0"
+     */
+    public String getBucket() {
+        int atomClass = atoms.size() <= 8 ? 0 : atoms.size() <= 16 ? 1 : atoms.size() <= PortfolioProver.TRUTH_TABLE_ATOMS ? 2 : 3;
+        int bits = 64 - Long.numberOfLeadingZeros(negatedClauses);
+        int clauseClass = bits <= 6 ? 0 : bits <= 12 ? 1 : bits <= 18 ? 2 : 3;
+        int binaries = conjunctions + disjunctions + implications + equivalences;
+        int equivalenceClass = 4 * equivalences >= binaries && equivalences > 0 ? 1 : 0;
+        return "a" + atomClass + ".c" + clauseClass + ".e" + equivalenceClass;
+    }
+
+    @Override
+    public String toString() {
+        return "atoms=" + atoms.size() + " nodes=" + nodes + " depth=" + depth + " iff=" + equivalences + " imply="
+                + implications + " clauses=" + (negatedClauses == SATURATED ? "overflow" : Long.toString(negatedClauses))
+                + " bucket=" + getBucket();
+    }
+}
@@ -0,0 +1,508 @@
+package propositional.portfolio;
+
+import common.SymbolTable;
+import common.metrics.MetricsRegistry;
+import common.metrics.Stage;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import optimized.ParallelCNFConverter;
+import propositional.bdd.BddMethod;
+import propositional.common.Formula;
+import propositional.common.Unary;
+import propositional.parity.ParityMethod;
+import propositional.resolution.ClausePreprocessor;
+import propositional.resolution.ClauseResolver;
+import propositional.resolution.HornSolver;
+import propositional.resolution.LocalSearchSolver;
+import propositional.resolution.TwoSatSolver;
+import propositional.scanner.Precedence;
+import propositional.scanner.Token;
+import propositional.truthtable.TruthTableMethod;
+
+/* <p>Title:Propositional Theorem Prover</p>
+ * <p>Description: A theorem prover for propositional logic.</p>
+ * <p>Copyright: Copyright (c) 2005</p>
+ * <p>Department: Computer Science</p>
+ * @author Mark Schlichtmann
+ * @version 2.0*/
+/*******************************************************************************
+ * The PortfolioProver class decides a propositional formula by racing several
+ * engines against each other, each on a thread of its own. No engine is
+ * fastest on every formula: resolution refutes small clause sets quickly but
+ * drowns in the clauses of &lt;=&gt; chains, which the BDD method decides in
+ * linear time, and the truth table needs no clauses or nodes at all as long
+ * as there are few atoms. Local search finds countermodels of non-theorems
+ * long before a complete engine has exhausted its search, but cannot prove
+ * a theorem. The first engine to reach a verdict wins, and the
+ * others are interrupted and stop at their next check of the interrupt flag.
+ * A clause limit reached by resolution, like a local search that found no
+ * model, is no verdict, so the race then waits for the remaining engines.
+ *
+ * Every engine builds its own clauses, nodes or program from the formula and
+ * only reads the formula, so the engines share no state. The wins of each
+ * engine are counted, in the prover and in the metrics registry, to show
+ * which engines earn their thread. The parity method enters only formulas
+ * with &lt;=&gt;, since without parity equations it would only repeat the
+ * work of the BDD method. With an EngineSelector the portfolio
+ * learns from its races which engine wins on formulas like the one at hand,
+ * and runs that engine alone once it wins reliably. Only a race of all
+ * engines counts as a comparison for the selector, one per formula; a
+ * selected engine running alone, and the race after it failed, only record
+ * runtimes.
+ ******************************************************************************/
+public class PortfolioProver implements AutoCloseable {
+    /** The engines of the portfolio */
+    public enum Engine {
+        /** Negates the formula, converts it to clauses, decides Horn and 2-SAT clauses directly and refutes the others */
+        RESOLUTION("resolution"),
+        /** Builds the reduced ordered binary decision diagram of the formula */
+        BDD("bdd"),
+        /** Evaluates the formula under every assignment, for few atoms only */
+        TRUTH_TABLE("truth-table"),
+        /** Solves the &lt;=&gt; chains of the formula as parity equations, for formulas with &lt;=&gt; only */
+        PARITY("parity"),
+        /** Searches the clauses of the negated formula for a model, which answers non-theorems only */
+        LOCAL_SEARCH("local-search");
+
+        /** The name of the engine in reports and metrics */
+        private final String label;
+
+        Engine(String label) {
+            this.label = label;
+        }
+
+        /**
+         * The method is used to get the name of the engine
+         *
+         * @return String is the name used in reports and metrics
+         */
+        public String getLabel() {
+            return label;
+        }
+    }
+
+    /** The largest number of atoms for which the truth table enters the race */
+    public static final int TRUTH_TABLE_ATOMS = 24;
+    /** The flips after which local search gives up, unless the race ends first */
+    public static final long LOCAL_SEARCH_FLIPS = 1000000;
+    /** The negation wrapped around the formula for resolution */
+    private static final Token NEGATION = new Token("!", Precedence.NOT);
+
+    /** The engines entering each race */
+    private final Set<Engine> engines;
+    /** The number of kept clauses after which resolution gives up */
+    private final int clauseLimit;
+    /** The threads the engines run on */
+    private final ExecutorService threads;
+    /** The formulas decided by each engine, indexed by ordinal */
+    private final AtomicLongArray wins = new AtomicLongArray(Engine.values().length);
+    /** The formulas proved */
+    private final AtomicLong races = new AtomicLong();
+    /** The selector picking an engine to run alone, or null */
+    private volatile EngineSelector selector;
+
+    /**
+     * Initialising a portfolio of all engines
+     */
+    public PortfolioProver() {
+        this(EnumSet.allOf(Engine.class), ClauseResolver.DEFAULT_CLAUSE_LIMIT);
+    }
+
+    /**
+     * Initialising a portfolio
+     *
+     * @param engines
+     *            Set is the engines entering each race, at least one
+     * @param clauseLimit
+     *            int is the number of kept clauses after which resolution
+     *            gives up
+     */
+    public PortfolioProver(Set<Engine> engines, int clauseLimit) {
+        if (engines.isEmpty()) {
+            throw new IllegalArgumentException("a portfolio needs at least one engine");
+        }
+        this.engines = EnumSet.copyOf(engines);
+        this.clauseLimit = clauseLimit;
+        AtomicInteger count = new AtomicInteger();
+        threads = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "portfolio-" + count.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * This method decides a formula, waiting until an engine reaches a
+     * verdict or all engines have given up
+     *
+     * @param formula
+     *            Formula is the formula to decide
+     * @return Result is the verdict of the winning engine
+     */
+    public Result prove(Formula formula) {
+        return prove(formula, Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * This method decides a formula, giving up after a timeout. If a selector
+     * is set and picks an engine for the formula, that engine runs alone
+     * first, and the engines are raced only if it reaches no verdict in time.
+     * Only a race that is not such a fallback is recorded as a comparison.
+     * The engines still running when the race ends are interrupted.
+     *
+     * @param formula
+     *            Formula is the formula to decide
+     * @param timeout
+     *            long is the longest time to wait for a verdict
+     * @param unit
+     *            TimeUnit is the unit of the timeout
+     * @return Result is the verdict of the winning engine, or a result
+     *         without verdict if no engine reached one in time
+     * @throws IllegalArgumentException
+     *             if every engine failed on the formula
+     */
+    public Result prove(Formula formula, long timeout, TimeUnit unit) {
+        long start = System.nanoTime();
+        long deadline = start + unit.toNanos(timeout);
+        boolean unlimited = unit.toNanos(timeout) == Long.MAX_VALUE || deadline < start;
+        FormulaFeatures features = new FormulaFeatures(formula);
+        EngineSelector chooser = selector;
+        races.incrementAndGet();
+        Result answer = null;
+        Engine selected = chooser == null ? null : chooser.select(features);
+        if (selected != null && engines.contains(selected)) {
+            MetricsRegistry.getDefault().increment("portfolio.selected." + selected.getLabel());
+            answer = race(formula, EnumSet.of(selected), features, start, deadline, unlimited);
+            chooser.recordRun(features.getBucket(), selected, answer.getNanos(), answer.isDecided());
+        }
+        if (answer == null || !answer.isDecided() && (unlimited || System.nanoTime() < deadline)) {
+            // a race after the selected engine failed started late and is no fair comparison
+            boolean fallback = answer != null;
+            answer = race(formula, engines, features, start, deadline, unlimited);
+            if (chooser != null && !fallback) {
+                if (answer.isDecided()) {
+                    chooser.recordRun(features.getBucket(), answer.getEngine(), answer.getNanos(), true);
+                }
+                chooser.recordComparison(features.getBucket(), answer.getEngine());
+            }
+        }
+        if (answer.isDecided()) {
+            wins.incrementAndGet(answer.getEngine().ordinal());
+            MetricsRegistry.getDefault().increment("portfolio.wins." + answer.getEngine().getLabel());
+        } else {
+            MetricsRegistry.getDefault().increment("portfolio.unknown");
+        }
+        MetricsRegistry.getDefault().recordSince(Stage.PROVE, start);
+        return answer;
+    }
+
+    /**
+     * Races engines on a formula until one reaches a verdict, all give up or
+     * the deadline passes, and interrupts the others. The truth table only
+     * enters for few atoms and the parity method for formulas with &lt;=&gt;.
+     */
+    private Result race(Formula formula, Set<Engine> entrants, FormulaFeatures features, long start, long deadline,
+            boolean unlimited) {
+        CompletionService<Result> race = new ExecutorCompletionService<Result>(threads);
+        List<Future<Result>> runners = new ArrayList<Future<Result>>();
+        for (Engine engine : entrants) {
+            if (enters(engine, features)) {
+                runners.add(race.submit(() -> run(engine, formula, start)));
+            }
+        }
+        RuntimeException failure = null;
+        int failures = 0;
+        try {
+            for (int pending = runners.size(); pending > 0; pending--) {
+                Future<Result> finished = unlimited ? race.take()
+                        : race.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                if (finished == null) {
+                    break;
+                }
+                try {
+                    Result result = finished.get();
+                    if (result.isDecided()) {
+                        return result;
+                    }
+                } catch (ExecutionException e) {
+                    ++failures;
+                    failure = e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause()
+                            : new IllegalStateException(e.getCause());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            for (Future<Result> runner : runners) {
+                runner.cancel(true);
+            }
+        }
+        if (failures > 0 && failures == runners.size()) {
+            throw failure;
+        }
+        return new Result(null, null, System.nanoTime() - start, null);
+    }
+
+    /**
+     * This method calibrates the selector by running every engine alone on
+     * every formula and recording their runtimes, the fastest engine winning
+     * the comparison
+     *
+     * @param formulas
+     *            List is the formulas of the workload
+     * @param timeout
+     *            long is the longest time an engine may take on a formula
+     * @param unit
+     *            TimeUnit is the unit of the timeout
+     * @throws IllegalStateException
+     *             if no selector is set
+     */
+    public void calibrate(List<Formula> formulas, long timeout, TimeUnit unit) {
+        EngineSelector chooser = selector;
+        if (chooser == null) {
+            throw new IllegalStateException("calibration needs a selector");
+        }
+        for (Formula formula : formulas) {
+            FormulaFeatures features = new FormulaFeatures(formula);
+            Result fastest = null;
+            for (Engine engine : engines) {
+                if (!enters(engine, features)) {
+                    continue;
+                }
+                long start = System.nanoTime();
+                Result result = race(formula, EnumSet.of(engine), features, start, start + unit.toNanos(timeout), false);
+                chooser.recordRun(features.getBucket(), engine, result.getNanos(), result.isDecided());
+                if (result.isDecided() && (fastest == null || result.getNanos() < fastest.getNanos())) {
+                    fastest = result;
+                }
+            }
+            chooser.recordComparison(features.getBucket(), fastest == null ? null : fastest.getEngine());
+        }
+    }
+
+    /**
+     * This method sets the selector that picks an engine to run alone
+     *
+     * @param selector
+     *            EngineSelector is the selector, or null to always race
+     */
+    public void setSelector(EngineSelector selector) {
+        this.selector = selector;
+    }
+
+    /**
+     * @return EngineSelector is the selector, or null if the engines are
+     *         always raced
+     */
+    public EngineSelector getSelector() {
+        return selector;
+    }
+
+    /** Returns true if an engine is fit to race on a formula */
+    private static boolean enters(Engine engine, FormulaFeatures features) {
+        if (engine == Engine.TRUTH_TABLE) {
+            return features.getAtoms() <= TRUTH_TABLE_ATOMS;
+        }
+        return engine != Engine.PARITY || features.getEquivalences() > 0;
+    }
+
+    /** Runs one engine on the formula */
+    private Result run(Engine engine, Formula formula, long start) {
+        switch (engine) {
+        case RESOLUTION:
+            return refute(formula, start);
+        case BDD:
+            BddMethod bdd = new BddMethod(formula);
+            return new Result(engine, bdd.isTheorem(), System.nanoTime() - start, bdd.getCountermodel());
+        case LOCAL_SEARCH:
+            return search(formula, start);
+        case PARITY:
+            ParityMethod parity = new ParityMethod(formula);
+            return new Result(engine, parity.isTheorem(), System.nanoTime() - start, parity.getCountermodel());
+        default:
+            TruthTableMethod table = new TruthTableMethod(formula);
+            return new Result(engine, table.isTheorem(), System.nanoTime() - start, table.getCountermodel());
+        }
+    }
+
+    /**
+     * Refutes the clauses of the negated formula, as the prover service does.
+     * Horn clauses and clauses of at most two literals are decided by the
+     * Horn and 2-SAT solvers, whose model then falsifies the formula.
+     *
+     * @return Result is true for a theorem, false for a non-theorem and
+     *         undecided if the clause limit was reached
+     */
+    private Result refute(Formula formula, long start) {
+        SymbolTable symbols = new SymbolTable();
+        HornSolver horn = new HornSolver();
+        for (int[] clause : new ParallelCNFConverter().convertSequential(new Unary(NEGATION, formula), symbols)) {
+            horn.addClause(clause);
+        }
+        horn.close();
+        if (horn.isHorn() || horn.getLongestClause() <= 2) {
+            boolean[] model;
+            if (horn.isHorn()) {
+                model = horn.getModel();
+            } else {
+                TwoSatSolver twoSat = new TwoSatSolver();
+                horn.replay(twoSat);
+                model = twoSat.getModel();
+            }
+            return new Result(Engine.RESOLUTION, model == null, System.nanoTime() - start, countermodel(model, symbols));
+        }
+        ClausePreprocessor preprocessor = new ClausePreprocessor();
+        horn.replay(preprocessor);
+        preprocessor.preprocess();
+        ClauseResolver resolver = new ClauseResolver(clauseLimit);
+        preprocessor.replay(resolver);
+        Boolean theorem = resolver.refute() ? Boolean.TRUE : resolver.isLimitReached() ? null : Boolean.FALSE;
+        return new Result(Engine.RESOLUTION, theorem, System.nanoTime() - start, null);
+    }
+
+    /**
+     * Searches the clauses of the negated formula for a model, which
+     * falsifies the formula
+     *
+     * @return Result is false with the model as countermodel, or undecided
+     *         if the search found no model
+     */
+    private Result search(Formula formula, long start) {
+        SymbolTable symbols = new SymbolTable();
+        LocalSearchSolver localSearch = new LocalSearchSolver();
+        for (int[] clause : new ParallelCNFConverter().convertSequential(new Unary(NEGATION, formula), symbols)) {
+            localSearch.addClause(clause);
+        }
+        boolean[] model = localSearch.search(LOCAL_SEARCH_FLIPS);
+        return new Result(Engine.LOCAL_SEARCH, model == null ? null : Boolean.FALSE, System.nanoTime() - start,
+                countermodel(model, symbols));
+    }
+
+    /** Names the variables of a model of the negated formula, null for none */
+    private static Map<String, Boolean> countermodel(boolean[] model, SymbolTable symbols) {
+        if (model == null) {
+            return null;
+        }
+        Map<String, Boolean> countermodel = new LinkedHashMap<String, Boolean>();
+        for (int variable = 1; variable <= symbols.size(); variable++) {
+            countermodel.put(symbols.getName(variable), variable < model.length && model[variable]);
+        }
+        return countermodel;
+    }
+
+    /**
+     * The method is used to get the wins of an engine
+     *
+     * @param engine
+     *            Engine is the engine
+     * @return long is the number of formulas the engine decided first
+     */
+    public long getWins(Engine engine) {
+        return wins.get(engine.ordinal());
+    }
+
+    /**
+     * @return long is the number of formulas proved, with or without a race
+     */
+    public long getRaces() {
+        return races.get();
+    }
+
+    /**
+     * The method is used to get the wins of all engines
+     *
+     * @return String is one line per engine with its wins and share of the
+     *         races
+     */
+    public String getReport() {
+        StringBuilder report = new StringBuilder();
+        long total = Math.max(1, races.get());
+        for (Engine engine : Engine.values()) {
+            long won = getWins(engine);
+            report.append(String.format("%-12s %8d %6.1f%%%n", engine.getLabel(), won, 100.0 * won / total));
+        }
+        return report.toString();
+    }
+
+    /**
+     * This method interrupts running engines and stops the threads
+     */
+    @Override
+    public void close() {
+        threads.shutdownNow();
+    }
+
+    /***************************************************************************
+     * A Result is the verdict of the engine that won a race.
+     **************************************************************************/
+    public static final class Result {
+        private final Engine engine;
+        private final Boolean theorem;
+        private final long nanos;
+        private final Map<String, Boolean> countermodel;
+
+        Result(Engine engine, Boolean theorem, long nanos, Map<String, Boolean> countermodel) {
+            this.engine = engine;
+            this.theorem = theorem;
+            this.nanos = nanos;
+            this.countermodel = countermodel;
+        }
+
+        /**
+         * @return Engine is the engine that reached the verdict, or null if
+         *         none did
+         */
+        public Engine getEngine() {
+            return engine;
+        }
+
+        /**
+         * @return boolean is true if an engine reached a verdict
+         */
+        public boolean isDecided() {
+            return theorem != null;
+        }
+
+        /**
+         * @return boolean is true if the formula is a theorem
+         * @throws IllegalStateException
+         *             if no engine reached a verdict
+         */
+        public boolean isTheorem() {
+            if (theorem == null) {
+                throw new IllegalStateException("no engine reached a verdict");
+            }
+            return theorem;
+        }
+
+        /**
+         * @return long is the time from the start of the race to the verdict
+         *         in nanoseconds
+         */
+        public long getNanos() {
+            return nanos;
+        }
+
+        /**
+         * @return Map is an assignment falsifying the formula, or null if the
+         *         formula is a theorem or the winner found no assignment
+         */
+        public Map<String, Boolean> getCountermodel() {
+            return countermodel;
+        }
+    }
+}
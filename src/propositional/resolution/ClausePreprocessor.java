@@ -0,0 +1,777 @@
+package propositional.resolution;
+
+import common.ClauseSink;
+import common.jfr.SubsumptionEvent;
+import common.metrics.MetricsRegistry;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.concurrent.CancellationException;
+
+/* <p>Title:Propositional Theorem Prover</p>
+ * <p>Description: A theorem prover for propositional logic.</p>
+ * <p>Copyright: Copyright (c) 2005</p>
+ * <p>Department: Computer Science</p>
+ * @author Mark Schlichtmann
+ * @version 2.0*/
+/*******************************************************************************
+ * The ClausePreprocessor class simplifies a set of integer clauses before it
+ * is handed to a prover. It collects the clauses of a CNF producer as a
+ * ClauseSink, and preprocess then runs the enabled steps in rounds until none
+ * of them changes the clauses any more: unit propagation, pure literal
+ * elimination, subsumption, self-subsuming resolution, bounded variable
+ * elimination and blocked clause elimination. Finally replay streams the
+ * remaining clauses into the next sink, usually a ClauseResolver.
+ *
+ * Every step keeps the clauses satisfiable exactly when they were before, but
+ * pure literals, variable elimination and blocked clauses do not keep them
+ * equivalent. The result can therefore be refuted in place of the input, but
+ * a model of the result need not be a model of the input, and no clauses may
+ * be added to the input afterwards, as the incremental ProvingSession does.
+ ******************************************************************************/
+public class ClausePreprocessor implements ClauseSink<int[]> {
+    /** The preprocessing steps, in the order they are run in each round */
+    public enum Step {
+        /** Removes the clauses satisfied by unit clauses, and their negations from the others */
+        UNIT_PROPAGATION("unit propagation"),
+        /** Removes the clauses containing a literal whose negation occurs nowhere */
+        PURE_LITERALS("pure literals"),
+        /** Removes the clauses containing all literals of another clause */
+        SUBSUMPTION("subsumption"),
+        /** Removes a literal from a clause that would be subsumed by a resolvent upon it */
+        SELF_SUBSUMPTION("self-subsuming resolution"),
+        /** Replaces the clauses of a variable by their resolvents if there are no more of them */
+        VARIABLE_ELIMINATION("variable elimination"),
+        /** Removes the clauses whose resolvents upon one of their literals are all tautologies */
+        BLOCKED_CLAUSES("blocked clauses");
+
+        /** The name of the step in reports */
+        private final String label;
+
+        Step(String label) {
+            this.label = label;
+        }
+
+        /**
+         * The method is used to get the name of the step
+         *
+         * @return String is the name used in reports
+         */
+        public String getLabel() {
+            return label;
+        }
+    }
+
+    /** The default number of clauses of one sign above which a variable is not eliminated */
+    public static final int DEFAULT_OCCURRENCE_LIMIT = 16;
+
+    /** The clauses, sorted and free of duplicate literals and tautologies */
+    private final ArrayList<int[]> clauses = new ArrayList<int[]>();
+    /** Set for the clauses that were removed */
+    private boolean[] removed = new boolean[64];
+    /** The clauses containing each literal, see index; may hold stale entries */
+    private int[][] occurrences = new int[2][];
+    /** The number of entries in each occurrence list */
+    private int[] occurrenceCounts = new int[2];
+    /** Stamps marking the literals of a clause, see index */
+    private int[] marks = new int[2];
+    /** The stamp of the currently marked clause */
+    private int stamp;
+    /** The unit clauses still to propagate */
+    private int[] units = new int[16];
+    /** The number of unit clauses queued */
+    private int unitCount;
+    /** The next unit clause to propagate */
+    private int unitHead;
+    /** The highest variable number seen */
+    private int maxVariable;
+    /** The steps that are run */
+    private final EnumSet<Step> enabled = EnumSet.allOf(Step.class);
+    /** The number of clauses of one sign above which a variable is kept */
+    private int occurrenceLimit = DEFAULT_OCCURRENCE_LIMIT;
+    /** The number of clauses received */
+    private int inputCount;
+    /** The number of clauses removed by each step, less those it added */
+    private final long[] clausesRemoved = new long[Step.values().length];
+    /** The number of literals removed from clauses by each step */
+    private final long[] literalsRemoved = new long[Step.values().length];
+    /** The time spent in each step, in nanoseconds */
+    private final long[] nanos = new long[Step.values().length];
+    /** The number of variables eliminated */
+    private int variablesEliminated;
+    /** Set when a step changed the clauses in the current round */
+    private boolean changed;
+    /** Set when the empty clause was found */
+    private boolean unsatisfiable;
+
+    /** Initialising a preprocessor with every step enabled */
+    public ClausePreprocessor() {
+    }
+
+    /**
+     * Initialising a preprocessor running some of the steps
+     *
+     * @param steps
+     *            Step are the steps to run, all others are disabled
+     */
+    public ClausePreprocessor(Step... steps) {
+        enabled.clear();
+        enabled.addAll(Arrays.asList(steps));
+    }
+
+    /**
+     * This method enables or disables a step
+     *
+     * @param step
+     *            Step is the step to switch
+     * @param on
+     *            boolean: true to run the step
+     */
+    public void setEnabled(Step step, boolean on) {
+        if (on) {
+            enabled.add(step);
+        } else {
+            enabled.remove(step);
+        }
+    }
+
+    /**
+     * The method is used to find out if a step is run
+     *
+     * @param step
+     *            Step is the step
+     * @return boolean: true if the step is enabled
+     */
+    public boolean isEnabled(Step step) {
+        return enabled.contains(step);
+    }
+
+    /**
+     * This method sets the number of clauses of one sign above which variable
+     * elimination keeps a variable, which bounds the resolvents tried
+     *
+     * @param limit
+     *            int is the number of clauses containing the variable or its
+     *            negation
+     */
+    public void setOccurrenceLimit(int limit) {
+        occurrenceLimit = limit;
+    }
+
+    /**
+     * This method adds an input clause. Duplicate literals are removed and
+     * tautologies are dropped.
+     *
+     * @param clause
+     *            int[] is the clause as signed variable numbers
+     */
+    @Override
+    public void addClause(int[] clause) {
+        ++inputCount;
+        for (int literal : clause) {
+            ensureVariable(Math.abs(literal));
+        }
+        ++stamp;
+        int[] normal = new int[clause.length];
+        int length = 0;
+        for (int literal : clause) {
+            if (marks[index(-literal)] == stamp) {
+                return;
+            }
+            if (marks[index(literal)] != stamp) {
+                marks[index(literal)] = stamp;
+                normal[length++] = literal;
+            }
+        }
+        normal = Arrays.copyOf(normal, length);
+        Arrays.sort(normal);
+        store(normal);
+    }
+
+    @Override
+    public void close() {
+    }
+
+    /**
+     * This method runs the enabled steps in rounds until a round changes
+     * nothing or the empty clause is found
+     *
+     * @return boolean is true if the clauses were found unsatisfiable
+     * @throws CancellationException
+     *             if the thread is interrupted between two rounds
+     */
+    public boolean preprocess() {
+        int before = size();
+        do {
+            if (Thread.currentThread().isInterrupted()) {
+                throw new CancellationException("preprocessing was interrupted");
+            }
+            changed = false;
+            run(Step.UNIT_PROPAGATION);
+            run(Step.PURE_LITERALS);
+            run(Step.SUBSUMPTION);
+            run(Step.SELF_SUBSUMPTION);
+            run(Step.VARIABLE_ELIMINATION);
+            run(Step.BLOCKED_CLAUSES);
+        } while (changed && !unsatisfiable);
+        MetricsRegistry.getDefault().counter("preprocess.clauses.removed").add(before - size());
+        return unsatisfiable;
+    }
+
+    private void run(Step step) {
+        if (unsatisfiable || !enabled.contains(step)) {
+            return;
+        }
+        long start = System.nanoTime();
+        switch (step) {
+        case UNIT_PROPAGATION:
+            propagate();
+            break;
+        case PURE_LITERALS:
+            removePureLiterals();
+            break;
+        case SUBSUMPTION:
+            subsume();
+            break;
+        case SELF_SUBSUMPTION:
+            strengthen();
+            break;
+        case VARIABLE_ELIMINATION:
+            eliminateVariables();
+            break;
+        default:
+            removeBlockedClauses();
+            break;
+        }
+        nanos[step.ordinal()] += System.nanoTime() - start;
+    }
+
+    /**
+     * This method propagates the queued unit clauses. A unit clause that was
+     * removed or lengthened in the meantime is skipped.
+     */
+    private void propagate() {
+        while (unitHead < unitCount && !unsatisfiable) {
+            int id = units[unitHead++];
+            int[] unit = clauses.get(id);
+            if (removed[id] || unit.length != 1) {
+                continue;
+            }
+            int literal = unit[0];
+            for (int clause : live(literal)) {
+                delete(clause, Step.UNIT_PROPAGATION);
+            }
+            for (int clause : live(-literal)) {
+                remove(clause, -literal, Step.UNIT_PROPAGATION);
+            }
+        }
+    }
+
+    /**
+     * This method removes the clauses containing a pure literal, until no
+     * literal is pure any more
+     */
+    private void removePureLiterals() {
+        boolean found = true;
+        while (found) {
+            found = false;
+            for (int variable = 1; variable <= maxVariable; variable++) {
+                for (int literal : new int[] {variable, -variable}) {
+                    int[] containing = live(literal);
+                    if (containing.length > 0 && live(-literal).length == 0) {
+                        for (int clause : containing) {
+                            delete(clause, Step.PURE_LITERALS);
+                        }
+                        found = true;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * This method removes every clause that contains all literals of another
+     * clause. The shorter clauses are tried first, each against the clauses
+     * containing its least frequent literal.
+     */
+    private void subsume() {
+        SubsumptionEvent event = new SubsumptionEvent();
+        event.begin();
+        int before = size();
+        for (int id : byLength()) {
+            if (removed[id]) {
+                continue;
+            }
+            int[] clause = mark(id);
+            for (int other : live(rarest(clause, false))) {
+                if (other != id && !removed[other] && compare(clause, clauses.get(other)) == 0) {
+                    delete(other, Step.SUBSUMPTION);
+                }
+            }
+        }
+        if (event.shouldCommit()) {
+            event.clauses = before;
+            event.subsumed = before - size();
+            event.commit();
+        }
+    }
+
+    /**
+     * This method removes a literal from every clause that contains the
+     * negation of that literal and all other literals of another clause, as
+     * the resolvent of the two clauses subsumes it. A shortened clause is
+     * tried again against the others.
+     */
+    private void strengthen() {
+        int[] queue = byLength();
+        int length = queue.length;
+        for (int head = 0; head < length && !unsatisfiable; head++) {
+            int id = queue[head];
+            if (removed[id]) {
+                continue;
+            }
+            int[] clause = mark(id);
+            int literal = rarest(clause, true);
+            for (int[] candidates : new int[][] {live(literal), live(-literal)}) {
+                for (int other : candidates) {
+                    if (other == id || removed[other]) {
+                        continue;
+                    }
+                    int flipped = compare(clause, clauses.get(other));
+                    if (flipped != 0 && flipped != Integer.MIN_VALUE) {
+                        remove(other, flipped, Step.SELF_SUBSUMPTION);
+                        if (length == queue.length) {
+                            queue = Arrays.copyOf(queue, length * 2 + 1);
+                        }
+                        queue[length++] = other;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * This method compares the marked clause with another clause
+     *
+     * @return int is 0 if the marked clause subsumes the other one, the
+     *         literal of the other clause whose negation is the only literal
+     *         of the marked clause it lacks, or Integer.MIN_VALUE otherwise
+     */
+    private int compare(int[] clause, int[] other) {
+        if (other.length < clause.length) {
+            return Integer.MIN_VALUE;
+        }
+        int matches = 0;
+        int flips = 0;
+        int flipped = 0;
+        for (int literal : other) {
+            if (marks[index(literal)] == stamp) {
+                ++matches;
+            } else if (marks[index(-literal)] == stamp) {
+                ++flips;
+                flipped = literal;
+            }
+        }
+        if (matches == clause.length) {
+            return 0;
+        }
+        return flips == 1 && matches == clause.length - 1 ? flipped : Integer.MIN_VALUE;
+    }
+
+    /**
+     * This method eliminates each variable whose clauses have no more
+     * non-tautological resolvents than there are clauses, replacing the
+     * clauses by the resolvents
+     */
+    private void eliminateVariables() {
+        for (int variable = 1; variable <= maxVariable && !unsatisfiable; variable++) {
+            int[] positive = live(variable);
+            int[] negative = live(-variable);
+            if (positive.length + negative.length == 0
+                    || positive.length > occurrenceLimit || negative.length > occurrenceLimit) {
+                continue;
+            }
+            ArrayList<int[]> resolvents = new ArrayList<int[]>();
+            int bound = positive.length + negative.length;
+            for (int i = 0; i < positive.length && resolvents.size() <= bound; i++) {
+                for (int j = 0; j < negative.length && resolvents.size() <= bound; j++) {
+                    int[] resolvent = resolve(clauses.get(positive[i]), clauses.get(negative[j]), variable);
+                    if (resolvent != null) {
+                        resolvents.add(resolvent);
+                    }
+                }
+            }
+            if (resolvents.size() > bound) {
+                continue;
+            }
+            for (int clause : positive) {
+                delete(clause, Step.VARIABLE_ELIMINATION);
+            }
+            for (int clause : negative) {
+                delete(clause, Step.VARIABLE_ELIMINATION);
+            }
+            for (int[] resolvent : resolvents) {
+                store(resolvent);
+            }
+            clausesRemoved[Step.VARIABLE_ELIMINATION.ordinal()] -= resolvents.size();
+            ++variablesEliminated;
+        }
+    }
+
+    /**
+     * This method builds the resolvent of two clauses upon a variable
+     *
+     * @return int[] is the sorted resolvent, or null if it is a tautology
+     */
+    private int[] resolve(int[] positive, int[] negative, int variable) {
+        ++stamp;
+        int[] resolvent = new int[positive.length + negative.length - 2];
+        int length = 0;
+        for (int literal : positive) {
+            if (literal != variable) {
+                marks[index(literal)] = stamp;
+                resolvent[length++] = literal;
+            }
+        }
+        for (int literal : negative) {
+            if (literal == -variable || marks[index(literal)] == stamp) {
+                continue;
+            }
+            if (marks[index(-literal)] == stamp) {
+                return null;
+            }
+            resolvent[length++] = literal;
+        }
+        resolvent = Arrays.copyOf(resolvent, length);
+        Arrays.sort(resolvent);
+        return resolvent;
+    }
+
+    /**
+     * This method removes the blocked clauses. A clause is blocked by one of
+     * its literals if every clause containing the negation of the literal
+     * also contains the negation of another literal of the clause.
+     */
+    private void removeBlockedClauses() {
+        boolean found = true;
+        while (found) {
+            found = false;
+            for (int id = 0; id < clauses.size(); id++) {
+                if (removed[id]) {
+                    continue;
+                }
+                int[] clause = clauses.get(id);
+                for (int literal : clause) {
+                    if (isBlocked(id, literal)) {
+                        delete(id, Step.BLOCKED_CLAUSES);
+                        found = true;
+                        break;
+                    }
+                }
+            }
+        }
+    }
+
+    private boolean isBlocked(int id, int literal) {
+        mark(id);
+        for (int other : live(-literal)) {
+            boolean tautology = false;
+            for (int candidate : clauses.get(other)) {
+                if (candidate != -literal && marks[index(-candidate)] == stamp) {
+                    tautology = true;
+                    break;
+                }
+            }
+            if (!tautology) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * This method adds a normalised clause and indexes its literals
+     */
+    private void store(int[] clause) {
+        int id = clauses.size();
+        clauses.add(clause);
+        if (id == removed.length) {
+            removed = Arrays.copyOf(removed, id * 2);
+        }
+        for (int literal : clause) {
+            int index = index(literal);
+            int[] list = occurrences[index];
+            if (list == null) {
+                list = occurrences[index] = new int[4];
+            } else if (occurrenceCounts[index] == list.length) {
+                list = occurrences[index] = Arrays.copyOf(list, list.length * 2);
+            }
+            list[occurrenceCounts[index]++] = id;
+        }
+        if (clause.length == 0) {
+            unsatisfiable = true;
+        } else if (clause.length == 1) {
+            if (unitCount == units.length) {
+                units = Arrays.copyOf(units, unitCount * 2);
+            }
+            units[unitCount++] = id;
+        }
+    }
+
+    private void delete(int id, Step step) {
+        if (!removed[id]) {
+            removed[id] = true;
+            ++clausesRemoved[step.ordinal()];
+            changed = true;
+        }
+    }
+
+    /**
+     * This method removes a literal from a clause. The clause is replaced, so
+     * that arrays handed out before stay unchanged.
+     */
+    private void remove(int id, int literal, Step step) {
+        int[] clause = clauses.get(id);
+        int[] shorter = new int[clause.length - 1];
+        int length = 0;
+        for (int candidate : clause) {
+            if (candidate != literal) {
+                shorter[length++] = candidate;
+            }
+        }
+        clauses.set(id, shorter);
+        ++literalsRemoved[step.ordinal()];
+        changed = true;
+        if (shorter.length == 0) {
+            unsatisfiable = true;
+        } else if (shorter.length == 1) {
+            if (unitCount == units.length) {
+                units = Arrays.copyOf(units, unitCount * 2);
+            }
+            units[unitCount++] = id;
+        }
+    }
+
+    /**
+     * This method drops the removed clauses and the clauses that lost the
+     * literal from its occurrence list
+     *
+     * @return int[] is a copy of the clauses that contain the literal
+     */
+    private int[] live(int literal) {
+        int index = index(literal);
+        int[] list = occurrences[index];
+        if (list == null) {
+            return new int[0];
+        }
+        int count = 0;
+        for (int i = 0; i < occurrenceCounts[index]; i++) {
+            int id = list[i];
+            if (!removed[id] && Arrays.binarySearch(clauses.get(id), literal) >= 0) {
+                list[count++] = id;
+            }
+        }
+        occurrenceCounts[index] = count;
+        return Arrays.copyOf(list, count);
+    }
+
+    /**
+     * This method finds the literal of a clause with the fewest occurrences
+     *
+     * @param both
+     *            boolean: true to count the occurrences of the negation too
+     */
+    private int rarest(int[] clause, boolean both) {
+        int best = clause[0];
+        int fewest = Integer.MAX_VALUE;
+        for (int literal : clause) {
+            int count = occurrenceCounts[index(literal)] + (both ? occurrenceCounts[index(-literal)] : 0);
+            if (count < fewest) {
+                fewest = count;
+                best = literal;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * This method marks the literals of a clause with a new stamp
+     *
+     * @return int[] is the marked clause
+     */
+    private int[] mark(int id) {
+        ++stamp;
+        int[] clause = clauses.get(id);
+        for (int literal : clause) {
+            marks[index(literal)] = stamp;
+        }
+        return clause;
+    }
+
+    /**
+     * This method lists the remaining non-empty clauses, shortest first
+     */
+    private int[] byLength() {
+        int longest = 0;
+        for (int id = 0; id < clauses.size(); id++) {
+            longest = Math.max(longest, clauses.get(id).length);
+        }
+        int[] starts = new int[longest + 2];
+        for (int id = 0; id < clauses.size(); id++) {
+            if (!removed[id] && clauses.get(id).length > 0) {
+                ++starts[clauses.get(id).length + 1];
+            }
+        }
+        for (int length = 1; length <= longest; length++) {
+            starts[length + 1] += starts[length];
+        }
+        int[] order = new int[starts[longest + 1]];
+        for (int id = 0; id < clauses.size(); id++) {
+            if (!removed[id] && clauses.get(id).length > 0) {
+                order[starts[clauses.get(id).length]++] = id;
+            }
+        }
+        return order;
+    }
+
+    private void ensureVariable(int variable) {
+        if (variable > maxVariable) {
+            maxVariable = variable;
+            int size = 2 * variable + 2;
+            if (size > marks.length) {
+                int capacity = Math.max(size, marks.length * 2);
+                occurrences = Arrays.copyOf(occurrences, capacity);
+                occurrenceCounts = Arrays.copyOf(occurrenceCounts, capacity);
+                marks = Arrays.copyOf(marks, capacity);
+            }
+        }
+    }
+
+    /** This method maps the literal v to 2v and its negation to 2v + 1 */
+    private static int index(int literal) {
+        return literal > 0 ? 2 * literal : -2 * literal + 1;
+    }
+
+    /**
+     * This method streams the remaining clauses into a sink, or only the
+     * empty clause if the clauses were found unsatisfiable
+     *
+     * @param sink
+     *            ClauseSink receives copies of the remaining clauses
+     */
+    public void replay(ClauseSink<int[]> sink) {
+        if (unsatisfiable) {
+            sink.addClause(new int[0]);
+        } else {
+            for (int id = 0; id < clauses.size(); id++) {
+                if (!removed[id]) {
+                    sink.addClause(clauses.get(id).clone());
+                }
+            }
+        }
+        sink.close();
+    }
+
+    /**
+     * The method is used to get the number of remaining clauses
+     *
+     * @return int is the number of clauses not removed, 1 for the empty
+     *         clause if the clauses were found unsatisfiable
+     */
+    public int size() {
+        if (unsatisfiable) {
+            return 1;
+        }
+        int count = 0;
+        for (int id = 0; id < clauses.size(); id++) {
+            if (!removed[id]) {
+                ++count;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * The method is used to get the number of clauses received
+     *
+     * @return int is the number of input clauses, tautologies included
+     */
+    public int getInputCount() {
+        return inputCount;
+    }
+
+    /**
+     * The method is used to find out whether the empty clause was found
+     *
+     * @return boolean is true if the clauses are unsatisfiable
+     */
+    public boolean isUnsatisfiable() {
+        return unsatisfiable;
+    }
+
+    /**
+     * The method is used to get the number of clauses a step removed
+     *
+     * @param step
+     *            Step is the step
+     * @return long is the number of clauses removed, less the resolvents
+     *         added by variable elimination
+     */
+    public long getClausesRemoved(Step step) {
+        return clausesRemoved[step.ordinal()];
+    }
+
+    /**
+     * The method is used to get the number of literals a step removed from
+     * clauses that were kept
+     *
+     * @param step
+     *            Step is the step
+     * @return long is the number of literals removed
+     */
+    public long getLiteralsRemoved(Step step) {
+        return literalsRemoved[step.ordinal()];
+    }
+
+    /**
+     * The method is used to get the time spent in a step
+     *
+     * @param step
+     *            Step is the step
+     * @return long is the time in nanoseconds, over all rounds
+     */
+    public long getTime(Step step) {
+        return nanos[step.ordinal()];
+    }
+
+    /**
+     * The method is used to get the number of variables eliminated
+     *
+     * @return int is the number of variables whose clauses were replaced by
+     *         their resolvents
+     */
+    public int getVariablesEliminated() {
+        return variablesEliminated;
+    }
+
+    /**
+     * This method describes what each enabled step removed
+     *
+     * @return String is the report, one line per enabled step
+     */
+    public String getReport() {
+        StringBuilder report = new StringBuilder();
+        report.append(inputCount).append(" clauses in, ").append(size()).append(" out")
+                .append(unsatisfiable ? ", unsatisfiable" : "").append('\n');
+        for (Step step : enabled) {
+            report.append(String.format("%-26s %8d clauses %8d literals %12s",
+                    step.getLabel(), clausesRemoved[step.ordinal()], literalsRemoved[step.ordinal()],
+                    MetricsRegistry.formatNanos(nanos[step.ordinal()])));
+            if (step == Step.VARIABLE_ELIMINATION) {
+                report.append(' ').append(variablesEliminated).append(" variables");
+            }
+            report.append('\n');
+        }
+        return report.toString();
+    }
+}
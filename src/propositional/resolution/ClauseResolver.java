@@ -0,0 +1,540 @@
+package propositional.resolution;
+
+import common.ClauseArena;
+import common.ClauseSink;
+import common.metrics.MetricsRegistry;
+import java.util.Arrays;
+import java.util.concurrent.CancellationException;
+
+/* <p>Title:Propositional Theorem Prover</p>
+ * <p>Description: A theorem prover for propositional logic.</p>
+ * <p>Copyright: Copyright (c) 2005</p>
+ * <p>Department: Computer Science</p>
+ * @author Mark Schlichtmann
+ * @version 2.0*/
+/*******************************************************************************
+ * The ClauseResolver class refutes a set of integer clauses by saturating it
+ * under binary resolution. It follows the given clause loop: the shortest
+ * clause not yet used is resolved against every clause used before it, until
+ * the empty clause is derived or no new clause can be found. Kept clauses are
+ * held in a ClauseStore, sorted and free of duplicate literals, and an
+ * occurrence list per literal finds the resolution partners. Every resolvent
+ * is first built in the clause arena of the thread and only copied into the
+ * store when it is neither a tautology nor subsumed by a kept clause, so the
+ * discarded majority of resolvents costs no allocation.
+ * 
+ * The resolver can be used incrementally. Clauses added between beginQuery
+ * and endQuery, and every resolvent with such a clause among its ancestors,
+ * depend on the query and are removed again by endQuery. All other clauses
+ * stay, together with the progress of the given clause loop, so the work
+ * spent on the retained clauses is not repeated by the next query.
+ ******************************************************************************/
+public class ClauseResolver implements ClauseSink<int[]> {
+    /** The default limit on the number of kept clauses */
+    public static final int DEFAULT_CLAUSE_LIMIT = 200000;
+    /** The kept clauses, input clauses first */
+    private final ClauseStore store;
+    /** Open addressing index of the kept clauses, holding index plus one */
+    private int[] index;
+    /** The clauses waiting to be given, one queue per clause length */
+    private int[][] queues;
+    /** The number of clauses in each queue */
+    private int[] queueTails;
+    /** The next clause to take from each queue */
+    private int[] queueHeads;
+    /** The given clauses containing each literal, see literalIndex */
+    private int[][] occurrences;
+    /** The number of given clauses containing each literal */
+    private int[] occurrenceCounts;
+    /** The kept clauses whose smallest literal is each literal */
+    private int[][] firsts;
+    /** The number of kept clauses whose smallest literal is each literal */
+    private int[] firstCounts;
+    /** Set for the clauses that depend on the current query */
+    private boolean[] dependent;
+    /** Set for the clauses that are in the occurrence lists */
+    private boolean[] given;
+    /** Set between beginQuery and endQuery */
+    private boolean querying;
+    /** The number of kept clauses after which the search gives up */
+    private final int clauseLimit;
+    /** The number of resolvents built, including discarded ones */
+    private long resolventCount;
+    /** Set when the empty clause has been derived from the current query */
+    private boolean refuted;
+    /** Set when the empty clause has been derived from retained clauses */
+    private boolean inconsistent;
+    /** Set when the search stopped at the clause limit */
+    private boolean limitReached;
+
+    /** Initialising a resolver with the default clause limit */
+    public ClauseResolver() {
+        this(DEFAULT_CLAUSE_LIMIT);
+    }
+
+    /**
+     * Initialising a resolver
+     *
+     * @param clauseLimit
+     *            int is the number of kept clauses after which the search
+     *            gives up
+     */
+    public ClauseResolver(int clauseLimit) {
+        this.clauseLimit = clauseLimit;
+        store = new ClauseStore();
+        index = new int[64];
+        queues = new int[8][];
+        queueTails = new int[8];
+        queueHeads = new int[8];
+        occurrences = new int[8][];
+        occurrenceCounts = new int[8];
+        firsts = new int[8][];
+        firstCounts = new int[8];
+        dependent = new boolean[64];
+        given = new boolean[64];
+    }
+
+    /**
+     * This method adds an input clause. Duplicate literals are removed, and
+     * tautologies and clauses already added are dropped. During a query the
+     * clause depends on the query.
+     *
+     * @param clause
+     *            int[] is the clause as signed variable numbers
+     */
+    @Override
+    public void addClause(int[] clause) {
+        ClauseArena arena = ClauseArena.forCurrentThread();
+        int mark = arena.mark();
+        try {
+            int candidate = arena.copyOf(clause, 0, clause.length);
+            keep(arena, candidate, querying);
+        } finally {
+            arena.rewind(mark);
+        }
+    }
+
+    @Override
+    public void close() {
+    }
+
+    /**
+     * This method starts a query. The clauses added until endQuery is called
+     * are removed again by endQuery, along with everything derived from them.
+     */
+    public void beginQuery() {
+        if (querying) {
+            throw new IllegalStateException("a query is already open");
+        }
+        querying = true;
+    }
+
+    /**
+     * This method ends a query and removes the clauses that depend on it
+     */
+    public void endQuery() {
+        if (!querying) {
+            throw new IllegalStateException("no query is open");
+        }
+        querying = false;
+        refuted = false;
+        int[] renumbered = store.removeClauses(dependent);
+        for (int literal = 0; literal < occurrences.length; literal++) {
+            occurrenceCounts[literal] = renumber(occurrences[literal], 0, occurrenceCounts[literal], renumbered);
+        }
+        for (int literal = 0; literal < firsts.length; literal++) {
+            firstCounts[literal] = renumber(firsts[literal], 0, firstCounts[literal], renumbered);
+        }
+        for (int length = 0; length < queues.length; length++) {
+            // the clauses already given are in the occurrence lists
+            int head = queueHeads[length];
+            queueTails[length] = renumber(queues[length], head, queueTails[length], renumbered);
+            queueHeads[length] = 0;
+        }
+        boolean[] wasGiven = given;
+        given = new boolean[wasGiven.length];
+        for (int clause = 0; clause < renumbered.length; clause++) {
+            if (renumbered[clause] >= 0) {
+                given[renumbered[clause]] = wasGiven[clause];
+            }
+        }
+        Arrays.fill(dependent, false);
+        index = new int[index.length / 2];
+        rehash();
+        limitReached = store.size() >= clauseLimit;
+    }
+
+    /**
+     * This method renumbers a range of a clause list and drops the removed
+     * clauses, moving the rest to the front
+     *
+     * @return int is the number of clauses left
+     */
+    private static int renumber(int[] clauses, int from, int to, int[] renumbered) {
+        int size = 0;
+        for (int i = from; i < to; i++) {
+            if (renumbered[clauses[i]] >= 0) {
+                clauses[size++] = renumbered[clauses[i]];
+            }
+        }
+        return size;
+    }
+
+    /**
+     * This method saturates the clauses under resolution. It can be called
+     * again after more clauses were added. The search stops between two given
+     * clauses when the thread is interrupted, and can be resumed by calling
+     * the method again.
+     *
+     * @return boolean is true if the empty clause was derived, so the clauses
+     *         are unsatisfiable
+     * @throws CancellationException
+     *             if the thread was interrupted
+     */
+    public boolean refute() {
+        long start = System.nanoTime();
+        ClauseArena arena = ClauseArena.forCurrentThread();
+        int mark = arena.mark();
+        try {
+            int clause;
+            while (!refuted && !inconsistent && !limitReached) {
+                if (Thread.currentThread().isInterrupted()) {
+                    throw new CancellationException("resolution was interrupted");
+                }
+                if ((clause = nextGiven()) < 0) {
+                    break;
+                }
+                resolveGiven(arena, clause);
+            }
+            MetricsRegistry.getDefault().recordEngineSince("resolution", start);
+            return refuted || inconsistent;
+        } finally {
+            arena.rewind(mark);
+        }
+    }
+
+    /**
+     * This method resolves the given clause with every clause given before it
+     * and then makes it a partner for the clauses given after it
+     */
+    private void resolveGiven(ClauseArena arena, int clause) {
+        int givenLength = store.length(clause);
+        for (int i = 0; i < givenLength && !refuted && !inconsistent && !limitReached; i++) {
+            int pivot = store.literal(clause, i);
+            int complement = literalIndex(-pivot);
+            if (complement >= occurrences.length) {
+                continue;
+            }
+            int[] partners = occurrences[complement];
+            for (int j = 0; j < occurrenceCounts[complement] && !refuted && !inconsistent && !limitReached; j++) {
+                int partner = partners[j];
+                int mark = arena.mark();
+                keep(arena, resolvent(arena, clause, partner, pivot), dependent[clause] || dependent[partner]);
+                arena.rewind(mark);
+            }
+        }
+        if (given[clause]) {
+            // a clause given again after it stopped depending on the query
+            return;
+        }
+        given[clause] = true;
+        for (int i = 0; i < givenLength; i++) {
+            int literal = literalIndex(store.literal(clause, i));
+            if (literal >= occurrences.length) {
+                int size = Math.max(occurrences.length * 2, literal + 2);
+                occurrences = Arrays.copyOf(occurrences, size);
+                occurrenceCounts = Arrays.copyOf(occurrenceCounts, size);
+            }
+            occurrences[literal] = append(occurrences[literal], occurrenceCounts[literal]++, clause);
+        }
+    }
+
+    /**
+     * This method builds the resolvent of two clauses in the arena
+     *
+     * @return int is the arena reference of the resolvent, not yet
+     *         normalised
+     */
+    private int resolvent(ClauseArena arena, int first, int second, int pivot) {
+        ++resolventCount;
+        int firstLength = store.length(first);
+        int secondLength = store.length(second);
+        int ref = arena.allocate(firstLength + secondLength - 2);
+        int[] slab = arena.slab(ref);
+        int offset = ClauseArena.offset(ref);
+        int length = 0;
+        for (int i = 0; i < firstLength; i++) {
+            int literal = store.literal(first, i);
+            if (literal != pivot) {
+                slab[offset + length++] = literal;
+            }
+        }
+        for (int i = 0; i < secondLength; i++) {
+            int literal = store.literal(second, i);
+            if (literal != -pivot) {
+                slab[offset + length++] = literal;
+            }
+        }
+        arena.truncate(ref, length);
+        return ref;
+    }
+
+    /**
+     * This method normalises a clause built in the arena and keeps it if it
+     * is new. A clause derived again without depending on the query stops
+     * depending on it, and is given again so its resolvents follow.
+     */
+    private void keep(ClauseArena arena, int ref, boolean dependsOnQuery) {
+        int length = normalise(arena, ref);
+        if (length < 0) {
+            return;
+        }
+        int[] slab = arena.slab(ref);
+        int offset = ClauseArena.offset(ref);
+        int hash = hash(slab, offset, length);
+        int mask = index.length - 1;
+        int slot = hash & mask;
+        while (index[slot] != 0) {
+            int known = index[slot] - 1;
+            if (sameClause(known, slab, offset, length)) {
+                if (dependent[known] && !dependsOnQuery) {
+                    dependent[known] = false;
+                    if (given[known]) {
+                        enqueue(known, length);
+                    }
+                }
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+        if (subsumed(slab, offset, length, dependsOnQuery)) {
+            return;
+        }
+        int clause = store.size();
+        store.addClause(slab, offset, length);
+        if (length > 0) {
+            int first = literalIndex(slab[offset]);
+            if (first >= firsts.length) {
+                int size = Math.max(firsts.length * 2, first + 2);
+                firsts = Arrays.copyOf(firsts, size);
+                firstCounts = Arrays.copyOf(firstCounts, size);
+            }
+            firsts[first] = append(firsts[first], firstCounts[first]++, clause);
+        }
+        if (clause == dependent.length) {
+            dependent = Arrays.copyOf(dependent, clause * 2);
+            given = Arrays.copyOf(given, clause * 2);
+        }
+        dependent[clause] = dependsOnQuery;
+        index[slot] = clause + 1;
+        if (2 * store.size() > index.length) {
+            rehash();
+        }
+        if (length == 0) {
+            if (dependsOnQuery) {
+                refuted = true;
+            } else {
+                inconsistent = true;
+            }
+        }
+        enqueue(clause, length);
+        if (store.size() >= clauseLimit) {
+            limitReached = true;
+        }
+    }
+
+    /**
+     * This method sorts a clause in the arena and removes duplicate literals
+     *
+     * @return int is the new length, or -1 if the clause is a tautology
+     */
+    private static int normalise(ClauseArena arena, int ref) {
+        int[] slab = arena.slab(ref);
+        int offset = ClauseArena.offset(ref);
+        int end = offset + arena.length(ref);
+        Arrays.sort(slab, offset, end);
+        int length = 0;
+        for (int i = offset; i < end; i++) {
+            if (length == 0 || slab[i] != slab[offset + length - 1]) {
+                slab[offset + length++] = slab[i];
+            }
+        }
+        for (int i = offset; i < offset + length && slab[i] < 0; i++) {
+            if (Arrays.binarySearch(slab, offset, offset + length, -slab[i]) >= 0) {
+                return -1;
+            }
+        }
+        arena.truncate(ref, length);
+        return length;
+    }
+
+    /**
+     * This method checks whether a kept clause is a subset of a sorted
+     * clause. Only clauses that do not depend on the query can subsume a
+     * clause that does not depend on it, since the others will be removed.
+     */
+    private boolean subsumed(int[] slab, int offset, int length, boolean dependsOnQuery) {
+        for (int i = offset; i < offset + length; i++) {
+            // a subset of the clause starts with one of its literals
+            int literal = literalIndex(slab[i]);
+            if (literal >= firsts.length) {
+                continue;
+            }
+            int[] candidates = firsts[literal];
+            for (int j = 0; j < firstCounts[literal]; j++) {
+                int clause = candidates[j];
+                if ((dependsOnQuery || !dependent[clause]) && isSubset(clause, slab, i, offset + length)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * This method checks whether a kept clause is a subset of a range of a
+     * sorted clause
+     */
+    private boolean isSubset(int clause, int[] slab, int from, int to) {
+        int length = store.length(clause);
+        if (length > to - from) {
+            return false;
+        }
+        int j = from;
+        for (int i = 0; i < length; i++) {
+            int literal = store.literal(clause, i);
+            while (j < to && slab[j] < literal) {
+                ++j;
+            }
+            if (j == to || slab[j] != literal) {
+                return false;
+            }
+            ++j;
+        }
+        return true;
+    }
+
+    private static int[] append(int[] clauses, int size, int clause) {
+        if (clauses == null) {
+            clauses = new int[4];
+        } else if (size == clauses.length) {
+            clauses = Arrays.copyOf(clauses, size * 2);
+        }
+        clauses[size] = clause;
+        return clauses;
+    }
+
+    private boolean sameClause(int clause, int[] slab, int offset, int length) {
+        if (store.length(clause) != length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (store.literal(clause, i) != slab[offset + i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int hash(int[] literals, int from, int length) {
+        int hash = length;
+        for (int i = from; i < from + length; i++) {
+            hash = 31 * hash + literals[i];
+        }
+        return hash ^ (hash >>> 16);
+    }
+
+    private void rehash() {
+        int[] rehashed = new int[index.length * 2];
+        int mask = rehashed.length - 1;
+        int[] literals = new int[0];
+        for (int clause = 0; clause < store.size(); clause++) {
+            int length = store.length(clause);
+            if (literals.length < length) {
+                literals = new int[length];
+            }
+            for (int i = 0; i < length; i++) {
+                literals[i] = store.literal(clause, i);
+            }
+            int slot = hash(literals, 0, length) & mask;
+            while (rehashed[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            rehashed[slot] = clause + 1;
+        }
+        index = rehashed;
+    }
+
+    private void enqueue(int clause, int length) {
+        if (length >= queues.length) {
+            int size = Math.max(queues.length * 2, length + 1);
+            queues = Arrays.copyOf(queues, size);
+            queueTails = Arrays.copyOf(queueTails, size);
+            queueHeads = Arrays.copyOf(queueHeads, size);
+        }
+        if (queues[length] == null) {
+            queues[length] = new int[8];
+        } else if (queueTails[length] == queues[length].length) {
+            queues[length] = Arrays.copyOf(queues[length], queueTails[length] * 2);
+        }
+        queues[length][queueTails[length]++] = clause;
+    }
+
+    /**
+     * This method takes the oldest of the shortest clauses not yet given
+     *
+     * @return int is the index of the clause, or -1 if every clause was given
+     */
+    private int nextGiven() {
+        for (int length = 0; length < queues.length; length++) {
+            if (queueHeads[length] < queueTails[length]) {
+                return queues[length][queueHeads[length]++];
+            }
+        }
+        return -1;
+    }
+
+    private static int literalIndex(int literal) {
+        return literal < 0 ? -2 * literal + 1 : 2 * literal;
+    }
+
+    /**
+     * The method is used to get the kept clauses
+     *
+     * @return ClauseStore holds the input clauses and every new resolvent
+     */
+    public ClauseStore getClauses() {
+        return store;
+    }
+
+    /**
+     * The method is used to get the number of resolvents built
+     *
+     * @return long is the number of resolvents, including the discarded
+     *         tautologies and duplicates
+     */
+    public long getResolventCount() {
+        return resolventCount;
+    }
+
+    /**
+     * The method is used to find out whether the retained clauses alone are
+     * unsatisfiable
+     *
+     * @return boolean is true if the empty clause was derived without any
+     *         clause of a query
+     */
+    public boolean isInconsistent() {
+        return inconsistent;
+    }
+
+    /**
+     * The method is used to find out whether the search gave up
+     *
+     * @return boolean is true if the clause limit was reached before the
+     *         clauses were saturated
+     */
+    public boolean isLimitReached() {
+        return limitReached;
+    }
+}
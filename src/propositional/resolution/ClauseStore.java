@@ -0,0 +1,179 @@
+package propositional.resolution;
+
+import common.ClauseSink;
+import java.util.Arrays;
+
+/* <p>Title:Propositional Theorem Prover</p>
+ * <p>Description: A theorem prover for propositional logic.</p>
+ * <p>Copyright: Copyright (c) 2005</p>
+ * <p>Department: Computer Science</p>
+ * @author Mark Schlichtmann
+ * @version 2.0*/
+/*******************************************************************************
+ * The ClauseStore class is a compact clause database. Clauses are sequences of
+ * signed variable numbers, as in DIMACS, and all of them are kept in one flat
+ * int array with a second array of start offsets. This avoids an object per
+ * clause and per literal, so very large clause sets can be held in memory.
+ ******************************************************************************/
+public class ClauseStore implements ClauseSink<int[]> {
+    /** The literals of all clauses, one clause after the other */
+    private int[] literals;
+    /** The start offset of each clause in the literal array, plus an end marker */
+    private int[] offsets;
+    /** The number of clauses in the store */
+    private int clauseCount;
+    /** The highest variable number in the store */
+    private int maxVariable;
+
+    /** Initialising an empty ClauseStore */
+    public ClauseStore() {
+        literals = new int[64];
+        offsets = new int[17];
+        clauseCount = 0;
+        maxVariable = 0;
+    }
+
+    /**
+     * This method is used to add a clause to the store
+     * 
+     * @param clause
+     *            int[] is the clause as signed variable numbers
+     */
+    @Override
+    public void addClause(int[] clause) {
+        addClause(clause, 0, clause.length);
+    }
+
+    /**
+     * This method is used to add a clause held in a larger array, such as a
+     * slab of the clause arena, without copying it first
+     * 
+     * @param source
+     *            int[] is the array holding the literals
+     * @param from
+     *            int is the position of the first literal
+     * @param length
+     *            int is the number of literals
+     */
+    public void addClause(int[] source, int from, int length) {
+        int start = offsets[clauseCount];
+        if (start + length > literals.length) {
+            literals = Arrays.copyOf(literals, Math.max(literals.length * 2, start + length));
+        }
+        if (clauseCount + 2 > offsets.length) {
+            offsets = Arrays.copyOf(offsets, offsets.length * 2);
+        }
+        for (int i = 0; i < length; i++) {
+            literals[start + i] = source[from + i];
+            maxVariable = Math.max(maxVariable, Math.abs(source[from + i]));
+        }
+        ++clauseCount;
+        offsets[clauseCount] = start + length;
+    }
+
+    /**
+     * The method is used to get the number of clauses
+     * 
+     * @return int is the number of clauses in the store
+     */
+    public int size() {
+        return clauseCount;
+    }
+
+    /**
+     * The method is used to get the highest variable number
+     * 
+     * @return int is the highest variable number in any clause
+     */
+    public int getMaxVariable() {
+        return maxVariable;
+    }
+
+    /**
+     * The method is used to get the length of a clause
+     * 
+     * @param index
+     *            int is the index of the clause
+     * @return int is the number of literals in the clause
+     */
+    public int length(int index) {
+        return offsets[index + 1] - offsets[index];
+    }
+
+    /**
+     * The method is used to get a single literal of a clause
+     * 
+     * @param index
+     *            int is the index of the clause
+     * @param position
+     *            int is the position of the literal in the clause
+     * @return int is the literal as a signed variable number
+     */
+    public int literal(int index, int position) {
+        return literals[offsets[index] + position];
+    }
+
+    /**
+     * The method is used to get a copy of a clause
+     * 
+     * @param index
+     *            int is the index of the clause
+     * @return int[] is the clause as signed variable numbers
+     */
+    public int[] getClause(int index) {
+        return Arrays.copyOfRange(literals, offsets[index], offsets[index + 1]);
+    }
+
+    /**
+     * This method streams every clause in the store into a sink
+     * 
+     * @param sink
+     *            ClauseSink receives copies of the clauses in order
+     */
+    public void replay(ClauseSink<int[]> sink) {
+        for (int i = 0; i < clauseCount; i++) {
+            sink.addClause(getClause(i));
+        }
+        sink.close();
+    }
+
+    /**
+     * This method removes a set of clauses and closes the gaps, keeping the
+     * order of the remaining clauses
+     * 
+     * @param removed
+     *            boolean[] is set at the index of each clause to remove
+     * @return int[] is the new index of each old clause, -1 for a removed one
+     */
+    public int[] removeClauses(boolean[] removed) {
+        int[] renumbered = new int[clauseCount];
+        int kept = 0;
+        int end = 0;
+        maxVariable = 0;
+        for (int i = 0; i < clauseCount; i++) {
+            if (i < removed.length && removed[i]) {
+                renumbered[i] = -1;
+                continue;
+            }
+            int start = offsets[i];
+            int length = offsets[i + 1] - start;
+            for (int j = 0; j < length; j++) {
+                literals[end + j] = literals[start + j];
+                maxVariable = Math.max(maxVariable, Math.abs(literals[start + j]));
+            }
+            offsets[kept] = end;
+            end += length;
+            renumbered[i] = kept++;
+        }
+        clauseCount = kept;
+        offsets[kept] = end;
+        return renumbered;
+    }
+
+    /** This method can be used to remove all clauses from the store */
+    public void clear() {
+        clauseCount = 0;
+        maxVariable = 0;
+        offsets[0] = 0;
+    }
+}
@@ -0,0 +1,244 @@
+package propositional.resolution;
+
+import common.ClauseSink;
+import common.metrics.MetricsRegistry;
+import java.util.Arrays;
+
+/* <p>Title:Propositional Theorem Prover</p>
+ * <p>Description: A theorem prover for propositional logic.</p>
+ * <p>Copyright: Copyright (c) 2005</p>
+ * <p>Department: Computer Science</p>
+ * @author Mark Schlichtmann
+ * @version 2.0*/
+/*******************************************************************************
+ * The HornSolver class decides sets of Horn clauses, clauses with at most one
+ * positive literal, in time linear in their size. It collects the clauses of
+ * a CNF producer as a ClauseSink and notes whether all of them are Horn. A
+ * Horn clause is a rule whose body is its negative literals and whose head is
+ * its positive literal, if any, and the set is satisfiable exactly when
+ * forward chaining from the facts never fires a rule without a head. This is
+ * the algorithm of Dowling and Gallier: every clause counts the atoms of its
+ * body not yet known to be true, every atom lists the clauses whose body it
+ * is in, and each atom that becomes true decrements the counters of its
+ * clauses once. A clause whose counter reaches zero makes its head true, or
+ * refutes the set if it has none. The atoms made true form the least model,
+ * all other atoms being false.
+ *
+ * Sets that are not Horn are left to the next stage of the pipeline: replay
+ * streams the collected clauses into the next sink, a TwoSatSolver if no
+ * clause is longer than two literals and a ClausePreprocessor otherwise.
+ ******************************************************************************/
+public class HornSolver implements ClauseSink<int[]> {
+    /** The literals of all clauses, one after the other */
+    private int[] literals = new int[64];
+    /** The number of literals stored */
+    private int literalCount;
+    /** Where each clause starts in literals; clause i ends where i + 1 starts */
+    private int[] starts = new int[17];
+    /** The number of clauses stored */
+    private int clauseCount;
+    /** The number of clauses added, tautologies included */
+    private int inputCount;
+    /** The largest variable of the clauses */
+    private int maxVariable;
+    /** The number of literals of the longest clause */
+    private int longestClause;
+    /** Cleared by the first clause with two positive literals */
+    private boolean horn = true;
+    /** The atoms of the least model, by variable, after solve */
+    private boolean[] model;
+    /** Set by solve when the clauses are unsatisfiable */
+    private boolean unsatisfiable;
+    /** Set when solve has run */
+    private boolean solved;
+
+    /**
+     * This method adds a clause. Duplicate literals are removed and
+     * tautologies dropped, since they hold under every assignment.
+     *
+     * @param clause
+     *            int[] is the clause as signed variable numbers
+     */
+    @Override
+    public void addClause(int[] clause) {
+        ++inputCount;
+        int[] sorted = clause.clone();
+        Arrays.sort(sorted);
+        int length = 0;
+        int positives = 0;
+        for (int i = 0; i < sorted.length; i++) {
+            if (length > 0 && sorted[length - 1] == sorted[i]) {
+                continue;
+            }
+            if (sorted[i] > 0 && Arrays.binarySearch(sorted, 0, length, -sorted[i]) >= 0) {
+                return;
+            }
+            sorted[length++] = sorted[i];
+            if (sorted[i] > 0) {
+                ++positives;
+            }
+            maxVariable = Math.max(maxVariable, Math.abs(sorted[i]));
+        }
+        horn &= positives <= 1;
+        longestClause = Math.max(longestClause, length);
+        if (literalCount + length > literals.length) {
+            literals = Arrays.copyOf(literals, Math.max(2 * literals.length, literalCount + length));
+        }
+        System.arraycopy(sorted, 0, literals, literalCount, length);
+        literalCount += length;
+        if (clauseCount + 2 > starts.length) {
+            starts = Arrays.copyOf(starts, 2 * starts.length);
+        }
+        starts[++clauseCount] = literalCount;
+        solved = false;
+    }
+
+    @Override
+    public void close() {
+    }
+
+    /**
+     * The method is used to find out whether the clauses are Horn
+     *
+     * @return boolean is true if no clause has more than one positive literal
+     */
+    public boolean isHorn() {
+        return horn;
+    }
+
+    /**
+     * The method is used to find out whether the clauses are 2-SAT, for
+     * clauses that are not Horn
+     *
+     * @return int is the number of literals of the longest clause,
+     *         tautologies not counted
+     */
+    public int getLongestClause() {
+        return longestClause;
+    }
+
+    /**
+     * This method decides the clauses by forward chaining
+     *
+     * @return boolean is true if the clauses have a model
+     * @throws IllegalStateException
+     *             if the clauses are not Horn
+     */
+    public boolean isSatisfiable() {
+        if (!horn) {
+            throw new IllegalStateException("the clauses are not Horn");
+        }
+        if (!solved) {
+            solve();
+        }
+        return !unsatisfiable;
+    }
+
+    /**
+     * This method runs the algorithm of Dowling and Gallier
+     */
+    private void solve() {
+        int[] pending = new int[clauseCount];
+        int[] heads = new int[clauseCount];
+        int[] bodyStarts = new int[maxVariable + 2];
+        for (int clause = 0; clause < clauseCount; clause++) {
+            for (int i = starts[clause]; i < starts[clause + 1]; i++) {
+                if (literals[i] < 0) {
+                    ++pending[clause];
+                    ++bodyStarts[-literals[i] + 1];
+                } else {
+                    heads[clause] = literals[i];
+                }
+            }
+        }
+        for (int variable = 1; variable <= maxVariable; variable++) {
+            bodyStarts[variable + 1] += bodyStarts[variable];
+        }
+        // the clauses whose body contains each variable, in compressed rows
+        int[] bodies = new int[bodyStarts[maxVariable + 1]];
+        int[] fill = Arrays.copyOf(bodyStarts, maxVariable + 1);
+        for (int clause = 0; clause < clauseCount; clause++) {
+            for (int i = starts[clause]; i < starts[clause + 1]; i++) {
+                if (literals[i] < 0) {
+                    bodies[fill[-literals[i]]++] = clause;
+                }
+            }
+        }
+        model = new boolean[maxVariable + 1];
+        int[] queue = new int[maxVariable];
+        int tail = 0;
+        unsatisfiable = false;
+        for (int clause = 0; clause < clauseCount && !unsatisfiable; clause++) {
+            if (pending[clause] == 0) {
+                tail = fire(heads[clause], queue, tail);
+            }
+        }
+        for (int head = 0; head < tail && !unsatisfiable; head++) {
+            int variable = queue[head];
+            for (int i = bodyStarts[variable]; i < bodyStarts[variable + 1] && !unsatisfiable; i++) {
+                int clause = bodies[i];
+                if (--pending[clause] == 0) {
+                    tail = fire(heads[clause], queue, tail);
+                }
+            }
+        }
+        solved = true;
+        MetricsRegistry.getDefault().increment("horn.decided");
+    }
+
+    /**
+     * Makes the head of a clause with a true body true, or refutes the
+     * clauses if the clause has no head
+     *
+     * @return int is the new end of the queue of atoms to propagate
+     */
+    private int fire(int head, int[] queue, int tail) {
+        if (head == 0) {
+            unsatisfiable = true;
+        } else if (!model[head]) {
+            model[head] = true;
+            queue[tail++] = head;
+        }
+        return tail;
+    }
+
+    /**
+     * This method returns the least model of satisfiable Horn clauses
+     *
+     * @return boolean[] is the value of each variable, indexed by variable
+     *         number, or null if the clauses are unsatisfiable
+     * @throws IllegalStateException
+     *             if the clauses are not Horn
+     */
+    public boolean[] getModel() {
+        return isSatisfiable() ? model.clone() : null;
+    }
+
+    /**
+     * This method streams the clauses into another sink, for clauses that
+     * are not Horn
+     *
+     * @param sink
+     *            ClauseSink is the sink receiving the clauses
+     */
+    public void replay(ClauseSink<int[]> sink) {
+        for (int clause = 0; clause < clauseCount; clause++) {
+            sink.addClause(Arrays.copyOfRange(literals, starts[clause], starts[clause + 1]));
+        }
+        sink.close();
+    }
+
+    /**
+     * @return int is the number of clauses added, tautologies included
+     */
+    public int getInputCount() {
+        return inputCount;
+    }
+
+    /**
+     * @return int is the number of clauses kept, tautologies not counted
+     */
+    public int size() {
+        return clauseCount;
+    }
+}
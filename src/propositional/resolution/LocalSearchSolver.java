@@ -0,0 +1,333 @@
+package propositional.resolution;
+
+import common.ClauseSink;
+import common.metrics.MetricsRegistry;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.CancellationException;
+
+/* <p>Title:Propositional Theorem Prover</p>
+ * <p>Description: A theorem prover for propositional logic.</p>
+ * <p>Copyright: Copyright (c) 2005</p>
+ * <p>Department: Computer Science</p>
+ * @author Mark Schlichtmann
+ * @version 2.0*/
+/*******************************************************************************
+ * The LocalSearchSolver class looks for a model of a set of clauses by
+ * stochastic local search in the manner of probSAT. Starting from a random
+ * assignment it repeatedly picks a random clause that is false and flips one
+ * of its atoms, preferring atoms whose flip makes few true clauses false: the
+ * atom is drawn with a weight falling exponentially in its break count, the
+ * number of clauses in which it is the only true literal. After a number of
+ * flips without a model the search restarts from a new random assignment.
+ *
+ * The search is incomplete. A model it finds is checked against every clause
+ * before it is returned, so for the clauses of a negated formula it is a
+ * countermodel of the formula, but if it finds none the clauses may still be
+ * satisfiable. It therefore only answers non-theorems, which every complete
+ * method can only answer after exhausting its search.
+ *
+ * Each clause keeps the number of its true literals and the exclusive or of
+ * the variables of those literals, which is the variable of the only true
+ * literal when there is one. A flip visits the clauses of the two literals of
+ * its atom once and updates these numbers, the break counts and the list of
+ * false clauses in place, so the flip loop allocates nothing.
+ ******************************************************************************/
+public class LocalSearchSolver implements ClauseSink<int[]> {
+    /** The flips of one try before the search restarts */
+    public static final long DEFAULT_FLIPS_PER_TRY = 100000;
+    /** The base of the exponential weight of a break count */
+    private static final double BREAK_BASE = 2.5;
+    /** The weight of each break count, the last one standing for all larger ones */
+    private static final double[] WEIGHTS = new double[32];
+
+    static {
+        for (int breaks = 0; breaks < WEIGHTS.length; breaks++) {
+            WEIGHTS[breaks] = Math.pow(BREAK_BASE, -breaks);
+        }
+    }
+
+    /** The literals of all clauses, one after the other */
+    private int[] literals = new int[64];
+    /** The number of literals stored */
+    private int literalCount;
+    /** Where each clause starts in literals; clause i ends where i + 1 starts */
+    private int[] starts = new int[17];
+    /** The number of clauses stored */
+    private int clauseCount;
+    /** The largest variable of the clauses */
+    private int maxVariable;
+    /** Set by an empty clause */
+    private boolean empty;
+    /** The source of the random choices */
+    private final SplittableRandom random;
+    /** The flips made by all searches */
+    private long flips;
+
+    /**
+     * Initialising a solver with a random seed
+     */
+    public LocalSearchSolver() {
+        this(new SplittableRandom().nextLong());
+    }
+
+    /**
+     * Initialising a solver whose searches can be repeated
+     *
+     * @param seed
+     *            long is the seed of the random choices
+     */
+    public LocalSearchSolver(long seed) {
+        random = new SplittableRandom(seed);
+    }
+
+    /**
+     * This method adds a clause. Duplicate literals are removed and
+     * tautologies dropped, so the count of true literals of a clause is the
+     * number of its true atoms.
+     *
+     * @param clause
+     *            int[] is the clause as signed variable numbers
+     */
+    @Override
+    public void addClause(int[] clause) {
+        if (clause.length == 0) {
+            empty = true;
+            return;
+        }
+        int[] sorted = clause.clone();
+        Arrays.sort(sorted);
+        int length = 0;
+        for (int i = 0; i < sorted.length; i++) {
+            if (length > 0 && sorted[length - 1] == sorted[i]) {
+                continue;
+            }
+            if (sorted[i] > 0 && Arrays.binarySearch(sorted, 0, length, -sorted[i]) >= 0) {
+                return;
+            }
+            sorted[length++] = sorted[i];
+            maxVariable = Math.max(maxVariable, Math.abs(sorted[i]));
+        }
+        if (literalCount + length > literals.length) {
+            literals = Arrays.copyOf(literals, Math.max(2 * literals.length, literalCount + length));
+        }
+        System.arraycopy(sorted, 0, literals, literalCount, length);
+        literalCount += length;
+        if (clauseCount + 2 > starts.length) {
+            starts = Arrays.copyOf(starts, 2 * starts.length);
+        }
+        starts[++clauseCount] = literalCount;
+    }
+
+    @Override
+    public void close() {
+    }
+
+    /** Returns the node of a literal */
+    private static int node(int literal) {
+        return literal > 0 ? 2 * (literal - 1) : 2 * (-literal - 1) + 1;
+    }
+
+    /**
+     * This method searches for a model, restarting every
+     * DEFAULT_FLIPS_PER_TRY flips
+     *
+     * @param maxFlips
+     *            long is the number of flips after which the search gives up
+     * @return boolean[] is the value of each variable, indexed by variable
+     *         number, or null if no model was found
+     * @throws CancellationException
+     *             if the thread is interrupted during the search
+     */
+    public boolean[] search(long maxFlips) {
+        return search(maxFlips, DEFAULT_FLIPS_PER_TRY);
+    }
+
+    /**
+     * This method searches for a model
+     *
+     * @param maxFlips
+     *            long is the number of flips after which the search gives up
+     * @param flipsPerTry
+     *            long is the number of flips after which the search restarts
+     *            from a new random assignment
+     * @return boolean[] is the value of each variable, indexed by variable
+     *         number, or null if no model was found
+     * @throws CancellationException
+     *             if the thread is interrupted during the search
+     */
+    public boolean[] search(long maxFlips, long flipsPerTry) {
+        if (empty) {
+            return null;
+        }
+        int nodes = 2 * maxVariable;
+        // the clauses of each literal, in compressed rows
+        int[] first = new int[nodes + 1];
+        for (int i = 0; i < literalCount; i++) {
+            ++first[node(literals[i]) + 1];
+        }
+        for (int x = 0; x < nodes; x++) {
+            first[x + 1] += first[x];
+        }
+        int[] occurrences = new int[literalCount];
+        int[] fill = Arrays.copyOf(first, nodes);
+        for (int clause = 0; clause < clauseCount; clause++) {
+            for (int i = starts[clause]; i < starts[clause + 1]; i++) {
+                occurrences[fill[node(literals[i])]++] = clause;
+            }
+        }
+        boolean[] values = new boolean[maxVariable + 1];
+        int[] trueCount = new int[clauseCount];
+        int[] trueSum = new int[clauseCount];
+        int[] breaks = new int[maxVariable + 1];
+        int[] falseClauses = new int[clauseCount];
+        int[] position = new int[clauseCount];
+        int longest = 0;
+        for (int clause = 0; clause < clauseCount; clause++) {
+            longest = Math.max(longest, starts[clause + 1] - starts[clause]);
+        }
+        double[] weights = new double[longest];
+        long remaining = maxFlips;
+        boolean[] model = null;
+        while (model == null && remaining > 0) {
+            int falseCount = restart(values, trueCount, trueSum, breaks, falseClauses, position);
+            for (long tryFlips = Math.min(flipsPerTry, remaining); falseCount > 0 && tryFlips > 0; tryFlips--) {
+                if ((++flips & 4095) == 0 && Thread.currentThread().isInterrupted()) {
+                    throw new CancellationException("the local search was interrupted");
+                }
+                --remaining;
+                int clause = falseClauses[random.nextInt(falseCount)];
+                int variable = pick(clause, breaks, weights);
+                int rising = values[variable] ? -variable : variable;
+                values[variable] = !values[variable];
+                // the clauses of the literal becoming true
+                for (int i = first[node(rising)]; i < first[node(rising) + 1]; i++) {
+                    int c = occurrences[i];
+                    if (trueCount[c] == 0) {
+                        int last = falseClauses[--falseCount];
+                        falseClauses[position[c]] = last;
+                        position[last] = position[c];
+                        ++breaks[variable];
+                    } else if (trueCount[c] == 1) {
+                        --breaks[trueSum[c]];
+                    }
+                    ++trueCount[c];
+                    trueSum[c] ^= variable;
+                }
+                // the clauses of the literal becoming false
+                for (int i = first[node(-rising)]; i < first[node(-rising) + 1]; i++) {
+                    int c = occurrences[i];
+                    --trueCount[c];
+                    trueSum[c] ^= variable;
+                    if (trueCount[c] == 0) {
+                        position[c] = falseCount;
+                        falseClauses[falseCount++] = c;
+                        --breaks[variable];
+                    } else if (trueCount[c] == 1) {
+                        ++breaks[trueSum[c]];
+                    }
+                }
+            }
+            if (falseCount == 0 && satisfies(values)) {
+                model = values;
+            } else if (remaining == 0 || flipsPerTry <= 0) {
+                break;
+            }
+        }
+        MetricsRegistry.getDefault().increment(model == null ? "localsearch.unknown" : "localsearch.models");
+        return model;
+    }
+
+    /**
+     * Draws a random assignment and computes the counts of the clauses, the
+     * break counts and the false clauses
+     *
+     * @return int is the number of false clauses
+     */
+    private int restart(boolean[] values, int[] trueCount, int[] trueSum, int[] breaks, int[] falseClauses,
+            int[] position) {
+        for (int variable = 1; variable < values.length; variable++) {
+            values[variable] = random.nextBoolean();
+        }
+        Arrays.fill(breaks, 0);
+        int falseCount = 0;
+        for (int clause = 0; clause < clauseCount; clause++) {
+            trueCount[clause] = 0;
+            trueSum[clause] = 0;
+            for (int i = starts[clause]; i < starts[clause + 1]; i++) {
+                int literal = literals[i];
+                if (values[Math.abs(literal)] == literal > 0) {
+                    ++trueCount[clause];
+                    trueSum[clause] ^= Math.abs(literal);
+                }
+            }
+            if (trueCount[clause] == 0) {
+                position[clause] = falseCount;
+                falseClauses[falseCount++] = clause;
+            } else if (trueCount[clause] == 1) {
+                ++breaks[trueSum[clause]];
+            }
+        }
+        return falseCount;
+    }
+
+    /**
+     * Draws the atom of a false clause to flip, weighted by its break count
+     *
+     * @return int is the variable to flip
+     */
+    private int pick(int clause, int[] breaks, double[] weights) {
+        int start = starts[clause];
+        int length = starts[clause + 1] - start;
+        double total = 0;
+        for (int i = 0; i < length; i++) {
+            total += WEIGHTS[Math.min(breaks[Math.abs(literals[start + i])], WEIGHTS.length - 1)];
+            weights[i] = total;
+        }
+        double threshold = random.nextDouble() * total;
+        int i = 0;
+        while (i < length - 1 && weights[i] <= threshold) {
+            ++i;
+        }
+        return Math.abs(literals[start + i]);
+    }
+
+    /**
+     * This method checks an assignment against every clause
+     *
+     * @param values
+     *            boolean[] is the value of each variable, indexed by variable
+     *            number
+     * @return boolean is true if every clause has a true literal
+     */
+    public boolean satisfies(boolean[] values) {
+        if (empty) {
+            return false;
+        }
+        for (int clause = 0; clause < clauseCount; clause++) {
+            boolean satisfied = false;
+            for (int i = starts[clause]; i < starts[clause + 1] && !satisfied; i++) {
+                int literal = literals[i];
+                satisfied = Math.abs(literal) < values.length && values[Math.abs(literal)] == literal > 0;
+            }
+            if (!satisfied) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return long is the number of flips made by all searches
+     */
+    public long getFlips() {
+        return flips;
+    }
+
+    /**
+     * @return int is the number of clauses kept, tautologies not counted
+     */
+    public int size() {
+        return clauseCount;
+    }
+}
@@ -1,5 +1,6 @@
 package propositional.resolution;
 
+import common.ClauseSink;
 import java.util.ArrayList;
 
 /* <p>Title:Propositional Theorem Prover</p>
@@ -11,10 +12,10 @@ import java.util.ArrayList;
 /*******************************************************************************
  * The NFList class is used to represent a conjunctive normal form. It has as
  * its items NormalForm, which are disjuctions of propositional literals, P, Q,
- * R, and so on. This class is used to store and retrieve disjunctions. It has
- * no other significant methods.
+ * R, and so on. This class is used to store and retrieve disjunctions. It is
+ * also the in-memory sink for the normal form algorithm.
  ******************************************************************************/
-public class NFList extends ArrayList<NormalForm> {
+public class NFList extends ArrayList<NormalForm> implements ClauseSink<NormalForm> {
     /** Initialising the NFList */
     public NFList() {
         super();
@@ -26,6 +27,7 @@ public class NFList extends ArrayList<NormalForm> {
      * @param list
      *            NormalForm is the disjunction added to the NFList
      */
+    @Override
     public void addClause(NormalForm list) {
         super.add(list);
     }
@@ -1,7 +1,12 @@
 package propositional.resolution;
 
+import common.SymbolTable;
 import java.util.ArrayList;
 import propositional.common.Formula;
+import propositional.common.Propositional;
+import propositional.common.Unary;
+import propositional.scanner.Precedence;
+import propositional.scanner.Token;
 
 /* <p>Title:Propositional Theorem Prover</p>
  * <p>Description: A theorem prover for propositional logic.</p>
@@ -72,4 +77,47 @@ public class NormalForm extends ArrayList<Formula> {
     public NormalForm cloneNormalForm() {
         return (NormalForm) super.clone();
     }
+
+    /**
+     * This method encodes a literal as a signed variable number, negative when
+     * the literal is the negation of a propositional symbol.
+     * 
+     * @param literal
+     *            Formula is the literal to encode
+     * @param symbols
+     *            SymbolTable assigns the variable numbers
+     * @return int is the signed variable number of the literal
+     */
+    public static int encode(Formula literal, SymbolTable symbols) {
+        if (literal instanceof Unary) {
+            return -symbols.getId(literal.getRightPredicate().getToken().getData());
+        }
+        return symbols.getId(literal.getToken().getData());
+    }
+
+    /**
+     * This method builds a NormalForm from a clause of signed variable numbers.
+     * Variables that have no name in the symbol table are named X followed by
+     * their number.
+     * 
+     * @param clause
+     *            int[] is the clause as signed variable numbers
+     * @param symbols
+     *            SymbolTable gives the names of the variables
+     * @return NormalForm is the disjunction of literals
+     */
+    public static NormalForm decode(int[] clause, SymbolTable symbols) {
+        NormalForm normalForm = new NormalForm();
+        for (int literal : clause) {
+            int id = Math.abs(literal);
+            String name = id <= symbols.size() ? symbols.getName(id) : "X" + id;
+            Formula atom = new Propositional(new Token(name, Precedence.PREDICATE));
+            if (literal < 0) {
+                normalForm.addFormula(new Unary(new Token("!", Precedence.NOT), atom));
+            } else {
+                normalForm.addFormula(atom);
+            }
+        }
+        return normalForm;
+    }
 }
@@ -1,9 +1,13 @@
 package propositional.resolution;
 
+import common.ClauseSink;
+import common.EngineEvents;
+import common.jfr.CnfEvent;
+import common.metrics.MetricsRegistry;
+import common.metrics.Stage;
 import inputoutput.InputReader;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
-import java.util.Iterator;
-import java.util.ListIterator;
 import propositional.common.Binary;
 import propositional.common.Formula;
 import propositional.common.Propositional;
@@ -28,13 +32,38 @@ import propositional.scanner.Token;
 public class NormalFormAlgorithm {
     /** The conjunctive normal form */
     private NFList clause;
-    /** The start formula is initialise using a disjunction */
-    private NormalForm start;
-    /** A temporary disjunction for this method */
-    private NormalForm tempNF;
+    /** The disjunctions that still have formulas waiting to be expanded */
+    private ArrayDeque<Branch> worklist;
+    /** The disjunction currently being expanded */
+    private Branch current;
+
+    /***************************************************************************
+     * A Branch is a disjunction under expansion. It holds the literals that
+     * have already been settled and the formulas still waiting to be expanded
+     * into the same disjunction.
+     **************************************************************************/
+    private static final class Branch {
+        /** The literals settled so far */
+        private final NormalForm literals;
+        /** The formulas still to be expanded */
+        private final ArrayDeque<Formula> pending;
+
+        private Branch(NormalForm literals, ArrayDeque<Formula> pending) {
+            this.literals = literals;
+            this.pending = pending;
+        }
+
+        /**
+         * Copies this branch so that each copy can receive one side of a
+         * conjunction
+         * 
+         * @return Branch is the copy of this branch
+         */
+        private Branch split() {
+            return new Branch(literals.cloneNormalForm(), pending.clone());
+        }
+    }
 
-    /** Iterator is declared global to allow access to it form differnt methods */
-    // private ListIterator iterator;
     /**
      * Initialise the instance variables
      * 
@@ -43,9 +72,10 @@ public class NormalFormAlgorithm {
      */
     public NormalFormAlgorithm(Formula formula) {
         clause = new NFList();
-        start = new NormalForm();
-        start.addFormula(formula);
-        clause.addClause(start);
+        worklist = new ArrayDeque<Branch>();
+        Branch start = new Branch(new NormalForm(), new ArrayDeque<Formula>());
+        start.pending.add(formula);
+        worklist.add(start);
     }
 
     /**
@@ -70,7 +100,7 @@ public class NormalFormAlgorithm {
     }
 
     /**
-     * This method is used to implement the resolution expansion rule   Z.
+     * This method is used to implement the resolution expansion rule !!Z.
      * 
      * @param formula
      *            is the item for verification
@@ -84,113 +114,115 @@ public class NormalFormAlgorithm {
         return false;
     }
 
+    /**
+     * Adds two formulas to the disjunction currently being expanded
+     * 
+     * @param left
+     *            is the first formula of the disjunction
+     * @param right
+     *            is the second formula of the disjunction
+     */
+    private void addFormula(Formula left, Formula right) {
+        this.current.pending.add(left);
+        this.current.pending.add(right);
+    }
+
+    /**
+     * Splits the disjunction currently being expanded into two disjunctions,
+     * one for each side of a conjunction
+     * 
+     * @param left
+     *            is the formula added to the current disjunction
+     * @param right
+     *            is the formula added to the copy of the current disjunction
+     */
+    private void addClause(Formula left, Formula right) {
+        Branch copy = this.current.split();
+        this.current.pending.add(left);
+        copy.pending.add(right);
+        this.worklist.add(copy);
+    }
+
     /**
      * This method is used to implement resolution expansion rules. It uses the
      * rules of uniform notation to do this.
      * 
      * @param formula
      *            is the formula being normalised
-     * @return boolean indicates whether the normalisation has caused a
-     *         branching of the formula. True if it has false otherwise
      */
-    private boolean normalise(Formula formula) {
+    private void normalise(Formula formula) {
         // apply the rules for negation formulas
         if (formula instanceof Unary && formula.getRightPredicate() instanceof Binary) {
             Binary temp = (Binary) formula.getRightPredicate();
             // normalise if and only if
             if (temp.getToken().getType() == Precedence.IFF) {
-                NormalForm list1 = this.tempNF.cloneNormalForm();
-                NormalForm list2 = this.tempNF.cloneNormalForm();
-                list1.add(new Unary(new Token("", Precedence.NOT), temp.getleftPredicate()));
-                list2.add(temp.getRightPredicate());
-                this.clause.add(list1);
-                this.clause.add(list2);
-                return true;
+                addClause(new Unary(new Token("\u00AC", Precedence.NOT), temp.getleftPredicate()), temp.getRightPredicate());
                 // normalise implication
             } else if (temp.getToken().getType() == Precedence.IMPLY) {
-                NormalForm list1 = this.tempNF.cloneNormalForm();
-                NormalForm list2 = this.tempNF.cloneNormalForm();
-                list1.add(temp.getleftPredicate());
-                list2.add(new Unary(new Token("", Precedence.NOT), temp.getRightPredicate()));
-                this.clause.add(list1);
-                this.clause.add(list2);
-                return true;
+                addClause(temp.getleftPredicate(), new Unary(new Token("\u00AC", Precedence.NOT), temp.getRightPredicate()));
                 // normalise or connective
             } else if (temp.getToken().getType() == Precedence.OR) {
-                NormalForm list1 = this.tempNF.cloneNormalForm();
-                NormalForm list2 = this.tempNF.cloneNormalForm();
-                list1.add(new Unary(new Token("", Precedence.NOT), temp.getleftPredicate()));
-                list2.add(new Unary(new Token("", Precedence.NOT), temp.getRightPredicate()));
-                this.clause.add(list1);
-                this.clause.add(list2);
-                return true;
+                addClause(new Unary(new Token("\u00AC", Precedence.NOT), temp.getleftPredicate()), new Unary(new Token("\u00AC", Precedence.NOT), temp.getRightPredicate()));
                 // normalise and connective
             } else if (temp.getToken().getType() == Precedence.AND) {
-                this.tempNF.add(new Unary(new Token("", Precedence.NOT), temp.getleftPredicate()));
-                this.tempNF.add(new Unary(new Token("", Precedence.NOT), temp.getRightPredicate()));
-                return false;
+                addFormula(new Unary(new Token("\u00AC", Precedence.NOT), temp.getleftPredicate()), new Unary(new Token("\u00AC", Precedence.NOT), temp.getRightPredicate()));
             }
             // apply the rules for all the other kinds of formulas
         } else {
             // normalise if and only if
             if (formula.getToken().getType() == Precedence.IFF) {
-                this.tempNF.add(formula.getleftPredicate());
-                this.tempNF.add(new Unary(new Token("", Precedence.NOT), formula.getRightPredicate()));
-                return false;
+                addFormula(formula.getleftPredicate(), new Unary(new Token("\u00AC", Precedence.NOT), formula.getRightPredicate()));
                 // normalise implication
             } else if (formula.getToken().getType() == Precedence.IMPLY) {
-                this.tempNF.add(new Unary(new Token("", Precedence.NOT), formula.getleftPredicate()));
-                this.tempNF.add(formula.getRightPredicate());
-                return false;
+                addFormula(new Unary(new Token("\u00AC", Precedence.NOT), formula.getleftPredicate()), formula.getRightPredicate());
                 // normalise or connective
             } else if (formula.getToken().getType() == Precedence.OR) {
-                this.tempNF.add(formula.getleftPredicate());
-                this.tempNF.add(formula.getRightPredicate());
-                return false;
+                addFormula(formula.getleftPredicate(), formula.getRightPredicate());
                 // normalise and connective
             } else if (formula.getToken().getType() == Precedence.AND) {
-                NormalForm list1 = this.tempNF.cloneNormalForm();
-                NormalForm list2 = this.tempNF.cloneNormalForm();
-                list1.add(formula.getleftPredicate());
-                list2.add(formula.getRightPredicate());
-                this.clause.add(list1);
-                this.clause.add(list2);
-                return true;
+                addClause(formula.getleftPredicate(), formula.getRightPredicate());
             }
         }
-        return false;
     }
 
     /**
      * This method applies the resolution expansion rules to a propositional
-     * formula.
+     * formula. Disjunctions are taken from the worklist one at a time and each
+     * pending formula is expanded exactly once, so the work done is linear in
+     * the size of the conjunctive normal form produced.
+     * 
+     * @param sink
+     *            receives every disjunction as soon as it is fully expanded
      */
-    private void expandFormula() {
-        int i;
-        ListIterator iterator = clause.listIterator();
-        while (iterator.hasNext()) {
-            tempNF = (NormalForm) iterator.next();
-            i = iterator.nextIndex();
-            Iterator it2 = tempNF.iterator();
-            while (it2.hasNext()) {
-                Formula f = (Formula) it2.next();
-                if (!isLiteral(f) && !negationOfUnary(f)) {
-                    it2.remove();
-                    if (this.normalise(f)) {
-                        it2 = tempNF.iterator();
-                        clause.remove((i - 1));
-                        iterator = clause.listIterator();
-                    } else {
-                        it2 = tempNF.iterator();
-                        iterator = clause.listIterator();
-                    }
+    private void expandFormula(ClauseSink<? super NormalForm> sink) {
+        long start = System.nanoTime();
+        CnfEvent event = new CnfEvent();
+        event.begin();
+        long clauses = 0;
+        long literals = 0;
+        while (!worklist.isEmpty()) {
+            current = worklist.poll();
+            while (!current.pending.isEmpty()) {
+                Formula f = current.pending.poll();
+                if (isLiteral(f)) {
+                    current.literals.add(f);
                 } else if (negationOfUnary(f)) {
-                    it2.remove();
-                    Formula f1 = f.getRightPredicate().getRightPredicate();
-                    tempNF.add(f1);
-                    it2 = tempNF.iterator();
+                    current.pending.add(f.getRightPredicate().getRightPredicate());
+                } else {
+                    this.normalise(f);
                 }
             }
+            ++clauses;
+            literals += current.literals.size();
+            sink.addClause(current.literals);
+        }
+        current = null;
+        MetricsRegistry.getDefault().recordSince(Stage.CNF, start);
+        if (event.shouldCommit()) {
+            event.engine = "propositional";
+            event.clauses = clauses;
+            event.literals = literals;
+            event.commit();
         }
     }
 
@@ -201,12 +233,26 @@ public class NormalFormAlgorithm {
      */
     public NFList getNormalForm() {
         if (clause != null) {
-            this.expandFormula();
+            this.expandFormula(clause);
         }
-        System.out.println("The conjunctive normal form of the proposition: " + clause);
+        EngineEvents.getListener().normalFormCompleted(clause);
         return clause;
     }
 
+    /**
+     * This method normalises the formula and streams each disjunction of the
+     * conjunctive normal form into a sink as soon as it is generated, without
+     * holding the whole conjunctive normal form in memory. The formula can only
+     * be normalised once, either by this method or by getNormalForm.
+     * 
+     * @param sink
+     *            ClauseSink receives the disjunctions
+     */
+    public void streamNormalForm(ClauseSink<? super NormalForm> sink) {
+        this.expandFormula(sink);
+        sink.close();
+    }
+
     @SuppressWarnings("unchecked")
     public static void main(String[] args) {
         NormalFormAlgorithm cf = null;
@@ -220,7 +266,7 @@ public class NormalFormAlgorithm {
         System.out.println(f);
         if (f != null) {
             cf = new NormalFormAlgorithm(f);
-            cf.expandFormula();
+            cf.expandFormula(cf.clause);
             System.out.println(cf.clause);
         }
         cf.getNormalForm();
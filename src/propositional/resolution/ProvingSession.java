@@ -0,0 +1,150 @@
+package propositional.resolution;
+
+import common.SymbolTable;
+import common.metrics.MetricsRegistry;
+import common.metrics.Stage;
+import optimized.OptimizedCNFConverter;
+
+/* <p>Title:Propositional Theorem Prover</p>
+ * <p>Description: A theorem prover for propositional logic.</p>
+ * <p>Copyright: Copyright (c) 2005</p>
+ * <p>Department: Computer Science</p>
+ * @author Mark Schlichtmann
+ * @version 2.0*/
+/*******************************************************************************
+ * The ProvingSession class answers many queries over the same axioms. The
+ * axioms are converted to clauses once and kept in a ClauseResolver. Each
+ * query adds the clauses of its assumptions and of the negated goal, runs the
+ * resolver and removes those clauses again, while the resolvents of the
+ * axioms alone are retained for the following queries. The cost of a query
+ * therefore depends on the goal and not on the size of the theory. If the
+ * axioms themselves are contradictory every goal is proved.
+ ******************************************************************************/
+public class ProvingSession {
+    /** The possible answers to a query */
+    public enum Result {
+        /** The goal follows from the axioms and assumptions */
+        PROVED,
+        /** The clauses were saturated without a refutation */
+        NOT_PROVED,
+        /** The clause limit was reached first */
+        UNKNOWN
+    }
+
+    /** Numbers the atoms of axioms and queries alike */
+    private final SymbolTable symbols;
+    /** Holds the axiom clauses and everything derived from them */
+    private final ClauseResolver resolver;
+    /** The number of axioms added */
+    private int axiomCount;
+
+    /** Initialising a session with the default clause limit */
+    public ProvingSession() {
+        this(ClauseResolver.DEFAULT_CLAUSE_LIMIT);
+    }
+
+    /**
+     * Initialising a session
+     *
+     * @param clauseLimit
+     *            int is the number of kept clauses after which a query gives
+     *            up
+     */
+    public ProvingSession(int clauseLimit) {
+        symbols = new SymbolTable();
+        resolver = new ClauseResolver(clauseLimit);
+    }
+
+    /**
+     * This method adds an axiom. Its clauses are kept for all later queries.
+     *
+     * @param formula
+     *            String is the axiom in the syntax of the propositional
+     *            scanner
+     * @return boolean is false if the formula is not well formed
+     */
+    public boolean addAxiom(String formula) {
+        if (!OptimizedCNFConverter.convertToClauses(formula, symbols, resolver)) {
+            return false;
+        }
+        ++axiomCount;
+        return true;
+    }
+
+    /**
+     * This method proves a goal from the axioms under assumptions
+     *
+     * @param goal
+     *            String is the formula to prove
+     * @param assumptions
+     *            String are formulas assumed for this query only
+     * @return Result is the answer to the query
+     * @throws IllegalArgumentException
+     *             if the goal or an assumption is not well formed
+     */
+    public Result prove(String goal, String... assumptions) {
+        long start = System.nanoTime();
+        MetricsRegistry.getDefault().increment("session.queries");
+        resolver.beginQuery();
+        try {
+            for (String assumption : assumptions) {
+                add(assumption, assumption);
+            }
+            add("!(" + withoutFullStop(goal) + ")", goal);
+            if (resolver.refute()) {
+                return Result.PROVED;
+            }
+            return resolver.isLimitReached() ? Result.UNKNOWN : Result.NOT_PROVED;
+        } finally {
+            resolver.endQuery();
+            MetricsRegistry.getDefault().recordSince(Stage.PROVE, start);
+        }
+    }
+
+    private void add(String formula, String original) {
+        if (!OptimizedCNFConverter.convertToClauses(formula, symbols, resolver)) {
+            throw new IllegalArgumentException("not a well formed formula: " + original);
+        }
+    }
+
+    private static String withoutFullStop(String formula) {
+        String trimmed = formula.trim();
+        return trimmed.endsWith(".") ? trimmed.substring(0, trimmed.length() - 1) : trimmed;
+    }
+
+    /**
+     * The method is used to get the number of axioms
+     *
+     * @return int is the number of axioms added
+     */
+    public int getAxiomCount() {
+        return axiomCount;
+    }
+
+    /**
+     * The method is used to get the number of retained clauses
+     *
+     * @return int is the number of axiom clauses and retained resolvents
+     */
+    public int getRetainedClauseCount() {
+        return resolver.getClauses().size();
+    }
+
+    /**
+     * The method is used to get the retained clauses
+     *
+     * @return ClauseStore holds the axiom clauses and retained resolvents
+     */
+    public ClauseStore getRetainedClauses() {
+        return resolver.getClauses();
+    }
+
+    /**
+     * The method is used to get the symbol table of the session
+     *
+     * @return SymbolTable maps the variable numbers of the clauses to atoms
+     */
+    public SymbolTable getSymbols() {
+        return symbols;
+    }
+}
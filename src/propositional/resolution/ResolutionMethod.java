@@ -1,5 +1,8 @@
 package propositional.resolution;
 
+import common.ClauseSink;
+import common.jfr.ResolutionStepEvent;
+import common.metrics.MetricsRegistry;
 import inputoutput.InputReader;
 import java.util.ArrayList;
 import java.util.Iterator;
@@ -22,9 +25,10 @@ import propositional.scanner.Token;
 /*******************************************************************************
  * The ResolutionMethod class is used to carry out resolution proof on a given
  * propositional formula. It uses NormalFormAlgorithm and other classes to
- * achive its task.
+ * achive its task. It can also be used as a clause sink, so that a clause
+ * producer feeds the clauses to be resolved directly into it.
  ******************************************************************************/
-public class ResolutionMethod {
+public class ResolutionMethod implements ClauseSink<NormalForm> {
     /** Allows to normalise a formula into conjunctive normal form */
     private NormalFormAlgorithm normalise;
     /** The conjunctive normal form of the input formula */
@@ -51,6 +55,28 @@ public class ResolutionMethod {
         negLiteral = new ArrayList<Formula>();
     }
 
+    /**
+     * Initialise the instance variables for resolving clauses that are fed in
+     * through addClause, instead of normalising a formula
+     */
+    public ResolutionMethod() {
+        cnForm = new NFList();
+        literal = new ArrayList<Formula>();
+        negLiteral = new ArrayList<Formula>();
+    }
+
+    /**
+     * This method is used to feed a clause of the conjunctive normal form into
+     * the resolution method
+     * 
+     * @param clause
+     *            NormalForm is the disjunction to add
+     */
+    @Override
+    public void addClause(NormalForm clause) {
+        cnForm.addClause(clause);
+    }
+
     /**
      * This method is used by the resolve method to find all literals that might
      * be resolved.
@@ -100,6 +126,27 @@ public class ResolutionMethod {
         }
     }
 
+    /**
+     * This method resolves a selected literal against the conjunctive normal
+     * form and reports the step to the flight recorder
+     * 
+     * @param formula
+     *            is the literal selected for resolving
+     */
+    private void resolveLiteral(Formula formula) {
+        ResolutionStepEvent event = new ResolutionStepEvent();
+        event.begin();
+        int before = literal.size() + negLiteral.size();
+        this.findLiterals(formula);
+        if (event.shouldCommit()) {
+            event.logic = "propositional";
+            event.literal = formula.toString();
+            event.clauses = cnForm.size();
+            event.resolvedLiterals = literal.size() + negLiteral.size() - before;
+            event.commit();
+        }
+    }
+
     /**
      * This method resolves the conjunctive normal form, to see if the
      * proposition is valid. It uses two methods to compare literals from the
@@ -108,7 +155,21 @@ public class ResolutionMethod {
      * @return boolean: true is the formula is a tautology, false otherwise
      */
     public boolean resolve() {
-        cnForm = normalise.getNormalForm();
+        long start = System.nanoTime();
+        boolean valid = this.resolveClauses();
+        MetricsRegistry.getDefault().recordEngineSince("resolution-method", start);
+        return valid;
+    }
+
+    /**
+     * This method normalises the formula if needed and resolves its clauses
+     * 
+     * @return boolean: true is the formula is a tautology, false otherwise
+     */
+    private boolean resolveClauses() {
+        if (normalise != null) {
+            cnForm = normalise.getNormalForm();
+        }
         ListIterator it = cnForm.listIterator();
         NormalForm temp;
         // int i = 0;
@@ -121,13 +182,13 @@ public class ResolutionMethod {
                 if (f instanceof Propositional) {
                     literal.add(f);
                     it2.remove();
-                    this.findLiterals(f);
+                    this.resolveLiteral(f);
                     it2 = temp.iterator(); // is this ok
                     it = cnForm.listIterator();
                 } else if (f instanceof Unary) {
                     negLiteral.add(f);
                     it2.remove();
-                    this.findLiterals(f);
+                    this.resolveLiteral(f);
                     it2 = temp.iterator(); // is this ok
                     it = cnForm.listIterator();
                 }
@@ -0,0 +1,239 @@
+package propositional.resolution;
+
+import common.ClauseSink;
+import common.metrics.MetricsRegistry;
+import java.util.Arrays;
+
+/* <p>Title:Propositional Theorem Prover</p>
+ * <p>Description: A theorem prover for propositional logic.</p>
+ * <p>Copyright: Copyright (c) 2005</p>
+ * <p>Department: Computer Science</p>
+ * @author Mark Schlichtmann
+ * @version 2.0*/
+/*******************************************************************************
+ * The TwoSatSolver class decides sets of clauses with at most two literals in
+ * time linear in their size. Each clause a | b is read as the implications
+ * !a => b and !b => a, a unit clause a as !a => a, and the clauses are
+ * unsatisfiable exactly when some atom and its negation imply each other, so
+ * they lie in one strongly connected component of the implication graph.
+ *
+ * The graph has a node per literal, the negation of literal node x being
+ * node x ^ 1, and its edges are held in compressed rows: the successors of
+ * node x are edges[first[x]] up to edges[first[x + 1]]. Tarjan's algorithm
+ * finds the components with an explicit stack instead of recursion, so
+ * implication chains of millions of atoms do not overflow the thread stack.
+ * It numbers the components in reverse topological order, and making each
+ * literal true whose component comes before that of its negation gives a
+ * model.
+ ******************************************************************************/
+public class TwoSatSolver implements ClauseSink<int[]> {
+    /** The first and second literal of each clause, equal for units */
+    private int[] literals = new int[64];
+    /** The number of clauses stored */
+    private int clauseCount;
+    /** The largest variable of the clauses */
+    private int maxVariable;
+    /** Cleared by the first clause with more than two literals */
+    private boolean twoSat = true;
+    /** Set by an empty clause */
+    private boolean empty;
+    /** The value of each variable in the model, after solve */
+    private boolean[] model;
+    /** Set by solve when the clauses are unsatisfiable */
+    private boolean unsatisfiable;
+    /** Set when solve has run */
+    private boolean solved;
+
+    /**
+     * This method adds a clause. Duplicate literals are removed and
+     * tautologies dropped.
+     *
+     * @param clause
+     *            int[] is the clause as signed variable numbers
+     */
+    @Override
+    public void addClause(int[] clause) {
+        solved = false;
+        if (clause.length == 0) {
+            empty = true;
+            return;
+        }
+        int first = clause[0];
+        int second = first;
+        for (int literal : clause) {
+            if (literal == -first || literal == -second) {
+                return;
+            }
+            if (literal != first && literal != second) {
+                if (second != first) {
+                    twoSat = false;
+                    return;
+                }
+                second = literal;
+            }
+        }
+        if (2 * clauseCount + 2 > literals.length) {
+            literals = Arrays.copyOf(literals, 2 * literals.length);
+        }
+        literals[2 * clauseCount] = first;
+        literals[2 * clauseCount + 1] = second;
+        ++clauseCount;
+        maxVariable = Math.max(maxVariable, Math.max(Math.abs(first), Math.abs(second)));
+    }
+
+    @Override
+    public void close() {
+    }
+
+    /**
+     * The method is used to find out whether the clauses are 2-SAT
+     *
+     * @return boolean is true if no clause has more than two distinct
+     *         literals
+     */
+    public boolean isTwoSat() {
+        return twoSat;
+    }
+
+    /**
+     * This method decides the clauses through the components of their
+     * implication graph
+     *
+     * @return boolean is true if the clauses have a model
+     * @throws IllegalStateException
+     *             if a clause has more than two literals
+     */
+    public boolean isSatisfiable() {
+        if (!twoSat) {
+            throw new IllegalStateException("a clause has more than two literals");
+        }
+        if (!solved) {
+            solve();
+        }
+        return !unsatisfiable;
+    }
+
+    /** Returns the node of a literal */
+    private static int node(int literal) {
+        return literal > 0 ? 2 * (literal - 1) : 2 * (-literal - 1) + 1;
+    }
+
+    /**
+     * This method builds the implication graph and runs Tarjan's algorithm
+     */
+    private void solve() {
+        int nodes = 2 * maxVariable;
+        int[] first = new int[nodes + 1];
+        for (int i = 0; i < 2 * clauseCount; i += 2) {
+            // !a => b and, unless the clause is a unit, !b => a
+            ++first[node(literals[i]) ^ 1];
+            if (literals[i] != literals[i + 1]) {
+                ++first[node(literals[i + 1]) ^ 1];
+            }
+        }
+        for (int x = 0, sum = 0; x <= nodes; x++) {
+            int count = x < nodes ? first[x] : 0;
+            first[x] = sum;
+            sum += count;
+        }
+        int[] edges = new int[first[nodes]];
+        int[] fill = Arrays.copyOf(first, nodes);
+        for (int i = 0; i < 2 * clauseCount; i += 2) {
+            int a = node(literals[i]);
+            int b = node(literals[i + 1]);
+            edges[fill[a ^ 1]++] = b;
+            if (a != b) {
+                edges[fill[b ^ 1]++] = a;
+            }
+        }
+        int[] component = components(nodes, first, edges);
+        unsatisfiable = empty;
+        model = new boolean[maxVariable + 1];
+        for (int variable = 1; variable <= maxVariable && !unsatisfiable; variable++) {
+            int positive = component[2 * (variable - 1)];
+            int negative = component[2 * (variable - 1) + 1];
+            unsatisfiable = positive == negative;
+            model[variable] = positive < negative;
+        }
+        solved = true;
+        MetricsRegistry.getDefault().increment("twosat.decided");
+    }
+
+    /**
+     * Numbers the strongly connected components of a graph in reverse
+     * topological order with Tarjan's algorithm, without recursion
+     *
+     * @return int[] is the component of each node
+     */
+    private static int[] components(int nodes, int[] first, int[] edges) {
+        int[] order = new int[nodes];
+        int[] low = new int[nodes];
+        int[] component = new int[nodes];
+        Arrays.fill(component, -1);
+        // the path of the depth first search, with the next edge of each node
+        int[] path = new int[nodes];
+        int[] nextEdge = new int[nodes];
+        // the nodes visited but not yet assigned to a component
+        int[] stack = new int[nodes];
+        int stackSize = 0;
+        int visited = 0;
+        int components = 0;
+        for (int root = 0; root < nodes; root++) {
+            if (order[root] != 0) {
+                continue;
+            }
+            int depth = 0;
+            path[0] = root;
+            nextEdge[root] = first[root];
+            order[root] = low[root] = ++visited;
+            stack[stackSize++] = root;
+            while (depth >= 0) {
+                int x = path[depth];
+                if (nextEdge[x] < first[x + 1]) {
+                    int y = edges[nextEdge[x]++];
+                    if (order[y] == 0) {
+                        order[y] = low[y] = ++visited;
+                        stack[stackSize++] = y;
+                        nextEdge[y] = first[y];
+                        path[++depth] = y;
+                    } else if (component[y] < 0) {
+                        low[x] = Math.min(low[x], order[y]);
+                    }
+                    continue;
+                }
+                if (low[x] == order[x]) {
+                    int y;
+                    do {
+                        y = stack[--stackSize];
+                        component[y] = components;
+                    } while (y != x);
+                    ++components;
+                }
+                if (--depth >= 0) {
+                    int parent = path[depth];
+                    low[parent] = Math.min(low[parent], low[x]);
+                }
+            }
+        }
+        return component;
+    }
+
+    /**
+     * This method returns a model of satisfiable clauses
+     *
+     * @return boolean[] is the value of each variable, indexed by variable
+     *         number, or null if the clauses are unsatisfiable
+     * @throws IllegalStateException
+     *             if a clause has more than two literals
+     */
+    public boolean[] getModel() {
+        return isSatisfiable() ? model.clone() : null;
+    }
+
+    /**
+     * @return int is the number of clauses kept, tautologies not counted
+     */
+    public int size() {
+        return clauseCount;
+    }
+}
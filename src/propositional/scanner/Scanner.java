@@ -1,5 +1,9 @@
 package propositional.scanner;
 
+import common.EngineEvents;
+import common.jfr.ScanEvent;
+import common.metrics.MetricsRegistry;
+import common.metrics.Stage;
 import inputoutput.InputReader;
 import java.util.ArrayList;
 
@@ -17,6 +21,8 @@ import java.util.ArrayList;
 public class Scanner {
     /** The input String is converted to a char array for processing */
     private char[] formula;
+    /** The position of the next character to scan in the char array */
+    private int position;
     /** A buffer is used to hold individual tokens */
     private char[] buffer;
     /** A TokenGenerator instance is used to generate the tokens */
@@ -66,14 +72,19 @@ public class Scanner {
      *            int is the number of chars the method should shift forward
      */
     private void shiftChar(int chars) {
-        char[] temp = new char[(formula.length - chars)];
-        for (int i = chars; i < formula.length; i++) {
-            temp[(i - chars)] = formula[i];
-        }
-        formula = temp;
+        position += chars;
         return;
     }
 
+    /**
+     * This method is used to get the number of characters left to scan
+     * 
+     * @return int is the number of characters after the current position
+     */
+    private int remaining() {
+        return formula.length - position;
+    }
+
     /**
      * This method is used to tokanise a symbol scanned by the scanner. It
      * creates a token of type Token and also returns a String version of that
@@ -88,7 +99,7 @@ public class Scanner {
     private String nextItem(int chars, Precedence type) {
         buffer = new char[chars];
         for (int i = 0; i < chars; i++) {
-            buffer[i] = formula[i];
+            buffer[i] = formula[position + i];
         }
         tokens.makeToken(new String(buffer), type);
         this.shiftChar(chars);
@@ -102,8 +113,8 @@ public class Scanner {
      * @return String is the string representing the token
      */
     public String getCharState() {
-        while (formula.length != 0) {
-            switch (formula[0]) {
+        while (remaining() != 0) {
+            switch (formula[position]) {
                 // tokenising bracket symbols
                 case '(':
                 case ')':
@@ -117,7 +128,7 @@ public class Scanner {
                     return nextItem(1, Precedence.AND);
                 // tokenising iff connective "<=>"
                 case '<':
-                    if (formula.length > 2 && (formula[1] == '=' && formula[2] == '>')) {
+                    if (remaining() > 2 && (formula[position + 1] == '=' && formula[position + 2] == '>')) {
                         return nextItem(3, Precedence.IFF);
                     }
                     System.out.println("There was an error in your input. Please try again.");
@@ -125,7 +136,7 @@ public class Scanner {
                     return "";
                 // tokenising implies connective "=>"
                 case '=':
-                    if (formula.length > 1 && formula[1] == '>') {
+                    if (remaining() > 1 && formula[position + 1] == '>') {
                         return nextItem(2, Precedence.IMPLY);
                     }
                     System.out.println("There was an error in your input. Please try again.");
@@ -140,17 +151,17 @@ public class Scanner {
                 // End of input string
                 case '.':
                     tokens.makeToken(")", Precedence.BRACKETS);
-                    System.out.println("Scanning process completed successfully.");
+                    EngineEvents.getListener().scanningCompleted();
                     return "";
                 // tokenising predicate symbols
                 default:
-                    if (formula.length > 3 && (this.isNumber(formula[3]) && this.isNumber(formula[1]) && this.isNumber(formula[2]))) {
+                    if (remaining() > 3 && (this.isNumber(formula[position + 3]) && this.isNumber(formula[position + 1]) && this.isNumber(formula[position + 2]))) {
                         System.out.println("There was an error in your input. Please try again.");
                         tokens.clearTokens();
                         return "";
-                    } else if ((formula.length > 2) && (this.isNumber(formula[1]) && this.isNumber(formula[2]))) {
+                    } else if ((remaining() > 2) && (this.isNumber(formula[position + 1]) && this.isNumber(formula[position + 2]))) {
                         return nextItem(3, Precedence.PREDICATE);
-                    } else if (formula.length > 1 && this.isNumber(formula[1])) {
+                    } else if (remaining() > 1 && this.isNumber(formula[position + 1])) {
                         return nextItem(2, Precedence.PREDICATE);
                     } else {
                         return nextItem(1, Precedence.PREDICATE);
@@ -167,10 +178,21 @@ public class Scanner {
      * @return ArrayList is an ArrayList containing the tokens
      */
     public ArrayList<Token> getTokens() {
+        long start = System.nanoTime();
+        ScanEvent event = new ScanEvent();
+        event.begin();
+        int length = remaining();
         String s = "";
         do {
             s = this.getCharState();
         } while (s.length() != 0);
+        if (event.shouldCommit()) {
+            event.logic = "propositional";
+            event.inputLength = length;
+            event.tokens = tokens.getTokens().size();
+            event.commit();
+        }
+        MetricsRegistry.getDefault().recordSince(Stage.SCAN, start);
         return tokens.getTokens();
     }
 
@@ -182,6 +204,7 @@ public class Scanner {
      */
     public void setInput(String s) {
         this.formula = s.toCharArray();
+        this.position = 0;
     }
 
     public static void main(String[] args) {
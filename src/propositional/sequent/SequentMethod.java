@@ -1,8 +1,13 @@
 package propositional.sequent;
 
+import common.jfr.SequentBranchCloseEvent;
+import common.jfr.SequentBranchOpenEvent;
+import common.metrics.MetricsRegistry;
+import common.metrics.Stage;
 import inputoutput.InputReader;
 import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.concurrent.CancellationException;
 import propositional.common.Binary;
 import propositional.common.Formula;
 import propositional.common.Propositional;
@@ -97,6 +102,30 @@ public class SequentMethod {
         return false;
     }
 
+    /**
+     * This method adds the two branches created by a branching rule to the
+     * sequents waiting for expansion and to the proof display.
+     * 
+     * @param left
+     *            Sequent is the first branch
+     * @param right
+     *            Sequent is the second branch
+     * @param rule
+     *            String is the name of the rule that caused the branching
+     */
+    private void openBranches(Sequent left, Sequent right, String rule) {
+        this.sequentsList.addSequent(left);
+        this.sequentsList.addSequent(right);
+        displayStack.pushSequent(left.cloneSequent());
+        displayStack.pushSequent(right.cloneSequent());
+        SequentBranchOpenEvent event = new SequentBranchOpenEvent();
+        if (event.shouldCommit()) {
+            event.rule = rule;
+            event.openBranches = sequentsList.size();
+            event.commit();
+        }
+    }
+
     /**
      * This method is used to apply sequent derivation rules to the succedent
      * part of the sequent.
@@ -130,10 +159,7 @@ public class SequentMethod {
             Sequent left = new Sequent(sequent.getAntecedent(), succe);
             Sequent right = new Sequent(ante, sequent.getSuccedent());
             // application of rule causes branching of sequent
-            this.sequentsList.addSequent(left);
-            this.sequentsList.addSequent(right);
-            displayStack.pushSequent(left.cloneSequent());
-            displayStack.pushSequent(right.cloneSequent());
+            this.openBranches(left, right, "implication left");
             return true;
             // derivation rule applied to a disjunction formula
         } else if (formula.getToken().getType() == Precedence.OR) {
@@ -144,10 +170,7 @@ public class SequentMethod {
             Sequent left = new Sequent(ante1, sequent.getSuccedent());
             Sequent right = new Sequent(ante2, sequent.getSuccedent());
             // application of rule causes branching of sequent
-            this.sequentsList.addSequent(left);
-            this.sequentsList.addSequent(right);
-            displayStack.pushSequent(left.cloneSequent());
-            displayStack.pushSequent(right.cloneSequent());
+            this.openBranches(left, right, "disjunction left");
             return true;
             // derivation rule applied to a conjunction formula
         } else if (formula.getToken().getType() == Precedence.OR) {
@@ -186,10 +209,7 @@ public class SequentMethod {
             Sequent left = new Sequent(sequent.getAntecedent(), succe1);
             Sequent right = new Sequent(sequent.getAntecedent(), succe2);
             // application of rule causes branching of sequent
-            this.sequentsList.addSequent(left);
-            this.sequentsList.addSequent(right);
-            displayStack.pushSequent(left.cloneSequent());
-            displayStack.pushSequent(right.cloneSequent());
+            this.openBranches(left, right, "equivalence right");
             return true;
             // derivation rule applied to an implication formula
         } else if (formula.getToken().getType() == Precedence.IMPLY) {
@@ -212,10 +232,7 @@ public class SequentMethod {
             Sequent left = new Sequent(sequent.getAntecedent(), succe1);
             Sequent right = new Sequent(sequent.getAntecedent(), succe2);
             // application of rule causes branching of sequent
-            this.sequentsList.addSequent(left);
-            this.sequentsList.addSequent(right);
-            displayStack.pushSequent(left.cloneSequent());
-            displayStack.pushSequent(right.cloneSequent());
+            this.openBranches(left, right, "conjunction right");
             return true;
         }
         return true;
@@ -272,10 +289,17 @@ public class SequentMethod {
      * This method is used to search for sequents containing formulas that have
      * to be expanded. It fully expand a formula and generates the proof
      * sequence.
+     * 
+     * @throws CancellationException
+     *             if the thread is interrupted during the search
      */
     public void searchSequent() {
+        long start = System.nanoTime();
         it = sequentsList.iterator();
         while (it.hasNext()) {
+            if (Thread.currentThread().isInterrupted()) {
+                throw new CancellationException("the sequent search was interrupted");
+            }
             Sequent sequent = this.sequentsList.peekSequent();
             if (notFinished(sequent)) {
                 displayStack.pushSequent(sequent.cloneSequent());
@@ -284,18 +308,45 @@ public class SequentMethod {
             } else {
                 // displayStack.pushSequent(sequent.cloneSequent());
                 sequentsList.removeSequent();
+                SequentBranchCloseEvent event = new SequentBranchCloseEvent();
+                if (event.shouldCommit()) {
+                    event.formulas = sequent.getAntecedent().size() + sequent.getSuccedent().size();
+                    event.openBranches = sequentsList.size();
+                    event.commit();
+                }
             }
         }
+        MetricsRegistry.getDefault().recordEngineSince("sequent", start);
     }
 
     /** This method displays the proof constructed by this class to the console */
     public void display() {
+        long start = System.nanoTime();
         System.out.println();
         while (!displayStack.isEmpty()) {
             System.out.println(this.displayStack.size() + "\t" + displayStack.popSequent());
             System.out.println("------------------------");
         }
         System.out.println("Proof verifcation: generated by Sequent proof method");
+        MetricsRegistry.getDefault().recordSince(Stage.RENDER, start);
+    }
+
+    /**
+     * This method returns the proof constructed by this class as text, in the
+     * form display writes it, without emptying the proof stack
+     *
+     * @return String is the proof, one sequent after the other
+     */
+    public String getProof() {
+        long start = System.nanoTime();
+        StringBuilder proof = new StringBuilder();
+        for (int i = displayStack.size() - 1; i >= 0; i--) {
+            proof.append(i + 1).append('\t').append(displayStack.get(i)).append('\n');
+            proof.append("------------------------\n");
+        }
+        proof.append("Proof verifcation: generated by Sequent proof method\n");
+        MetricsRegistry.getDefault().recordSince(Stage.RENDER, start);
+        return proof.toString();
     }
 
     @SuppressWarnings("unchecked")
@@ -0,0 +1,312 @@
+package propositional.truthtable;
+
+import common.metrics.MetricsRegistry;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicLong;
+import propositional.common.Formula;
+import propositional.common.Propositional;
+import propositional.common.Unary;
+import propositional.scanner.Precedence;
+
+/* <p>Title:Propositional Theorem Prover</p>
+ * <p>Description: A theorem prover for propositional logic.</p>
+ * <p>Copyright: Copyright (c) 2005</p>
+ * <p>Department: Computer Science</p>
+ * @author Mark Schlichtmann
+ * @version 2.0*/
+/*******************************************************************************
+ * The TruthTableMethod class decides propositional formulas with few atoms by
+ * evaluating them under every assignment, 64 assignments at a time. The
+ * formula is compiled into a straight line program over long words, one
+ * instruction per distinct subformula, in which each bit of a word belongs to
+ * one assignment. Within a word the first six atoms take the patterns 1010...,
+ * 1100... up to 32 ones after 32 zeros, and the remaining atoms are constant
+ * across the word and taken from the bits of the word number, so bit b of
+ * word w is the assignment numbered 64w + b, atom i being true when bit i of
+ * that number is set.
+ *
+ * Large tables are swept in chunks of words on a fork-join pool. A chunk
+ * stops as soon as a falsifying assignment numbered below it is known, and
+ * the lowest falsifying assignment found is the countermodel, so the result
+ * does not depend on the scheduling. The chunks also stop when the thread
+ * that started the sweep is interrupted.
+ ******************************************************************************/
+public class TruthTableMethod {
+    /** The largest number of atoms accepted */
+    public static final int MAX_ATOMS = 30;
+    /** The number of atoms that vary within a word */
+    private static final int WORD_ATOMS = 6;
+    /** The number of words swept by one task */
+    private static final int CHUNK_WORDS = 1 << 10;
+    /** The number of words after which a task looks for earlier results */
+    private static final int POLL_WORDS = 64;
+    /** The value of the first six atoms in the bits of a word */
+    private static final long[] PATTERNS = {0xAAAAAAAAAAAAAAAAL, 0xCCCCCCCCCCCCCCCCL, 0xF0F0F0F0F0F0F0F0L,
+        0xFF00FF00FF00FF00L, 0xFFFF0000FFFF0000L, 0xFFFFFFFF00000000L};
+    /** The instructions of the program */
+    private static final int NOT = 0;
+    private static final int AND = 1;
+    private static final int OR = 2;
+    private static final int IMPLY = 3;
+    private static final int IFF = 4;
+    /** No falsifying assignment has been found */
+    private static final long NONE = Long.MAX_VALUE;
+
+    /** The atoms, atom i being register i */
+    private final String[] atoms;
+    /** Operation and operand registers of each instruction */
+    private final int[] program;
+    /** The number of instructions; instruction i writes register atoms + i */
+    private final int instructions;
+    /** The register holding the value of the formula */
+    private final int result;
+    /** The bits of a word that belong to an assignment */
+    private final long validBits;
+    /** The lowest falsifying assignment found */
+    private final AtomicLong falsified;
+    /** The thread that started the sweep */
+    private final Thread caller;
+
+    /**
+     * Initialising the method and sweeping the table on the common pool
+     *
+     * @param formula
+     *            Formula is the formula to decide
+     */
+    public TruthTableMethod(Formula formula) {
+        this(formula, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Initialising the method and sweeping the table
+     *
+     * @param formula
+     *            Formula is the formula to decide
+     * @param pool
+     *            ForkJoinPool is the pool that sweeps large tables
+     * @throws CancellationException
+     *             if the calling thread is interrupted during the sweep
+     */
+    public TruthTableMethod(Formula formula, ForkJoinPool pool) {
+        long start = System.nanoTime();
+        Map<String, Integer> atomRegisters = new LinkedHashMap<String, Integer>();
+        collectAtoms(formula, atomRegisters);
+        if (atomRegisters.size() > MAX_ATOMS) {
+            throw new IllegalArgumentException("a truth table of " + atomRegisters.size() + " atoms is too large, at most "
+                    + MAX_ATOMS + " are allowed");
+        }
+        atoms = atomRegisters.keySet().toArray(new String[0]);
+        Compiler compiler = new Compiler(atomRegisters);
+        result = compiler.compile(formula);
+        program = Arrays.copyOf(compiler.program, 3 * compiler.instructions);
+        instructions = compiler.instructions;
+        validBits = atoms.length >= WORD_ATOMS ? -1L : (1L << (1 << atoms.length)) - 1;
+        falsified = new AtomicLong(NONE);
+        caller = Thread.currentThread();
+        long words = 1L << Math.max(0, atoms.length - WORD_ATOMS);
+        if (words <= CHUNK_WORDS) {
+            new Sweep(0, words).compute();
+        } else {
+            pool.invoke(new Sweep(0, words));
+        }
+        if (caller.isInterrupted()) {
+            throw new CancellationException("the truth table was interrupted");
+        }
+        MetricsRegistry.getDefault().recordEngineSince("truth-table", start);
+        MetricsRegistry.getDefault().counter("truthtable.words").add(words);
+    }
+
+    /** Numbers the atoms in the order of their first occurrence */
+    private static void collectAtoms(Formula formula, Map<String, Integer> atomRegisters) {
+        if (formula instanceof Propositional) {
+            atomRegisters.putIfAbsent(formula.getToken().getData(), atomRegisters.size());
+        } else if (formula instanceof Unary) {
+            collectAtoms(formula.getRightPredicate(), atomRegisters);
+        } else {
+            collectAtoms(formula.getleftPredicate(), atomRegisters);
+            collectAtoms(formula.getRightPredicate(), atomRegisters);
+        }
+    }
+
+    /***************************************************************************
+     * The Compiler emits one instruction per distinct subformula, so a
+     * subformula that occurs several times is evaluated once.
+     **************************************************************************/
+    private static final class Compiler {
+        private final Map<String, Integer> atomRegisters;
+        private final Map<Long, Integer> known = new HashMap<Long, Integer>();
+        private int[] program = new int[48];
+        private int instructions;
+
+        private Compiler(Map<String, Integer> atomRegisters) {
+            this.atomRegisters = atomRegisters;
+        }
+
+        /** Returns the register holding the value of a formula */
+        private int compile(Formula formula) {
+            if (formula instanceof Propositional) {
+                return atomRegisters.get(formula.getToken().getData());
+            }
+            if (formula instanceof Unary) {
+                return emit(NOT, compile(formula.getRightPredicate()), 0);
+            }
+            int left = compile(formula.getleftPredicate());
+            int right = compile(formula.getRightPredicate());
+            Precedence connective = formula.getToken().getType();
+            if (connective == Precedence.AND) {
+                return emit(AND, left, right);
+            } else if (connective == Precedence.OR) {
+                return emit(OR, left, right);
+            } else if (connective == Precedence.IMPLY) {
+                return emit(IMPLY, left, right);
+            } else if (connective == Precedence.IFF) {
+                return emit(IFF, left, right);
+            }
+            throw new IllegalArgumentException("unknown connective " + formula.getToken());
+        }
+
+        private int emit(int operation, int left, int right) {
+            if (operation == AND || operation == OR || operation == IFF) {
+                int low = Math.min(left, right);
+                right = Math.max(left, right);
+                left = low;
+            }
+            Long key = ((long) operation << 56) | ((long) left << 28) | right;
+            Integer register = known.get(key);
+            if (register != null) {
+                return register;
+            }
+            if (3 * instructions == program.length) {
+                program = Arrays.copyOf(program, 2 * program.length);
+            }
+            program[3 * instructions] = operation;
+            program[3 * instructions + 1] = left;
+            program[3 * instructions + 2] = right;
+            register = atomRegisters.size() + instructions++;
+            known.put(key, register);
+            return register;
+        }
+    }
+
+    /***************************************************************************
+     * A Sweep evaluates the program on a range of words, splitting large
+     * ranges into tasks of their own.
+     **************************************************************************/
+    private final class Sweep extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        private final long from;
+        private final long to;
+
+        private Sweep(long from, long to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > CHUNK_WORDS) {
+                long middle = (from + to) >>> 1;
+                invokeAll(new Sweep(from, middle), new Sweep(middle, to));
+                return;
+            }
+            long[] registers = new long[atoms.length + instructions];
+            for (int atom = 0; atom < Math.min(WORD_ATOMS, atoms.length); atom++) {
+                registers[atom] = PATTERNS[atom];
+            }
+            for (long word = from; word < to; word++) {
+                if ((word - from) % POLL_WORDS == 0 && (falsified.get() < word << WORD_ATOMS || caller.isInterrupted())) {
+                    return;
+                }
+                for (int atom = WORD_ATOMS; atom < atoms.length; atom++) {
+                    registers[atom] = -((word >>> (atom - WORD_ATOMS)) & 1L);
+                }
+                long value = run(registers);
+                long falsifying = ~value & validBits;
+                if (falsifying != 0) {
+                    long assignment = (word << WORD_ATOMS) + Long.numberOfTrailingZeros(falsifying);
+                    falsified.accumulateAndGet(assignment, Math::min);
+                    return;
+                }
+            }
+        }
+    }
+
+    /** Runs the program on the atoms in the registers */
+    private long run(long[] registers) {
+        int target = atoms.length;
+        for (int i = 0; i < 3 * instructions; i += 3) {
+            long left = registers[program[i + 1]];
+            long right = registers[program[i + 2]];
+            long value;
+            switch (program[i]) {
+            case NOT:
+                value = ~left;
+                break;
+            case AND:
+                value = left & right;
+                break;
+            case OR:
+                value = left | right;
+                break;
+            case IMPLY:
+                value = ~left | right;
+                break;
+            default:
+                value = ~(left ^ right);
+                break;
+            }
+            registers[target++] = value;
+        }
+        return registers[result];
+    }
+
+    /**
+     * This method returns the result of the sweep
+     *
+     * @return boolean is true if the formula is true under every assignment
+     */
+    public boolean isTheorem() {
+        return falsified.get() == NONE;
+    }
+
+    /**
+     * This method returns the first assignment in the order of the table that
+     * falsifies the formula
+     *
+     * @return Map is the value of each atom, or null if the formula is a
+     *         theorem
+     */
+    public Map<String, Boolean> getCountermodel() {
+        long assignment = falsified.get();
+        if (assignment == NONE) {
+            return null;
+        }
+        Map<String, Boolean> model = new LinkedHashMap<String, Boolean>();
+        for (int atom = 0; atom < atoms.length; atom++) {
+            model.put(atoms[atom], ((assignment >>> atom) & 1L) != 0);
+        }
+        return model;
+    }
+
+    /**
+     * @return List is the atoms, in the order of their bits in an assignment
+     */
+    public List<String> getAtoms() {
+        return new ArrayList<String>(Arrays.asList(atoms));
+    }
+
+    /**
+     * @return int is the number of instructions of the compiled program
+     */
+    public int getInstructionCount() {
+        return instructions;
+    }
+}
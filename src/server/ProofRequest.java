@@ -0,0 +1,167 @@
+package server;
+
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * A formula to prove, as sent by a client of the prover server.
+ *
+ * <p>
+ * On the wire a request is a JSON object on one line:</p>
+ *
+ * <pre>
+ * {"id":"7","logic":"propositional","formula":"(A =&gt; B) &amp; A =&gt; B.","proof":true}
+ * </pre>
+ *
+ * <p>
+ * Only {@code formula} is required. {@code logic} is {@code propositional}
+ * (the default), {@code predicate} or {@code tptp}, the last taking the text
+ * of a TPTP problem of {@code fof} and {@code cnf} formulas. {@code strategy}
+ * names the first order resolution strategy, see
+ * {@code ResolutionStrategy.forName}. {@code proof} asks for a proof in the
+ * response, and {@code id} is echoed back so that clients can match
+ * responses to requests.</p>
+ *
+ * @author Mark Schlichtmann
+ * @version 2.0
+ * @since 2026
+ */
+public class ProofRequest {
+
+    /**
+     * The kinds of input a request can hold.
+     */
+    public enum Logic {
+        /** A formula in the syntax of the propositional scanner */
+        PROPOSITIONAL,
+        /** A formula in the syntax of the predicate scanner */
+        PREDICATE,
+        /** A TPTP problem of fof and cnf formulas */
+        TPTP
+    }
+
+    private final String id;
+    private final Logic logic;
+    private final String formula;
+    private final boolean proof;
+    private final String strategy;
+
+    /**
+     * Creates a request.
+     *
+     * @param id the request id echoed in the response, or {@code null}
+     * @param logic the kind of input
+     * @param formula the formula or problem to prove
+     * @param proof whether the response should hold a proof
+     * @param strategy the first order resolution strategy, or {@code null}
+     *        for the default
+     */
+    public ProofRequest(String id, Logic logic, String formula, boolean proof, String strategy) {
+        if (logic == null || formula == null) {
+            throw new IllegalArgumentException("logic and formula are required");
+        }
+        this.id = id;
+        this.logic = logic;
+        this.formula = formula;
+        this.proof = proof;
+        this.strategy = strategy;
+    }
+
+    /**
+     * Reads a request from one line of JSON.
+     *
+     * @param line the JSON object
+     * @return the request
+     * @throws IllegalArgumentException if the line is not a valid request
+     */
+    public static ProofRequest fromJson(String line) {
+        Map<String, Object> object = Json.parseObject(line);
+        Object formula = object.get("formula");
+        if (!(formula instanceof String)) {
+            throw new IllegalArgumentException("formula must be a string");
+        }
+        Object logic = object.getOrDefault("logic", "propositional");
+        Object proof = object.getOrDefault("proof", Boolean.FALSE);
+        Object strategy = object.get("strategy");
+        Object id = object.get("id");
+        if (!(logic instanceof String) || !(proof instanceof Boolean) || (strategy != null && !(strategy instanceof String))) {
+            throw new IllegalArgumentException("logic and strategy must be strings, proof a boolean");
+        }
+        return new ProofRequest(id == null ? null : id.toString(), logic((String) logic), (String) formula,
+                (Boolean) proof, (String) strategy);
+    }
+
+    private static Logic logic(String name) {
+        try {
+            return Logic.valueOf(name.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("unknown logic: " + name);
+        }
+    }
+
+    /**
+     * Writes the request as one line of JSON.
+     *
+     * @return the JSON object
+     */
+    public String toJson() {
+        StringBuilder json = new StringBuilder("{");
+        if (id != null) {
+            json.append("\"id\":").append(Json.quote(id)).append(',');
+        }
+        json.append("\"logic\":").append(Json.quote(logic.name().toLowerCase(Locale.ROOT)))
+                .append(",\"formula\":").append(Json.quote(formula));
+        if (proof) {
+            json.append(",\"proof\":true");
+        }
+        if (strategy != null) {
+            json.append(",\"strategy\":").append(Json.quote(strategy));
+        }
+        return json.append('}').toString();
+    }
+
+    /**
+     * Returns the request id.
+     *
+     * @return the id, or {@code null}
+     */
+    public String getId() {
+        return id;
+    }
+
+    /**
+     * Returns the kind of input.
+     *
+     * @return the logic
+     */
+    public Logic getLogic() {
+        return logic;
+    }
+
+    /**
+     * Returns the formula or problem to prove.
+     *
+     * @return the formula
+     */
+    public String getFormula() {
+        return formula;
+    }
+
+    /**
+     * Returns whether the response should hold a proof.
+     *
+     * @return true if a proof was asked for
+     */
+    public boolean isProofRequested() {
+        return proof;
+    }
+
+    /**
+     * Returns the name of the first order resolution strategy.
+     *
+     * @return the strategy, or {@code null} for the default
+     */
+    public String getStrategy() {
+        return strategy;
+    }
+}
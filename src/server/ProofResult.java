@@ -0,0 +1,214 @@
+package server;
+
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * The answer of the prover server to one request.
+ *
+ * <p>
+ * On the wire a result is a JSON object on one line, for example:</p>
+ *
+ * <pre>
+ * {"id":"7","verdict":"theorem","stats":{"nanos":81234,"clauses":3,"resolvents":2},"proof":"..."}
+ * </pre>
+ *
+ * <p>
+ * {@code clauses} and {@code proof} are left out when the engine has none to
+ * report, and {@code error} is only present with the verdict
+ * {@code error}.</p>
+ *
+ * @author Mark Schlichtmann
+ * @version 2.0
+ * @since 2026
+ */
+public class ProofResult {
+
+    /**
+     * The possible verdicts.
+     */
+    public enum Verdict {
+        /** The formula is valid, its negation was refuted */
+        THEOREM,
+        /** The clauses were saturated without a refutation */
+        NOT_THEOREM,
+        /** The prover gave up at its clause limit */
+        UNKNOWN,
+        /** The request could not be read or the formula not parsed */
+        ERROR;
+
+        /**
+         * Returns the name of the verdict on the wire.
+         *
+         * @return the name, e.g. not-theorem
+         */
+        public String getLabel() {
+            return name().toLowerCase(Locale.ROOT).replace('_', '-');
+        }
+
+        /**
+         * Reads a verdict from its name on the wire.
+         *
+         * @param label the name, e.g. not-theorem
+         * @return the verdict
+         * @throws IllegalArgumentException if the name is not known
+         */
+        public static Verdict forLabel(String label) {
+            return valueOf(label.toUpperCase(Locale.ROOT).replace('-', '_'));
+        }
+    }
+
+    private final String id;
+    private final Verdict verdict;
+    private final long nanos;
+    private final long clauses;
+    private final long resolvents;
+    private final String proof;
+    private final String error;
+
+    /**
+     * Creates a result.
+     *
+     * @param id the id of the request, or {@code null}
+     * @param verdict the verdict
+     * @param nanos the time spent proving
+     * @param clauses the number of input clauses, or -1 if not known
+     * @param resolvents the number of resolvents built
+     * @param proof the proof, or {@code null}
+     * @param error the reason for the verdict error, or {@code null}
+     */
+    public ProofResult(String id, Verdict verdict, long nanos, long clauses, long resolvents, String proof, String error) {
+        this.id = id;
+        this.verdict = verdict;
+        this.nanos = nanos;
+        this.clauses = clauses;
+        this.resolvents = resolvents;
+        this.proof = proof;
+        this.error = error;
+    }
+
+    /**
+     * Creates the result of a request that could not be answered.
+     *
+     * @param id the id of the request, or {@code null}
+     * @param error the reason
+     * @return the result with the verdict error
+     */
+    public static ProofResult error(String id, String error) {
+        return new ProofResult(id, Verdict.ERROR, 0, -1, 0, null, error);
+    }
+
+    /**
+     * Writes the result as one line of JSON.
+     *
+     * @return the JSON object
+     */
+    public String toJson() {
+        StringBuilder json = new StringBuilder("{");
+        if (id != null) {
+            json.append("\"id\":").append(Json.quote(id)).append(',');
+        }
+        json.append("\"verdict\":").append(Json.quote(verdict.getLabel()))
+                .append(",\"stats\":{\"nanos\":").append(nanos);
+        if (clauses >= 0) {
+            json.append(",\"clauses\":").append(clauses);
+        }
+        json.append(",\"resolvents\":").append(resolvents).append('}');
+        if (proof != null) {
+            json.append(",\"proof\":").append(Json.quote(proof));
+        }
+        if (error != null) {
+            json.append(",\"error\":").append(Json.quote(error));
+        }
+        return json.append('}').toString();
+    }
+
+    /**
+     * Reads a result from one line of JSON.
+     *
+     * @param line the JSON object
+     * @return the result
+     * @throws IllegalArgumentException if the line is not a valid result
+     */
+    @SuppressWarnings("unchecked")
+    public static ProofResult fromJson(String line) {
+        Map<String, Object> object = Json.parseObject(line);
+        Object verdict = object.get("verdict");
+        Object stats = object.get("stats");
+        if (!(verdict instanceof String) || !(stats instanceof Map)) {
+            throw new IllegalArgumentException("verdict and stats are required");
+        }
+        Map<String, Object> numbers = (Map<String, Object>) stats;
+        Object id = object.get("id");
+        return new ProofResult(id == null ? null : id.toString(), Verdict.forLabel((String) verdict),
+                number(numbers.get("nanos"), 0), number(numbers.get("clauses"), -1), number(numbers.get("resolvents"), 0),
+                (String) object.get("proof"), (String) object.get("error"));
+    }
+
+    private static long number(Object value, long missing) {
+        return value instanceof Number ? ((Number) value).longValue() : missing;
+    }
+
+    /**
+     * Returns the id of the request.
+     *
+     * @return the id, or {@code null}
+     */
+    public String getId() {
+        return id;
+    }
+
+    /**
+     * Returns the verdict.
+     *
+     * @return the verdict
+     */
+    public Verdict getVerdict() {
+        return verdict;
+    }
+
+    /**
+     * Returns the time spent proving.
+     *
+     * @return the time in nanoseconds
+     */
+    public long getNanos() {
+        return nanos;
+    }
+
+    /**
+     * Returns the number of input clauses.
+     *
+     * @return the number of clauses, or -1 if not known
+     */
+    public long getClauses() {
+        return clauses;
+    }
+
+    /**
+     * Returns the number of resolvents built.
+     *
+     * @return the number of resolvents
+     */
+    public long getResolvents() {
+        return resolvents;
+    }
+
+    /**
+     * Returns the proof.
+     *
+     * @return the proof, or {@code null}
+     */
+    public String getProof() {
+        return proof;
+    }
+
+    /**
+     * Returns the reason for the verdict error.
+     *
+     * @return the reason, or {@code null}
+     */
+    public String getError() {
+        return error;
+    }
+}
@@ -0,0 +1,342 @@
+package server;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.Channels;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.PosixFileAttributes;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.Arrays;
+import java.util.Set;
+
+/**
+ * A warm prover process for one-shot checks, reached over a Unix domain
+ * socket.
+ *
+ * <p>
+ * Starting a JVM and building the engines costs far more than proving the
+ * small formulas an editor checks as the user types. The daemon pays that
+ * once: it proves a set of sample formulas until the JIT compiler has
+ * compiled the engines, then answers the line delimited JSON of
+ * {@link ProverServer} on a socket file that only the local machine can
+ * reach. The socket is {@code $THEOREM_PROVER_SOCKET}, or
+ * {@code theorem-prover.sock} in {@code $XDG_RUNTIME_DIR}, or
+ * {@code prover.sock} in a directory {@code theorem-prover-<user>} of the
+ * temporary directory that only the user may enter. A file left at the
+ * socket path is only deleted if it is a socket of the user.</p>
+ *
+ * <p>
+ * {@code ProPreTP --check formula} sends one request to the daemon and
+ * prints the answer, and proves the formula in its own process when no
+ * daemon runs. The launch script forwards {@code --check} to the socket
+ * without starting a JVM at all when {@code socat} or {@code nc} is
+ * installed.</p>
+ *
+ * @author Mark Schlichtmann
+ * @version 2.0
+ * @since 2026
+ */
+public final class ProverDaemon {
+
+    /** The environment variable naming the socket file. */
+    public static final String SOCKET_VARIABLE = "THEOREM_PROVER_SOCKET";
+
+    /** The exit code of a check that proved the formula. */
+    public static final int EXIT_THEOREM = 0;
+    /** The exit code of a check that refuted the formula. */
+    public static final int EXIT_NOT_THEOREM = 1;
+    /** The exit code of a check that gave up. */
+    public static final int EXIT_UNKNOWN = 2;
+    /** The exit code of a check that failed. */
+    public static final int EXIT_ERROR = 3;
+
+    /** The permissions of the directory made for the socket. */
+    private static final Set<PosixFilePermission> PRIVATE = PosixFilePermissions.fromString("rwx------");
+
+    /** The number of times each sample formula is proved before serving. */
+    private static final int WARM_UP_ROUNDS = 300;
+
+    private static final ProofRequest[] SAMPLES = {
+        new ProofRequest(null, ProofRequest.Logic.PROPOSITIONAL, "((P => Q) & (Q => R)) => (P => R).", true, null),
+        new ProofRequest(null, ProofRequest.Logic.PROPOSITIONAL, "(!(P & Q)) <=> ((!P) | (!Q)).", false, null),
+        new ProofRequest(null, ProofRequest.Logic.PROPOSITIONAL, "((A | B) & ((!A) | C) & ((!B) | C)) => (C | D).", false, null),
+        new ProofRequest(null, ProofRequest.Logic.PROPOSITIONAL, "P => Q.", false, null),
+        new ProofRequest(null, ProofRequest.Logic.PREDICATE, "P(a) & Q(b) => P(a).", false, null),
+        new ProofRequest(null, ProofRequest.Logic.TPTP,
+                "cnf(a, axiom, ~p(X) | p(f(X))). cnf(b, axiom, p(a)). cnf(g, negated_conjecture, ~p(f(f(a)))).", false, null)
+    };
+
+    private ProverDaemon() {
+    }
+
+    /**
+     * Returns the socket file of the daemon.
+     *
+     * @return {@code $THEOREM_PROVER_SOCKET}, or a file in the runtime
+     *         directory of the user, or a file in a directory named after the
+     *         user in the temporary directory
+     */
+    public static Path defaultSocket() {
+        String socket = System.getenv(SOCKET_VARIABLE);
+        if (socket != null && !socket.isEmpty()) {
+            return Paths.get(socket);
+        }
+        String runtime = System.getenv("XDG_RUNTIME_DIR");
+        if (runtime != null && !runtime.isEmpty() && Files.isDirectory(Paths.get(runtime))) {
+            return Paths.get(runtime, "theorem-prover.sock");
+        }
+        return privateDirectory().resolve("prover.sock");
+    }
+
+    /**
+     * Returns the directory of the socket in the temporary directory, which
+     * others could make first and so is checked before use.
+     */
+    private static Path privateDirectory() {
+        return Paths.get(System.getProperty("java.io.tmpdir"), "theorem-prover-" + System.getProperty("user.name"));
+    }
+
+    /**
+     * Warms up the engines and starts serving on a socket file. A missing
+     * directory of the socket is made, readable by the user only. A socket
+     * file of the user left behind by a daemon that is gone is replaced; any
+     * other file is left alone.
+     *
+     * @param socket the socket file
+     * @param workers the number of proving threads
+     * @return the started server
+     * @throws IOException if another daemon listens on the socket, a file
+     *         that is not a socket of the user is in its place, or it cannot
+     *         be bound
+     */
+    public static ProverServer start(Path socket, int workers) throws IOException {
+        Path directory = socket.toAbsolutePath().getParent();
+        if (directory != null && !Files.exists(directory)) {
+            createPrivateDirectory(directory);
+        } else if (privateDirectory().toAbsolutePath().equals(directory) && !isPrivate(directory)) {
+            throw new IOException(directory + " must belong to " + System.getProperty("user.name") + " and be closed to others");
+        }
+        if (Files.exists(socket, LinkOption.NOFOLLOW_LINKS)) {
+            if (isRunning(socket)) {
+                throw new IOException("a prover daemon already listens on " + socket);
+            }
+            if (!isOwnSocket(socket)) {
+                throw new IOException(socket + " is not a socket of " + System.getProperty("user.name") + ", remove it or choose another socket");
+            }
+            Files.delete(socket);
+        }
+        ProverService service = new ProverService();
+        warmUp(service);
+        ProverServer server = ProverServer.unixDomain(socket, workers, service);
+        server.start();
+        return server;
+    }
+
+    /**
+     * Makes the directory of the socket with permissions 0700 where the file
+     * system has them.
+     */
+    private static void createPrivateDirectory(Path directory) throws IOException {
+        try {
+            Files.createDirectories(directory, PosixFilePermissions.asFileAttribute(PRIVATE));
+        } catch (UnsupportedOperationException e) {
+            Files.createDirectories(directory);
+        }
+    }
+
+    /**
+     * Tells whether a directory is owned by the user running the daemon and
+     * closed to everybody else.
+     */
+    private static boolean isPrivate(Path directory) throws IOException {
+        try {
+            PosixFileAttributes attributes = Files.readAttributes(directory, PosixFileAttributes.class, LinkOption.NOFOLLOW_LINKS);
+            return attributes.isDirectory() && attributes.owner().getName().equals(System.getProperty("user.name"))
+                    && PRIVATE.containsAll(attributes.permissions());
+        } catch (UnsupportedOperationException e) {
+            return true;
+        }
+    }
+
+    /**
+     * Tells whether a file is a socket owned by the user running the
+     * daemon, without following links.
+     */
+    private static boolean isOwnSocket(Path file) throws IOException {
+        try {
+            PosixFileAttributes attributes = Files.readAttributes(file, PosixFileAttributes.class, LinkOption.NOFOLLOW_LINKS);
+            if (!attributes.owner().getName().equals(System.getProperty("user.name"))) {
+                return false;
+            }
+            try {
+                // the file type bits of the mode, S_IFSOCK for a socket
+                return ((Integer) Files.getAttribute(file, "unix:mode", LinkOption.NOFOLLOW_LINKS) & 0170000) == 0140000;
+            } catch (UnsupportedOperationException | IllegalArgumentException e) {
+                return attributes.isOther();
+            }
+        } catch (UnsupportedOperationException e) {
+            // no owners to compare, so nothing is deleted
+            return false;
+        }
+    }
+
+    /**
+     * Proves the sample formulas repeatedly, so that the engines are compiled
+     * before the first real request.
+     */
+    static void warmUp(ProverService service) {
+        for (int round = 0; round < WARM_UP_ROUNDS; round++) {
+            for (ProofRequest sample : SAMPLES) {
+                service.prove(sample);
+            }
+        }
+    }
+
+    /**
+     * Tells whether a daemon accepts connections on a socket file.
+     *
+     * @param socket the socket file
+     * @return true if a connection could be made
+     */
+    public static boolean isRunning(Path socket) {
+        try (SocketChannel channel = SocketChannel.open(StandardProtocolFamily.UNIX)) {
+            return channel.connect(UnixDomainSocketAddress.of(socket));
+        } catch (IOException | UnsupportedOperationException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Sends one request to the daemon and waits for the answer.
+     *
+     * @param socket the socket file of the daemon
+     * @param request the request
+     * @return the answer
+     * @throws IOException if no daemon listens on the socket or it did not
+     *         answer
+     */
+    public static ProofResult query(Path socket, ProofRequest request) throws IOException {
+        try (SocketChannel channel = SocketChannel.open(StandardProtocolFamily.UNIX)) {
+            channel.connect(UnixDomainSocketAddress.of(socket));
+            Writer writer = new OutputStreamWriter(Channels.newOutputStream(channel), StandardCharsets.UTF_8);
+            writer.write(request.toJson());
+            writer.write('\n');
+            writer.flush();
+            channel.shutdownOutput();
+            String line = new BufferedReader(new InputStreamReader(Channels.newInputStream(channel), StandardCharsets.UTF_8)).readLine();
+            if (line == null) {
+                throw new IOException("the prover daemon closed the connection");
+            }
+            try {
+                return ProofResult.fromJson(line);
+            } catch (IllegalArgumentException e) {
+                throw new IOException("the prover daemon answered " + line, e);
+            }
+        } catch (UnsupportedOperationException e) {
+            throw new IOException("Unix domain sockets are not supported", e);
+        }
+    }
+
+    /**
+     * Proves a request with the daemon on the default socket, or in this
+     * process if no daemon answers.
+     *
+     * @param request the request
+     * @return the answer
+     */
+    public static ProofResult prove(ProofRequest request) {
+        try {
+            return query(defaultSocket(), request);
+        } catch (IOException e) {
+            return new ProverService().prove(request);
+        }
+    }
+
+    /**
+     * Runs a one-shot check from the command line and prints the answer as
+     * one line of JSON.
+     *
+     * @param args {@code [--logic propositional|predicate|tptp] [--strategy name] [--proof] formula...},
+     *        the remaining words forming the formula
+     * @return the exit code: 0 for a theorem, 1 for a non-theorem, 2 if the
+     *         prover gave up and 3 for an error
+     */
+    public static int check(String[] args) {
+        String logic = "propositional";
+        String strategy = null;
+        boolean proof = false;
+        int first = 0;
+        while (first < args.length && args[first].startsWith("--")) {
+            if (args[first].equals("--proof")) {
+                proof = true;
+                ++first;
+            } else if (args[first].equals("--logic") && first + 1 < args.length) {
+                logic = args[first + 1];
+                first += 2;
+            } else if (args[first].equals("--strategy") && first + 1 < args.length) {
+                strategy = args[first + 1];
+                first += 2;
+            } else {
+                break;
+            }
+        }
+        ProofResult result;
+        try {
+            String formula = String.join(" ", Arrays.copyOfRange(args, first, args.length));
+            ProofRequest request = ProofRequest.fromJson("{\"logic\":" + Json.quote(logic) + ",\"formula\":" + Json.quote(formula)
+                    + (strategy == null ? "" : ",\"strategy\":" + Json.quote(strategy)) + ",\"proof\":" + proof + "}");
+            result = formula.isEmpty() ? ProofResult.error(null, "no formula given") : prove(request);
+        } catch (IllegalArgumentException e) {
+            result = ProofResult.error(null, e.getMessage());
+        }
+        System.out.println(result.toJson());
+        switch (result.getVerdict()) {
+        case THEOREM:
+            return EXIT_THEOREM;
+        case NOT_THEOREM:
+            return EXIT_NOT_THEOREM;
+        case UNKNOWN:
+            return EXIT_UNKNOWN;
+        default:
+            return EXIT_ERROR;
+        }
+    }
+
+    /**
+     * Runs the daemon until the process is stopped.
+     *
+     * @param args the socket file, optionally followed by the number of
+     *        proving threads
+     * @throws IOException if the socket cannot be bound
+     * @throws InterruptedException if the main thread is interrupted
+     */
+    public static void main(String[] args) throws IOException, InterruptedException {
+        Path socket = args.length > 0 ? Paths.get(args[0]) : defaultSocket();
+        int workers = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        if (isRunning(socket)) {
+            System.out.println("A prover daemon already listens on " + socket);
+            return;
+        }
+        ProverServer server = start(socket, workers);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            try {
+                server.close();
+            } catch (IOException e) {
+                // exiting anyway
+            }
+        }));
+        System.out.println("Prover daemon listening on " + socket + " with " + workers + " proving threads");
+        server.join();
+    }
+}
@@ -0,0 +1,350 @@
+package server;
+
+import common.metrics.MetricsRegistry;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.Channels;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A long running prover that answers requests over a local socket.
+ *
+ * <p>
+ * The server listens on the loopback interface, or on a Unix domain socket
+ * for the {@link ProverDaemon}, and speaks line delimited JSON: a client
+ * writes one {@link ProofRequest} per line and reads one {@link ProofResult}
+ * per line, in the same order, over as many requests as it likes. Each connection is served by a thread of its own, a virtual
+ * thread when the JDK has them, so clients that are slow to write or read do
+ * not hold up anyone else. Proving itself is CPU bound and runs on a fixed
+ * pool of platform threads, one per processor by default; when its queue is
+ * full a request is answered with an error instead of waiting. A proof that
+ * is not done by the deadline is answered with an error too, and its proving
+ * thread is interrupted, which stops the engine.</p>
+ *
+ * <p>
+ * Virtual threads are looked up reflectively, since the code is built for
+ * Java 17, and platform threads are used where they are missing.</p>
+ *
+ * @author Mark Schlichtmann
+ * @version 2.0
+ * @since 2026
+ */
+public class ProverServer implements Closeable {
+
+    /** The port used when none is given. */
+    public static final int DEFAULT_PORT = 7531;
+
+    /** The milliseconds a request may take when no deadline is set. */
+    public static final long DEFAULT_DEADLINE = 30000;
+
+    /** The number of waiting requests allowed per proving thread. */
+    private static final int QUEUE_PER_WORKER = 64;
+
+    private final ServerSocketChannel serverChannel;
+    private final Path socketFile;
+    private final ProverService service;
+    private final ThreadPoolExecutor provers;
+    private final ThreadFactory connections;
+    private final boolean virtual;
+    private final Set<SocketChannel> channels = ConcurrentHashMap.newKeySet();
+    private volatile boolean closed;
+    private volatile long deadline = DEFAULT_DEADLINE;
+    private Thread acceptor;
+
+    /**
+     * Creates a server with one proving thread per processor.
+     *
+     * @param port the port to listen on, 0 for any free port
+     * @throws IOException if the port cannot be bound
+     */
+    public ProverServer(int port) throws IOException {
+        this(port, Runtime.getRuntime().availableProcessors(), new ProverService());
+    }
+
+    /**
+     * Creates a server.
+     *
+     * @param port the port to listen on, 0 for any free port
+     * @param workers the number of proving threads
+     * @param service the service that proves the requests
+     * @throws IOException if the port cannot be bound
+     */
+    public ProverServer(int port, int workers, ProverService service) throws IOException {
+        this(bind(ServerSocketChannel.open(), new InetSocketAddress(InetAddress.getLoopbackAddress(), port)), null,
+                workers, service);
+    }
+
+    /**
+     * Creates a server listening on a Unix domain socket. The socket file is
+     * deleted again when the server is closed.
+     *
+     * @param socketFile the path of the socket file, which must not exist
+     * @param workers the number of proving threads
+     * @param service the service that proves the requests
+     * @return the server, not yet started
+     * @throws IOException if the socket cannot be bound
+     */
+    public static ProverServer unixDomain(Path socketFile, int workers, ProverService service) throws IOException {
+        ServerSocketChannel channel = ServerSocketChannel.open(StandardProtocolFamily.UNIX);
+        return new ProverServer(bind(channel, UnixDomainSocketAddress.of(socketFile)), socketFile, workers, service);
+    }
+
+    private static ServerSocketChannel bind(ServerSocketChannel channel, SocketAddress address) throws IOException {
+        try {
+            return channel.bind(address);
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    private ProverServer(ServerSocketChannel serverChannel, Path socketFile, int workers, ProverService service) {
+        this.serverChannel = serverChannel;
+        this.socketFile = socketFile;
+        this.service = service;
+        provers = new ThreadPoolExecutor(workers, workers, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(workers * QUEUE_PER_WORKER), platformThreads("prover-worker-"));
+        ThreadFactory factory = virtualThreads("prover-connection-");
+        virtual = factory != null;
+        connections = virtual ? factory : platformThreads("prover-connection-");
+    }
+
+    /**
+     * Sets the time a request may take, from its arrival to its answer.
+     *
+     * @param millis the deadline in milliseconds
+     */
+    public void setDeadline(long millis) {
+        deadline = millis;
+    }
+
+    /**
+     * Starts accepting connections in the background.
+     */
+    public synchronized void start() {
+        if (acceptor == null) {
+            acceptor = platformThreads("prover-server-").newThread(this::accept);
+            acceptor.start();
+        }
+    }
+
+    private void accept() {
+        while (!closed) {
+            try {
+                SocketChannel channel = serverChannel.accept();
+                channels.add(channel);
+                connections.newThread(() -> serve(channel)).start();
+            } catch (IOException e) {
+                if (closed) {
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Answers the requests of one connection until the client closes it.
+     */
+    private void serve(SocketChannel channel) {
+        try (SocketChannel connection = channel;
+                BufferedReader reader = new BufferedReader(new InputStreamReader(Channels.newInputStream(connection), StandardCharsets.UTF_8));
+                Writer writer = new BufferedWriter(new OutputStreamWriter(Channels.newOutputStream(connection), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.isBlank()) {
+                    writer.write(handle(line));
+                    writer.write('\n');
+                    writer.flush();
+                }
+            }
+        } catch (IOException e) {
+            // the client went away
+        } finally {
+            channels.remove(channel);
+        }
+    }
+
+    /**
+     * Answers one request line, handing the proof to the proving threads and
+     * waiting for it until the deadline.
+     *
+     * @param line the request as JSON
+     * @return the result as JSON
+     */
+    String handle(String line) {
+        MetricsRegistry.getDefault().increment("server.requests");
+        ProofRequest request;
+        try {
+            request = ProofRequest.fromJson(line);
+        } catch (IllegalArgumentException e) {
+            return ProofResult.error(null, e.getMessage()).toJson();
+        }
+        Future<ProofResult> result;
+        try {
+            result = provers.submit(() -> service.prove(request));
+        } catch (RejectedExecutionException e) {
+            MetricsRegistry.getDefault().increment("server.rejected");
+            return ProofResult.error(request.getId(), "the server is busy").toJson();
+        }
+        try {
+            return result.get(deadline, TimeUnit.MILLISECONDS).toJson();
+        } catch (TimeoutException e) {
+            // the interrupt stops the engine, which frees the proving thread
+            result.cancel(true);
+            MetricsRegistry.getDefault().increment("server.deadline");
+            return ProofResult.error(request.getId(), "no answer within " + deadline + " ms").toJson();
+        } catch (InterruptedException e) {
+            result.cancel(true);
+            Thread.currentThread().interrupt();
+            return ProofResult.error(request.getId(), "interrupted").toJson();
+        } catch (ExecutionException e) {
+            return ProofResult.error(request.getId(), "the engine failed: " + e.getCause()).toJson();
+        }
+    }
+
+    /**
+     * Returns the port the server listens on.
+     *
+     * @return the local port, or -1 on a Unix domain socket
+     */
+    public int getPort() {
+        SocketAddress address = getAddress();
+        return address instanceof InetSocketAddress ? ((InetSocketAddress) address).getPort() : -1;
+    }
+
+    /**
+     * Returns the address the server listens on.
+     *
+     * @return the loopback address and port, or the socket file
+     */
+    public SocketAddress getAddress() {
+        try {
+            return serverChannel.getLocalAddress();
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Returns whether connections are served by virtual threads.
+     *
+     * @return true if the JDK has virtual threads
+     */
+    public boolean isVirtual() {
+        return virtual;
+    }
+
+    /**
+     * Stops accepting, closes the open connections and stops the proving
+     * threads.
+     */
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        serverChannel.close();
+        for (SocketChannel channel : channels) {
+            channel.close();
+        }
+        provers.shutdownNow();
+        if (socketFile != null) {
+            Files.deleteIfExists(socketFile);
+        }
+    }
+
+    /**
+     * Waits until the server has been closed.
+     *
+     * @throws InterruptedException if the waiting thread is interrupted
+     */
+    public void join() throws InterruptedException {
+        Thread thread;
+        synchronized (this) {
+            thread = acceptor;
+        }
+        if (thread != null) {
+            thread.join();
+        }
+    }
+
+    /**
+     * Returns a factory of virtual threads, found reflectively.
+     *
+     * @param prefix the start of the thread names
+     * @return the factory, or {@code null} if the JDK has no virtual threads
+     */
+    static ThreadFactory virtualThreads(String prefix) {
+        try {
+            Class<?> builder = Class.forName("java.lang.Thread$Builder");
+            Object virtual = Thread.class.getMethod("ofVirtual").invoke(null);
+            virtual = builder.getMethod("name", String.class, long.class).invoke(virtual, prefix, 0L);
+            return (ThreadFactory) builder.getMethod("factory").invoke(virtual);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Returns a factory of numbered daemon platform threads.
+     *
+     * @param prefix the start of the thread names
+     * @return the factory
+     */
+    static ThreadFactory platformThreads(String prefix) {
+        AtomicInteger count = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + count.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * Runs the server until the process is stopped.
+     *
+     * @param args the port, optionally followed by the number of proving
+     *        threads
+     * @throws IOException if the port cannot be bound
+     * @throws InterruptedException if the main thread is interrupted
+     */
+    public static void main(String[] args) throws IOException, InterruptedException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+        int workers = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        ProverServer server = new ProverServer(port, workers, new ProverService());
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            try {
+                server.close();
+            } catch (IOException e) {
+                // exiting anyway
+            }
+        }));
+        server.start();
+        System.out.println("Prover server listening on " + server.getAddress() + " with " + workers + " proving threads"
+                + (server.isVirtual() ? " and virtual connection threads" : ""));
+        server.join();
+    }
+}
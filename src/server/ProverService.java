@@ -0,0 +1,216 @@
+package server;
+
+import common.SymbolTable;
+import common.metrics.MetricsRegistry;
+import common.metrics.Stage;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.function.Function;
+import optimized.OptimizedCNFConverter;
+import predicate.common.WFExpression;
+import predicate.resolution.NFList;
+import predicate.resolution.ResolutionStrategy;
+import predicate.scanner.SyntaxAnalyser;
+import predicate.tptp.TptpReader;
+import propositional.common.Formula;
+import propositional.common.Unary;
+import propositional.parity.ParityMethod;
+import propositional.portfolio.FormulaFeatures;
+import propositional.resolution.ClausePreprocessor;
+import propositional.resolution.ClauseResolver;
+import propositional.resolution.HornSolver;
+import propositional.resolution.LocalSearchSolver;
+import propositional.resolution.TwoSatSolver;
+import propositional.scanner.Precedence;
+import propositional.scanner.Token;
+import propositional.sequent.SequentMethod;
+import server.ProofResult.Verdict;
+
+/**
+ * Answers proof requests with the engines of the prover.
+ *
+ * <p>
+ * A propositional formula is parsed once by the propositional parser, and
+ * every engine below works on that tree. A formula with &lt;=&gt; is first
+ * tried by the parity method, which decides it without clauses if its parity
+ * equations settle it. Otherwise the formula is negated and converted to
+ * clauses by the optimized CNF converter. Horn clauses and clauses of at most two literals
+ * are decided in linear time by the Horn and 2-SAT solvers. Other clauses get
+ * a short local search for a model first, which answers most non-theorems,
+ * and are then preprocessed and refuted by the clause resolver; the proof is the one the
+ * sequent method constructs. Predicate
+ * formulas and TPTP problems go to the first order resolution method; a TPTP
+ * problem may only include files of the library named by $TPTP. The set of
+ * support strategy they use by default is not complete when the axioms are
+ * inconsistent, so if it runs out of clauses the search is repeated without
+ * restrictions, and only a complete search answers not-theorem. The
+ * service keeps no state between requests, so one instance can serve many
+ * threads at once.</p>
+ *
+ * @author Mark Schlichtmann
+ * @version 2.0
+ * @since 2026
+ */
+public class ProverService {
+
+    /** The negation put in front of a formula before it is converted to clauses */
+    private static final Token NOT = new Token("!", Precedence.NOT);
+    /** The flips of the local search that precedes resolution */
+    private static final long LOCAL_SEARCH_FLIPS = 20000;
+
+    private final int propositionalClauseLimit;
+    private final int predicateClauseLimit;
+
+    /**
+     * Creates a service with the default clause limits of the resolvers.
+     */
+    public ProverService() {
+        this(ClauseResolver.DEFAULT_CLAUSE_LIMIT, predicate.resolution.ClauseResolver.DEFAULT_CLAUSE_LIMIT);
+    }
+
+    /**
+     * Creates a service.
+     *
+     * @param propositionalClauseLimit the number of kept clauses after which
+     *        a propositional proof gives up
+     * @param predicateClauseLimit the number of kept clauses after which a
+     *        first order proof gives up
+     */
+    public ProverService(int propositionalClauseLimit, int predicateClauseLimit) {
+        this.propositionalClauseLimit = propositionalClauseLimit;
+        this.predicateClauseLimit = predicateClauseLimit;
+    }
+
+    /**
+     * Proves the formula of a request.
+     *
+     * @param request the request
+     * @return the result; malformed input, engine failures and proofs asked
+     *         of first order formulas give the verdict error rather than an
+     *         exception
+     */
+    public ProofResult prove(ProofRequest request) {
+        long start = System.nanoTime();
+        if (request.isProofRequested() && request.getLogic() != ProofRequest.Logic.PROPOSITIONAL) {
+            return ProofResult.error(request.getId(), "proofs are only constructed for propositional formulas");
+        }
+        try {
+            switch (request.getLogic()) {
+            case PREDICATE:
+                return provePredicate(request, start);
+            case TPTP:
+                return proveTptp(request, start);
+            default:
+                return provePropositional(request, start);
+            }
+        } catch (IllegalArgumentException | IOException e) {
+            return ProofResult.error(request.getId(), e.getMessage());
+        } catch (RuntimeException | StackOverflowError e) {
+            return ProofResult.error(request.getId(), "the engine failed: " + e);
+        } finally {
+            // one sample per request, however many engines answered it
+            MetricsRegistry.getDefault().recordSince(Stage.PROVE, start);
+        }
+    }
+
+    private ProofResult provePropositional(ProofRequest request, long start) {
+        // one tree for every path, so they all read the formula alike
+        Formula parsed = OptimizedCNFConverter.parse(request.getFormula());
+        if (parsed == null) {
+            throw new IllegalArgumentException("not a well formed propositional formula");
+        }
+        if (new FormulaFeatures(parsed).getEquivalences() > 0) {
+            // <=> chains are parity equations, whose clauses grow exponentially
+            ParityMethod parity = new ParityMethod(parsed);
+            if (parity.isLinearlyDecided()) {
+                Verdict verdict = parity.isTheorem() ? Verdict.THEOREM : Verdict.NOT_THEOREM;
+                String proof = request.isProofRequested() ? sequentProof(parsed) : null;
+                return new ProofResult(request.getId(), verdict, System.nanoTime() - start, 0, 0, proof, null);
+            }
+        }
+        HornSolver horn = new HornSolver();
+        OptimizedCNFConverter.convertToClauses(new Unary(NOT, parsed), new SymbolTable(), horn);
+        Verdict verdict;
+        long resolvents = 0;
+        if (horn.isHorn()) {
+            verdict = horn.isSatisfiable() ? Verdict.NOT_THEOREM : Verdict.THEOREM;
+        } else if (horn.getLongestClause() <= 2) {
+            TwoSatSolver twoSat = new TwoSatSolver();
+            horn.replay(twoSat);
+            verdict = twoSat.isSatisfiable() ? Verdict.NOT_THEOREM : Verdict.THEOREM;
+        } else {
+            // a model of the negation found by local search saves refuting in vain
+            LocalSearchSolver localSearch = new LocalSearchSolver();
+            horn.replay(localSearch);
+            if (localSearch.search(LOCAL_SEARCH_FLIPS) != null) {
+                verdict = Verdict.NOT_THEOREM;
+            } else {
+                ClausePreprocessor preprocessor = new ClausePreprocessor();
+                horn.replay(preprocessor);
+                preprocessor.preprocess();
+                ClauseResolver resolver = new ClauseResolver(propositionalClauseLimit);
+                preprocessor.replay(resolver);
+                boolean refuted = resolver.refute();
+                verdict = refuted ? Verdict.THEOREM : resolver.isLimitReached() ? Verdict.UNKNOWN : Verdict.NOT_THEOREM;
+                resolvents = resolver.getResolventCount();
+            }
+        }
+        String proof = request.isProofRequested() ? sequentProof(parsed) : null;
+        return new ProofResult(request.getId(), verdict, System.nanoTime() - start, horn.getInputCount(), resolvents, proof, null);
+    }
+
+    private static String sequentProof(Formula parsed) {
+        SequentMethod sequent = new SequentMethod(parsed);
+        sequent.searchSequent();
+        return sequent.getProof();
+    }
+
+    private ProofResult provePredicate(ProofRequest request, long start) {
+        ArrayList<predicate.common.Token> tokens = new predicate.scanner.Scanner(request.getFormula()).getScannedTokens();
+        if (tokens == null || tokens.isEmpty() || !new SyntaxAnalyser(tokens).getValidatedTokens()) {
+            throw new IllegalArgumentException("not a well formed predicate formula");
+        }
+        predicate.parser.Parser parser = new predicate.parser.Parser(tokens);
+        WFExpression formula = parser.accept();
+        if (formula == null) {
+            throw new IllegalArgumentException("not a well formed predicate formula");
+        }
+        return firstOrderResult(request, strategy -> new predicate.resolution.ResolutionMethod(formula,
+                parser.getReferenceTable(), strategy, predicateClauseLimit), -1, start);
+    }
+
+    private ProofResult proveTptp(ProofRequest request, long start) throws IOException {
+        NFList axioms = new NFList();
+        NFList goal = new NFList();
+        try (TptpReader reader = new TptpReader(new StringReader(request.getFormula()))) {
+            // requests may come from the network, so they only include from the library
+            String library = System.getenv("TPTP");
+            reader.restrictIncludes(library == null ? null : Paths.get(library));
+            reader.readClauses(axioms, goal);
+        }
+        return firstOrderResult(request, strategy -> new predicate.resolution.ResolutionMethod(axioms, goal,
+                strategy, predicateClauseLimit), axioms.size() + goal.size(), start);
+    }
+
+    private static ProofResult firstOrderResult(ProofRequest request,
+            Function<ResolutionStrategy, predicate.resolution.ResolutionMethod> methods, long clauses, long start) {
+        predicate.resolution.ResolutionMethod method = methods.apply(strategy(request));
+        boolean refuted = method.resolve();
+        long resolvents = method.getResolventCount();
+        if (!refuted && !method.isLimitReached() && !method.isComplete()) {
+            // saturation by an incomplete strategy does not show the clauses satisfiable
+            method = methods.apply(ResolutionStrategy.UNRESTRICTED);
+            refuted = method.resolve();
+            resolvents += method.getResolventCount();
+        }
+        Verdict verdict = refuted ? Verdict.THEOREM
+                : method.isLimitReached() || !method.isComplete() ? Verdict.UNKNOWN : Verdict.NOT_THEOREM;
+        return new ProofResult(request.getId(), verdict, System.nanoTime() - start, clauses, resolvents, null, null);
+    }
+
+    private static ResolutionStrategy strategy(ProofRequest request) {
+        return request.getStrategy() == null ? ResolutionStrategy.SET_OF_SUPPORT : ResolutionStrategy.forName(request.getStrategy());
+    }
+}
@@ -0,0 +1,338 @@
+package test;
+
+import static test.TestSupport.check;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import propositional.bdd.BddManager;
+import propositional.bdd.BddMethod;
+import propositional.common.Formula;
+import propositional.common.Propositional;
+import propositional.common.Unary;
+import propositional.parser.Parser;
+import propositional.scanner.Precedence;
+import propositional.scanner.Scanner;
+import testing.generator.ProblemGenerator;
+
+/**
+ * Unit tests for the BDD package.
+ *
+ * <p>
+ * This test suite validates that the BDDs of the manager are canonical, that
+ * garbage collection and sifting keep the referenced functions, and that the
+ * BDD method agrees with a truth table on theorems, countermodels and
+ * equivalence.</p>
+ *
+ * @author Mark Schlichtmann
+ * @version 2.0
+ * @since 2026
+ */
+public class BddTest {
+
+    private static int testsPassed = 0;
+    private static int testsFailed = 0;
+
+    /**
+     * Main entry point for running all BDD tests.
+     */
+    public static void main(String[] args) {
+        System.out.println("🧪 RUNNING BDD UNIT TESTS");
+        System.out.println("=".repeat(50));
+
+        testCanonical();
+        testTheorems();
+        testEquivalence();
+        testRandomFormulas();
+        testGarbageCollection();
+        testSifting();
+        testIffLadder();
+
+        displayResults();
+    }
+
+    /**
+     * Tests that equal functions are the same node.
+     */
+    private static void testCanonical() {
+        System.out.println("Testing canonical nodes...");
+        try {
+            BddManager manager = new BddManager();
+            int a = manager.variable(manager.newVariable());
+            int b = manager.variable(manager.newVariable());
+            int c = manager.variable(manager.newVariable());
+            check(manager.and(a, b) == manager.and(b, a), "and commutes");
+            check(manager.not(manager.not(a)) == a, "double negation");
+            check(manager.not(manager.and(a, b)) == manager.or(manager.not(a), manager.not(b)), "de Morgan");
+            check(manager.xor(manager.xor(a, b), c) == manager.iff(a, manager.iff(b, c)), "parity");
+            check(manager.or(a, manager.not(a)) == BddManager.ONE, "excluded middle");
+            check(manager.and(a, manager.not(a)) == BddManager.ZERO, "contradiction");
+            check(manager.imply(manager.and(a, b), a) == BddManager.ONE, "weakening");
+            check(manager.size(manager.and(a, manager.and(b, c))) == 5, "size of a conjunction");
+            int[] path = manager.findPath(manager.and(a, manager.not(c)), true);
+            check(path[0] == 1 && path[1] == 0 && path[2] == -1, "satisfying path");
+            check(manager.findPath(BddManager.ONE, false) == null, "no falsifying path");
+            recordPass("Canonical nodes");
+
+        } catch (Exception | AssertionError e) {
+            recordFail("Canonical nodes", e.getMessage());
+        }
+    }
+
+    /**
+     * Tests theorems, non-theorems and their countermodels.
+     */
+    private static void testTheorems() {
+        System.out.println("Testing theorems...");
+        try {
+            String[] theorems = {"P => P.", "(P => Q) => ((Q => R) => (P => R)).", "(P & Q) <=> (!((!P) | (!Q))).",
+                "((P => Q) => P) => P.", "(P <=> Q) <=> (Q <=> P)."};
+            for (String text : theorems) {
+                BddMethod method = new BddMethod(parse(text));
+                check(method.isTheorem() && method.getCountermodel() == null && method.getNodeCount() == 1, text);
+            }
+            String[] others = {"P => Q.", "(P | Q) => (P & Q).", "P & (!P).", "(P <=> Q) => P."};
+            for (String text : others) {
+                Formula formula = parse(text);
+                BddMethod method = new BddMethod(formula);
+                Map<String, Boolean> model = method.getCountermodel();
+                check(!method.isTheorem() && model != null, text);
+                check(!evaluate(formula, model), "countermodel " + model + " of " + text);
+            }
+            check(!new BddMethod(parse("P & (!P).")).isSatisfiable(), "unsatisfiable");
+            recordPass("Theorems");
+
+        } catch (Exception | AssertionError e) {
+            recordFail("Theorems", e.getMessage());
+        }
+    }
+
+    /**
+     * Tests equivalence of two formulas.
+     */
+    private static void testEquivalence() {
+        System.out.println("Testing equivalence...");
+        try {
+            check(BddMethod.equivalent(parse("P <=> Q."), parse("(P => Q) & (Q => P).")), "iff");
+            check(BddMethod.equivalent(parse("P => Q."), parse("(!Q) => (!P).")), "contraposition");
+            check(BddMethod.equivalent(parse("P & (Q | R)."), parse("(P & Q) | (P & R).")), "distribution");
+            check(!BddMethod.equivalent(parse("P => Q."), parse("Q => P.")), "converse");
+            check(!BddMethod.equivalent(parse("P."), parse("P & Q.")), "extra atom");
+            recordPass("Equivalence");
+
+        } catch (Exception | AssertionError e) {
+            recordFail("Equivalence", e.getMessage());
+        }
+    }
+
+    /**
+     * Tests random formulas against their truth tables.
+     */
+    private static void testRandomFormulas() {
+        System.out.println("Testing random formulas...");
+        try {
+            Random random = new Random(43);
+            String[] connectives = {" & ", " | ", " => ", " <=> "};
+            for (int round = 0; round < 300; round++) {
+                String text = randomFormula(random, connectives, 4) + ".";
+                Formula formula = parse(text);
+                BddMethod method = new BddMethod(formula);
+                List<String> atoms = BddMethod.variableOrder(formula);
+                boolean theorem = true;
+                for (int assignment = 0; assignment < (1 << atoms.size()) && theorem; assignment++) {
+                    Map<String, Boolean> model = new HashMap<String, Boolean>();
+                    for (int i = 0; i < atoms.size(); i++) {
+                        model.put(atoms.get(i), (assignment & (1 << i)) != 0);
+                    }
+                    theorem = evaluate(formula, model);
+                }
+                check(method.isTheorem() == theorem, "verdict of " + text);
+                check(theorem || !evaluate(formula, method.getCountermodel()), "countermodel of " + text);
+            }
+            recordPass("Random formulas");
+
+        } catch (Exception | AssertionError e) {
+            recordFail("Random formulas", e.getMessage());
+        }
+    }
+
+    /**
+     * Tests that collection reclaims unreferenced nodes and keeps referenced
+     * ones.
+     */
+    private static void testGarbageCollection() {
+        System.out.println("Testing garbage collection...");
+        try {
+            BddManager manager = new BddManager(1 << 10);
+            int[] variables = new int[12];
+            for (int i = 0; i < variables.length; i++) {
+                variables[i] = manager.variable(manager.newVariable());
+            }
+            int kept = BddManager.ONE;
+            for (int i = 0; i < variables.length; i += 2) {
+                int next = manager.ref(manager.and(kept, manager.or(variables[i], variables[i + 1])));
+                if (kept != BddManager.ONE) {
+                    manager.deref(kept);
+                }
+                kept = next;
+            }
+            for (int i = 0; i < 200; i++) {
+                manager.xor(variables[i % 12], manager.and(variables[(i + 5) % 12], variables[(i + 7) % 12]));
+            }
+            int live = manager.getLiveNodeCount();
+            check(manager.getNodeCount() > live, "garbage exists");
+            int size = manager.size(kept);
+            manager.collectGarbage();
+            check(manager.getNodeCount() == live && manager.size(kept) == size, "collected " + manager.getNodeCount());
+            int again = BddManager.ONE;
+            for (int i = 0; i < variables.length; i += 2) {
+                again = manager.and(again, manager.or(manager.variable(i), manager.variable(i + 1)));
+            }
+            check(again == kept, "same node after collection");
+            manager.deref(kept);
+            manager.collectGarbage();
+            check(manager.getLiveNodeCount() == 0 && manager.getNodeCount() == 0, "all reclaimed");
+            try {
+                manager.deref(kept);
+                throw new AssertionError("dereferenced twice");
+            } catch (IllegalStateException expected) {
+                // expected
+            }
+            recordPass("Garbage collection");
+
+        } catch (Exception | AssertionError e) {
+            recordFail("Garbage collection", e.getMessage());
+        }
+    }
+
+    /**
+     * Tests that sifting shrinks a BDD built in a bad order and keeps its
+     * function.
+     */
+    private static void testSifting() {
+        System.out.println("Testing sifting...");
+        try {
+            int pairs = 8;
+            BddManager manager = new BddManager();
+            for (int i = 0; i < 2 * pairs; i++) {
+                manager.newVariable();
+            }
+            // x1 y1 | x2 y2 | ... with all x above all y is exponential
+            int f = BddManager.ZERO;
+            for (int i = 0; i < pairs; i++) {
+                f = manager.or(f, manager.and(manager.variable(i), manager.variable(pairs + i)));
+            }
+            manager.ref(f);
+            int before = manager.size(f);
+            manager.sift();
+            int after = manager.size(f);
+            check(before >= 1 << pairs && after <= 2 * pairs + 2, "size " + before + " -> " + after);
+            check(manager.getReorderings() == 1 && manager.getLiveNodeCount() == after - 2, "live nodes");
+            int rebuilt = BddManager.ZERO;
+            for (int i = 0; i < pairs; i++) {
+                rebuilt = manager.or(rebuilt, manager.and(manager.variable(i), manager.variable(pairs + i)));
+            }
+            check(rebuilt == f, "same function after sifting");
+            for (int i = 0; i < pairs; i++) {
+                check(Math.abs(manager.getLevel(i) - manager.getLevel(pairs + i)) == 1, "pair " + i + " adjacent");
+            }
+            recordPass("Sifting");
+
+        } catch (Exception | AssertionError e) {
+            recordFail("Sifting", e.getMessage());
+        }
+    }
+
+    /**
+     * Tests the equivalence ladder, whose clausal form doubles with every
+     * rung, with and without dynamic sifting.
+     */
+    private static void testIffLadder() {
+        System.out.println("Testing iff ladder...");
+        try {
+            Formula formula = ProblemGenerator.iffLadder(200).parsePropositional();
+            check(new BddMethod(formula).isTheorem(), "ladder of 200");
+            check(new BddMethod(true, formula).isTheorem(), "ladder of 200 with sifting");
+            Formula broken = parse("(" + ProblemGenerator.atom(1) + " <=> " + ProblemGenerator.atom(2) + ") <=> ("
+                    + ProblemGenerator.atom(2) + " <=> " + ProblemGenerator.atom(3) + ").");
+            check(!new BddMethod(broken).isTheorem(), "broken ladder");
+            recordPass("Iff ladder");
+
+        } catch (Exception | AssertionError e) {
+            recordFail("Iff ladder", e.getMessage());
+        }
+    }
+
+    private static String randomFormula(Random random, String[] connectives, int depth) {
+        if (depth == 0 || random.nextInt(4) == 0) {
+            String atom = String.valueOf((char) ('P' + random.nextInt(4)));
+            return random.nextBoolean() ? "!" + atom : atom;
+        }
+        String formula = "(" + randomFormula(random, connectives, depth - 1)
+                + connectives[random.nextInt(connectives.length)] + randomFormula(random, connectives, depth - 1) + ")";
+        return random.nextInt(5) == 0 ? "!" + formula : formula;
+    }
+
+    private static Formula parse(String text) {
+        Formula formula = new Parser(new Scanner(text).getTokens()).parse();
+        check(formula != null, "parse " + text);
+        return formula;
+    }
+
+    /**
+     * Evaluates a formula, atoms missing from the model being false.
+     */
+    private static boolean evaluate(Formula formula, Map<String, Boolean> model) {
+        if (formula instanceof Propositional) {
+            return Boolean.TRUE.equals(model.get(formula.getToken().getData()));
+        }
+        if (formula instanceof Unary) {
+            return !evaluate(formula.getRightPredicate(), model);
+        }
+        boolean left = evaluate(formula.getleftPredicate(), model);
+        boolean right = evaluate(formula.getRightPredicate(), model);
+        Precedence connective = formula.getToken().getType();
+        if (connective == Precedence.AND) {
+            return left && right;
+        } else if (connective == Precedence.OR) {
+            return left || right;
+        } else if (connective == Precedence.IMPLY) {
+            return !left || right;
+        }
+        return left == right;
+    }
+
+    /**
+     * Records a passed test.
+     */
+    private static void recordPass(String testName) {
+        testsPassed++;
+        System.out.println("  ✅ " + testName);
+    }
+
+    /**
+     * Records a failed test.
+     */
+    private static void recordFail(String testName, String error) {
+        testsFailed++;
+        System.out.println("  ❌ " + testName + " - " + error);
+    }
+
+    /**
+     * Displays test results summary.
+     */
+    private static void displayResults() {
+        System.out.println("\n📊 BDD TEST RESULTS");
+        System.out.println("=".repeat(50));
+        System.out.println("Passed: " + testsPassed);
+        System.out.println("Failed: " + testsFailed);
+        System.out.println("Total: " + (testsPassed + testsFailed));
+
+        if (testsFailed == 0) {
+            System.out.println("\n🎉 All BDD tests passed!");
+        } else {
+            System.out.println("\n⚠️ Some BDD tests failed!");
+        }
+    }
+}
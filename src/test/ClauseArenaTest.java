@@ -0,0 +1,216 @@
+package test;
+
+import static test.TestSupport.check;
+
+import common.ClauseArena;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import optimized.OptimizedCNFConverter;
+import propositional.resolution.ClauseResolver;
+import testing.generator.ProblemGenerator;
+
+/**
+ * Unit tests for the clause arena and the clause level resolution engine.
+ *
+ * <p>
+ * This test suite validates allocation, truncation and rewinding in the arena,
+ * refutations by the clause resolver and that the engines using the arena
+ * leave it empty.</p>
+ *
+ * @author Mark Schlichtmann
+ * @version 2.0
+ * @since 2026
+ */
+public class ClauseArenaTest {
+
+    private static int testsPassed = 0;
+    private static int testsFailed = 0;
+
+    /**
+     * Main entry point for running all clause arena tests.
+     */
+    public static void main(String[] args) {
+        System.out.println("🧪 RUNNING CLAUSE ARENA UNIT TESTS");
+        System.out.println("=".repeat(50));
+
+        testAllocation();
+        testRewind();
+        testRefutation();
+        testSaturation();
+        testConverter();
+
+        displayResults();
+    }
+
+    /**
+     * Tests writing, reading and shortening clauses.
+     */
+    private static void testAllocation() {
+        System.out.println("Testing allocation...");
+        try {
+            ClauseArena arena = new ClauseArena();
+            int first = arena.copyOf(new int[]{1, -2, 3}, 0, 3);
+            int second = arena.allocate(2);
+            arena.setLiteral(second, 0, -4);
+            arena.setLiteral(second, 1, 5);
+            check(arena.length(first) == 3 && arena.literal(first, 1) == -2, "first clause");
+            check(Arrays.equals(arena.toArray(second), new int[]{-4, 5}), "second clause");
+            arena.truncate(second, 1);
+            check(Arrays.equals(arena.toArray(second), new int[]{-4}), "truncated clause");
+            check(arena.getUsedInts() == 6, "used ints after truncation");
+            try {
+                arena.truncate(first, 1);
+                throw new AssertionError("only the last clause may be truncated");
+            } catch (IllegalArgumentException expected) {
+                // expected
+            }
+            recordPass("Allocation");
+
+        } catch (Exception | AssertionError e) {
+            recordFail("Allocation", e.getMessage());
+        }
+    }
+
+    /**
+     * Tests that rewinding releases clauses across slab boundaries and that
+     * the slabs are reused.
+     */
+    private static void testRewind() {
+        System.out.println("Testing rewind...");
+        try {
+            ClauseArena arena = new ClauseArena();
+            int kept = arena.copyOf(new int[]{7}, 0, 1);
+            int mark = arena.mark();
+            int last = 0;
+            for (int i = 0; i < 200000; i++) {
+                last = arena.copyOf(new int[]{i, -i, i + 1}, 0, 3);
+            }
+            check(arena.literal(last, 2) == 200000, "clause in a later slab");
+            check(arena.getUsedInts() > 600000, "several slabs in use");
+            arena.rewind(mark);
+            check(arena.getUsedInts() == 2 && arena.literal(kept, 0) == 7, "clauses before the mark survive");
+            for (int i = 0; i < 200000; i++) {
+                arena.copyOf(new int[]{i, -i, i + 1}, 0, 3);
+            }
+            check(arena.getReuseRatio() > 0.0, "slabs reused");
+            arena.reset();
+            check(arena.getUsedInts() == 0, "reset empties the arena");
+            recordPass("Rewind");
+
+        } catch (Exception | AssertionError e) {
+            recordFail("Rewind", e.getMessage());
+        }
+    }
+
+    /**
+     * Tests refutations of unsatisfiable clause sets.
+     */
+    private static void testRefutation() {
+        System.out.println("Testing refutation...");
+        try {
+            for (int holes = 1; holes <= 3; holes++) {
+                ClauseResolver resolver = new ClauseResolver();
+                ProblemGenerator.pigeonhole(holes).streamClauses(resolver);
+                check(resolver.refute(), "pigeonhole " + holes + " is unsatisfiable");
+            }
+            ClauseResolver tseitin = new ClauseResolver();
+            ProblemGenerator.tseitinParity(6, 1).streamClauses(tseitin);
+            check(tseitin.refute(), "Tseitin parity is unsatisfiable");
+            check(ClauseArena.forCurrentThread().getUsedInts() == 0, "arena rewound");
+            recordPass("Refutation");
+
+        } catch (Exception | AssertionError e) {
+            recordFail("Refutation", e.getMessage());
+        }
+    }
+
+    /**
+     * Tests that satisfiable clause sets saturate without the empty clause.
+     */
+    private static void testSaturation() {
+        System.out.println("Testing saturation...");
+        try {
+            ClauseResolver resolver = new ClauseResolver();
+            resolver.addClause(new int[]{1, 2});
+            resolver.addClause(new int[]{-1, 2, 2});
+            resolver.addClause(new int[]{-2, 3});
+            resolver.addClause(new int[]{3, -3});
+            resolver.addClause(new int[]{2, 1});
+            check(resolver.getClauses().size() == 3, "tautologies and duplicates dropped");
+            check(!resolver.refute(), "satisfiable set");
+            check(!resolver.isLimitReached(), "saturated");
+            check(resolver.getResolventCount() > 0, "resolvents built");
+
+            ClauseResolver limited = new ClauseResolver(20);
+            ProblemGenerator.pigeonhole(4).streamClauses(limited);
+            check(!limited.refute() && limited.isLimitReached(), "clause limit");
+            recordPass("Saturation");
+
+        } catch (Exception | AssertionError e) {
+            recordFail("Saturation", e.getMessage());
+        }
+    }
+
+    /**
+     * Tests that the optimized converter builds its clauses in the arena and
+     * releases them, also when it is interrupted.
+     */
+    private static void testConverter() {
+        System.out.println("Testing converter...");
+        try {
+            List<List<String>> cnf = OptimizedCNFConverter.convertToCNF("A & B | C");
+            check(cnf.size() == 2 && cnf.get(1).equals(Arrays.asList("B", "C")), "clauses " + cnf);
+            check(OptimizedCNFConverter.convertToCNF("A | B | A").get(0).equals(Arrays.asList("A", "B")), "duplicates removed");
+            check(ClauseArena.forCurrentThread().getUsedInts() == 0, "arena rewound");
+            // the negation of 128 clauses distributes into 3^128 clauses
+            Thread.currentThread().interrupt();
+            try {
+                OptimizedCNFConverter.convertToCNF(ProblemGenerator.randomKCnf(3, 30, 4.26, 7).getText());
+                throw new AssertionError("the conversion ignored the interrupt");
+            } catch (CancellationException expected) {
+                // expected
+            } finally {
+                Thread.interrupted();
+            }
+            check(ClauseArena.forCurrentThread().getUsedInts() == 0, "arena rewound after the interrupt");
+            recordPass("Converter");
+
+        } catch (Exception | AssertionError e) {
+            recordFail("Converter", e.getMessage());
+        }
+    }
+
+    /**
+     * Records a passed test.
+     */
+    private static void recordPass(String testName) {
+        testsPassed++;
+        System.out.println("  ✅ " + testName);
+    }
+
+    /**
+     * Records a failed test.
+     */
+    private static void recordFail(String testName, String error) {
+        testsFailed++;
+        System.out.println("  ❌ " + testName + " - " + error);
+    }
+
+    /**
+     * Displays test results summary.
+     */
+    private static void displayResults() {
+        System.out.println("\n📊 CLAUSE ARENA TEST RESULTS");
+        System.out.println("=".repeat(50));
+        System.out.println("Passed: " + testsPassed);
+        System.out.println("Failed: " + testsFailed);
+        System.out.println("Total: " + (testsPassed + testsFailed));
+
+        if (testsFailed == 0) {
+            System.out.println("\n🎉 All clause arena tests passed!");
+        } else {
+            System.out.println("\n⚠️ Some clause arena tests failed!");
+        }
+    }
+}
@@ -0,0 +1,258 @@
+package test;
+
+import static test.TestSupport.check;
+
+import common.SymbolTable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import propositional.common.Formula;
+import propositional.dimacs.DimacsReader;
+import propositional.dimacs.DimacsWriter;
+import propositional.parser.Parser;
+import propositional.resolution.ClauseStore;
+import propositional.resolution.NormalForm;
+import propositional.scanner.Scanner;
+import propositional.scanner.Token;
+
+/**
+ * Unit tests for DIMACS import and export.
+ *
+ * <p>
+ * This test suite validates that DIMACS files are read into the clause store
+ * correctly, including comments and unusual layout, and that the conjunctive
+ * normal forms of the propositional engines survive a write and read round
+ * trip.</p>
+ *
+ * @author Mark Schlichtmann
+ * @version 2.0
+ * @since 2026
+ */
+public class DimacsTest {
+
+    private static int testsPassed = 0;
+    private static int testsFailed = 0;
+
+    /**
+     * Main entry point for running all DIMACS tests.
+     */
+    public static void main(String[] args) {
+        System.out.println("🧪 RUNNING DIMACS UNIT TESTS");
+        System.out.println("=".repeat(50));
+
+        testReadSimpleFile();
+        testReadLayout();
+        testReadMalformed();
+        testNormalFormRoundTrip();
+        testOptimizedRoundTrip();
+        testLargeRoundTrip();
+
+        displayResults();
+    }
+
+    /**
+     * Tests reading a small well-formed DIMACS file.
+     */
+    private static void testReadSimpleFile() {
+        System.out.println("Testing simple DIMACS file...");
+        try {
+            Path file = writeText("c simple example\np cnf 3 2\n1 -2 0\n2 3 -1 0\n");
+            ClauseStore store = new ClauseStore();
+            DimacsReader reader = new DimacsReader();
+            long count = reader.read(file, store);
+
+            check(count == 2, "two clauses expected, got " + count);
+            check(reader.getDeclaredVariables() == 3, "three variables declared");
+            check(reader.getDeclaredClauses() == 2, "two clauses declared");
+            check(Arrays.equals(store.getClause(0), new int[]{1, -2}), "first clause");
+            check(Arrays.equals(store.getClause(1), new int[]{2, 3, -1}), "second clause");
+            check(store.getMaxVariable() == 3, "highest variable");
+            recordPass("Simple DIMACS file");
+
+        } catch (Exception | AssertionError e) {
+            recordFail("Simple DIMACS file", e.getMessage());
+        }
+    }
+
+    /**
+     * Tests clauses spanning lines, tabs, CRLF line ends, indented comment
+     * lines and the SATLIB end marker.
+     */
+    private static void testReadLayout() {
+        System.out.println("Testing DIMACS layout variations...");
+        try {
+            Path file = writeText("c a\r\n  c b\r\np  cnf  4  3\r\n1\t-2\r\n\tc inside a clause\r\n 3 0 -4 0\r\n4 1 0\r\n%\r\n0\r\n");
+            ClauseStore store = new ClauseStore();
+            long count = new DimacsReader().read(file, store);
+
+            check(count == 3, "three clauses expected, got " + count);
+            check(Arrays.equals(store.getClause(0), new int[]{1, -2, 3}), "clause across lines");
+            check(Arrays.equals(store.getClause(1), new int[]{-4}), "unit clause");
+            check(Arrays.equals(store.getClause(2), new int[]{4, 1}), "last clause");
+            recordPass("DIMACS layout variations");
+
+        } catch (Exception | AssertionError e) {
+            recordFail("DIMACS layout variations", e.getMessage());
+        }
+    }
+
+    /**
+     * Tests that malformed input is rejected.
+     */
+    private static void testReadMalformed() {
+        System.out.println("Testing malformed DIMACS input...");
+        try {
+            Path file = writeText("p cnf 2 1\n1 x 0\n");
+            try {
+                new DimacsReader().read(file, new ClauseStore());
+                recordFail("Malformed DIMACS input", "no error reported");
+            } catch (IOException expected) {
+                recordPass("Malformed DIMACS input");
+            }
+
+        } catch (Exception e) {
+            recordFail("Malformed DIMACS input", e.getMessage());
+        }
+    }
+
+    /**
+     * Tests writing the NormalFormAlgorithm output and reading it back.
+     */
+    private static void testNormalFormRoundTrip() {
+        System.out.println("Testing normal form round trip...");
+        try {
+            Formula formula = parseFormula("(P => Q) & (Q | !R).");
+            Path file = Files.createTempFile("normalform", ".cnf");
+            file.toFile().deleteOnExit();
+            DimacsWriter writer = new DimacsWriter();
+            long written = writer.writeNormalForm(formula, file);
+
+            ClauseStore store = new ClauseStore();
+            DimacsReader reader = new DimacsReader();
+            long read = reader.read(file, store);
+            SymbolTable symbols = writer.getSymbols();
+
+            check(written == 2 && read == 2, "two clauses expected");
+            check(reader.getDeclaredClauses() == 2, "declared clause count");
+            check(reader.getDeclaredVariables() == 3, "declared variable count");
+            NormalForm first = NormalForm.decode(store.getClause(0), symbols);
+            check(first.toString().equals("[! P, Q]"), "first clause was " + first);
+            NormalForm second = NormalForm.decode(store.getClause(1), symbols);
+            check(second.toString().equals("[Q, ! R]"), "second clause was " + second);
+            recordPass("Normal form round trip");
+
+        } catch (Exception | AssertionError e) {
+            recordFail("Normal form round trip", e.getMessage());
+        }
+    }
+
+    /**
+     * Tests writing the OptimizedCNFConverter output and reading it back.
+     */
+    private static void testOptimizedRoundTrip() {
+        System.out.println("Testing optimized CNF round trip...");
+        try {
+            Path file = Files.createTempFile("optimized", ".cnf");
+            file.toFile().deleteOnExit();
+            DimacsWriter writer = new DimacsWriter();
+            long written = writer.writeOptimizedCNF("P & Q", file);
+
+            ClauseStore store = new ClauseStore();
+            new DimacsReader().read(file, store);
+
+            check(written == 2, "two clauses expected, got " + written);
+            check(Arrays.equals(store.getClause(0), new int[]{1}), "clause P");
+            check(Arrays.equals(store.getClause(1), new int[]{2}), "clause Q");
+            recordPass("Optimized CNF round trip");
+
+        } catch (Exception | AssertionError e) {
+            recordFail("Optimized CNF round trip", e.getMessage());
+        }
+    }
+
+    /**
+     * Tests a clause store larger than the read and write buffers.
+     */
+    private static void testLargeRoundTrip() {
+        System.out.println("Testing large round trip...");
+        try {
+            ClauseStore original = new ClauseStore();
+            for (int i = 1; i <= 50000; i++) {
+                original.addClause(new int[]{i, -(i + 1), 1000000 + i});
+            }
+            Path file = Files.createTempFile("large", ".cnf");
+            file.toFile().deleteOnExit();
+            new DimacsWriter().writeClauseStore(original, file);
+
+            ClauseStore copy = new ClauseStore();
+            DimacsReader reader = new DimacsReader();
+            reader.read(file, copy);
+
+            check(copy.size() == original.size(), "clause count");
+            check(reader.getDeclaredVariables() == 1050000, "declared variable count");
+            for (int i = 0; i < original.size(); i++) {
+                check(Arrays.equals(original.getClause(i), copy.getClause(i)), "clause " + i);
+            }
+            recordPass("Large round trip");
+
+        } catch (Exception | AssertionError e) {
+            recordFail("Large round trip", e.getMessage());
+        }
+    }
+
+    /**
+     * Helper method to write a temporary DIMACS file.
+     */
+    private static Path writeText(String text) throws IOException {
+        Path file = Files.createTempFile("dimacs", ".cnf");
+        Files.write(file, text.getBytes(StandardCharsets.US_ASCII));
+        file.toFile().deleteOnExit();
+        return file;
+    }
+
+    /**
+     * Helper method to parse a formula string.
+     */
+    private static Formula parseFormula(String formulaString) {
+        Scanner scanner = new Scanner(formulaString);
+        ArrayList<Token> tokens = scanner.getTokens();
+        Parser parser = new Parser(tokens);
+        return parser.parse();
+    }
+
+    /**
+     * Records a passed test.
+     */
+    private static void recordPass(String testName) {
+        testsPassed++;
+        System.out.println("  ✅ " + testName);
+    }
+
+    /**
+     * Records a failed test.
+     */
+    private static void recordFail(String testName, String error) {
+        testsFailed++;
+        System.out.println("  ❌ " + testName + " - " + error);
+    }
+
+    /**
+     * Displays test results summary.
+     */
+    private static void displayResults() {
+        System.out.println("\n📊 DIMACS TEST RESULTS");
+        System.out.println("=".repeat(50));
+        System.out.println("Passed: " + testsPassed);
+        System.out.println("Failed: " + testsFailed);
+        System.out.println("Total: " + (testsPassed + testsFailed));
+
+        if (testsFailed == 0) {
+            System.out.println("\n🎉 All DIMACS tests passed!");
+        } else {
+            System.out.println("\n⚠️ Some DIMACS tests failed!");
+        }
+    }
+}
@@ -0,0 +1,203 @@
+package test;
+
+import static test.TestSupport.check;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import optimized.OptimizedCNFConverter;
+import propositional.common.Formula;
+import propositional.parser.Parser;
+import propositional.resolution.ResolutionMethod;
+import propositional.scanner.Scanner;
+import propositional.sequent.SequentMethod;
+
+/**
+ * Unit tests for the flight recorder events of the engines.
+ *
+ * <p>
+ * This test suite records a few proofs with the JDK Flight Recorder and
+ * validates that every stage emits its event with the expected fields.</p>
+ *
+ * @author Mark Schlichtmann
+ * @version 2.0
+ * @since 2026
+ */
+public class FlightRecorderTest {
+
+    private static int testsPassed = 0;
+    private static int testsFailed = 0;
+
+    /**
+     * Main entry point for running all flight recorder tests.
+     */
+    public static void main(String[] args) {
+        System.out.println("🧪 RUNNING FLIGHT RECORDER UNIT TESTS");
+        System.out.println("=".repeat(50));
+
+        List<RecordedEvent> events = record();
+        testFrontEndEvents(events);
+        testNormalFormEvents(events);
+        testProverEvents(events);
+
+        displayResults();
+    }
+
+    /**
+     * Records the events of the proofs made by this test.
+     */
+    private static List<RecordedEvent> record() {
+        try (Recording recording = new Recording()) {
+            recording.enable("theoremprover.Scan");
+            recording.enable("theoremprover.Parse");
+            recording.enable("theoremprover.NNF");
+            recording.enable("theoremprover.CNF");
+            recording.enable("theoremprover.ResolutionStep");
+            recording.enable("theoremprover.SequentBranchOpen");
+            recording.enable("theoremprover.SequentBranchClose");
+            recording.start();
+
+            Formula resolved = new Parser(new Scanner("((P => Q) & P) => Q.").getTokens()).parse();
+            new ResolutionMethod(resolved).resolve();
+            Formula sequent = new Parser(new Scanner("(P | Q) => (Q | P).").getTokens()).parse();
+            new SequentMethod(sequent).searchSequent();
+            new predicate.parser.Parser(new predicate.scanner.Scanner("(Ax P(x)) => P(a).").getScannedTokens()).accept();
+            OptimizedCNFConverter.convertToCNF("A & B | C");
+
+            recording.stop();
+            Path file = Files.createTempFile("prover", ".jfr");
+            try {
+                recording.dump(file);
+                return RecordingFile.readAllEvents(file);
+            } finally {
+                Files.deleteIfExists(file);
+            }
+        } catch (Exception e) {
+            recordFail("Recording", e.getMessage());
+            return List.of();
+        }
+    }
+
+    /**
+     * Tests the scan and parse events of both logics.
+     */
+    private static void testFrontEndEvents(List<RecordedEvent> events) {
+        System.out.println("Testing scan and parse events...");
+        try {
+            Map<String, RecordedEvent> scans = byLogic(events, "theoremprover.Scan");
+            check(scans.containsKey("propositional") && scans.containsKey("predicate"), "scan events of both logics");
+            RecordedEvent scan = scans.get("predicate");
+            check(scan.getInt("inputLength") == "(Ax P(x)) => P(a).".length(), "input length");
+            check(scan.getInt("tokens") > 0, "token count");
+
+            Map<String, RecordedEvent> parses = byLogic(events, "theoremprover.Parse");
+            check(parses.containsKey("propositional") && parses.containsKey("predicate"), "parse events of both logics");
+            check(parses.get("propositional").getBoolean("successful"), "successful parse");
+            check(!parses.get("propositional").getDuration().isNegative(), "parse duration");
+            recordPass("Scan and parse events");
+
+        } catch (Exception | AssertionError e) {
+            recordFail("Scan and parse events", e.getMessage());
+        }
+    }
+
+    /**
+     * Tests the normal form events.
+     */
+    private static void testNormalFormEvents(List<RecordedEvent> events) {
+        System.out.println("Testing normal form events...");
+        try {
+            Map<String, RecordedEvent> conversions = new HashMap<>();
+            for (RecordedEvent event : named(events, "theoremprover.CNF")) {
+                conversions.put(event.getString("engine"), event);
+            }
+            RecordedEvent propositional = conversions.get("propositional");
+            check(propositional != null, "propositional normal form event");
+            check(propositional.getLong("clauses") == 3, "three clauses, got " + propositional.getLong("clauses"));
+            check(propositional.getLong("literals") == 4, "four literals, got " + propositional.getLong("literals"));
+            check(conversions.get("optimized").getLong("clauses") == 2, "optimized converter clauses");
+            List<RecordedEvent> nnf = named(events, "theoremprover.NNF");
+            check(nnf.size() == 1 && nnf.get(0).getInt("nodes") > 0, "negation normal form event");
+            recordPass("Normal form events");
+
+        } catch (Exception | AssertionError e) {
+            recordFail("Normal form events", e.getMessage());
+        }
+    }
+
+    /**
+     * Tests the resolution step and sequent branch events.
+     */
+    private static void testProverEvents(List<RecordedEvent> events) {
+        System.out.println("Testing prover events...");
+        try {
+            List<RecordedEvent> steps = named(events, "theoremprover.ResolutionStep");
+            check(!steps.isEmpty(), "resolution steps");
+            check(steps.get(0).getString("literal") != null, "selected literal");
+            List<RecordedEvent> opened = named(events, "theoremprover.SequentBranchOpen");
+            check(!opened.isEmpty(), "opened branches");
+            check(opened.get(0).getString("rule") != null, "branching rule");
+            check(!named(events, "theoremprover.SequentBranchClose").isEmpty(), "closed branches");
+            recordPass("Prover events");
+
+        } catch (Exception | AssertionError e) {
+            recordFail("Prover events", e.getMessage());
+        }
+    }
+
+    /**
+     * Returns the events of a type.
+     */
+    private static List<RecordedEvent> named(List<RecordedEvent> events, String name) {
+        return events.stream().filter(e -> e.getEventType().getName().equals(name)).toList();
+    }
+
+    /**
+     * Returns the events of a type by the logic they were emitted for.
+     */
+    private static Map<String, RecordedEvent> byLogic(List<RecordedEvent> events, String name) {
+        Map<String, RecordedEvent> result = new HashMap<>();
+        for (RecordedEvent event : named(events, name)) {
+            result.put(event.getString("logic"), event);
+        }
+        return result;
+    }
+
+    /**
+     * Records a passed test.
+     */
+    private static void recordPass(String testName) {
+        testsPassed++;
+        System.out.println("  ✅ " + testName);
+    }
+
+    /**
+     * Records a failed test.
+     */
+    private static void recordFail(String testName, String error) {
+        testsFailed++;
+        System.out.println("  ❌ " + testName + " - " + error);
+    }
+
+    /**
+     * Displays test results summary.
+     */
+    private static void displayResults() {
+        System.out.println("\n📊 FLIGHT RECORDER TEST RESULTS");
+        System.out.println("=".repeat(50));
+        System.out.println("Passed: " + testsPassed);
+        System.out.println("Failed: " + testsFailed);
+        System.out.println("Total: " + (testsPassed + testsFailed));
+
+        if (testsFailed == 0) {
+            System.out.println("\n🎉 All flight recorder tests passed!");
+        } else {
+            System.out.println("\n⚠️ Some flight recorder tests failed!");
+        }
+    }
+}
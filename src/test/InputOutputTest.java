@@ -1,5 +1,9 @@
 package test;
 
+import static test.TestSupport.check;
+
+import common.EngineEvents;
+import inputoutput.ConsoleEngineListener;
 import inputoutput.Prompt;
 import inputoutput.InputReader;
 import inputoutput.OutputWriter;
@@ -36,6 +40,8 @@ public class InputOutputTest {
         testInfoMessageFormatting();
         testSectionHeaderFormatting();
         testInputReaderCreation();
+        testSilentEngines();
+        testConsoleEngineListener();
         
         displayResults();
     }
@@ -230,6 +236,64 @@ public class InputOutputTest {
         }
     }
     
+    /**
+     * Tests that the engines write nothing to the console by default.
+     */
+    private static void testSilentEngines() {
+        System.out.println("Testing silent engines...");
+        PrintStream originalOut = System.out;
+        try {
+            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+            System.setOut(new PrintStream(outputStream));
+            provePropositional("((P => Q) & P) => Q.");
+            System.setOut(originalOut);
+            
+            check(outputStream.size() == 0, "engines should be silent, got: " + outputStream);
+            recordPass("Silent engines");
+            
+        } catch (Exception | AssertionError e) {
+            System.setOut(originalOut);
+            recordFail("Silent engines", e.getMessage());
+        }
+    }
+    
+    /**
+     * Tests that the console listener prints the engine reports.
+     */
+    private static void testConsoleEngineListener() {
+        System.out.println("Testing console engine listener...");
+        PrintStream originalOut = System.out;
+        try {
+            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+            System.setOut(new PrintStream(outputStream));
+            EngineEvents.setListener(new ConsoleEngineListener());
+            try {
+                provePropositional("((P => Q) & P) => Q.");
+            } finally {
+                EngineEvents.setListener(null);
+                System.setOut(originalOut);
+            }
+            
+            String output = outputStream.toString();
+            check(output.contains("Scanning process completed successfully."), "scanning report missing");
+            check(output.contains("Parsing completed successfully."), "parsing report missing");
+            check(output.contains("The conjunctive normal form of the proposition: "), "normal form report missing");
+            recordPass("Console engine listener");
+            
+        } catch (Exception | AssertionError e) {
+            recordFail("Console engine listener", e.getMessage());
+        }
+    }
+    
+    /**
+     * Scans, parses and proves a propositional formula by resolution.
+     */
+    private static boolean provePropositional(String formula) {
+        propositional.common.Formula parsed = new propositional.parser.Parser(
+                new propositional.scanner.Scanner(formula).getTokens()).parse();
+        return new propositional.resolution.ResolutionMethod(parsed).resolve();
+    }
+    
     /**
      * Records a passed test.
      */
@@ -0,0 +1,257 @@
+package test;
+
+import static test.TestSupport.check;
+
+import common.metrics.MetricsRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CancellationException;
+import propositional.resolution.LocalSearchSolver;
+import server.ProofRequest;
+import server.ProofResult;
+import server.ProverService;
+
+/**
+ * Unit tests for the local search solver.
+ *
+ * <p>
+ * This test suite validates that every model the local search returns
+ * satisfies its clauses, that it finds models of small random clause sets
+ * whenever all assignments show one exists, that it solves a large random
+ * 3-SAT instance with a planted model, that it stops when its thread is
+ * interrupted, and that the prover service answers non-theorems with it
+ * before resolution.</p>
+ *
+ * @author Mark Schlichtmann
+ * @version 2.0
+ * @since 2026
+ */
+public class LocalSearchTest {
+
+    private static int testsPassed = 0;
+    private static int testsFailed = 0;
+
+    /**
+     * Main entry point for running all local search tests.
+     */
+    public static void main(String[] args) {
+        System.out.println("🧪 RUNNING LOCAL SEARCH UNIT TESTS");
+        System.out.println("=".repeat(50));
+
+        testSmallSets();
+        testRandomSets();
+        testPlantedModel();
+        testInterrupt();
+        testService();
+
+        displayResults();
+    }
+
+    /**
+     * Tests a satisfiable set, contradictions, the empty clause and
+     * tautologies.
+     */
+    private static void testSmallSets() {
+        System.out.println("Testing small sets...");
+        try {
+            LocalSearchSolver solver = solver(new int[] {1, 2, 3}, new int[] {-1, -2}, new int[] {-3, 2}, new int[] {-2, 1, 2});
+            boolean[] model = solver.search(1000);
+            check(model != null && solver.satisfies(model), "satisfiable set");
+            check(solver(new int[] {4}, new int[] {-4, -4}).search(1000) == null, "contradiction");
+            check(solver(new int[] {1, 2}, new int[0]).search(1000) == null, "empty clause");
+            LocalSearchSolver tautology = solver(new int[] {5, -5}, new int[] {1, 1, -2});
+            check(tautology.size() == 1 && tautology.search(1000) != null, "tautology dropped");
+            recordPass("Small sets");
+
+        } catch (Exception | AssertionError e) {
+            recordFail("Small sets", e.getMessage());
+        }
+    }
+
+    /**
+     * Tests random sets of up to three literals against all assignments.
+     */
+    private static void testRandomSets() {
+        System.out.println("Testing random sets...");
+        try {
+            Random random = new Random(50);
+            for (int round = 0; round < 300; round++) {
+                int variables = 1 + random.nextInt(10);
+                List<int[]> clauses = new ArrayList<int[]>();
+                LocalSearchSolver solver = new LocalSearchSolver(round);
+                for (int i = random.nextInt(5 * variables + 1); i >= 0; i--) {
+                    int[] clause = new int[1 + random.nextInt(3)];
+                    for (int j = 0; j < clause.length; j++) {
+                        clause[j] = (1 + random.nextInt(variables)) * (random.nextBoolean() ? 1 : -1);
+                    }
+                    clauses.add(clause);
+                    solver.addClause(clause);
+                }
+                boolean satisfiable = false;
+                for (int assignment = 0; assignment < 1 << variables && !satisfiable; assignment++) {
+                    satisfiable = satisfies(clauses, assignment);
+                }
+                boolean[] model = solver.search(100000, 1000);
+                check((model != null) == satisfiable, "verdict in round " + round);
+                if (model != null) {
+                    int assignment = 0;
+                    for (int variable = 1; variable < model.length; variable++) {
+                        assignment |= model[variable] ? 1 << (variable - 1) : 0;
+                    }
+                    check(satisfies(clauses, assignment), "model in round " + round);
+                }
+            }
+            recordPass("Random sets");
+
+        } catch (Exception | AssertionError e) {
+            recordFail("Random sets", e.getMessage());
+        }
+    }
+
+    /**
+     * Tests a random 3-SAT instance of 5000 atoms and 20000 clauses, each
+     * made true by a hidden assignment.
+     */
+    private static void testPlantedModel() {
+        System.out.println("Testing a planted model...");
+        try {
+            Random random = new Random(5000);
+            int variables = 5000;
+            boolean[] hidden = new boolean[variables + 1];
+            for (int variable = 1; variable <= variables; variable++) {
+                hidden[variable] = random.nextBoolean();
+            }
+            LocalSearchSolver solver = new LocalSearchSolver(50);
+            for (int i = 0; i < 4 * variables; i++) {
+                int[] clause = new int[3];
+                boolean satisfied;
+                do {
+                    satisfied = false;
+                    for (int j = 0; j < 3; j++) {
+                        clause[j] = (1 + random.nextInt(variables)) * (random.nextBoolean() ? 1 : -1);
+                        satisfied |= hidden[Math.abs(clause[j])] == clause[j] > 0;
+                    }
+                } while (!satisfied);
+                solver.addClause(clause);
+            }
+            long start = System.nanoTime();
+            boolean[] model = solver.search(50000000);
+            long millis = (System.nanoTime() - start) / 1000000;
+            check(model != null && solver.satisfies(model), "no model after " + solver.getFlips() + " flips");
+            check(millis < 5000, "took " + millis + " ms");
+            recordPass("Planted model");
+
+        } catch (Exception | AssertionError e) {
+            recordFail("Planted model", e.getMessage());
+        }
+    }
+
+    /**
+     * Tests that a search of an unsatisfiable set stops when its thread is
+     * interrupted.
+     */
+    private static void testInterrupt() {
+        System.out.println("Testing interrupt...");
+        try {
+            LocalSearchSolver solver = solver(new int[] {1, 2}, new int[] {-1, 2}, new int[] {1, -2}, new int[] {-1, -2});
+            Thread.currentThread().interrupt();
+            try {
+                solver.search(Long.MAX_VALUE);
+                throw new AssertionError("the search ignored the interrupt");
+            } catch (CancellationException expected) {
+                // expected
+            } finally {
+                Thread.interrupted();
+            }
+            check(solver.getFlips() <= 4096, solver.getFlips() + " flips");
+            recordPass("Interrupt");
+
+        } catch (Exception | AssertionError e) {
+            recordFail("Interrupt", e.getMessage());
+        }
+    }
+
+    /**
+     * Tests that the prover service answers a non-theorem by local search
+     * without resolvents, and still refutes theorems.
+     */
+    private static void testService() {
+        System.out.println("Testing service...");
+        try {
+            ProverService service = new ProverService();
+            long models = MetricsRegistry.getDefault().getCount("localsearch.models");
+            ProofResult result = service.prove(request("(P | (Q | R)) => (P & Q)."));
+            check(result.getVerdict() == ProofResult.Verdict.NOT_THEOREM && result.getResolvents() == 0, "non-theorem");
+            check(MetricsRegistry.getDefault().getCount("localsearch.models") == models + 1, "model found");
+            result = service.prove(request("(P | (Q | R)) => ((R | Q) | P)."));
+            check(result.getVerdict() == ProofResult.Verdict.THEOREM, "theorem");
+            check(MetricsRegistry.getDefault().getCount("localsearch.models") == models + 1, "no model of a theorem");
+            recordPass("Service");
+
+        } catch (Exception | AssertionError e) {
+            recordFail("Service", e.getMessage());
+        }
+    }
+
+    private static ProofRequest request(String formula) {
+        return new ProofRequest(null, ProofRequest.Logic.PROPOSITIONAL, formula, false, null);
+    }
+
+    private static LocalSearchSolver solver(int[]... clauses) {
+        LocalSearchSolver solver = new LocalSearchSolver(50);
+        for (int[] clause : clauses) {
+            solver.addClause(clause);
+        }
+        return solver;
+    }
+
+    /**
+     * Evaluates clauses under an assignment whose bit v - 1 is variable v.
+     */
+    private static boolean satisfies(List<int[]> clauses, int assignment) {
+        for (int[] clause : clauses) {
+            boolean satisfied = false;
+            for (int literal : clause) {
+                satisfied |= (((assignment >>> (Math.abs(literal) - 1)) & 1) == 1) == literal > 0;
+            }
+            if (!satisfied) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Records a passed test.
+     */
+    private static void recordPass(String testName) {
+        testsPassed++;
+        System.out.println("  ✅ " + testName);
+    }
+
+    /**
+     * Records a failed test.
+     */
+    private static void recordFail(String testName, String error) {
+        testsFailed++;
+        System.out.println("  ❌ " + testName + " - " + error);
+    }
+
+    /**
+     * Displays test results summary.
+     */
+    private static void displayResults() {
+        System.out.println("\n📊 LOCAL SEARCH TEST RESULTS");
+        System.out.println("=".repeat(50));
+        System.out.println("Passed: " + testsPassed);
+        System.out.println("Failed: " + testsFailed);
+        System.out.println("Total: " + (testsPassed + testsFailed));
+
+        if (testsFailed == 0) {
+            System.out.println("\n🎉 All local search tests passed!");
+        } else {
+            System.out.println("\n⚠️ Some local search tests failed!");
+        }
+    }
+}
@@ -0,0 +1,239 @@
+package test;
+
+import static test.TestSupport.check;
+
+import common.metrics.LatencyHistogram;
+import common.metrics.MetricsRegistry;
+import common.metrics.Stage;
+import java.util.ArrayList;
+import java.util.List;
+import propositional.common.Formula;
+import propositional.parser.Parser;
+import propositional.portfolio.PortfolioProver;
+import propositional.resolution.ResolutionMethod;
+import propositional.scanner.Scanner;
+import server.ProofRequest;
+import server.ProofResult;
+import server.ProverService;
+
+/**
+ * Unit tests for the metrics registry.
+ *
+ * <p>
+ * This test suite validates the percentiles of the latency histograms,
+ * concurrent recording, the text and JSON reports, that the engines record
+ * their stages and their own histograms, and that a query records one prove
+ * sample however many engines answer it.</p>
+ *
+ * @author Mark Schlichtmann
+ * @version 2.0
+ * @since 2026
+ */
+public class MetricsRegistryTest {
+
+    private static int testsPassed = 0;
+    private static int testsFailed = 0;
+
+    /**
+     * Main entry point for running all metrics registry tests.
+     */
+    public static void main(String[] args) {
+        System.out.println("🧪 RUNNING METRICS REGISTRY UNIT TESTS");
+        System.out.println("=".repeat(50));
+
+        testPercentiles();
+        testWideRange();
+        testConcurrentRecording();
+        testReports();
+        testEngineStages();
+
+        displayResults();
+    }
+
+    /**
+     * Tests the percentiles of a uniform distribution.
+     */
+    private static void testPercentiles() {
+        System.out.println("Testing percentiles...");
+        try {
+            LatencyHistogram histogram = new LatencyHistogram();
+            check(histogram.getValueAtQuantile(0.5) == 0, "empty histogram");
+            for (long i = 1; i <= 100000; i++) {
+                histogram.record(i * 1000);
+            }
+            check(histogram.getCount() == 100000, "count");
+            checkClose(histogram.getValueAtQuantile(0.5), 50_000_000L, "p50");
+            checkClose(histogram.getValueAtQuantile(0.99), 99_000_000L, "p99");
+            checkClose(histogram.getValueAtQuantile(0.999), 99_900_000L, "p999");
+            check(histogram.getValueAtQuantile(1.0) == 100_000_000L, "p100 is the maximum");
+            checkClose((long) histogram.getMeanNanos(), 50_000_500L, "mean");
+            recordPass("Percentiles");
+
+        } catch (Exception | AssertionError e) {
+            recordFail("Percentiles", e.getMessage());
+        }
+    }
+
+    /**
+     * Tests that a single slow call shows in the tail.
+     */
+    private static void testWideRange() {
+        System.out.println("Testing tail latencies...");
+        try {
+            LatencyHistogram histogram = new LatencyHistogram();
+            for (int i = 0; i < 999; i++) {
+                histogram.record(7);
+            }
+            histogram.record(3_600_000_000_000L);
+            check(histogram.getValueAtQuantile(0.5) == 7, "small values are exact");
+            check(histogram.getValueAtQuantile(0.99) == 7, "p99");
+            check(histogram.getValueAtQuantile(0.9999) == 3_600_000_000_000L, "the slow call is the tail");
+            histogram.record(-5);
+            check(histogram.getCount() == 1001, "negative values are counted as 0");
+            histogram.reset();
+            check(histogram.getCount() == 0 && histogram.getMaxNanos() == 0, "reset");
+            recordPass("Tail latencies");
+
+        } catch (Exception | AssertionError e) {
+            recordFail("Tail latencies", e.getMessage());
+        }
+    }
+
+    /**
+     * Tests that no recording is lost when many threads record at once.
+     */
+    private static void testConcurrentRecording() {
+        System.out.println("Testing concurrent recording...");
+        try {
+            MetricsRegistry registry = new MetricsRegistry();
+            List<Thread> threads = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                Thread thread = new Thread(() -> {
+                    for (int i = 0; i < 50000; i++) {
+                        registry.record(Stage.PROVE, i);
+                        registry.increment("proofs");
+                    }
+                });
+                threads.add(thread);
+                thread.start();
+            }
+            for (Thread thread : threads) {
+                thread.join();
+            }
+            check(registry.getHistogram(Stage.PROVE).getCount() == 400000, "histogram count");
+            check(registry.getCount("proofs") == 400000, "counter");
+            check(registry.getHistogram(Stage.PROVE).getMaxNanos() == 49999, "maximum");
+            recordPass("Concurrent recording");
+
+        } catch (Exception | AssertionError e) {
+            recordFail("Concurrent recording", e.getMessage());
+        }
+    }
+
+    /**
+     * Tests the text and JSON reports.
+     */
+    private static void testReports() {
+        System.out.println("Testing reports...");
+        try {
+            MetricsRegistry registry = new MetricsRegistry();
+            registry.record(Stage.SCAN, 1500);
+            registry.increment("cache \"hits\"");
+            registry.recordEngine("bdd", 2500);
+            String text = registry.toText();
+            check(text.startsWith("stage"), "text header");
+            check(text.contains("scan") && text.contains("1.5 us"), "text stage line: " + text);
+            check(text.contains("\nengine") && text.contains("bdd") && text.contains("2.5 us"), "text engine line: " + text);
+            String json = registry.toJson();
+            check(json.startsWith("{\"stages\":{\"scan\":{\"count\":1,"), "JSON stages: " + json);
+            check(json.contains("\"p999Nanos\":1500"), "JSON percentiles");
+            check(json.contains("\"render\":{\"count\":0"), "JSON lists every stage");
+            check(json.contains("\"engines\":{\"bdd\":{\"count\":1,"), "JSON engines: " + json);
+            check(json.endsWith("\"counters\":{\"cache \\\"hits\\\"\":1}}"), "JSON counters: " + json);
+            recordPass("Reports");
+
+        } catch (Exception | AssertionError e) {
+            recordFail("Reports", e.getMessage());
+        }
+    }
+
+    /**
+     * Tests that a proof records its scan, parse and normal form stages and
+     * its engine, and that the service and the portfolio record one prove
+     * sample per query while several engines run.
+     */
+    private static void testEngineStages() {
+        System.out.println("Testing engine stages...");
+        try {
+            MetricsRegistry registry = MetricsRegistry.getDefault();
+            long[] before = new long[Stage.values().length];
+            for (Stage stage : Stage.values()) {
+                before[stage.ordinal()] = registry.getHistogram(stage).getCount();
+            }
+            Formula formula = new Parser(new Scanner("((P => Q) & P) => Q.").getTokens()).parse();
+            long engine = registry.getEngineHistogram("resolution-method").getCount();
+            new ResolutionMethod(formula).resolve();
+            for (Stage stage : new Stage[]{Stage.SCAN, Stage.PARSE, Stage.CNF}) {
+                check(registry.getHistogram(stage).getCount() == before[stage.ordinal()] + 1, stage.getLabel() + " recorded once");
+            }
+            check(registry.getEngineHistogram("resolution-method").getCount() == engine + 1, "engine recorded once");
+            LatencyHistogram prove = registry.getHistogram(Stage.PROVE);
+            check(prove.getCount() == before[Stage.PROVE.ordinal()], "an engine recorded the prove stage");
+            long sequent = registry.getEngineHistogram("sequent").getCount();
+            ProofResult result = new ProverService().prove(
+                    new ProofRequest(null, ProofRequest.Logic.PROPOSITIONAL, "((P => Q) & P) => Q.", true, null));
+            check(result.getVerdict() == ProofResult.Verdict.THEOREM, "service verdict");
+            check(registry.getEngineHistogram("sequent").getCount() == sequent + 1, "proof engine recorded");
+            check(prove.getCount() == before[Stage.PROVE.ordinal()] + 1, "service recorded " + prove.getCount());
+            try (PortfolioProver portfolio = new PortfolioProver()) {
+                check(portfolio.prove(formula).isTheorem(), "portfolio verdict");
+            }
+            check(prove.getCount() == before[Stage.PROVE.ordinal()] + 2, "portfolio recorded " + prove.getCount());
+            recordPass("Engine stages");
+
+        } catch (Exception | AssertionError e) {
+            recordFail("Engine stages", e.getMessage());
+        }
+    }
+
+    /**
+     * Fails the current test unless a percentile is within the precision of
+     * the histogram.
+     */
+    private static void checkClose(long actual, long expected, String name) {
+        check(Math.abs(actual - expected) <= expected / 50, name + " expected about " + expected + ", got " + actual);
+    }
+
+    /**
+     * Records a passed test.
+     */
+    private static void recordPass(String testName) {
+        testsPassed++;
+        System.out.println("  ✅ " + testName);
+    }
+
+    /**
+     * Records a failed test.
+     */
+    private static void recordFail(String testName, String error) {
+        testsFailed++;
+        System.out.println("  ❌ " + testName + " - " + error);
+    }
+
+    /**
+     * Displays test results summary.
+     */
+    private static void displayResults() {
+        System.out.println("\n📊 METRICS REGISTRY TEST RESULTS");
+        System.out.println("=".repeat(50));
+        System.out.println("Passed: " + testsPassed);
+        System.out.println("Failed: " + testsFailed);
+        System.out.println("Total: " + (testsPassed + testsFailed));
+
+        if (testsFailed == 0) {
+            System.out.println("\n🎉 All metrics registry tests passed!");
+        } else {
+            System.out.println("\n⚠️ Some metrics registry tests failed!");
+        }
+    }
+}
@@ -0,0 +1,263 @@
+package test;
+
+import static test.TestSupport.check;
+
+import common.SymbolTable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import optimization.PerformanceOptimizer;
+import optimized.ParallelCNFConverter;
+import propositional.common.Formula;
+import propositional.parser.Parser;
+import propositional.scanner.Scanner;
+import testing.generator.ProblemGenerator;
+
+/**
+ * Unit tests for the parallel CNF converter.
+ *
+ * <p>
+ * This test suite validates that the clauses are equivalent to the formula
+ * under every assignment and that the parallel conversion returns exactly the
+ * clauses of the sequential one, with tasks forked at every node.</p>
+ *
+ * @author Mark Schlichtmann
+ * @version 2.0
+ * @since 2026
+ */
+public class ParallelCNFTest {
+
+    private static int testsPassed = 0;
+    private static int testsFailed = 0;
+
+    /**
+     * Main entry point for running all parallel CNF tests.
+     */
+    public static void main(String[] args) {
+        System.out.println("🧪 RUNNING PARALLEL CNF UNIT TESTS");
+        System.out.println("=".repeat(50));
+
+        testEquivalence();
+        testCanonicalClauses();
+        testParallelMatchesSequential();
+        testLargeProducts();
+        testOptimizerRouting();
+
+        displayResults();
+    }
+
+    /**
+     * Tests that the clauses agree with the formula under every assignment.
+     */
+    private static void testEquivalence() {
+        System.out.println("Testing equivalence...");
+        try {
+            String[] formulas = {
+                "(A & B) | C.",
+                "((A & B) => C) => (A => (B => C)).",
+                "!((A | B) & !(C => A)).",
+                "(A <=> B) <=> !(C & A).",
+                "!(A <=> (B | !C)).",
+                "(A1 & !A1) | (B2 => (A1 <=> B2)).",
+                "!!A | !(B & (C | !A))."
+            };
+            ParallelCNFConverter converter = new ParallelCNFConverter(ForkJoinPool.commonPool(), 1);
+            for (String text : formulas) {
+                Formula formula = parse(text);
+                SymbolTable symbols = new SymbolTable();
+                List<int[]> clauses = converter.convert(formula, symbols);
+                for (int assignment = 0; assignment < (1 << symbols.size()); assignment++) {
+                    check(evaluate(formula, symbols, assignment) == satisfies(clauses, assignment),
+                            text + " under assignment " + assignment);
+                }
+            }
+            recordPass("Equivalence");
+
+        } catch (Exception | AssertionError e) {
+            recordFail("Equivalence", e.getMessage());
+        }
+    }
+
+    /**
+     * Tests that tautologies and repeated clauses and literals are removed.
+     */
+    private static void testCanonicalClauses() {
+        System.out.println("Testing canonical clauses...");
+        try {
+            SymbolTable symbols = new SymbolTable();
+            List<int[]> clauses = new ParallelCNFConverter().convertSequential(parse("(B | A | B) & (A | !A) & (A | B) & C."), symbols);
+            check(clauses.size() == 2, "clauses " + ParallelCNFConverter.toLiteralLists(clauses, symbols));
+            check(Arrays.equals(clauses.get(0), new int[]{3}) && Arrays.equals(clauses.get(1), new int[]{1, 2}), "canonical order");
+            SymbolTable names = new SymbolTable();
+            List<int[]> negated = new ParallelCNFConverter().convertSequential(parse("(!A) | B."), names);
+            check(ParallelCNFConverter.toLiteralLists(negated, names).get(0).equals(Arrays.asList("¬A", "B")), "literal names");
+            recordPass("Canonical clauses");
+
+        } catch (Exception | AssertionError e) {
+            recordFail("Canonical clauses", e.getMessage());
+        }
+    }
+
+    /**
+     * Tests that forking at every node gives the clauses of the sequential
+     * conversion.
+     */
+    private static void testParallelMatchesSequential() {
+        System.out.println("Testing parallel against sequential...");
+        try {
+            List<String> texts = new ArrayList<>();
+            texts.add(ProblemGenerator.implicationChain(60).getText());
+            texts.add(ProblemGenerator.iffLadder(5).getText());
+            texts.add(ProblemGenerator.randomKCnf(3, 10, 1.0, 7).getText());
+            texts.add(ProblemGenerator.pigeonhole(3).getText());
+            ForkJoinPool pool = new ForkJoinPool(4);
+            try {
+                for (String text : texts) {
+                    Formula formula = parse(text);
+                    SymbolTable sequentialSymbols = new SymbolTable();
+                    SymbolTable parallelSymbols = new SymbolTable();
+                    List<int[]> sequential = new ParallelCNFConverter(pool, 1).convertSequential(formula, sequentialSymbols);
+                    List<int[]> parallel = new ParallelCNFConverter(pool, 1).convert(formula, parallelSymbols);
+                    check(sameClauses(sequential, parallel), "different clauses for " + text);
+                    check(sequentialSymbols.size() == parallelSymbols.size(), "different numbering");
+                }
+            } finally {
+                pool.shutdown();
+            }
+            recordPass("Parallel matches sequential");
+
+        } catch (Exception | AssertionError e) {
+            recordFail("Parallel matches sequential", e.getMessage());
+        }
+    }
+
+    /**
+     * Tests a distribution large enough to be split into tasks.
+     */
+    private static void testLargeProducts() {
+        System.out.println("Testing large products...");
+        try {
+            List<String> disjuncts = new ArrayList<>();
+            for (int group = 0; group < 4; group++) {
+                List<String> atoms = new ArrayList<>();
+                for (int i = 1; i <= 8; i++) {
+                    atoms.add(ProblemGenerator.atom(group * 10 + i));
+                }
+                disjuncts.add("(" + String.join(" & ", atoms) + ")");
+            }
+            Formula formula = parse(String.join(" | ", disjuncts) + ".");
+            List<int[]> sequential = new ParallelCNFConverter().convertSequential(formula, new SymbolTable());
+            List<int[]> parallel = new ParallelCNFConverter(ForkJoinPool.commonPool(), 1).convert(formula, new SymbolTable());
+            check(sequential.size() == 4096, "8^4 clauses, got " + sequential.size());
+            check(sameClauses(sequential, parallel), "parallel product differs");
+            recordPass("Large products");
+
+        } catch (Exception | AssertionError e) {
+            recordFail("Large products", e.getMessage());
+        }
+    }
+
+    /**
+     * Tests that the performance optimizer respects the precedence of the
+     * connectives, for text and for parsed formulas.
+     */
+    private static void testOptimizerRouting() {
+        System.out.println("Testing optimizer routing...");
+        try {
+            List<List<String>> cnf = PerformanceOptimizer.convertToCNFOptimized("(P => Q) & (Q => R)");
+            check(cnf.equals(Arrays.asList(Arrays.asList("¬P", "Q"), Arrays.asList("¬Q", "R"))), "clauses " + cnf);
+            check(PerformanceOptimizer.convertToCNFOptimized(parse("(P => Q) & (Q => R).")).equals(cnf), "parsed formula");
+            recordPass("Optimizer routing");
+
+        } catch (Exception | AssertionError e) {
+            recordFail("Optimizer routing", e.getMessage());
+        }
+    }
+
+    private static Formula parse(String text) {
+        Formula formula = new Parser(new Scanner(text).getTokens()).parse();
+        check(formula != null, "cannot parse " + text);
+        return formula;
+    }
+
+    /**
+     * Evaluates a formula, atom i + 1 being true when bit i of the
+     * assignment is set.
+     */
+    private static boolean evaluate(Formula formula, SymbolTable symbols, int assignment) {
+        switch (formula.getToken().getType()) {
+            case PREDICATE:
+                return (assignment & (1 << (symbols.lookup(formula.getToken().getData()) - 1))) != 0;
+            case NOT:
+                return !evaluate(formula.getRightPredicate(), symbols, assignment);
+            case AND:
+                return evaluate(formula.getleftPredicate(), symbols, assignment) && evaluate(formula.getRightPredicate(), symbols, assignment);
+            case OR:
+                return evaluate(formula.getleftPredicate(), symbols, assignment) || evaluate(formula.getRightPredicate(), symbols, assignment);
+            case IMPLY:
+                return !evaluate(formula.getleftPredicate(), symbols, assignment) || evaluate(formula.getRightPredicate(), symbols, assignment);
+            default:
+                return evaluate(formula.getleftPredicate(), symbols, assignment) == evaluate(formula.getRightPredicate(), symbols, assignment);
+        }
+    }
+
+    private static boolean satisfies(List<int[]> clauses, int assignment) {
+        for (int[] clause : clauses) {
+            boolean satisfied = false;
+            for (int literal : clause) {
+                boolean value = (assignment & (1 << (Math.abs(literal) - 1))) != 0;
+                satisfied |= literal > 0 ? value : !value;
+            }
+            if (!satisfied) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean sameClauses(List<int[]> first, List<int[]> second) {
+        if (first.size() != second.size()) {
+            return false;
+        }
+        for (int i = 0; i < first.size(); i++) {
+            if (!Arrays.equals(first.get(i), second.get(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Records a passed test.
+     */
+    private static void recordPass(String testName) {
+        testsPassed++;
+        System.out.println("  ✅ " + testName);
+    }
+
+    /**
+     * Records a failed test.
+     */
+    private static void recordFail(String testName, String error) {
+        testsFailed++;
+        System.out.println("  ❌ " + testName + " - " + error);
+    }
+
+    /**
+     * Displays test results summary.
+     */
+    private static void displayResults() {
+        System.out.println("\n📊 PARALLEL CNF TEST RESULTS");
+        System.out.println("=".repeat(50));
+        System.out.println("Passed: " + testsPassed);
+        System.out.println("Failed: " + testsFailed);
+        System.out.println("Total: " + (testsPassed + testsFailed));
+
+        if (testsFailed == 0) {
+            System.out.println("\n🎉 All parallel CNF tests passed!");
+        } else {
+            System.out.println("\n⚠️ Some parallel CNF tests failed!");
+        }
+    }
+}
@@ -0,0 +1,319 @@
+package test;
+
+import static test.TestSupport.check;
+
+import common.metrics.MetricsRegistry;
+import java.util.Map;
+import java.util.Random;
+import propositional.bdd.BddMethod;
+import propositional.common.Binary;
+import propositional.common.Formula;
+import propositional.common.Propositional;
+import propositional.common.Unary;
+import propositional.parity.ParityMethod;
+import propositional.parity.ParitySystem;
+import propositional.parser.Parser;
+import propositional.scanner.Precedence;
+import propositional.scanner.Scanner;
+import propositional.scanner.Token;
+import server.ProofRequest;
+import server.ProofResult;
+import server.ProofResult.Verdict;
+import server.ProverService;
+import testing.generator.ProblemGenerator;
+
+/**
+ * Unit tests for the parity method.
+ *
+ * <p>
+ * This test suite validates Gaussian elimination over GF(2) against all
+ * assignments of small random systems, the verdicts and countermodels of
+ * random formulas rich in &lt;=&gt; against the BDD method, long &lt;=&gt;
+ * chains and systems of thousands of equations, the hand over of residual
+ * conjuncts to the BDD method, and that the prover service decides linear
+ * formulas without clauses.</p>
+ *
+ * @author Mark Schlichtmann
+ * @version 2.0
+ * @since 2026
+ */
+public class ParityTest {
+
+    private static int testsPassed = 0;
+    private static int testsFailed = 0;
+
+    /**
+     * Main entry point for running all parity tests.
+     */
+    public static void main(String[] args) {
+        System.out.println("🧪 RUNNING PARITY UNIT TESTS");
+        System.out.println("=".repeat(50));
+
+        testRandomSystems();
+        testRandomFormulas();
+        testLadders();
+        testResidual();
+        testService();
+
+        displayResults();
+    }
+
+    /**
+     * Tests random systems, some wider than a long, against all assignments.
+     */
+    private static void testRandomSystems() {
+        System.out.println("Testing random systems...");
+        try {
+            Random random = new Random(49);
+            for (int round = 0; round < 500; round++) {
+                int variables = 1 + random.nextInt(12);
+                int size = random.nextInt(2 * variables + 1);
+                // spread the variables over three longs
+                int[] columns = new int[variables];
+                for (int i = 0; i < variables; i++) {
+                    columns[i] = i * 13 % 150;
+                }
+                long[][] rows = new long[size][3];
+                boolean[] constants = new boolean[size];
+                ParitySystem system = new ParitySystem(150);
+                for (int row = 0; row < size; row++) {
+                    for (int i = 0; i < variables; i++) {
+                        if (random.nextInt(3) == 0) {
+                            rows[row][columns[i] >>> 6] |= 1L << columns[i];
+                        }
+                    }
+                    constants[row] = random.nextBoolean();
+                    system.addEquation(rows[row], constants[row]);
+                }
+                boolean solvable = false;
+                for (int assignment = 0; assignment < 1 << variables && !solvable; assignment++) {
+                    boolean[] values = new boolean[150];
+                    for (int i = 0; i < variables; i++) {
+                        values[columns[i]] = (assignment >>> i & 1) == 1;
+                    }
+                    solvable = solves(rows, constants, values);
+                }
+                check(system.eliminate() == solvable, "verdict in round " + round);
+                check(system.getRank() <= Math.min(size, variables), "rank in round " + round);
+                if (solvable) {
+                    check(solves(rows, constants, system.solve(new boolean[150])), "solution in round " + round);
+                }
+            }
+            recordPass("Random systems");
+
+        } catch (Exception | AssertionError e) {
+            recordFail("Random systems", e.getMessage());
+        }
+    }
+
+    /**
+     * Tests random formulas, mostly of &lt;=&gt;, against the BDD method.
+     */
+    private static void testRandomFormulas() {
+        System.out.println("Testing random formulas...");
+        try {
+            Random random = new Random(149);
+            String[] connectives = {" <=> ", " <=> ", " <=> ", " & ", " | ", " => "};
+            int linear = 0;
+            for (int round = 0; round < 500; round++) {
+                String text = randomFormula(random, connectives, 5) + ".";
+                Formula formula = parse(text);
+                ParityMethod method = new ParityMethod(formula);
+                linear += method.isLinearlyDecided() ? 1 : 0;
+                check(method.isTheorem() == new BddMethod(formula).isTheorem(), "verdict of " + text);
+                Map<String, Boolean> countermodel = method.getCountermodel();
+                check(method.isTheorem() || !evaluate(formula, countermodel), "countermodel of " + text);
+            }
+            check(linear > 50, "only " + linear + " decided by the equations");
+            recordPass("Random formulas");
+
+        } catch (Exception | AssertionError e) {
+            recordFail("Random formulas", e.getMessage());
+        }
+    }
+
+    /**
+     * Tests a chain of 2000 rungs and a system of 2500 equations, in both
+     * outcomes.
+     */
+    private static void testLadders() {
+        System.out.println("Testing ladders...");
+        try {
+            long start = System.nanoTime();
+            ParityMethod ladder = new ParityMethod(ProblemGenerator.iffLadder(2000).parsePropositional());
+            check(ladder.isTheorem() && ladder.isLinearlyDecided() && ladder.getRank() == 0, "ladder of 2000");
+            // (A1 <=> A2) & ... & (A2499 <=> A2500) => (A1 <=> A2500)
+            int length = 2500;
+            Formula chain = null;
+            for (int i = 1; i < length; i++) {
+                Formula link = new Binary(new Token("<=>", Precedence.IFF), atom(i), atom(i + 1));
+                chain = chain == null ? link : new Binary(new Token("&", Precedence.AND), chain, link);
+            }
+            Formula ends = new Binary(new Token("<=>", Precedence.IFF), atom(1), atom(length));
+            ParityMethod theorem = new ParityMethod(new Binary(new Token("=>", Precedence.IMPLY), chain, ends));
+            check(theorem.isTheorem() && theorem.getEquationCount() == length, "chain of " + length);
+            Formula broken = new Binary(new Token("=>", Precedence.IMPLY), chain, new Unary(new Token("!", Precedence.NOT), ends));
+            ParityMethod method = new ParityMethod(broken);
+            check(!method.isTheorem() && method.getRank() == length - 1, "broken chain");
+            // the countermodel satisfies every link, so all atoms are equal
+            Map<String, Boolean> countermodel = method.getCountermodel();
+            check(!countermodel.containsValue(!countermodel.get(ProblemGenerator.atom(1))), "countermodel of the broken chain");
+            long millis = (System.nanoTime() - start) / 1000000;
+            check(millis < 5000, "took " + millis + " ms");
+            recordPass("Ladders");
+
+        } catch (Exception | AssertionError e) {
+            recordFail("Ladders", e.getMessage());
+        }
+    }
+
+    /**
+     * Tests that operands of &lt;=&gt; that are not linear become fresh
+     * atoms decided with the BDD method, and never appear in countermodels.
+     */
+    private static void testResidual() {
+        System.out.println("Testing residual...");
+        try {
+            long residual = MetricsRegistry.getDefault().getCount("parity.residual");
+            ParityMethod method = new ParityMethod(parse("(P <=> (Q & R)) <=> ((R & Q) <=> P)."));
+            check(!method.isLinearlyDecided() && method.getResidualCount() == 2, "two fresh atoms");
+            check(method.isTheorem(), "commuted conjunction");
+            Formula formula = parse("((P | Q) <=> R) => (R <=> (P & Q)).");
+            method = new ParityMethod(formula);
+            check(!method.isTheorem(), "not a theorem");
+            Map<String, Boolean> countermodel = method.getCountermodel();
+            check(countermodel.keySet().toString().equals("[P, Q, R]"), countermodel.toString());
+            check(!evaluate(formula, countermodel), "countermodel " + countermodel);
+            check(MetricsRegistry.getDefault().getCount("parity.residual") == residual + 2, "decided with the BDD method");
+            recordPass("Residual");
+
+        } catch (Exception | AssertionError e) {
+            recordFail("Residual", e.getMessage());
+        }
+    }
+
+    /**
+     * Tests that the prover service decides linear formulas without clauses,
+     * and leaves others to the clause pipeline.
+     */
+    private static void testService() {
+        System.out.println("Testing service...");
+        try {
+            ProverService service = new ProverService();
+            long decided = MetricsRegistry.getDefault().getCount("parity.decided");
+            ProofResult result = service.prove(request(ProblemGenerator.iffLadder(500).getText()));
+            check(result.getVerdict() == ProofResult.Verdict.THEOREM && result.getClauses() == 0, "ladder of 500");
+            result = service.prove(request("(P <=> Q) => (P <=> !Q)."));
+            check(result.getVerdict() == ProofResult.Verdict.NOT_THEOREM, "not a theorem");
+            check(MetricsRegistry.getDefault().getCount("parity.decided") == decided + 2, "decided by the equations");
+            result = service.prove(request("(P <=> (Q | R)) => ((Q | R) => P)."));
+            check(result.getVerdict() == ProofResult.Verdict.THEOREM && result.getClauses() > 0, "residual");
+            check(MetricsRegistry.getDefault().getCount("parity.decided") == decided + 2, "left to the clauses");
+            // the parity path and the clause path read the formula alike
+            for (String text : new String[] {"R | Q <=> Q.", "R | R => !R.", "!(!R) => R.", "(R <=> Q) | R => Q."}) {
+                Verdict expected = new BddMethod(parse(text)).isTheorem() ? Verdict.THEOREM : Verdict.NOT_THEOREM;
+                check(service.prove(request(text)).getVerdict() == expected, "verdict of " + text);
+            }
+            recordPass("Service");
+
+        } catch (Exception | AssertionError e) {
+            recordFail("Service", e.getMessage());
+        }
+    }
+
+    private static ProofRequest request(String formula) {
+        return new ProofRequest(null, ProofRequest.Logic.PROPOSITIONAL, formula, false, null);
+    }
+
+    private static Formula atom(int index) {
+        return new Propositional(new Token(ProblemGenerator.atom(index), Precedence.PREDICATE));
+    }
+
+    /**
+     * Returns true if the values satisfy every equation.
+     */
+    private static boolean solves(long[][] rows, boolean[] constants, boolean[] values) {
+        for (int row = 0; row < rows.length; row++) {
+            boolean sum = false;
+            for (int variable = 0; variable < values.length; variable++) {
+                sum ^= values[variable] && (rows[row][variable >>> 6] & 1L << variable) != 0;
+            }
+            if (sum != constants[row]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String randomFormula(Random random, String[] connectives, int depth) {
+        if (depth == 0 || random.nextInt(4) == 0) {
+            String atom = String.valueOf((char) ('P' + random.nextInt(4)));
+            return random.nextBoolean() ? "!" + atom : atom;
+        }
+        String formula = "(" + randomFormula(random, connectives, depth - 1)
+                + connectives[random.nextInt(connectives.length)] + randomFormula(random, connectives, depth - 1) + ")";
+        return random.nextInt(5) == 0 ? "!" + formula : formula;
+    }
+
+    private static Formula parse(String text) {
+        Formula formula = new Parser(new Scanner(text).getTokens()).parse();
+        check(formula != null, "parse " + text);
+        return formula;
+    }
+
+    /**
+     * Evaluates a formula, atoms missing from the model being false.
+     */
+    private static boolean evaluate(Formula formula, Map<String, Boolean> model) {
+        if (formula instanceof Propositional) {
+            return Boolean.TRUE.equals(model.get(formula.getToken().getData()));
+        }
+        if (formula instanceof Unary) {
+            return !evaluate(formula.getRightPredicate(), model);
+        }
+        boolean left = evaluate(formula.getleftPredicate(), model);
+        boolean right = evaluate(formula.getRightPredicate(), model);
+        Precedence connective = formula.getToken().getType();
+        if (connective == Precedence.AND) {
+            return left && right;
+        } else if (connective == Precedence.OR) {
+            return left || right;
+        } else if (connective == Precedence.IMPLY) {
+            return !left || right;
+        }
+        return left == right;
+    }
+
+    /**
+     * Records a passed test.
+     */
+    private static void recordPass(String testName) {
+        testsPassed++;
+        System.out.println("  ✅ " + testName);
+    }
+
+    /**
+     * Records a failed test.
+     */
+    private static void recordFail(String testName, String error) {
+        testsFailed++;
+        System.out.println("  ❌ " + testName + " - " + error);
+    }
+
+    /**
+     * Displays test results summary.
+     */
+    private static void displayResults() {
+        System.out.println("\n📊 PARITY TEST RESULTS");
+        System.out.println("=".repeat(50));
+        System.out.println("Passed: " + testsPassed);
+        System.out.println("Failed: " + testsFailed);
+        System.out.println("Total: " + (testsPassed + testsFailed));
+
+        if (testsFailed == 0) {
+            System.out.println("\n🎉 All parity tests passed!");
+        } else {
+            System.out.println("\n⚠️ Some parity tests failed!");
+        }
+    }
+}
@@ -40,6 +40,7 @@ public class ParserTest {
         testNegation();
         testOperatorPrecedence();
         testNestedParentheses();
+        testClosingParentheses();
         testComplexFormula();
         testInvalidSyntax();
 
@@ -237,6 +238,30 @@ public class ParserTest {
         }
     }
 
+    /**
+     * Tests that each right parenthesis closes its own bracket, so that a
+     * bracket holding a nested bracket ends where it is closed.
+     */
+    private static void testClosingParentheses() {
+        System.out.println("Testing closing parentheses...");
+        try {
+            Formula formula = new Parser(new Scanner("(P & (P => Q)) => R.").getTokens()).parse();
+            if (formula == null || !formula.getToken().getData().equals("=>")
+                    || !formula.getleftPredicate().getToken().getData().equals("&")
+                    || !(formula.getRightPredicate() instanceof Propositional)) {
+                throw new AssertionError("(P & (P => Q)) => R should be an implication with antecedent P & (P => Q)");
+            }
+            if (new Parser(new Scanner("P).").getTokens()).parse() != null) {
+                throw new AssertionError("an unopened parenthesis should result in null formula");
+            }
+
+            recordPass("Closing parentheses");
+
+        } catch (Exception | AssertionError e) {
+            recordFail("Closing parentheses", e.getMessage());
+        }
+    }
+
     /**
      * Tests parsing of complex formula.
      */
@@ -0,0 +1,452 @@
+package test;
+
+import static test.TestSupport.check;
+
+import common.metrics.MetricsRegistry;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.TimeUnit;
+import propositional.bdd.BddMethod;
+import propositional.common.Formula;
+import propositional.common.Propositional;
+import propositional.common.Unary;
+import propositional.parser.Parser;
+import propositional.portfolio.EngineSelector;
+import propositional.portfolio.FormulaFeatures;
+import propositional.portfolio.PortfolioProver;
+import propositional.portfolio.PortfolioProver.Engine;
+import propositional.portfolio.PortfolioProver.Result;
+import propositional.resolution.ClauseResolver;
+import propositional.scanner.Precedence;
+import propositional.scanner.Scanner;
+import propositional.truthtable.TruthTableMethod;
+import testing.generator.ProblemGenerator;
+
+/**
+ * Unit tests for the portfolio prover.
+ *
+ * <p>
+ * This test suite validates that the verdict of the race agrees with the BDD
+ * method whichever engine wins, that each engine stops when its thread is
+ * interrupted, that a race gives up at its timeout, and that the wins of the
+ * engines are counted. It also validates the formula features, the engine
+ * selection and its calibration, and the persisted selection table.</p>
+ *
+ * @author Mark Schlichtmann
+ * @version 2.0
+ * @since 2026
+ */
+public class PortfolioTest {
+
+    private static int testsPassed = 0;
+    private static int testsFailed = 0;
+
+    /**
+     * Main entry point for running all portfolio tests.
+     */
+    public static void main(String[] args) {
+        System.out.println("🧪 RUNNING PORTFOLIO UNIT TESTS");
+        System.out.println("=".repeat(50));
+
+        testRandomFormulas();
+        testEngineSubsets();
+        testInterruptedEngines();
+        testTimeout();
+        testWins();
+        testFeatures();
+        testSelection();
+        testCalibration();
+        testPersistence();
+
+        displayResults();
+    }
+
+    /**
+     * Tests the verdicts and countermodels of random formulas against the BDD
+     * method.
+     */
+    private static void testRandomFormulas() {
+        System.out.println("Testing random formulas...");
+        try (PortfolioProver portfolio = new PortfolioProver()) {
+            Random random = new Random(45);
+            String[] connectives = {" & ", " | ", " => ", " <=> "};
+            for (int round = 0; round < 200; round++) {
+                String text = randomFormula(random, connectives, 1 + random.nextInt(8), 5) + ".";
+                Formula formula = parse(text);
+                Result result = portfolio.prove(formula);
+                check(result.isDecided(), "no verdict for " + text);
+                check(result.isTheorem() == new BddMethod(formula).isTheorem(), "verdict of " + text);
+                if (!result.isTheorem() && result.getCountermodel() != null) {
+                    check(!evaluate(formula, result.getCountermodel()), "countermodel of " + text);
+                }
+            }
+            recordPass("Random formulas");
+
+        } catch (Exception | AssertionError e) {
+            recordFail("Random formulas", e.getMessage());
+        }
+    }
+
+    /**
+     * Tests portfolios of single engines, that local search proves no
+     * theorems, and that the truth table stays out of races with too many
+     * atoms and the parity method out of races without &lt;=&gt;.
+     */
+    private static void testEngineSubsets() {
+        System.out.println("Testing engine subsets...");
+        Formula syllogism = parse("(P => Q) => ((Q => R) => (P => R)).");
+        Formula equivalence = parse("(P <=> Q) <=> ((P => Q) & (Q => P)).");
+        try {
+            for (Engine engine : Engine.values()) {
+                try (PortfolioProver portfolio = new PortfolioProver(EnumSet.of(engine), ClauseResolver.DEFAULT_CLAUSE_LIMIT)) {
+                    Result result = portfolio.prove(engine == Engine.PARITY ? equivalence : syllogism);
+                    // local search only finds countermodels
+                    check(engine == Engine.LOCAL_SEARCH ? !result.isDecided() : result.getEngine() == engine && result.isTheorem(),
+                            engine.getLabel());
+                    result = portfolio.prove(parse("(P => Q) <=> Q."));
+                    check(result.getEngine() == engine && !result.isTheorem(), engine.getLabel() + " non-theorem");
+                }
+            }
+            try (PortfolioProver portfolio = new PortfolioProver(EnumSet.of(Engine.PARITY), ClauseResolver.DEFAULT_CLAUSE_LIMIT)) {
+                check(!portfolio.prove(syllogism).isDecided(), "parity without <=>");
+            }
+            try (PortfolioProver portfolio = new PortfolioProver(EnumSet.of(Engine.TRUTH_TABLE), ClauseResolver.DEFAULT_CLAUSE_LIMIT)) {
+                Result result = portfolio.prove(ProblemGenerator.iffLadder(PortfolioProver.TRUTH_TABLE_ATOMS + 1).parsePropositional());
+                check(!result.isDecided() && result.getEngine() == null, "truth table with too many atoms");
+            }
+            try {
+                new PortfolioProver(EnumSet.noneOf(Engine.class), 1);
+                throw new AssertionError("accepted no engines");
+            } catch (IllegalArgumentException expected) {
+                // expected
+            }
+            recordPass("Engine subsets");
+
+        } catch (Exception | AssertionError e) {
+            recordFail("Engine subsets", e.getMessage());
+        }
+    }
+
+    /**
+     * Tests that each engine stops with a cancellation when its thread is
+     * interrupted.
+     */
+    private static void testInterruptedEngines() {
+        System.out.println("Testing interrupted engines...");
+        try {
+            Formula ladder = ProblemGenerator.iffLadder(200).parsePropositional();
+            Thread.currentThread().interrupt();
+            try {
+                new BddMethod(ladder);
+                throw new AssertionError("the BDD method ignored the interrupt");
+            } catch (CancellationException expected) {
+                // expected
+            } finally {
+                Thread.interrupted();
+            }
+            Thread.currentThread().interrupt();
+            try {
+                new TruthTableMethod(ProblemGenerator.iffLadder(20).parsePropositional());
+                throw new AssertionError("the truth table ignored the interrupt");
+            } catch (CancellationException expected) {
+                // expected
+            } finally {
+                Thread.interrupted();
+            }
+            check(new BddMethod(ladder).isTheorem(), "the thread is usable afterwards");
+            recordPass("Interrupted engines");
+
+        } catch (Exception | AssertionError e) {
+            recordFail("Interrupted engines", e.getMessage());
+        }
+    }
+
+    /**
+     * Tests that a race gives up at its timeout when resolution alone cannot
+     * convert a long &lt;=&gt; chain, and that the engine is stopped.
+     */
+    private static void testTimeout() {
+        System.out.println("Testing timeout...");
+        try (PortfolioProver portfolio = new PortfolioProver(EnumSet.of(Engine.RESOLUTION), ClauseResolver.DEFAULT_CLAUSE_LIMIT)) {
+            long start = System.nanoTime();
+            Result result = portfolio.prove(ProblemGenerator.iffLadder(40).parsePropositional(), 100, TimeUnit.MILLISECONDS);
+            long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            check(!result.isDecided(), "decided the ladder");
+            check(elapsed < 5000, "returned after " + elapsed + " ms");
+            check(portfolio.prove(parse("P => P.")).isTheorem(), "the next race after a timeout");
+            recordPass("Timeout");
+
+        } catch (Exception | AssertionError e) {
+            recordFail("Timeout", e.getMessage());
+        }
+    }
+
+    /**
+     * Tests that every decided race is won by exactly one engine, and that
+     * the parity method wins a long &lt;=&gt; chain.
+     */
+    private static void testWins() {
+        System.out.println("Testing wins...");
+        try (PortfolioProver portfolio = new PortfolioProver()) {
+            for (int rungs = 2; rungs <= 10; rungs++) {
+                check(portfolio.prove(ProblemGenerator.iffLadder(rungs).parsePropositional()).isTheorem(), "ladder of " + rungs);
+            }
+            Result result = portfolio.prove(ProblemGenerator.iffLadder(300).parsePropositional());
+            check(result.isTheorem() && result.getEngine() == Engine.PARITY, "ladder of 300 won by " + result.getEngine());
+            long wins = 0;
+            for (Engine engine : Engine.values()) {
+                wins += portfolio.getWins(engine);
+            }
+            check(portfolio.getRaces() == 10 && wins == 10, wins + " wins in " + portfolio.getRaces() + " races");
+            check(portfolio.getReport().contains("bdd"), "report");
+            recordPass("Wins");
+
+        } catch (Exception | AssertionError e) {
+            recordFail("Wins", e.getMessage());
+        }
+    }
+
+    /**
+     * Tests the features and clause estimates of small formulas and of a long
+     * &lt;=&gt; chain.
+     */
+    private static void testFeatures() {
+        System.out.println("Testing features...");
+        try {
+            FormulaFeatures implication = new FormulaFeatures(parse("P => Q."));
+            check(implication.getAtoms() == 2 && implication.getNodes() == 3 && implication.getDepth() == 2,
+                    implication.toString());
+            check(implication.getImplications() == 1 && implication.getClauseEstimate() == 1
+                    && implication.getNegatedClauseEstimate() == 2, implication.toString());
+            FormulaFeatures distributed = new FormulaFeatures(parse("(P & Q) | (R & (!S))."));
+            check(distributed.getClauseEstimate() == 4 && distributed.getNegatedClauseEstimate() == 2
+                    && distributed.getNegations() == 1, distributed.toString());
+            check(distributed.getBucket().equals("a0.c0.e0"), distributed.getBucket());
+            FormulaFeatures ladder = new FormulaFeatures(ProblemGenerator.iffLadder(70).parsePropositional());
+            check(ladder.getEquivalences() == 139 && ladder.getAtoms() == 70, ladder.toString());
+            check(ladder.getNegatedClauseEstimate() == Long.MAX_VALUE, "saturated estimate");
+            check(ladder.getBucket().equals("a3.c3.e1"), ladder.getBucket());
+            recordPass("Features");
+
+        } catch (Exception | AssertionError e) {
+            recordFail("Features", e.getMessage());
+        }
+    }
+
+    /**
+     * Tests that an engine is selected only for buckets with enough
+     * comparisons and a clear winner, that lost comparisons, failures of the
+     * selected engine and exploration bring the race back, and that old
+     * comparisons decay.
+     */
+    private static void testSelection() {
+        System.out.println("Testing selection...");
+        try {
+            EngineSelector selector = new EngineSelector();
+            FormulaFeatures features = new FormulaFeatures(parse("P => Q."));
+            String bucket = features.getBucket();
+            for (int i = 0; i < EngineSelector.MIN_COMPARISONS - 1; i++) {
+                selector.recordComparison(bucket, Engine.TRUTH_TABLE);
+            }
+            check(selector.select(features) == null, "selected with too few comparisons");
+            selector.recordComparison(bucket, Engine.TRUTH_TABLE);
+            check(selector.select(features) == Engine.TRUTH_TABLE, "clear winner");
+            for (int i = 0; i < 3; i++) {
+                selector.recordComparison(bucket, null);
+            }
+            check(selector.select(features) == null, "selected after failures");
+            check(selector.getComparisons(bucket) == 11 && selector.getWins(bucket, Engine.TRUTH_TABLE) == 8,
+                    selector.getReport());
+            for (int i = 0; i < 13; i++) {
+                selector.recordComparison(bucket, Engine.TRUTH_TABLE);
+            }
+            int raced = 0;
+            for (int i = 0; i < EngineSelector.EXPLORATION_INTERVAL * 3; i++) {
+                raced += selector.select(features) == null ? 1 : 0;
+            }
+            check(raced == 3, raced + " explorations");
+            selector.recordRun(bucket, Engine.TRUTH_TABLE, 1000, false);
+            check(selector.select(features) == null, "selected after an undecided run");
+            check(selector.select(features) == Engine.TRUTH_TABLE, "selected after the exploration");
+            while (selector.getComparisons(bucket) < EngineSelector.DECAY_COMPARISONS - 1) {
+                selector.recordComparison(bucket, Engine.TRUTH_TABLE);
+            }
+            selector.recordComparison(bucket, Engine.BDD);
+            check(selector.getComparisons(bucket) == EngineSelector.DECAY_COMPARISONS / 2
+                    && selector.getWins(bucket, Engine.TRUTH_TABLE) == (EngineSelector.DECAY_COMPARISONS - 4) / 2,
+                    "decay " + selector.getReport());
+            recordPass("Selection");
+
+        } catch (Exception | AssertionError e) {
+            recordFail("Selection", e.getMessage());
+        }
+    }
+
+    /**
+     * Tests that calibration on long &lt;=&gt; chains selects the parity
+     * method, which then runs alone without recording a comparison, that a
+     * race records one comparison and that the race after a failed selected
+     * engine records none.
+     */
+    private static void testCalibration() {
+        System.out.println("Testing calibration...");
+        try (PortfolioProver portfolio = new PortfolioProver()) {
+            EngineSelector selector = new EngineSelector();
+            portfolio.setSelector(selector);
+            List<Formula> workload = new ArrayList<Formula>();
+            for (int rungs = 40; rungs < 40 + EngineSelector.MIN_COMPARISONS; rungs++) {
+                workload.add(ProblemGenerator.iffLadder(rungs).parsePropositional());
+            }
+            portfolio.calibrate(workload, 100, TimeUnit.MILLISECONDS);
+            Formula ladder = ProblemGenerator.iffLadder(60).parsePropositional();
+            FormulaFeatures features = new FormulaFeatures(ladder);
+            check(selector.select(features) == Engine.PARITY, selector.getReport());
+            long selected = MetricsRegistry.getDefault().getCount("portfolio.selected.parity");
+            Result result = portfolio.prove(ladder);
+            check(result.isTheorem() && result.getEngine() == Engine.PARITY, "selected engine");
+            check(MetricsRegistry.getDefault().getCount("portfolio.selected.parity") == selected + 1, "ran alone");
+            check(selector.getComparisons(features.getBucket()) == EngineSelector.MIN_COMPARISONS, "solo run recorded");
+            Formula theorem = parse("(P & Q) => P.");
+            String bucket = new FormulaFeatures(theorem).getBucket();
+            portfolio.prove(theorem);
+            check(selector.getComparisons(bucket) == 1, "race not recorded once");
+            for (int i = 1; i < EngineSelector.MIN_COMPARISONS; i++) {
+                selector.recordComparison(bucket, Engine.LOCAL_SEARCH);
+            }
+            selected = MetricsRegistry.getDefault().getCount("portfolio.selected.local-search");
+            result = portfolio.prove(theorem);
+            check(result.isTheorem() && result.getEngine() != Engine.LOCAL_SEARCH, "fallback race");
+            check(MetricsRegistry.getDefault().getCount("portfolio.selected.local-search") == selected + 1, "local search alone");
+            check(selector.getComparisons(bucket) == EngineSelector.MIN_COMPARISONS, "fallback race recorded");
+            recordPass("Calibration");
+
+        } catch (Exception | AssertionError e) {
+            recordFail("Calibration", e.getMessage());
+        }
+    }
+
+    /**
+     * Tests that a saved table is read back, that a missing table is empty
+     * and that a malformed table is refused.
+     */
+    private static void testPersistence() {
+        System.out.println("Testing persistence...");
+        Path directory = null;
+        try {
+            directory = Files.createTempDirectory("engines");
+            Path file = directory.resolve("engines.properties");
+            check(EngineSelector.load(file).getReport().isEmpty(), "missing table");
+            EngineSelector selector = new EngineSelector();
+            FormulaFeatures features = new FormulaFeatures(parse("P => Q."));
+            for (int i = 0; i < EngineSelector.MIN_COMPARISONS; i++) {
+                selector.recordRun(features.getBucket(), Engine.BDD, 1000 + i, true);
+                selector.recordComparison(features.getBucket(), Engine.BDD);
+            }
+            selector.recordRun(features.getBucket(), Engine.RESOLUTION, 5000, false);
+            selector.save(file);
+            EngineSelector loaded = EngineSelector.load(file);
+            check(loaded.getReport().equals(selector.getReport()), loaded.getReport());
+            check(loaded.select(features) == Engine.BDD, "selection after loading");
+            Files.write(file, "a0.c0.e0.bdd=1,x\n".getBytes(StandardCharsets.UTF_8));
+            try {
+                EngineSelector.load(file);
+                throw new AssertionError("loaded a malformed table");
+            } catch (IOException expected) {
+                // expected
+            }
+            recordPass("Persistence");
+
+        } catch (Exception | AssertionError e) {
+            recordFail("Persistence", e.getMessage());
+        } finally {
+            if (directory != null) {
+                try {
+                    Files.deleteIfExists(directory.resolve("engines.properties"));
+                    Files.deleteIfExists(directory);
+                } catch (IOException e) {
+                    // left for the temporary directory cleanup
+                }
+            }
+        }
+    }
+
+    private static String randomFormula(Random random, String[] connectives, int atoms, int depth) {
+        if (depth == 0 || random.nextInt(5) == 0) {
+            String atom = ProblemGenerator.atom(1 + random.nextInt(atoms));
+            return random.nextBoolean() ? "(!" + atom + ")" : atom;
+        }
+        String formula = "(" + randomFormula(random, connectives, atoms, depth - 1)
+                + connectives[random.nextInt(connectives.length)] + randomFormula(random, connectives, atoms, depth - 1) + ")";
+        return random.nextInt(5) == 0 ? "(!" + formula + ")" : formula;
+    }
+
+    private static Formula parse(String text) {
+        Formula formula = new Parser(new Scanner(text).getTokens()).parse();
+        check(formula != null, "parse " + text);
+        return formula;
+    }
+
+    /**
+     * Evaluates a formula, atoms missing from the model being false.
+     */
+    private static boolean evaluate(Formula formula, Map<String, Boolean> model) {
+        if (formula instanceof Propositional) {
+            return Boolean.TRUE.equals(model.get(formula.getToken().getData()));
+        }
+        if (formula instanceof Unary) {
+            return !evaluate(formula.getRightPredicate(), model);
+        }
+        boolean left = evaluate(formula.getleftPredicate(), model);
+        boolean right = evaluate(formula.getRightPredicate(), model);
+        Precedence connective = formula.getToken().getType();
+        if (connective == Precedence.AND) {
+            return left && right;
+        } else if (connective == Precedence.OR) {
+            return left || right;
+        } else if (connective == Precedence.IMPLY) {
+            return !left || right;
+        }
+        return left == right;
+    }
+
+    /**
+     * Records a passed test.
+     */
+    private static void recordPass(String testName) {
+        testsPassed++;
+        System.out.println("  ✅ " + testName);
+    }
+
+    /**
+     * Records a failed test.
+     */
+    private static void recordFail(String testName, String error) {
+        testsFailed++;
+        System.out.println("  ❌ " + testName + " - " + error);
+    }
+
+    /**
+     * Displays test results summary.
+     */
+    private static void displayResults() {
+        System.out.println("\n📊 PORTFOLIO TEST RESULTS");
+        System.out.println("=".repeat(50));
+        System.out.println("Passed: " + testsPassed);
+        System.out.println("Failed: " + testsFailed);
+        System.out.println("Total: " + (testsPassed + testsFailed));
+
+        if (testsFailed == 0) {
+            System.out.println("\n🎉 All portfolio tests passed!");
+        } else {
+            System.out.println("\n⚠️ Some portfolio tests failed!");
+        }
+    }
+}
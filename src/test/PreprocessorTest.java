@@ -0,0 +1,354 @@
+package test;
+
+import static test.TestSupport.check;
+
+import common.ClauseCollector;
+import common.SymbolTable;
+import java.util.Arrays;
+import java.util.List;
+import optimized.OptimizedCNFConverter;
+import propositional.resolution.ClausePreprocessor;
+import propositional.resolution.ClausePreprocessor.Step;
+import propositional.resolution.ClauseResolver;
+import testing.generator.GeneratedProblem;
+import testing.generator.ProblemGenerator;
+
+/**
+ * Unit tests for the clause preprocessor.
+ *
+ * <p>
+ * This test suite validates each preprocessing step on a clause set made for
+ * it, that disabled steps leave the clauses alone, that preprocessing keeps
+ * random clause sets satisfiable exactly when they were, and that the result
+ * can be refuted in place of the converted formula.</p>
+ *
+ * @author Mark Schlichtmann
+ * @version 2.0
+ * @since 2026
+ */
+public class PreprocessorTest {
+
+    private static int testsPassed = 0;
+    private static int testsFailed = 0;
+
+    /**
+     * Main entry point for running all preprocessor tests.
+     */
+    public static void main(String[] args) {
+        System.out.println("🧪 RUNNING PREPROCESSOR UNIT TESTS");
+        System.out.println("=".repeat(50));
+
+        testUnitPropagation();
+        testPureLiterals();
+        testSubsumption();
+        testVariableElimination();
+        testBlockedClauses();
+        testSwitches();
+        testSatisfiability();
+        testPipeline();
+
+        displayResults();
+    }
+
+    /**
+     * Tests that units satisfy and shorten clauses, and find contradictions.
+     */
+    private static void testUnitPropagation() {
+        System.out.println("Testing unit propagation...");
+        try {
+            ClausePreprocessor preprocessor = only(Step.UNIT_PROPAGATION,
+                    new int[] {1}, new int[] {-1, 2}, new int[] {-2, 3, 4}, new int[] {1, 5});
+            check(!preprocessor.preprocess(), "satisfiable");
+            List<int[]> clauses = clauses(preprocessor);
+            check(clauses.size() == 1 && clauses.get(0).length == 2, "only 3 | 4 left");
+            check(preprocessor.getClausesRemoved(Step.UNIT_PROPAGATION) == 3, "clauses removed");
+            check(preprocessor.getLiteralsRemoved(Step.UNIT_PROPAGATION) == 2, "literals removed");
+
+            preprocessor = only(Step.UNIT_PROPAGATION, new int[] {1}, new int[] {-1, 2}, new int[] {-2, -1});
+            check(preprocessor.preprocess() && preprocessor.isUnsatisfiable(), "contradiction");
+            clauses = clauses(preprocessor);
+            check(clauses.size() == 1 && clauses.get(0).length == 0, "empty clause replayed");
+            recordPass("Unit propagation");
+
+        } catch (Exception | AssertionError e) {
+            recordFail("Unit propagation", e.getMessage());
+        }
+    }
+
+    /**
+     * Tests that clauses with pure literals are removed until none is left.
+     */
+    private static void testPureLiterals() {
+        System.out.println("Testing pure literals...");
+        try {
+            ClausePreprocessor preprocessor = only(Step.PURE_LITERALS,
+                    new int[] {1, 2}, new int[] {-2, 3}, new int[] {4, -5}, new int[] {-4, 5});
+            preprocessor.preprocess();
+            check(preprocessor.size() == 2, "two clauses left, " + preprocessor.size());
+            check(preprocessor.getClausesRemoved(Step.PURE_LITERALS) == 2, "clauses removed");
+            recordPass("Pure literals");
+
+        } catch (Exception | AssertionError e) {
+            recordFail("Pure literals", e.getMessage());
+        }
+    }
+
+    /**
+     * Tests subsumption, duplicates and self-subsuming resolution.
+     */
+    private static void testSubsumption() {
+        System.out.println("Testing subsumption...");
+        try {
+            ClausePreprocessor preprocessor = only(Step.SUBSUMPTION,
+                    new int[] {1, 2}, new int[] {2, 1, 3}, new int[] {1, 2}, new int[] {-1, 3});
+            preprocessor.preprocess();
+            check(preprocessor.size() == 2, "two clauses left");
+            check(preprocessor.getClausesRemoved(Step.SUBSUMPTION) == 2, "clauses removed");
+
+            preprocessor = new ClausePreprocessor(Step.SUBSUMPTION, Step.SELF_SUBSUMPTION);
+            add(preprocessor, new int[] {1, 2}, new int[] {-1, 2}, new int[] {3, 4}, new int[] {-3, 4, 5}, new int[] {4, 5, 6});
+            preprocessor.preprocess();
+            List<int[]> clauses = clauses(preprocessor);
+            check(clauses.size() == 3 && contains(clauses, 2) && contains(clauses, 4, 5), "strengthened");
+            check(preprocessor.getLiteralsRemoved(Step.SELF_SUBSUMPTION) == 2, "literals removed");
+            check(preprocessor.getClausesRemoved(Step.SUBSUMPTION) == 2, "subsumed after strengthening");
+            recordPass("Subsumption");
+
+        } catch (Exception | AssertionError e) {
+            recordFail("Subsumption", e.getMessage());
+        }
+    }
+
+    /**
+     * Tests that a variable is replaced by its resolvents if they are few.
+     */
+    private static void testVariableElimination() {
+        System.out.println("Testing variable elimination...");
+        try {
+            ClausePreprocessor preprocessor = only(Step.VARIABLE_ELIMINATION,
+                    new int[] {1, 2}, new int[] {-1, 3}, new int[] {-1, -2, 4});
+            preprocessor.preprocess();
+            check(preprocessor.getVariablesEliminated() >= 1, "variable eliminated");
+            for (int[] clause : clauses(preprocessor)) {
+                for (int literal : clause) {
+                    check(Math.abs(literal) != 1, "variable 1 left");
+                }
+            }
+
+            preprocessor = only(Step.VARIABLE_ELIMINATION, new int[] {1}, new int[] {-1});
+            check(preprocessor.preprocess(), "contradiction found");
+
+            preprocessor = only(Step.VARIABLE_ELIMINATION);
+            preprocessor.setOccurrenceLimit(1);
+            add(preprocessor, new int[] {1, 2}, new int[] {1, 3}, new int[] {-1, 2}, new int[] {-1, 3}, new int[] {-2, -3});
+            preprocessor.preprocess();
+            check(contains(clauses(preprocessor), 1, 2), "variable above the limit kept");
+            recordPass("Variable elimination");
+
+        } catch (Exception | AssertionError e) {
+            recordFail("Variable elimination", e.getMessage());
+        }
+    }
+
+    /**
+     * Tests that blocked clauses are removed and others are kept.
+     */
+    private static void testBlockedClauses() {
+        System.out.println("Testing blocked clauses...");
+        try {
+            // 1 | 2 is blocked by 1: its only partner -1 | -2 gives a tautology
+            ClausePreprocessor preprocessor = only(Step.BLOCKED_CLAUSES,
+                    new int[] {1, 2}, new int[] {-1, -2}, new int[] {2, 3}, new int[] {-2, -3}, new int[] {-3, 2});
+            preprocessor.preprocess();
+            check(preprocessor.getClausesRemoved(Step.BLOCKED_CLAUSES) > 0, "blocked clause removed");
+
+            preprocessor = only(Step.BLOCKED_CLAUSES, new int[] {1, 2}, new int[] {1, -2}, new int[] {-1, 2}, new int[] {-1, -2});
+            check(preprocessor.preprocess() == false && preprocessor.size() == 4, "nothing blocked");
+            recordPass("Blocked clauses");
+
+        } catch (Exception | AssertionError e) {
+            recordFail("Blocked clauses", e.getMessage());
+        }
+    }
+
+    /**
+     * Tests that disabled steps change nothing, and that the report lists
+     * the enabled steps.
+     */
+    private static void testSwitches() {
+        System.out.println("Testing switches...");
+        try {
+            int[][] input = {{1}, {-1, 2}, {1, 2, 3}, {4, 5}};
+            ClausePreprocessor none = new ClausePreprocessor(new Step[0]);
+            add(none, input);
+            check(!none.preprocess() && none.size() == 4, "no step enabled");
+
+            ClausePreprocessor all = new ClausePreprocessor();
+            add(all, input);
+            check(!all.preprocess() && all.size() == 0, "every clause removed, " + all.size());
+            all.setEnabled(Step.BLOCKED_CLAUSES, false);
+            check(!all.isEnabled(Step.BLOCKED_CLAUSES) && all.isEnabled(Step.PURE_LITERALS), "switched");
+            String report = all.getReport();
+            check(report.startsWith("4 clauses in, 0 out"), report);
+            check(report.contains("unit propagation") && !report.contains("blocked clauses"), report);
+            recordPass("Switches");
+
+        } catch (Exception | AssertionError e) {
+            recordFail("Switches", e.getMessage());
+        }
+    }
+
+    /**
+     * Tests that every combination of steps keeps random clause sets
+     * satisfiable exactly when they were, checked over all assignments.
+     */
+    private static void testSatisfiability() {
+        System.out.println("Testing satisfiability...");
+        try {
+            Step[] steps = Step.values();
+            for (int seed = 0; seed < 120; seed++) {
+                GeneratedProblem problem = ProblemGenerator.randomKCnf(3, 10, 3.5 + (seed % 5) * 0.25, seed);
+                boolean expected = satisfiable(problem.getClauses(), 10);
+                ClausePreprocessor preprocessor = new ClausePreprocessor();
+                for (int i = 0; i < steps.length; i++) {
+                    preprocessor.setEnabled(steps[i], ((seed >> (i % 4)) & 1) == 0 || seed % 3 == 0);
+                }
+                problem.streamClauses(preprocessor);
+                boolean found = preprocessor.preprocess();
+                check(!found || !expected, "seed " + seed + " found unsatisfiable");
+                check(satisfiable(clauses(preprocessor), 10) == expected, "seed " + seed);
+                check(preprocessor.size() <= preprocessor.getInputCount(), "seed " + seed + " grew");
+            }
+            recordPass("Satisfiability");
+
+        } catch (Exception | AssertionError e) {
+            recordFail("Satisfiability", e.getMessage());
+        }
+    }
+
+    /**
+     * Tests preprocessing between the CNF converter and the resolver.
+     */
+    private static void testPipeline() {
+        System.out.println("Testing pipeline...");
+        try {
+            StringBuilder chain = new StringBuilder("A1");
+            for (int i = 1; i < 30; i++) {
+                chain.append(" & (A").append(i).append(" => A").append(i + 1).append(')');
+            }
+            String[] formulas = {"!((" + chain + ") => A30)", "!((" + chain + ") => A31)",
+                "(P | Q) & ((!P) | Q) & (P | (!Q)) & ((!P) | (!Q))"};
+            boolean[] unsatisfiable = {true, false, true};
+            for (int i = 0; i < formulas.length; i++) {
+                ClausePreprocessor preprocessor = new ClausePreprocessor();
+                check(OptimizedCNFConverter.convertToClauses(formulas[i], new SymbolTable(), preprocessor), "converted");
+                preprocessor.preprocess();
+                check(preprocessor.size() < preprocessor.getInputCount(), "clauses removed");
+                ClauseResolver resolver = new ClauseResolver();
+                preprocessor.replay(resolver);
+                check(resolver.refute() == unsatisfiable[i], formulas[i]);
+            }
+            recordPass("Pipeline");
+
+        } catch (Exception | AssertionError e) {
+            recordFail("Pipeline", e.getMessage());
+        }
+    }
+
+    /**
+     * Creates a preprocessor running one step over the given clauses.
+     */
+    private static ClausePreprocessor only(Step step, int[]... clauses) {
+        ClausePreprocessor preprocessor = new ClausePreprocessor(step);
+        add(preprocessor, clauses);
+        return preprocessor;
+    }
+
+    private static void add(ClausePreprocessor preprocessor, int[]... clauses) {
+        for (int[] clause : clauses) {
+            preprocessor.addClause(clause);
+        }
+    }
+
+    private static List<int[]> clauses(ClausePreprocessor preprocessor) {
+        ClauseCollector<int[]> collector = new ClauseCollector<int[]>();
+        preprocessor.replay(collector);
+        return collector.getClauses();
+    }
+
+    /**
+     * Tests whether a clause with exactly the given literals is in a list.
+     */
+    private static boolean contains(List<int[]> clauses, int... literals) {
+        for (int[] clause : clauses) {
+            int[] sorted = clause.clone();
+            int[] wanted = literals.clone();
+            Arrays.sort(sorted);
+            Arrays.sort(wanted);
+            if (Arrays.equals(sorted, wanted)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Decides satisfiability by trying every assignment.
+     */
+    private static boolean satisfiable(List<int[]> clauses, int variables) {
+        for (int assignment = 0; assignment < (1 << variables); assignment++) {
+            boolean all = true;
+            for (int[] clause : clauses) {
+                boolean satisfied = false;
+                for (int literal : clause) {
+                    boolean value = ((assignment >> (Math.abs(literal) - 1)) & 1) == 1;
+                    if (value == literal > 0) {
+                        satisfied = true;
+                        break;
+                    }
+                }
+                if (!satisfied) {
+                    all = false;
+                    break;
+                }
+            }
+            if (all) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Records a passed test.
+     */
+    private static void recordPass(String testName) {
+        testsPassed++;
+        System.out.println("  ✅ " + testName);
+    }
+
+    /**
+     * Records a failed test.
+     */
+    private static void recordFail(String testName, String error) {
+        testsFailed++;
+        System.out.println("  ❌ " + testName + " - " + error);
+    }
+
+    /**
+     * Displays test results summary.
+     */
+    private static void displayResults() {
+        System.out.println("\n📊 PREPROCESSOR TEST RESULTS");
+        System.out.println("=".repeat(50));
+        System.out.println("Passed: " + testsPassed);
+        System.out.println("Failed: " + testsFailed);
+        System.out.println("Total: " + (testsPassed + testsFailed));
+
+        if (testsFailed == 0) {
+            System.out.println("\n🎉 All preprocessor tests passed!");
+        } else {
+            System.out.println("\n⚠️ Some preprocessor tests failed!");
+        }
+    }
+}
@@ -0,0 +1,279 @@
+package test;
+
+import static test.TestSupport.check;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import propositional.dimacs.DimacsReader;
+import propositional.resolution.ClauseStore;
+import propositional.resolution.ResolutionMethod;
+import testing.generator.GeneratedProblem;
+import testing.generator.ProblemGenerator;
+
+/**
+ * Unit tests for the problem family generators.
+ *
+ * <p>
+ * This test suite validates the size and shape of every generated family,
+ * checks the stated satisfiability of small members by enumeration, and
+ * verifies that the output reaches the parsers, the provers and DIMACS
+ * files.</p>
+ *
+ * @author Mark Schlichtmann
+ * @version 2.0
+ * @since 2026
+ */
+public class ProblemGeneratorTest {
+
+    private static int testsPassed = 0;
+    private static int testsFailed = 0;
+
+    /**
+     * Main entry point for running all generator tests.
+     */
+    public static void main(String[] args) {
+        System.out.println("🧪 RUNNING PROBLEM GENERATOR UNIT TESTS");
+        System.out.println("=".repeat(50));
+
+        testPigeonhole();
+        testRandomKCnf();
+        testTseitinParity();
+        testFormulaFamilies();
+        testFirstOrderChain();
+        testProverVerdicts();
+        testFileOutput();
+        testLargeSizes();
+
+        displayResults();
+    }
+
+    /**
+     * Tests the clause count and unsatisfiability of the pigeonhole family.
+     */
+    private static void testPigeonhole() {
+        System.out.println("Testing pigeonhole formulas...");
+        try {
+            GeneratedProblem php = ProblemGenerator.pigeonhole(3);
+            check(php.getVariableCount() == 12, "twelve variables");
+            check(php.getClauses().size() == 4 + 3 * 6, "pigeon and hole clauses, got " + php.getClauses().size());
+            check(!satisfiable(php.getClauses(), php.getVariableCount()), "PHP(3) is unsatisfiable");
+            check(Boolean.TRUE.equals(php.getExpectedTheorem()), "stated as a theorem");
+            recordPass("Pigeonhole formulas");
+
+        } catch (Exception | AssertionError e) {
+            recordFail("Pigeonhole formulas", e.getMessage());
+        }
+    }
+
+    /**
+     * Tests the shape and reproducibility of random k-CNF.
+     */
+    private static void testRandomKCnf() {
+        System.out.println("Testing random k-CNF...");
+        try {
+            GeneratedProblem cnf = ProblemGenerator.randomKCnf(3, 20, 4.26, 7);
+            check(cnf.getClauses().size() == 85, "85 clauses, got " + cnf.getClauses().size());
+            for (int[] clause : cnf.getClauses()) {
+                check(clause.length == 3, "clause length");
+                for (int i = 0; i < 3; i++) {
+                    check(Math.abs(clause[i]) >= 1 && Math.abs(clause[i]) <= 20, "variable range");
+                    for (int j = i + 1; j < 3; j++) {
+                        check(Math.abs(clause[i]) != Math.abs(clause[j]), "distinct variables");
+                    }
+                }
+            }
+            GeneratedProblem again = ProblemGenerator.randomKCnf(3, 20, 4.26, 7);
+            check(again.getText().equals(cnf.getText()), "same seed, same formula");
+            check(cnf.getExpectedTheorem() == null, "unknown satisfiability");
+            recordPass("Random k-CNF");
+
+        } catch (Exception | AssertionError e) {
+            recordFail("Random k-CNF", e.getMessage());
+        }
+    }
+
+    /**
+     * Tests the Tseitin parity family on a small graph.
+     */
+    private static void testTseitinParity() {
+        System.out.println("Testing Tseitin parity formulas...");
+        try {
+            GeneratedProblem tseitin = ProblemGenerator.tseitinParity(6, 1);
+            check(tseitin.getVariableCount() == 9, "one variable per edge");
+            check(tseitin.getClauses().size() == 6 * 4, "four clauses per vertex");
+            int[] occurrences = new int[10];
+            for (int[] clause : tseitin.getClauses()) {
+                for (int literal : clause) {
+                    occurrences[Math.abs(literal)]++;
+                }
+            }
+            for (int v = 1; v <= 9; v++) {
+                check(occurrences[v] == 8, "every edge joins two vertices");
+            }
+            check(!satisfiable(tseitin.getClauses(), 9), "odd total charge is unsatisfiable");
+            recordPass("Tseitin parity formulas");
+
+        } catch (Exception | AssertionError e) {
+            recordFail("Tseitin parity formulas", e.getMessage());
+        }
+    }
+
+    /**
+     * Tests that the formula families reach the propositional parser.
+     */
+    private static void testFormulaFamilies() {
+        System.out.println("Testing formula families...");
+        try {
+            check(ProblemGenerator.implicationChain(40).parsePropositional() != null, "chain parses");
+            check(ProblemGenerator.iffLadder(12).parsePropositional() != null, "ladder parses");
+            check(ProblemGenerator.pigeonhole(3).parsePropositional() != null, "clause text parses");
+            check(ProblemGenerator.implicationChain(150).getText().contains("B50"), "atom names beyond 99");
+            recordPass("Formula families");
+
+        } catch (Exception | AssertionError e) {
+            recordFail("Formula families", e.getMessage());
+        }
+    }
+
+    /**
+     * Tests that the first-order chain reaches the predicate parser.
+     */
+    private static void testFirstOrderChain() {
+        System.out.println("Testing first-order chains...");
+        try {
+            GeneratedProblem chain = ProblemGenerator.firstOrderChain(6);
+            check(chain.getLogic() == GeneratedProblem.Logic.PREDICATE, "predicate logic");
+            check(chain.getText().contains("Ax (F5(x) => F6(x))"), "chain link, got " + chain.getText());
+            check(chain.parsePredicate() != null, "sentence parses");
+            recordPass("First-order chains");
+
+        } catch (Exception | AssertionError e) {
+            recordFail("First-order chains", e.getMessage());
+        }
+    }
+
+    /**
+     * Tests that the resolution method agrees with the stated verdicts of
+     * small members.
+     */
+    private static void testProverVerdicts() {
+        System.out.println("Testing prover verdicts...");
+        try {
+            check(new ResolutionMethod(ProblemGenerator.implicationChain(4).parsePropositional()).resolve(), "chain is a theorem");
+            check(new ResolutionMethod(ProblemGenerator.pigeonhole(2).parsePropositional()).resolve(), "PHP(2) is a theorem");
+            recordPass("Prover verdicts");
+
+        } catch (Exception | AssertionError e) {
+            recordFail("Prover verdicts", e.getMessage());
+        }
+    }
+
+    /**
+     * Tests writing problems as text and DIMACS files.
+     */
+    private static void testFileOutput() {
+        System.out.println("Testing file output...");
+        try {
+            GeneratedProblem tseitin = ProblemGenerator.tseitinParity(20, 3);
+            Path dimacs = Files.createTempFile("tseitin", ".cnf");
+            dimacs.toFile().deleteOnExit();
+            tseitin.writeDimacs(dimacs);
+            ClauseStore store = new ClauseStore();
+            new DimacsReader().read(dimacs, store);
+            check(store.size() == tseitin.getClauses().size(), "clause count");
+            for (int i = 0; i < store.size(); i++) {
+                check(Arrays.equals(store.getClause(i), tseitin.getClauses().get(i)), "clause " + i);
+            }
+
+            GeneratedProblem chain = ProblemGenerator.implicationChain(10);
+            Path text = Files.createTempFile("chain", ".txt");
+            text.toFile().deleteOnExit();
+            chain.writeText(text);
+            check(new String(Files.readAllBytes(text), StandardCharsets.UTF_8).trim().equals(chain.getText()), "text file");
+            recordPass("File output");
+
+        } catch (Exception | AssertionError e) {
+            recordFail("File output", e.getMessage());
+        }
+    }
+
+    /**
+     * Tests generating members far beyond the hand-written formulas.
+     */
+    private static void testLargeSizes() {
+        System.out.println("Testing large sizes...");
+        try {
+            check(ProblemGenerator.pigeonhole(30).getClauses().size() == 31 + 30 * 465, "PHP(30)");
+            check(ProblemGenerator.tseitinParity(10000, 5).getClauses().size() == 40000, "Tseitin on 10000 vertices");
+            check(ProblemGenerator.randomKCnf(3, 100000, 4.26, 9).getClauses().size() == 426000, "random 3-CNF with 100000 variables");
+            check(ProblemGenerator.implicationChain(2000).getText().length() > 20000, "chain of 2000 atoms");
+            recordPass("Large sizes");
+
+        } catch (Exception | AssertionError e) {
+            recordFail("Large sizes", e.getMessage());
+        }
+    }
+
+    /**
+     * Decides a small clause set by enumerating all assignments.
+     */
+    private static boolean satisfiable(List<int[]> clauses, int variables) {
+        for (long assignment = 0; assignment < (1L << variables); assignment++) {
+            boolean all = true;
+            for (int[] clause : clauses) {
+                boolean some = false;
+                for (int literal : clause) {
+                    boolean value = (assignment & (1L << (Math.abs(literal) - 1))) != 0;
+                    if (value == (literal > 0)) {
+                        some = true;
+                        break;
+                    }
+                }
+                if (!some) {
+                    all = false;
+                    break;
+                }
+            }
+            if (all) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Records a passed test.
+     */
+    private static void recordPass(String testName) {
+        testsPassed++;
+        System.out.println("  ✅ " + testName);
+    }
+
+    /**
+     * Records a failed test.
+     */
+    private static void recordFail(String testName, String error) {
+        testsFailed++;
+        System.out.println("  ❌ " + testName + " - " + error);
+    }
+
+    /**
+     * Displays test results summary.
+     */
+    private static void displayResults() {
+        System.out.println("\n📊 PROBLEM GENERATOR TEST RESULTS");
+        System.out.println("=".repeat(50));
+        System.out.println("Passed: " + testsPassed);
+        System.out.println("Failed: " + testsFailed);
+        System.out.println("Total: " + (testsPassed + testsFailed));
+
+        if (testsFailed == 0) {
+            System.out.println("\n🎉 All problem generator tests passed!");
+        } else {
+            System.out.println("\n⚠️ Some problem generator tests failed!");
+        }
+    }
+}
@@ -0,0 +1,225 @@
+package test;
+
+import static test.TestSupport.check;
+
+import java.util.Random;
+import propositional.resolution.ClauseResolver;
+import propositional.resolution.ClauseStore;
+import propositional.resolution.ProvingSession;
+import propositional.resolution.ProvingSession.Result;
+import testing.generator.GeneratedProblem;
+import testing.generator.ProblemGenerator;
+
+/**
+ * Unit tests for incremental proving sessions.
+ *
+ * <p>
+ * This test suite validates queries with and without assumptions, that the
+ * clauses of a query are removed afterwards while resolvents of the axioms
+ * are retained, and that a long series of queries gives the answers of
+ * separate proofs.</p>
+ *
+ * @author Mark Schlichtmann
+ * @version 2.0
+ * @since 2026
+ */
+public class ProvingSessionTest {
+
+    private static int testsPassed = 0;
+    private static int testsFailed = 0;
+
+    /**
+     * Main entry point for running all proving session tests.
+     */
+    public static void main(String[] args) {
+        System.out.println("🧪 RUNNING PROVING SESSION UNIT TESTS");
+        System.out.println("=".repeat(50));
+
+        testQueries();
+        testRetainedClauses();
+        testAgainstSeparateProofs();
+        testInconsistentAxioms();
+        testMalformedGoal();
+
+        displayResults();
+    }
+
+    /**
+     * Tests goals and assumptions over an implication chain.
+     */
+    private static void testQueries() {
+        System.out.println("Testing queries...");
+        try {
+            ProvingSession session = chainSession(10);
+            check(session.prove("A1 => A10") == Result.PROVED, "A1 => A10");
+            check(session.prove("A10 => A1") == Result.NOT_PROVED, "A10 => A1");
+            check(session.prove("A10", "A1") == Result.PROVED, "A10 assuming A1");
+            check(session.prove("A10") == Result.NOT_PROVED, "assumptions are dropped");
+            check(session.prove("!A1.", "!A10", "A3 | A5") == Result.PROVED, "!A1 assuming !A10");
+            check(session.getAxiomCount() == 9, "axiom count");
+            recordPass("Queries");
+
+        } catch (Exception | AssertionError e) {
+            recordFail("Queries", e.getMessage());
+        }
+    }
+
+    /**
+     * Tests that query clauses are removed and axiom resolvents retained.
+     */
+    private static void testRetainedClauses() {
+        System.out.println("Testing retained clauses...");
+        try {
+            ProvingSession session = chainSession(6);
+            int axiomClauses = session.getRetainedClauseCount();
+            check(session.prove("Z => A6", "Z => A1") == Result.PROVED, "Z => A6");
+            int retained = session.getRetainedClauseCount();
+            check(retained > axiomClauses, "axiom resolvents retained");
+            int z = session.getSymbols().lookup("Z");
+            ClauseStore clauses = session.getRetainedClauses();
+            for (int i = 0; i < clauses.size(); i++) {
+                for (int j = 0; j < clauses.length(i); j++) {
+                    check(Math.abs(clauses.literal(i, j)) != z, "query clause retained");
+                }
+            }
+            check(session.prove("Z => A6", "Z => A1") == Result.PROVED, "same query again");
+            check(session.getRetainedClauseCount() >= retained, "retained clauses kept");
+            recordPass("Retained clauses");
+
+        } catch (Exception | AssertionError e) {
+            recordFail("Retained clauses", e.getMessage());
+        }
+    }
+
+    /**
+     * Tests a series of random queries against separate proofs with all
+     * clauses.
+     */
+    private static void testAgainstSeparateProofs() {
+        System.out.println("Testing against separate proofs...");
+        try {
+            GeneratedProblem axioms = ProblemGenerator.randomKCnf(3, 8, 2.5, 11);
+            ProvingSession session = new ProvingSession();
+            for (int[] clause : axioms.getClauses()) {
+                check(session.addAxiom(text(clause)), "axiom " + text(clause));
+            }
+            Random random = new Random(5);
+            for (int query = 0; query < 40; query++) {
+                int[] goal = {literal(random, 8), literal(random, 8)};
+                int[] assumption = {literal(random, 8)};
+                ClauseResolver separate = new ClauseResolver();
+                axioms.streamClauses(separate);
+                separate.addClause(assumption);
+                separate.addClause(new int[]{-goal[0]});
+                separate.addClause(new int[]{-goal[1]});
+                Result expected = separate.refute() ? Result.PROVED : Result.NOT_PROVED;
+                Result actual = session.prove(text(goal), text(assumption));
+                check(actual == expected, "query " + query + ": " + text(goal) + " assuming " + text(assumption));
+            }
+            recordPass("Against separate proofs");
+
+        } catch (Exception | AssertionError e) {
+            recordFail("Against separate proofs", e.getMessage());
+        }
+    }
+
+    /**
+     * Tests that contradictory axioms prove every goal.
+     */
+    private static void testInconsistentAxioms() {
+        System.out.println("Testing inconsistent axioms...");
+        try {
+            ProvingSession session = new ProvingSession();
+            session.addAxiom("A & (A => B)");
+            session.addAxiom("!B");
+            check(session.prove("C") == Result.PROVED, "any goal");
+            check(session.prove("!C") == Result.PROVED, "its negation");
+            recordPass("Inconsistent axioms");
+
+        } catch (Exception | AssertionError e) {
+            recordFail("Inconsistent axioms", e.getMessage());
+        }
+    }
+
+    /**
+     * Tests that a malformed goal is rejected and the session stays usable.
+     */
+    private static void testMalformedGoal() {
+        System.out.println("Testing malformed goal...");
+        try {
+            ProvingSession session = chainSession(3);
+            check(!session.addAxiom("A1 &"), "malformed axiom");
+            try {
+                session.prove("A1 =>");
+                throw new AssertionError("malformed goal accepted");
+            } catch (IllegalArgumentException expected) {
+                // expected
+            }
+            check(session.prove("A1 => A3") == Result.PROVED, "session still usable");
+            recordPass("Malformed goal");
+
+        } catch (Exception | AssertionError e) {
+            recordFail("Malformed goal", e.getMessage());
+        }
+    }
+
+    private static ProvingSession chainSession(int length) {
+        ProvingSession session = new ProvingSession();
+        for (int i = 1; i < length; i++) {
+            check(session.addAxiom(ProblemGenerator.atom(i) + " => " + ProblemGenerator.atom(i + 1)), "axiom " + i);
+        }
+        return session;
+    }
+
+    private static int literal(Random random, int variables) {
+        int variable = 1 + random.nextInt(variables);
+        return random.nextBoolean() ? variable : -variable;
+    }
+
+    /**
+     * Returns a clause as a disjunction in the syntax of the scanner.
+     */
+    private static String text(int[] clause) {
+        StringBuilder text = new StringBuilder();
+        for (int literal : clause) {
+            if (text.length() > 0) {
+                text.append(" | ");
+            }
+            text.append(literal < 0 ? "(!" + ProblemGenerator.atom(-literal) + ")" : ProblemGenerator.atom(literal));
+        }
+        return text.toString();
+    }
+
+    /**
+     * Records a passed test.
+     */
+    private static void recordPass(String testName) {
+        testsPassed++;
+        System.out.println("  ✅ " + testName);
+    }
+
+    /**
+     * Records a failed test.
+     */
+    private static void recordFail(String testName, String error) {
+        testsFailed++;
+        System.out.println("  ❌ " + testName + " - " + error);
+    }
+
+    /**
+     * Displays test results summary.
+     */
+    private static void displayResults() {
+        System.out.println("\n📊 PROVING SESSION TEST RESULTS");
+        System.out.println("=".repeat(50));
+        System.out.println("Passed: " + testsPassed);
+        System.out.println("Failed: " + testsFailed);
+        System.out.println("Total: " + (testsPassed + testsFailed));
+
+        if (testsFailed == 0) {
+            System.out.println("\n🎉 All proving session tests passed!");
+        } else {
+            System.out.println("\n⚠️ Some proving session tests failed!");
+        }
+    }
+}
@@ -0,0 +1,408 @@
+package test;
+
+import static test.TestSupport.check;
+
+import java.io.StringReader;
+import java.util.concurrent.CancellationException;
+import predicate.resolution.ClauseResolver;
+import predicate.resolution.NFList;
+import predicate.resolution.NormalForm;
+import predicate.resolution.ResolutionMethod;
+import predicate.resolution.ResolutionStrategy;
+import predicate.resolution.TermBank;
+import predicate.resolution.TermOrdering;
+import predicate.tptp.TptpReader;
+import server.ProofRequest;
+import server.ProofResult;
+import server.ProverService;
+
+/**
+ * Unit tests for the first order resolution strategies.
+ *
+ * <p>
+ * This test suite validates that every strategy proves small problems and
+ * refuses satisfiable ones, that the set of support strategy leaves
+ * irrelevant axioms alone, that ordered resolution builds fewer resolvents,
+ * that the Knuth-Bendix and lexicographic path orderings order terms as
+ * defined, that formulas in the predicate syntax get the right verdicts
+ * through the prover service, and that the limits of the search stop it.</p>
+ *
+ * @author Mark Schlichtmann
+ * @version 2.0
+ * @since 2026
+ */
+public class ResolutionStrategyTest {
+
+    private static final String[] STRATEGIES = {"unrestricted", "sos", "kbo", "lpo", "sos+kbo", "sos+lpo"};
+
+    private static int testsPassed = 0;
+    private static int testsFailed = 0;
+
+    /**
+     * Main entry point for running all resolution strategy tests.
+     */
+    public static void main(String[] args) {
+        System.out.println("🧪 RUNNING RESOLUTION STRATEGY UNIT TESTS");
+        System.out.println("=".repeat(50));
+
+        testSmallProblems();
+        testSatisfiable();
+        testSetOfSupport();
+        testInconsistentAxioms();
+        testOrderedResolution();
+        testTermOrderings();
+        testStrategyNames();
+        testPredicateFormulas();
+        testLimits();
+
+        displayResults();
+    }
+
+    /**
+     * Tests that every strategy proves problems needing unification,
+     * factoring and a chain of resolution steps.
+     */
+    private static void testSmallProblems() {
+        System.out.println("Testing small problems...");
+        try {
+            String modusPonens = "cnf(a, axiom, ~p(X) | q(X)). cnf(b, axiom, p(a)). cnf(g, negated_conjecture, ~q(a)).";
+            String factoring = "cnf(a, axiom, p(X) | p(Y)). cnf(g, negated_conjecture, ~p(X) | ~p(Y)).";
+            String chain = "cnf(a, axiom, ~p(X) | p(f(X))). cnf(b, axiom, p(a)). cnf(g, negated_conjecture, ~p(f(f(f(f(a)))))).";
+            String fof = "fof(a, axiom, p(a) & q(b)). fof(g, conjecture, q(b) | r(c)).";
+            for (String strategy : STRATEGIES) {
+                check(prove(modusPonens, strategy).resolve(), "modus ponens with " + strategy);
+                check(prove(factoring, strategy).resolve(), "factoring with " + strategy);
+                check(prove(chain, strategy).resolve(), "chain with " + strategy);
+                check(prove(fof, strategy).resolve(), "fof with " + strategy);
+            }
+            recordPass("Small problems");
+
+        } catch (Exception | AssertionError e) {
+            recordFail("Small problems", e.getMessage());
+        }
+    }
+
+    /**
+     * Tests that satisfiable clauses are saturated without a proof.
+     */
+    private static void testSatisfiable() {
+        System.out.println("Testing satisfiable problems...");
+        try {
+            String clash = "cnf(a, axiom, p(a)). cnf(b, axiom, ~p(X) | q(X)). cnf(g, negated_conjecture, ~q(b)).";
+            String occurs = "cnf(a, axiom, p(X, f(X))). cnf(g, negated_conjecture, ~p(Y, Y)).";
+            for (String strategy : STRATEGIES) {
+                ResolutionMethod method = prove(clash, strategy);
+                check(!method.resolve() && !method.isLimitReached(), "saturated with " + strategy);
+                method = prove(occurs, strategy);
+                check(!method.resolve() && !method.isLimitReached(), "occurs check with " + strategy);
+            }
+            recordPass("Satisfiable problems");
+
+        } catch (Exception | AssertionError e) {
+            recordFail("Satisfiable problems", e.getMessage());
+        }
+    }
+
+    /**
+     * Tests that the set of support strategy does not resolve the axioms with
+     * each other when the goal does not need them.
+     */
+    private static void testSetOfSupport() {
+        System.out.println("Testing set of support...");
+        try {
+            StringBuilder problem = new StringBuilder(transitivity(6));
+            for (int i = 0; i < 6; i++) {
+                problem.append("cnf(s").append(i).append(", axiom, ~p").append(i).append("(X) | p").append(i + 1).append("(X)). ");
+            }
+            // heavier than the transitivity axiom, so that it is given first without support
+            String term = "h(h(h(h(h(h(h(h(b))))))))";
+            problem.append("cnf(b, axiom, p0(").append(term).append(")). cnf(g, negated_conjecture, ~p6(").append(term).append(")).");
+            ResolutionMethod unrestricted = prove(problem.toString(), "unrestricted");
+            ResolutionMethod support = prove(problem.toString(), "sos");
+            check(unrestricted.resolve() && support.resolve(), "proved");
+            check(support.getResolventCount() * 100 < unrestricted.getResolventCount(),
+                    support.getResolventCount() + " resolvents with support, " + unrestricted.getResolventCount() + " without");
+            check(support.getStrategy().isSetOfSupport(), "strategy");
+            recordPass("Set of support");
+
+        } catch (Exception | AssertionError e) {
+            recordFail("Set of support", e.getMessage());
+        }
+    }
+
+    /**
+     * Tests that the set of support strategy, which cannot refute
+     * inconsistent axioms on their own, is not taken to show a goal invalid,
+     * and that the service proves such a goal with every strategy while it
+     * still shows a satisfiable problem invalid.
+     */
+    private static void testInconsistentAxioms() {
+        System.out.println("Testing inconsistent axioms...");
+        try {
+            String problem = "fof(a, axiom, p(a)). fof(b, axiom, ~p(a)). fof(c, conjecture, q(a)).";
+            for (String strategy : new String[] {"sos", "sos+kbo", "sos+lpo"}) {
+                ResolutionMethod method = prove(problem, strategy);
+                check(!method.resolve() && !method.isLimitReached() && !method.isComplete(), "saturated with " + strategy);
+            }
+            for (String strategy : new String[] {"unrestricted", "kbo", "lpo"}) {
+                ResolutionMethod method = prove(problem, strategy);
+                check(method.resolve() && method.isComplete(), "refuted with " + strategy);
+            }
+            ResolutionMethod support = prove("cnf(g, negated_conjecture, ~q(a)).", "sos");
+            check(!support.resolve() && support.isComplete(), "support only");
+            ProverService service = new ProverService();
+            for (String strategy : new String[] {null, "sos", "sos+kbo", "sos+lpo", "unrestricted"}) {
+                ProofResult.Verdict verdict = service.prove(new ProofRequest(null, ProofRequest.Logic.TPTP, problem, false,
+                        strategy)).getVerdict();
+                check(verdict == ProofResult.Verdict.THEOREM, verdict + " with " + strategy);
+            }
+            String satisfiable = "cnf(a, axiom, p(a)). cnf(b, axiom, ~p(X) | q(X)). cnf(g, negated_conjecture, ~q(b)).";
+            ProofResult.Verdict verdict = service.prove(new ProofRequest(null, ProofRequest.Logic.TPTP, satisfiable, false,
+                    null)).getVerdict();
+            check(verdict == ProofResult.Verdict.NOT_THEOREM, "satisfiable " + verdict);
+            recordPass("Inconsistent axioms");
+
+        } catch (Exception | AssertionError e) {
+            recordFail("Inconsistent axioms", e.getMessage());
+        }
+    }
+
+    /**
+     * Tests that ordered resolution proves a goal that needs the axioms with
+     * fewer resolvents than unrestricted resolution.
+     */
+    private static void testOrderedResolution() {
+        System.out.println("Testing ordered resolution...");
+        try {
+            String problem = transitivity(10) + "cnf(g, negated_conjecture, ~r(c0, c10)).";
+            ResolutionMethod unrestricted = prove(problem, "unrestricted");
+            check(unrestricted.resolve(), "proved unrestricted");
+            for (String strategy : new String[] {"kbo", "lpo", "sos+kbo"}) {
+                ResolutionMethod ordered = prove(problem, strategy);
+                check(ordered.resolve(), "proved with " + strategy);
+                check(ordered.getResolventCount() < unrestricted.getResolventCount(),
+                        ordered.getResolventCount() + " resolvents with " + strategy + ", " + unrestricted.getResolventCount() + " without");
+            }
+            recordPass("Ordered resolution");
+
+        } catch (Exception | AssertionError e) {
+            recordFail("Ordered resolution", e.getMessage());
+        }
+    }
+
+    /**
+     * Tests both term orderings on terms where they agree and differ.
+     */
+    private static void testTermOrderings() {
+        System.out.println("Testing term orderings...");
+        try {
+            TermBank bank = new TermBank();
+            int x = TermBank.variable(0);
+            int y = TermBank.variable(1);
+            int a = constant(bank, "a");
+            int fx = apply(bank, "f", x);
+            int fy = apply(bank, "f", y);
+            int ffx = apply(bank, "f", fx);
+            int fffa = apply(bank, "f", apply(bank, "f", apply(bank, "f", a)));
+            int gaa = apply(bank, "g", a, a);
+            int gxy = apply(bank, "g", x, y);
+            int gyx = apply(bank, "g", y, x);
+            TermOrdering kbo = TermOrdering.knuthBendix(bank);
+            TermOrdering lpo = TermOrdering.lexicographicPath(bank);
+            for (TermOrdering ordering : new TermOrdering[] {kbo, lpo}) {
+                check(ordering.greater(ffx, fx) && !ordering.greater(fx, ffx), "subterm");
+                check(ordering.greater(fx, x) && !ordering.greater(x, fx), "variable");
+                check(!ordering.greater(fx, fx), "irreflexive");
+                check(!ordering.greater(gxy, gyx) && !ordering.greater(gyx, gxy), "swapped variables");
+                check(!ordering.greater(fx, fy) && !ordering.greater(fy, fx), "variable missing");
+                check(ordering.greater(fx, a) && !ordering.greater(a, fx), "ground term");
+            }
+            check(kbo.greater(fffa, gaa) && !kbo.greater(gaa, fffa), "KBO compares weight first");
+            check(lpo.greater(gaa, fffa) && !lpo.greater(fffa, gaa), "LPO compares symbols first");
+            check(bank.toString(gxy).equals("g(X0,X1)"), "term text " + bank.toString(gxy));
+            recordPass("Term orderings");
+
+        } catch (Exception | AssertionError e) {
+            recordFail("Term orderings", e.getMessage());
+        }
+    }
+
+    /**
+     * Tests that strategies are read from their names.
+     */
+    private static void testStrategyNames() {
+        System.out.println("Testing strategy names...");
+        try {
+            for (String name : STRATEGIES) {
+                check(ResolutionStrategy.forName(name).toString().equals(name), name);
+            }
+            ResolutionStrategy combined = ResolutionStrategy.forName(" SOS+LPO ");
+            check(combined.isSetOfSupport() && combined.getOrdering() == ResolutionStrategy.Ordering.LPO, "combined");
+            for (String name : new String[] {"", "sos+", "+kbo", "sos+unrestricted", "rpo"}) {
+                try {
+                    ResolutionStrategy.forName(name);
+                    throw new AssertionError("accepted '" + name + "'");
+                } catch (IllegalArgumentException expected) {
+                    // expected
+                }
+            }
+            recordPass("Strategy names");
+
+        } catch (Exception | AssertionError e) {
+            recordFail("Strategy names", e.getMessage());
+        }
+    }
+
+    /**
+     * Tests the connectives and quantifiers of the predicate syntax, whose
+     * formulas the prover service normalises itself, with every strategy.
+     */
+    private static void testPredicateFormulas() {
+        System.out.println("Testing predicate formulas...");
+        try {
+            String[] theorems = {"(P(a) & Q(a)) => P(a).", "P(a) => (P(a) | Q(a)).", "P(a) & Q(b) => P(a).",
+                    "AxP(x) => P(a).", "Ax(P(x)) => P(a).", "(P(a) <=> Q(a)) => (Q(a) <=> P(a)).",
+                    "!(P(a) <=> Q(a)) => (P(a) | Q(a))."};
+            String[] nonTheorems = {"(P(a) & Q(a)) <=> P(a).", "P(a) => AxP(x).", "ExP(x) => P(a).",
+                    "!(P(a) <=> Q(a)) => (P(a) & Q(a))."};
+            ProverService service = new ProverService();
+            for (String strategy : STRATEGIES) {
+                for (String formula : theorems) {
+                    check(verdict(service, formula, strategy) == ProofResult.Verdict.THEOREM, formula + " with " + strategy);
+                }
+                for (String formula : nonTheorems) {
+                    check(verdict(service, formula, strategy) == ProofResult.Verdict.NOT_THEOREM, formula + " with " + strategy);
+                }
+            }
+            recordPass("Predicate formulas");
+
+        } catch (Exception | AssertionError e) {
+            recordFail("Predicate formulas", e.getMessage());
+        }
+    }
+
+    /**
+     * Tests that clauses whose shared terms double in length at each step
+     * are cut at the depth limit, that the time limit stops an endless
+     * search, and that an interrupt cancels it.
+     */
+    private static void testLimits() {
+        System.out.println("Testing limits...");
+        try {
+            String doubling = "cnf(a, axiom, ~p(X) | p(g(X, X))). cnf(b, axiom, p(a)). cnf(g, negated_conjecture, ~q(a)).";
+            long start = System.nanoTime();
+            ResolutionMethod method = prove(doubling, "unrestricted");
+            check(!method.resolve() && method.isLimitReached(), "depth limit");
+            long millis = (System.nanoTime() - start) / 1000000;
+            check(millis < 5000, "took " + millis + " ms");
+            String endless = "cnf(a, axiom, ~p(X) | p(f(X))). cnf(a2, axiom, ~p(X) | p(g(X))). cnf(b, axiom, p(a)). "
+                    + "cnf(g, negated_conjecture, ~q(a)).";
+            start = System.nanoTime();
+            ClauseResolver resolver = resolver(endless, Integer.MAX_VALUE, 64, 200);
+            check(!resolver.refute() && resolver.isLimitReached(), "time limit");
+            millis = (System.nanoTime() - start) / 1000000;
+            check(millis < 2000, "stopped after " + millis + " ms");
+            resolver = resolver(endless, Integer.MAX_VALUE, 64, Long.MAX_VALUE / 2000000);
+            Thread.currentThread().interrupt();
+            try {
+                resolver.refute();
+                throw new AssertionError("the search ignored the interrupt");
+            } catch (CancellationException expected) {
+                // expected
+            } finally {
+                Thread.interrupted();
+            }
+            recordPass("Limits");
+
+        } catch (Exception | AssertionError e) {
+            recordFail("Limits", e.getMessage());
+        }
+    }
+
+    /**
+     * Reads a TPTP problem into a resolver with the given limits.
+     */
+    private static ClauseResolver resolver(String problem, int clauseLimit, int depthLimit, long timeLimit) throws Exception {
+        NFList axioms = new NFList();
+        NFList goal = new NFList();
+        try (TptpReader reader = new TptpReader(new StringReader(problem))) {
+            reader.readClauses(axioms, goal);
+        }
+        ClauseResolver resolver = new ClauseResolver(ResolutionStrategy.forName("unrestricted"), clauseLimit, depthLimit, timeLimit);
+        for (NormalForm clause : axioms) {
+            resolver.addClause(clause, false);
+        }
+        for (NormalForm clause : goal) {
+            resolver.addClause(clause, true);
+        }
+        return resolver;
+    }
+
+    private static ProofResult.Verdict verdict(ProverService service, String formula, String strategy) {
+        return service.prove(new ProofRequest(null, ProofRequest.Logic.PREDICATE, formula, false, strategy)).getVerdict();
+    }
+
+    /**
+     * Returns the clauses of a transitive relation over a chain of constants.
+     */
+    private static String transitivity(int length) {
+        StringBuilder problem = new StringBuilder("cnf(t, axiom, ~r(X, Y) | ~r(Y, Z) | r(X, Z)). ");
+        for (int i = 0; i < length; i++) {
+            problem.append("cnf(f").append(i).append(", axiom, r(c").append(i).append(", c").append(i + 1).append(")). ");
+        }
+        return problem.toString();
+    }
+
+    /**
+     * Reads a TPTP problem into a resolution method.
+     */
+    private static ResolutionMethod prove(String problem, String strategy) throws Exception {
+        NFList axioms = new NFList();
+        NFList goal = new NFList();
+        try (TptpReader reader = new TptpReader(new StringReader(problem))) {
+            reader.readClauses(axioms, goal);
+        }
+        return new ResolutionMethod(axioms, goal, ResolutionStrategy.forName(strategy), 20000);
+    }
+
+    private static int constant(TermBank bank, String name) {
+        return bank.make(bank.symbol(name, 0), new int[0], 0);
+    }
+
+    private static int apply(TermBank bank, String name, int... arguments) {
+        return bank.make(bank.symbol(name, arguments.length), arguments, 0);
+    }
+
+    /**
+     * Records a passed test.
+     */
+    private static void recordPass(String testName) {
+        testsPassed++;
+        System.out.println("  ✅ " + testName);
+    }
+
+    /**
+     * Records a failed test.
+     */
+    private static void recordFail(String testName, String error) {
+        testsFailed++;
+        System.out.println("  ❌ " + testName + " - " + error);
+    }
+
+    /**
+     * Displays test results summary.
+     */
+    private static void displayResults() {
+        System.out.println("\n📊 RESOLUTION STRATEGY TEST RESULTS");
+        System.out.println("=".repeat(50));
+        System.out.println("Passed: " + testsPassed);
+        System.out.println("Failed: " + testsFailed);
+        System.out.println("Total: " + (testsPassed + testsFailed));
+
+        if (testsFailed == 0) {
+            System.out.println("\n🎉 All resolution strategy tests passed!");
+        } else {
+            System.out.println("\n⚠️ Some resolution strategy tests failed!");
+        }
+    }
+}
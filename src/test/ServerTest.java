@@ -0,0 +1,430 @@
+package test;
+
+import static test.TestSupport.check;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import server.Json;
+import server.ProofRequest;
+import server.ProofResult;
+import server.ProofResult.Verdict;
+import server.ProverDaemon;
+import server.ProverServer;
+import server.ProverService;
+import testing.generator.ProblemGenerator;
+
+/**
+ * Unit tests for the prover server.
+ *
+ * <p>
+ * This test suite validates the JSON of the protocol, the verdicts of the
+ * prover service for each kind of input, and that the server answers many
+ * clients at once while an idle client holds its connection open, over TCP
+ * and over the Unix domain socket of the daemon.</p>
+ *
+ * @author Mark Schlichtmann
+ * @version 2.0
+ * @since 2026
+ */
+public class ServerTest {
+
+    private static final String TPTP = "cnf(a, axiom, ~p(X) | q(X)). cnf(b, axiom, p(a)). cnf(g, negated_conjecture, ~q(a)).";
+
+    private static int testsPassed = 0;
+    private static int testsFailed = 0;
+
+    /**
+     * Main entry point for running all server tests.
+     */
+    public static void main(String[] args) {
+        System.out.println("🧪 RUNNING SERVER UNIT TESTS");
+        System.out.println("=".repeat(50));
+
+        testJson();
+        testMessages();
+        testService();
+        testConnections();
+        testConcurrentClients();
+        testDeadline();
+        testDaemon();
+
+        displayResults();
+    }
+
+    /**
+     * Tests parsing and quoting of JSON.
+     */
+    @SuppressWarnings("unchecked")
+    private static void testJson() {
+        System.out.println("Testing JSON...");
+        try {
+            Map<String, Object> object = Json.parseObject(
+                    " {\"a\": \"x\\\"y\\n\\u0041\", \"b\": [1, -2.5e1, true, null], \"c\": {}} ");
+            check(object.get("a").equals("x\"y\nA"), "string " + object.get("a"));
+            List<Object> array = (List<Object>) object.get("b");
+            check(array.get(0).equals(1L) && array.get(1).equals(-25.0) && array.get(2).equals(Boolean.TRUE)
+                    && array.get(3) == null, "array " + array);
+            check(((Map<String, Object>) object.get("c")).isEmpty(), "empty object");
+            String text = "tab\t \"quoted\" back\\slash \u0001";
+            check(Json.parseObject("{\"t\":" + Json.quote(text) + "}").get("t").equals(text), "quote round trip");
+            for (String invalid : new String[] {"", "[]", "{\"a\":}", "{\"a\":1", "{\"a\":1} x", "{a:1}"}) {
+                try {
+                    Json.parseObject(invalid);
+                    throw new AssertionError("accepted '" + invalid + "'");
+                } catch (IllegalArgumentException expected) {
+                    // expected
+                }
+            }
+            String nested = "[".repeat(Json.MAX_DEPTH - 1) + "]".repeat(Json.MAX_DEPTH - 1);
+            check(Json.parseObject("{\"a\":" + nested + "}").containsKey("a"), "deepest nesting");
+            try {
+                Json.parseObject("{\"a\":" + "[".repeat(100000));
+                throw new AssertionError("accepted deep nesting");
+            } catch (IllegalArgumentException expected) {
+                // expected
+            }
+            recordPass("JSON");
+
+        } catch (Exception | AssertionError e) {
+            recordFail("JSON", e.getMessage());
+        }
+    }
+
+    /**
+     * Tests reading and writing requests and results.
+     */
+    private static void testMessages() {
+        System.out.println("Testing messages...");
+        try {
+            ProofRequest request = ProofRequest.fromJson("{\"formula\":\"A => A.\"}");
+            check(request.getLogic() == ProofRequest.Logic.PROPOSITIONAL && !request.isProofRequested()
+                    && request.getId() == null && request.getStrategy() == null, "defaults");
+            request = ProofRequest.fromJson(new ProofRequest("r1", ProofRequest.Logic.TPTP, TPTP, true, "sos+kbo").toJson());
+            check(request.getId().equals("r1") && request.getLogic() == ProofRequest.Logic.TPTP
+                    && request.getFormula().equals(TPTP) && request.isProofRequested()
+                    && request.getStrategy().equals("sos+kbo"), "request round trip");
+            check(ProofRequest.fromJson("{\"id\":7,\"formula\":\"A.\"}").getId().equals("7"), "numeric id");
+            for (String invalid : new String[] {"{}", "{\"formula\":1}", "{\"formula\":\"A\",\"logic\":\"modal\"}",
+                    "{\"formula\":\"A\",\"proof\":\"yes\"}"}) {
+                try {
+                    ProofRequest.fromJson(invalid);
+                    throw new AssertionError("accepted " + invalid);
+                } catch (IllegalArgumentException expected) {
+                    // expected
+                }
+            }
+            ProofResult result = ProofResult.fromJson(new ProofResult("r1", Verdict.NOT_THEOREM, 42, 3, 5, "proof", null).toJson());
+            check(result.getId().equals("r1") && result.getVerdict() == Verdict.NOT_THEOREM && result.getNanos() == 42
+                    && result.getClauses() == 3 && result.getResolvents() == 5 && result.getProof().equals("proof")
+                    && result.getError() == null, "result round trip");
+            check(ProofResult.error(null, "bad").toJson().equals(
+                    "{\"verdict\":\"error\",\"stats\":{\"nanos\":0,\"resolvents\":0},\"error\":\"bad\"}"), "error result");
+            recordPass("Messages");
+
+        } catch (Exception | AssertionError e) {
+            recordFail("Messages", e.getMessage());
+        }
+    }
+
+    /**
+     * Tests the verdicts of the service for each kind of input.
+     */
+    private static void testService() {
+        System.out.println("Testing service...");
+        try {
+            ProverService service = new ProverService();
+            ProofResult result = service.prove(propositional("((P => Q) & (Q => R)) => (P => R).", true));
+            check(result.getVerdict() == Verdict.THEOREM, "transitivity");
+            check(result.getClauses() > 0 && result.getProof() != null && result.getProof().contains("Sequent"), "proof");
+            result = service.prove(propositional("P => Q", false));
+            check(result.getVerdict() == Verdict.NOT_THEOREM && result.getProof() == null, "not a theorem");
+            result = service.prove(propositional("P => ", false));
+            check(result.getVerdict() == Verdict.ERROR && result.getError() != null, "malformed");
+            result = service.prove(new ProofRequest("t", ProofRequest.Logic.TPTP, TPTP, false, "kbo"));
+            check(result.getVerdict() == Verdict.THEOREM && result.getId().equals("t") && result.getClauses() == 3, "tptp");
+            result = service.prove(new ProofRequest(null, ProofRequest.Logic.TPTP, TPTP, false, "bfs"));
+            check(result.getVerdict() == Verdict.ERROR, "unknown strategy");
+            result = service.prove(new ProofRequest(null, ProofRequest.Logic.PREDICATE, "P(a) => P(a).", false, null));
+            check(result.getVerdict() == Verdict.THEOREM, "predicate");
+            result = service.prove(new ProofRequest(null, ProofRequest.Logic.PREDICATE, "P(a) & Q(b) => P(a).", false, null));
+            check(result.getVerdict() == Verdict.THEOREM, "predicate warm-up sample");
+            result = service.prove(new ProofRequest(null, ProofRequest.Logic.PREDICATE, "P(a) => P(a).", true, null));
+            check(result.getVerdict() == Verdict.ERROR && result.getError().contains("propositional"), "first order proof");
+            result = service.prove(new ProofRequest(null, ProofRequest.Logic.PREDICATE, "P(a) => ?.", false, null));
+            check(result.getVerdict() == Verdict.ERROR && !result.getError().contains("engine failed"), "unscanned predicate");
+            result = new ProverService(10, 10).prove(propositional(randomClauses(), false));
+            check(result.getVerdict() == Verdict.UNKNOWN, "clause limit " + result.getVerdict());
+            recordPass("Service");
+
+        } catch (Exception | AssertionError e) {
+            recordFail("Service", e.getMessage());
+        }
+    }
+
+    /**
+     * Tests several requests over one connection, malformed lines, and that
+     * an idle connection does not hold up another one.
+     */
+    private static void testConnections() {
+        System.out.println("Testing connections...");
+        try (ProverServer server = new ProverServer(0, 2, new ProverService())) {
+            server.start();
+            check(server.isVirtual() == (Runtime.version().feature() >= 21), "virtual threads where available");
+            try (Socket idle = connect(server);
+                    Socket socket = connect(server)) {
+                // an unfinished line on the idle connection
+                idle.getOutputStream().write("{\"formula\":".getBytes(StandardCharsets.UTF_8));
+                idle.getOutputStream().flush();
+                BufferedReader reader = reader(socket);
+                Writer writer = writer(socket);
+                writer.write("{\"id\":\"a\",\"formula\":\"A => A.\"}\n\n{\"id\":\"b\",\"formula\":\"A => B.\"}\nnot json\n");
+                writer.flush();
+                ProofResult first = ProofResult.fromJson(reader.readLine());
+                ProofResult second = ProofResult.fromJson(reader.readLine());
+                ProofResult third = ProofResult.fromJson(reader.readLine());
+                check(first.getId().equals("a") && first.getVerdict() == Verdict.THEOREM, "first");
+                check(second.getId().equals("b") && second.getVerdict() == Verdict.NOT_THEOREM, "second");
+                check(third.getVerdict() == Verdict.ERROR && third.getId() == null, "malformed line");
+            }
+            recordPass("Connections");
+
+        } catch (Exception | AssertionError e) {
+            recordFail("Connections", e.getMessage());
+        }
+    }
+
+    /**
+     * Tests that a proof past the deadline is answered with an error and its
+     * proving thread interrupted.
+     */
+    private static void testDeadline() {
+        System.out.println("Testing deadline...");
+        CountDownLatch interrupted = new CountDownLatch(1);
+        ProverService slow = new ProverService() {
+            @Override
+            public ProofResult prove(ProofRequest request) {
+                try {
+                    Thread.sleep(60000);
+                } catch (InterruptedException e) {
+                    interrupted.countDown();
+                }
+                return ProofResult.error(request.getId(), "woken");
+            }
+        };
+        try (ProverServer server = new ProverServer(0, 1, slow)) {
+            server.setDeadline(200);
+            server.start();
+            try (Socket socket = connect(server)) {
+                Writer writer = writer(socket);
+                writer.write("{\"id\":\"d\",\"formula\":\"A => A.\"}\n");
+                writer.flush();
+                ProofResult result = ProofResult.fromJson(reader(socket).readLine());
+                check(result.getId().equals("d") && result.getVerdict() == Verdict.ERROR
+                        && result.getError().contains("200 ms"), "answer " + result.getError());
+                check(interrupted.await(5, TimeUnit.SECONDS), "the proving thread was not interrupted");
+            }
+            recordPass("Deadline");
+
+        } catch (Exception | AssertionError e) {
+            recordFail("Deadline", e.getMessage());
+        }
+    }
+
+    /**
+     * Tests that many clients are answered at once and correctly.
+     */
+    private static void testConcurrentClients() {
+        System.out.println("Testing concurrent clients...");
+        ExecutorService clients = Executors.newFixedThreadPool(8);
+        try (ProverServer server = new ProverServer(0, 3, new ProverService())) {
+            server.start();
+            List<Future<Integer>> answers = new ArrayList<>();
+            for (int client = 0; client < 8; client++) {
+                final int number = client;
+                answers.add(clients.submit(() -> {
+                    int correct = 0;
+                    try (Socket socket = connect(server)) {
+                        BufferedReader reader = reader(socket);
+                        Writer writer = writer(socket);
+                        for (int i = 0; i < 20; i++) {
+                            boolean theorem = (number + i) % 2 == 0;
+                            String formula = theorem ? "((A" + i + " => B) & A" + i + ") => B." : "A" + i + " => B.";
+                            writer.write(new ProofRequest(number + "-" + i, ProofRequest.Logic.PROPOSITIONAL, formula, false, null).toJson() + "\n");
+                            writer.flush();
+                            ProofResult result = ProofResult.fromJson(reader.readLine());
+                            if (result.getId().equals(number + "-" + i)
+                                    && result.getVerdict() == (theorem ? Verdict.THEOREM : Verdict.NOT_THEOREM)) {
+                                ++correct;
+                            }
+                        }
+                    }
+                    return correct;
+                }));
+            }
+            for (Future<Integer> answer : answers) {
+                check(answer.get() == 20, answer.get() + " of 20 answers correct");
+            }
+            recordPass("Concurrent clients");
+
+        } catch (Exception | AssertionError e) {
+            recordFail("Concurrent clients", e.getMessage());
+        } finally {
+            clients.shutdownNow();
+        }
+    }
+
+    /**
+     * Tests that the daemon replaces a stale socket file but no other file,
+     * makes a private directory for its socket, answers on its socket,
+     * refuses a second daemon and removes the socket when closed.
+     */
+    private static void testDaemon() {
+        System.out.println("Testing daemon...");
+        Path directory = null;
+        try {
+            directory = Files.createTempDirectory("prover-daemon");
+            Path socket = directory.resolve("prover.sock");
+            // a daemon that died without removing its socket
+            try (ServerSocketChannel stale = ServerSocketChannel.open(StandardProtocolFamily.UNIX)) {
+                stale.bind(UnixDomainSocketAddress.of(socket));
+            }
+            check(Files.exists(socket) && !ProverDaemon.isRunning(socket), "stale socket");
+            try (ProverServer daemon = ProverDaemon.start(socket, 2)) {
+                check(daemon.getPort() == -1 && ProverDaemon.isRunning(socket), "listening");
+                ProofResult result = ProverDaemon.query(socket, propositional("((P => Q) & P) => Q.", false));
+                check(result.getVerdict() == Verdict.THEOREM, "theorem " + result.getVerdict());
+                result = ProverDaemon.query(socket, new ProofRequest("t", ProofRequest.Logic.TPTP, TPTP, false, null));
+                check(result.getVerdict() == Verdict.THEOREM && result.getId().equals("t"), "tptp");
+                try {
+                    ProverDaemon.start(socket, 1).close();
+                    throw new AssertionError("second daemon started");
+                } catch (IOException expected) {
+                    // expected
+                }
+            }
+            check(!Files.exists(socket), "socket removed");
+            Files.write(socket, "data".getBytes(StandardCharsets.UTF_8));
+            try {
+                ProverDaemon.start(socket, 1).close();
+                throw new AssertionError("started over a regular file");
+            } catch (IOException expected) {
+                check(Files.readAllLines(socket).equals(List.of("data")), "regular file kept");
+            }
+            Files.delete(socket);
+            Path nested = directory.resolve("run").resolve("prover.sock");
+            try (ProverServer daemon = ProverDaemon.start(nested, 1)) {
+                check(UnixDomainSocketAddress.of(nested).equals(daemon.getAddress()), "nested socket " + daemon.getAddress());
+                check(PosixFilePermissions.toString(Files.getPosixFilePermissions(nested.getParent())).equals("rwx------"),
+                        "private directory");
+            }
+            Files.delete(nested.getParent());
+            try {
+                ProverDaemon.query(socket, propositional("P => P.", false));
+                throw new AssertionError("answered without a daemon");
+            } catch (IOException expected) {
+                // expected
+            }
+            recordPass("Daemon");
+
+        } catch (Exception | AssertionError e) {
+            recordFail("Daemon", e.getMessage());
+        } finally {
+            if (directory != null) {
+                try {
+                    Files.deleteIfExists(directory.resolve("prover.sock"));
+                    Files.deleteIfExists(directory);
+                } catch (IOException e) {
+                    // left for the system to clean up
+                }
+            }
+        }
+    }
+
+    private static ProofRequest propositional(String formula, boolean proof) {
+        return new ProofRequest(null, ProofRequest.Logic.PROPOSITIONAL, formula, proof, null);
+    }
+
+    /**
+     * Returns the negation of a random 3-CNF formula with many clauses, which
+     * the preprocessor does not simplify.
+     */
+    private static String randomClauses() {
+        StringBuilder formula = new StringBuilder();
+        for (int[] clause : ProblemGenerator.randomKCnf(3, 30, 5.0, 1).getClauses()) {
+            formula.append(formula.length() == 0 ? "(" : " & (");
+            for (int i = 0; i < clause.length; i++) {
+                formula.append(i == 0 ? "" : " | ")
+                        .append(clause[i] < 0 ? "(!" + ProblemGenerator.atom(-clause[i]) + ")" : ProblemGenerator.atom(clause[i]));
+            }
+            formula.append(')');
+        }
+        return "!(" + formula + ").";
+    }
+
+    private static Socket connect(ProverServer server) throws Exception {
+        Socket socket = new Socket(InetAddress.getLoopbackAddress(), server.getPort());
+        socket.setSoTimeout(20000);
+        return socket;
+    }
+
+    private static BufferedReader reader(Socket socket) throws Exception {
+        return new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+    }
+
+    private static Writer writer(Socket socket) throws Exception {
+        return new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Records a passed test.
+     */
+    private static void recordPass(String testName) {
+        testsPassed++;
+        System.out.println("  ✅ " + testName);
+    }
+
+    /**
+     * Records a failed test.
+     */
+    private static void recordFail(String testName, String error) {
+        testsFailed++;
+        System.out.println("  ❌ " + testName + " - " + error);
+    }
+
+    /**
+     * Displays test results summary.
+     */
+    private static void displayResults() {
+        System.out.println("\n📊 SERVER TEST RESULTS");
+        System.out.println("=".repeat(50));
+        System.out.println("Passed: " + testsPassed);
+        System.out.println("Failed: " + testsFailed);
+        System.out.println("Total: " + (testsPassed + testsFailed));
+
+        if (testsFailed == 0) {
+            System.out.println("\n🎉 All server tests passed!");
+        } else {
+            System.out.println("\n⚠️ Some server tests failed!");
+        }
+    }
+}
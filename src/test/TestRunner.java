@@ -86,6 +86,24 @@ public class TestRunner {
         testSuites.add(new TestSuite("Resolution", () -> ResolutionTest.main(new String[]{}), TestType.UNIT));
         testSuites.add(new TestSuite("Input/Output", () -> InputOutputTest.main(new String[]{}), TestType.UNIT));
         testSuites.add(new TestSuite("Propositional Logic", () -> PropositionalLogicTest.main(new String[]{}), TestType.UNIT));
+        testSuites.add(new TestSuite("DIMACS", () -> DimacsTest.main(new String[]{}), TestType.UNIT));
+        testSuites.add(new TestSuite("TPTP Reader", () -> TptpReaderTest.main(new String[]{}), TestType.UNIT));
+        testSuites.add(new TestSuite("Problem Generator", () -> ProblemGeneratorTest.main(new String[]{}), TestType.UNIT));
+        testSuites.add(new TestSuite("Flight Recorder", () -> FlightRecorderTest.main(new String[]{}), TestType.UNIT));
+        testSuites.add(new TestSuite("Metrics Registry", () -> MetricsRegistryTest.main(new String[]{}), TestType.UNIT));
+        testSuites.add(new TestSuite("Clause Arena", () -> ClauseArenaTest.main(new String[]{}), TestType.UNIT));
+        testSuites.add(new TestSuite("Parallel CNF", () -> ParallelCNFTest.main(new String[]{}), TestType.UNIT));
+        testSuites.add(new TestSuite("Proving Session", () -> ProvingSessionTest.main(new String[]{}), TestType.UNIT));
+        testSuites.add(new TestSuite("Resolution Strategy", () -> ResolutionStrategyTest.main(new String[]{}), TestType.UNIT));
+        testSuites.add(new TestSuite("Preprocessor", () -> PreprocessorTest.main(new String[]{}), TestType.UNIT));
+        testSuites.add(new TestSuite("Server", () -> ServerTest.main(new String[]{}), TestType.UNIT));
+        testSuites.add(new TestSuite("BDD", () -> BddTest.main(new String[]{}), TestType.UNIT));
+        testSuites.add(new TestSuite("Truth Table", () -> TruthTableTest.main(new String[]{}), TestType.UNIT));
+        testSuites.add(new TestSuite("Portfolio", () -> PortfolioTest.main(new String[]{}), TestType.UNIT));
+        testSuites.add(new TestSuite("Horn", () -> HornTest.main(new String[]{}), TestType.UNIT));
+        testSuites.add(new TestSuite("2-SAT", () -> TwoSatTest.main(new String[]{}), TestType.UNIT));
+        testSuites.add(new TestSuite("Parity", () -> ParityTest.main(new String[]{}), TestType.UNIT));
+        testSuites.add(new TestSuite("Local Search", () -> LocalSearchTest.main(new String[]{}), TestType.UNIT));
 
         // Integration Tests
         testSuites.add(new TestSuite("Simple Integration", () -> SimpleIntegrationTest.main(new String[]{}), TestType.INTEGRATION));
@@ -0,0 +1,31 @@
+package test;
+
+/**
+ * Assertions shared by the test suites.
+ *
+ * <p>
+ * The suites run as plain main methods, where the assert statement is inert
+ * unless the JVM runs with -ea. A failed check throws an AssertionError
+ * instead, which each test catches and records as its failure.</p>
+ *
+ * @author Mark Schlichtmann
+ * @version 2.0
+ * @since 2026
+ */
+final class TestSupport {
+
+    private TestSupport() {
+    }
+
+    /**
+     * Fails the current test when the condition does not hold.
+     *
+     * @param condition the condition the test expects
+     * @param message the failure message
+     */
+    static void check(boolean condition, String message) {
+        if (!condition) {
+            throw new AssertionError(message);
+        }
+    }
+}
@@ -0,0 +1,333 @@
+package test;
+
+import static test.TestSupport.check;
+
+import common.ClauseCounter;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import predicate.common.Binary;
+import predicate.common.Function;
+import predicate.common.Predicate;
+import predicate.common.Quantifier;
+import predicate.common.Term;
+import predicate.common.Unary;
+import predicate.common.Variable;
+import predicate.resolution.NFList;
+import predicate.tptp.TptpFormula;
+import predicate.tptp.TptpReader;
+import server.ProofRequest;
+import server.ProofResult;
+import server.ProverService;
+
+/**
+ * Unit tests for the TPTP reader.
+ *
+ * <p>
+ * This test suite validates that fof and cnf problems are read into the
+ * predicate logic structures, that identifiers are mapped through the symbol
+ * table, that include directives are followed, that restricted includes
+ * stay in their directory and that large inputs are streamed.</p>
+ *
+ * @author Mark Schlichtmann
+ * @version 2.0
+ * @since 2026
+ */
+public class TptpReaderTest {
+
+    private static int testsPassed = 0;
+    private static int testsFailed = 0;
+
+    /**
+     * Main entry point for running all TPTP reader tests.
+     */
+    public static void main(String[] args) {
+        System.out.println("🧪 RUNNING TPTP READER UNIT TESTS");
+        System.out.println("=".repeat(50));
+
+        testReadFof();
+        testReadCnf();
+        testFofClauses();
+        testInclude();
+        testRestrictedIncludes();
+        testMalformed();
+        testLargeStream();
+
+        displayResults();
+    }
+
+    /**
+     * Tests reading fof formulas with quantifiers, connectives and equality.
+     */
+    private static void testReadFof() {
+        System.out.println("Testing fof formulas...");
+        try {
+            String problem = "% a comment\n"
+                    + "fof(mortal_rule, axiom, ! [Human] : (human(Human) => mortal(Human))).\n"
+                    + "/* block\n comment */ fof('the fact', hypothesis, human(socrates) & father(socrates) = sophroniscus).\n"
+                    + "fof(goal, conjecture, ? [X] : mortal(X), file('x.p', goal)).\n";
+            TptpReader reader = new TptpReader(new StringReader(problem));
+
+            TptpFormula rule = reader.next();
+            check(rule.getName().equals("mortal_rule") && rule.getRole().equals("axiom"), "name and role");
+            check(!rule.isClause() && !rule.isConjecture(), "fof axiom");
+            Quantifier all = (Quantifier) rule.getFormula();
+            check(all.getToken().getType() == 3, "universal quantifier");
+            check(reader.getOriginalName(all.getVariable().getToken()).equals("Human"), "variable name");
+            Binary implication = (Binary) all.getRightPredicate();
+            check(implication.getToken().getType() == 8, "implication");
+            Predicate human = (Predicate) implication.getleftPredicate();
+            check(reader.getOriginalName(human.getToken()).equals("human"), "predicate name");
+            Term argument = (Term) human.getRightExpression();
+            check(argument instanceof Variable && !argument.isFree(), "bound variable argument");
+
+            TptpFormula fact = reader.next();
+            check(fact.getName().equals("the fact"), "quoted name");
+            Binary conjunction = (Binary) fact.getFormula();
+            check(conjunction.getToken().getType() == 10, "conjunction");
+            Predicate equation = (Predicate) conjunction.getRightPredicate();
+            check(reader.getOriginalName(equation.getToken()).equals("="), "equality predicate");
+            Function father = (Function) equation.getRightExpression();
+            check(reader.getOriginalName(father.getToken()).equals("father"), "function name");
+            check(reader.getOriginalName(father.getArguments().getToken()).equals("socrates"), "constant argument");
+
+            TptpFormula goal = reader.next();
+            check(goal.isConjecture(), "conjecture role");
+            check(goal.getFormula().getToken().getType() == 4, "existential quantifier");
+            check(reader.next() == null, "end of input");
+            recordPass("fof formulas");
+
+        } catch (Exception | AssertionError e) {
+            recordFail("fof formulas", e.getMessage());
+        }
+    }
+
+    /**
+     * Tests streaming cnf clauses, including truth values and annotations.
+     */
+    private static void testReadCnf() {
+        System.out.println("Testing cnf clauses...");
+        try {
+            String problem = "cnf(c1, axiom, p(X) | ~ q(X, f(Y))).\n"
+                    + "cnf(c2, negated_conjecture, (~ p(a) | $false), inference(resolution, [status(thm)], [c1])).\n"
+                    + "cnf(c3, axiom, a != b | ~ $true | ~ c = d).\n";
+            TptpReader reader = new TptpReader(new StringReader(problem));
+            NFList clauses = new NFList();
+            long count = reader.readClauses(clauses);
+
+            check(count == 3 && clauses.size() == 3, "three clauses expected, got " + count);
+            check(clauses.getClause(0).size() == 2, "two literals in the first clause");
+            check(clauses.getClause(0).getFormula(1) instanceof Unary, "negative literal");
+            Term x = (Term) ((Predicate) clauses.getClause(0).getFormula(0)).getRightExpression();
+            check(x instanceof Variable && x.isFree(), "clause variables are free");
+            check(clauses.getClause(1).size() == 1, "$false is left out");
+            check(clauses.getClause(2).size() == 2, "~ $true is left out");
+            check(clauses.getClause(2).getFormula(0) instanceof Unary, "inequation is negative");
+            check(clauses.getClause(2).getFormula(1) instanceof Unary, "negated equation");
+            recordPass("cnf clauses");
+
+        } catch (Exception | AssertionError e) {
+            recordFail("cnf clauses", e.getMessage());
+        }
+    }
+
+    /**
+     * Tests that fof formulas are clausified and conjectures negated.
+     */
+    private static void testFofClauses() {
+        System.out.println("Testing fof clausal form...");
+        try {
+            String problem = "fof(a1, axiom, p(c) <=> q).\n"
+                    + "fof(g, conjecture, q => p(c)).\n";
+            TptpReader reader = new TptpReader(new StringReader(problem));
+            NFList clauses = new NFList();
+            reader.readClauses(clauses);
+
+            check(clauses.size() == 4, "four clauses expected, got " + clauses);
+            check(clauses.getClause(0).size() == 2 && clauses.getClause(1).size() == 2, "the equivalence gives two binary clauses");
+            check(clauses.getClause(2).size() == 1 && clauses.getClause(3).size() == 1, "the negated conjecture gives two unit clauses");
+            check(clauses.getClause(3).getFormula(0) instanceof Unary, "the consequent is negated");
+            recordPass("fof clausal form");
+
+        } catch (Exception | AssertionError e) {
+            recordFail("fof clausal form", e.getMessage());
+        }
+    }
+
+    /**
+     * Tests include directives with and without a name selection.
+     */
+    private static void testInclude() {
+        System.out.println("Testing include directives...");
+        try {
+            Path directory = Files.createTempDirectory("tptp");
+            directory.toFile().deleteOnExit();
+            Path axioms = directory.resolve("axioms.ax");
+            Files.write(axioms, "fof(ax1, axiom, p(a)).\nfof(ax2, axiom, p(b)).\nfof(ax3, axiom, p(c)).\n".getBytes(StandardCharsets.UTF_8));
+            axioms.toFile().deleteOnExit();
+            Path problem = directory.resolve("problem.p");
+            Files.write(problem, "include('axioms.ax', [ax1, ax3]).\nfof(goal, conjecture, p(a)).\n".getBytes(StandardCharsets.UTF_8));
+            problem.toFile().deleteOnExit();
+
+            StringBuilder names = new StringBuilder();
+            try (TptpReader reader = new TptpReader(problem)) {
+                TptpFormula formula = reader.next();
+                while (formula != null) {
+                    names.append(formula.getName()).append(' ');
+                    formula = reader.next();
+                }
+            }
+            check(names.toString().equals("ax1 ax3 goal "), "selected names expected, got " + names);
+            recordPass("include directives");
+
+        } catch (Exception | AssertionError e) {
+            recordFail("include directives", e.getMessage());
+        }
+    }
+
+    /**
+     * Tests that restricted includes open files of their directory only, and
+     * that the service refuses to include other files.
+     */
+    private static void testRestrictedIncludes() {
+        System.out.println("Testing restricted includes...");
+        try {
+            Path directory = Files.createTempDirectory("tptp");
+            directory.toFile().deleteOnExit();
+            Path axioms = directory.resolve("axioms.ax");
+            Files.write(axioms, "fof(ax1, axiom, p(a)).\n".getBytes(StandardCharsets.UTF_8));
+            axioms.toFile().deleteOnExit();
+            try (TptpReader reader = new TptpReader(new StringReader("include('axioms.ax').\n"))) {
+                reader.restrictIncludes(directory);
+                check(reader.next().getName().equals("ax1"), "file of the directory");
+            }
+            String[] refused = {"include('/etc/passwd').", "include('../../../../../../../../etc/passwd').",
+                "include('.').", "include('axioms.ax')."};
+            for (int i = 0; i < refused.length; i++) {
+                try (TptpReader reader = new TptpReader(new StringReader(refused[i]))) {
+                    // the last include names a file of the directory, but includes are refused
+                    reader.restrictIncludes(i < refused.length - 1 ? directory : null);
+                    reader.next();
+                    throw new AssertionError("included " + refused[i]);
+                } catch (IOException expected) {
+                    check(expected.getMessage().startsWith("TPTP syntax error"), expected.getMessage());
+                }
+            }
+            ProofResult result = new ProverService().prove(new ProofRequest(null, ProofRequest.Logic.TPTP,
+                    "include('/etc/passwd').", false, null));
+            check(result.getVerdict() == ProofResult.Verdict.ERROR && !result.getError().contains("root"), result.getError());
+            recordPass("restricted includes");
+
+        } catch (Exception | AssertionError e) {
+            recordFail("restricted includes", e.getMessage());
+        }
+    }
+
+    /**
+     * Tests that malformed input is reported with its line.
+     */
+    private static void testMalformed() {
+        System.out.println("Testing malformed input...");
+        String[] inputs = {
+            "fof(a, axiom, p(a)).\nfof(b, axiom, p(a) &).\n",
+            "fof(a, axiom, p(a))\n",
+            "thf(a, axiom, p).\n",
+            "cnf(a, axiom, p | 'open).\n"
+        };
+        for (int i = 0; i < inputs.length; i++) {
+            try {
+                TptpReader reader = new TptpReader(new StringReader(inputs[i]));
+                while (reader.next() != null) {
+                }
+                recordFail("Malformed input " + (i + 1), "no error reported");
+            } catch (IOException e) {
+                if (i == 0 && !e.getMessage().contains("line 2")) {
+                    recordFail("Malformed input " + (i + 1), "wrong line: " + e.getMessage());
+                } else {
+                    recordPass("Malformed input " + (i + 1));
+                }
+            }
+        }
+    }
+
+    /**
+     * Tests streaming a large generated clause set without materialising
+     * the input text.
+     */
+    private static void testLargeStream() {
+        System.out.println("Testing large input stream...");
+        try {
+            final int clauses = 200000;
+            Reader input = new Reader() {
+                private int clause = 0;
+                private String pending = "";
+                private int offset = 0;
+
+                public int read(char[] buffer, int start, int length) {
+                    if (offset == pending.length()) {
+                        if (clause == clauses) {
+                            return -1;
+                        }
+                        pending = "cnf(c" + clause + ", axiom, p" + clause % 97 + "(X, f(Y)) | ~ q(Y) | r(c" + clause + ")).\n";
+                        offset = 0;
+                        ++clause;
+                    }
+                    int count = Math.min(length, pending.length() - offset);
+                    pending.getChars(offset, offset + count, buffer, start);
+                    offset += count;
+                    return count;
+                }
+
+                public void close() {
+                }
+            };
+            TptpReader reader = new TptpReader(input);
+            ClauseCounter counter = new ClauseCounter();
+            long count = reader.readClauses(counter);
+
+            check(count == clauses, "clause count " + count);
+            check(counter.getLiteralCount() == 3L * clauses, "literal count");
+            check(reader.getSymbols().size() == 97 + 5 + clauses, "symbol count " + reader.getSymbols().size());
+            recordPass("Large input stream");
+
+        } catch (Exception | AssertionError e) {
+            recordFail("Large input stream", e.getMessage());
+        }
+    }
+
+    /**
+     * Records a passed test.
+     */
+    private static void recordPass(String testName) {
+        testsPassed++;
+        System.out.println("  ✅ " + testName);
+    }
+
+    /**
+     * Records a failed test.
+     */
+    private static void recordFail(String testName, String error) {
+        testsFailed++;
+        System.out.println("  ❌ " + testName + " - " + error);
+    }
+
+    /**
+     * Displays test results summary.
+     */
+    private static void displayResults() {
+        System.out.println("\n📊 TPTP READER TEST RESULTS");
+        System.out.println("=".repeat(50));
+        System.out.println("Passed: " + testsPassed);
+        System.out.println("Failed: " + testsFailed);
+        System.out.println("Total: " + (testsPassed + testsFailed));
+
+        if (testsFailed == 0) {
+            System.out.println("\n🎉 All TPTP reader tests passed!");
+        } else {
+            System.out.println("\n⚠️ Some TPTP reader tests failed!");
+        }
+    }
+}
@@ -0,0 +1,242 @@
+package test;
+
+import static test.TestSupport.check;
+
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import propositional.bdd.BddMethod;
+import propositional.common.Formula;
+import propositional.common.Propositional;
+import propositional.common.Unary;
+import propositional.parser.Parser;
+import propositional.scanner.Precedence;
+import propositional.scanner.Scanner;
+import propositional.truthtable.TruthTableMethod;
+import testing.generator.ProblemGenerator;
+
+/**
+ * Unit tests for the truth table method.
+ *
+ * <p>
+ * This test suite validates the verdicts and countermodels of the bit
+ * parallel truth table against the BDD method, for tables that fit in one
+ * word and for tables swept in parallel, and that the countermodel does not
+ * depend on the number of threads.</p>
+ *
+ * @author Mark Schlichtmann
+ * @version 2.0
+ * @since 2026
+ */
+public class TruthTableTest {
+
+    private static int testsPassed = 0;
+    private static int testsFailed = 0;
+
+    /**
+     * Main entry point for running all truth table tests.
+     */
+    public static void main(String[] args) {
+        System.out.println("🧪 RUNNING TRUTH TABLE UNIT TESTS");
+        System.out.println("=".repeat(50));
+
+        testSmallFormulas();
+        testRandomFormulas();
+        testSharedSubformulas();
+        testLargeTables();
+        testTooManyAtoms();
+
+        displayResults();
+    }
+
+    /**
+     * Tests theorems and countermodels of formulas with few atoms.
+     */
+    private static void testSmallFormulas() {
+        System.out.println("Testing small formulas...");
+        try {
+            for (String text : new String[] {"P => P.", "(P => Q) => ((Q => R) => (P => R)).", "((P => Q) => P) => P.",
+                "(P <=> Q) <=> (Q <=> P)."}) {
+                TruthTableMethod method = new TruthTableMethod(parse(text));
+                check(method.isTheorem() && method.getCountermodel() == null, text);
+            }
+            TruthTableMethod method = new TruthTableMethod(parse("P => Q."));
+            check(!method.isTheorem() && method.getCountermodel().toString().equals("{P=true, Q=false}"), "P => Q");
+            method = new TruthTableMethod(parse("P | Q."));
+            check(method.getCountermodel().toString().equals("{P=false, Q=false}"), "first falsifying assignment");
+            check(method.getAtoms().size() == 2, "atoms");
+            recordPass("Small formulas");
+
+        } catch (Exception | AssertionError e) {
+            recordFail("Small formulas", e.getMessage());
+        }
+    }
+
+    /**
+     * Tests random formulas against the BDD method.
+     */
+    private static void testRandomFormulas() {
+        System.out.println("Testing random formulas...");
+        try {
+            Random random = new Random(44);
+            String[] connectives = {" & ", " | ", " => ", " <=> "};
+            for (int round = 0; round < 300; round++) {
+                int atoms = 1 + random.nextInt(10);
+                String text = randomFormula(random, connectives, atoms, 5) + ".";
+                Formula formula = parse(text);
+                TruthTableMethod method = new TruthTableMethod(formula);
+                check(method.isTheorem() == new BddMethod(formula).isTheorem(), "verdict of " + text);
+                check(method.isTheorem() || !evaluate(formula, method.getCountermodel()), "countermodel of " + text);
+            }
+            recordPass("Random formulas");
+
+        } catch (Exception | AssertionError e) {
+            recordFail("Random formulas", e.getMessage());
+        }
+    }
+
+    /**
+     * Tests that a repeated subformula is compiled once.
+     */
+    private static void testSharedSubformulas() {
+        System.out.println("Testing shared subformulas...");
+        try {
+            TruthTableMethod method = new TruthTableMethod(parse("((P & Q) | R) <=> (R | (Q & P))."));
+            check(method.isTheorem(), "commuted operands");
+            check(method.getInstructionCount() == 3, method.getInstructionCount() + " instructions");
+            recordPass("Shared subformulas");
+
+        } catch (Exception | AssertionError e) {
+            recordFail("Shared subformulas", e.getMessage());
+        }
+    }
+
+    /**
+     * Tests tables of many words, swept in parallel, whose only falsifying
+     * assignment is late in the table.
+     */
+    private static void testLargeTables() {
+        System.out.println("Testing large tables...");
+        ForkJoinPool single = new ForkJoinPool(1);
+        try {
+            Formula ladder = ProblemGenerator.iffLadder(22).parsePropositional();
+            check(new TruthTableMethod(ladder).isTheorem(), "ladder of 22");
+            Random random = new Random(7);
+            StringBuilder text = new StringBuilder();
+            boolean[] expected = new boolean[22];
+            for (int atom = 1; atom <= 22; atom++) {
+                // the clause is false only if each atom has the opposite of its literal
+                expected[atom - 1] = random.nextBoolean();
+                String name = ProblemGenerator.atom(atom);
+                text.append(atom == 1 ? "" : " | ").append(expected[atom - 1] ? "(!" + name + ")" : name);
+            }
+            Formula clause = parse(text + ".");
+            TruthTableMethod parallel = new TruthTableMethod(clause);
+            TruthTableMethod sequential = new TruthTableMethod(clause, single);
+            check(!parallel.isTheorem() && !evaluate(clause, parallel.getCountermodel()), "parallel countermodel");
+            check(parallel.getCountermodel().equals(sequential.getCountermodel()), "same countermodel on one thread");
+            for (int atom = 1; atom <= 22; atom++) {
+                check(parallel.getCountermodel().get(ProblemGenerator.atom(atom)) == expected[atom - 1], "atom " + atom);
+            }
+            Formula early = parse(text + " | (" + ProblemGenerator.atom(1) + " & (!" + ProblemGenerator.atom(1) + ")).");
+            check(!new TruthTableMethod(early).isTheorem(), "contradiction in a disjunction");
+            recordPass("Large tables");
+
+        } catch (Exception | AssertionError e) {
+            recordFail("Large tables", e.getMessage());
+        } finally {
+            single.shutdown();
+        }
+    }
+
+    /**
+     * Tests that formulas with too many atoms are refused.
+     */
+    private static void testTooManyAtoms() {
+        System.out.println("Testing too many atoms...");
+        try {
+            try {
+                new TruthTableMethod(ProblemGenerator.iffLadder(TruthTableMethod.MAX_ATOMS + 1).parsePropositional());
+                throw new AssertionError("accepted " + (TruthTableMethod.MAX_ATOMS + 1) + " atoms");
+            } catch (IllegalArgumentException expected) {
+                // expected
+            }
+            recordPass("Too many atoms");
+
+        } catch (Exception | AssertionError e) {
+            recordFail("Too many atoms", e.getMessage());
+        }
+    }
+
+    private static String randomFormula(Random random, String[] connectives, int atoms, int depth) {
+        if (depth == 0 || random.nextInt(5) == 0) {
+            String atom = ProblemGenerator.atom(1 + random.nextInt(atoms));
+            return random.nextBoolean() ? "(!" + atom + ")" : atom;
+        }
+        String formula = "(" + randomFormula(random, connectives, atoms, depth - 1)
+                + connectives[random.nextInt(connectives.length)] + randomFormula(random, connectives, atoms, depth - 1) + ")";
+        return random.nextInt(5) == 0 ? "(!" + formula + ")" : formula;
+    }
+
+    private static Formula parse(String text) {
+        Formula formula = new Parser(new Scanner(text).getTokens()).parse();
+        check(formula != null, "parse " + text);
+        return formula;
+    }
+
+    /**
+     * Evaluates a formula, atoms missing from the model being false.
+     */
+    private static boolean evaluate(Formula formula, Map<String, Boolean> model) {
+        if (formula instanceof Propositional) {
+            return Boolean.TRUE.equals(model.get(formula.getToken().getData()));
+        }
+        if (formula instanceof Unary) {
+            return !evaluate(formula.getRightPredicate(), model);
+        }
+        boolean left = evaluate(formula.getleftPredicate(), model);
+        boolean right = evaluate(formula.getRightPredicate(), model);
+        Precedence connective = formula.getToken().getType();
+        if (connective == Precedence.AND) {
+            return left && right;
+        } else if (connective == Precedence.OR) {
+            return left || right;
+        } else if (connective == Precedence.IMPLY) {
+            return !left || right;
+        }
+        return left == right;
+    }
+
+    /**
+     * Records a passed test.
+     */
+    private static void recordPass(String testName) {
+        testsPassed++;
+        System.out.println("  ✅ " + testName);
+    }
+
+    /**
+     * Records a failed test.
+     */
+    private static void recordFail(String testName, String error) {
+        testsFailed++;
+        System.out.println("  ❌ " + testName + " - " + error);
+    }
+
+    /**
+     * Displays test results summary.
+     */
+    private static void displayResults() {
+        System.out.println("\n📊 TRUTH TABLE TEST RESULTS");
+        System.out.println("=".repeat(50));
+        System.out.println("Passed: " + testsPassed);
+        System.out.println("Failed: " + testsFailed);
+        System.out.println("Total: " + (testsPassed + testsFailed));
+
+        if (testsFailed == 0) {
+            System.out.println("\n🎉 All truth table tests passed!");
+        } else {
+            System.out.println("\n⚠️ Some truth table tests failed!");
+        }
+    }
+}
@@ -0,0 +1,243 @@
+package test;
+
+import static test.TestSupport.check;
+
+import common.metrics.MetricsRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import propositional.resolution.TwoSatSolver;
+import server.ProofRequest;
+import server.ProofResult;
+import server.ProverService;
+
+/**
+ * Unit tests for the 2-SAT solver.
+ *
+ * <p>
+ * This test suite validates the verdicts and models of the implication graph
+ * solver against all assignments of small random clause sets, the detection
+ * of longer clauses, a cycle of implications over a million atoms, and that
+ * the prover service decides binary obligations without resolution.</p>
+ *
+ * @author Mark Schlichtmann
+ * @version 2.0
+ * @since 2026
+ */
+public class TwoSatTest {
+
+    private static int testsPassed = 0;
+    private static int testsFailed = 0;
+
+    /**
+     * Main entry point for running all 2-SAT tests.
+     */
+    public static void main(String[] args) {
+        System.out.println("🧪 RUNNING 2-SAT UNIT TESTS");
+        System.out.println("=".repeat(50));
+
+        testSmallSets();
+        testRandomSets();
+        testLongerClauses();
+        testLongCycle();
+        testService();
+
+        displayResults();
+    }
+
+    /**
+     * Tests units, duplicate literals, tautologies and the empty clause.
+     */
+    private static void testSmallSets() {
+        System.out.println("Testing small sets...");
+        try {
+            TwoSatSolver solver = solver(new int[] {1, 2}, new int[] {-1, 2}, new int[] {1, -2});
+            check(solver.isTwoSat() && solver.isSatisfiable(), "satisfiable");
+            boolean[] model = solver.getModel();
+            check(model[1] && model[2], "model");
+            solver.addClause(new int[] {-1, -2});
+            check(!solver.isSatisfiable() && solver.getModel() == null, "all four clauses");
+            check(!solver(new int[] {3, 3}, new int[] {-3}).isSatisfiable(), "unit and its negation");
+            check(!solver(new int[0]).isSatisfiable(), "empty clause");
+            TwoSatSolver tautology = solver(new int[] {4, -4}, new int[] {1, 2, 1});
+            check(tautology.isTwoSat() && tautology.size() == 1, "tautology dropped");
+            recordPass("Small sets");
+
+        } catch (Exception | AssertionError e) {
+            recordFail("Small sets", e.getMessage());
+        }
+    }
+
+    /**
+     * Tests random sets of units and binary clauses against all assignments.
+     */
+    private static void testRandomSets() {
+        System.out.println("Testing random sets...");
+        try {
+            Random random = new Random(48);
+            for (int round = 0; round < 500; round++) {
+                int variables = 1 + random.nextInt(10);
+                List<int[]> clauses = new ArrayList<int[]>();
+                TwoSatSolver solver = new TwoSatSolver();
+                for (int i = random.nextInt(2 * variables + 2); i >= 0; i--) {
+                    int[] clause = new int[1 + random.nextInt(2)];
+                    for (int j = 0; j < clause.length; j++) {
+                        clause[j] = (1 + random.nextInt(variables)) * (random.nextBoolean() ? 1 : -1);
+                    }
+                    clauses.add(clause);
+                    solver.addClause(clause);
+                }
+                boolean satisfiable = false;
+                for (int assignment = 0; assignment < 1 << variables && !satisfiable; assignment++) {
+                    satisfiable = satisfies(clauses, assignment);
+                }
+                check(solver.isSatisfiable() == satisfiable, "verdict in round " + round);
+                if (satisfiable) {
+                    boolean[] model = solver.getModel();
+                    int assignment = 0;
+                    for (int variable = 1; variable < model.length; variable++) {
+                        assignment |= model[variable] ? 1 << (variable - 1) : 0;
+                    }
+                    check(satisfies(clauses, assignment), "model in round " + round);
+                }
+            }
+            recordPass("Random sets");
+
+        } catch (Exception | AssertionError e) {
+            recordFail("Random sets", e.getMessage());
+        }
+    }
+
+    /**
+     * Tests that a clause of three distinct literals is detected.
+     */
+    private static void testLongerClauses() {
+        System.out.println("Testing longer clauses...");
+        try {
+            TwoSatSolver solver = solver(new int[] {1, 2}, new int[] {1, 2, 3});
+            check(!solver.isTwoSat(), "three literals");
+            try {
+                solver.isSatisfiable();
+                throw new AssertionError("decided a clause of three literals");
+            } catch (IllegalStateException expected) {
+                // expected
+            }
+            recordPass("Longer clauses");
+
+        } catch (Exception | AssertionError e) {
+            recordFail("Longer clauses", e.getMessage());
+        }
+    }
+
+    /**
+     * Tests a cycle of implications over a million atoms, which makes them
+     * all equivalent and one component of the graph.
+     */
+    private static void testLongCycle() {
+        System.out.println("Testing a long cycle...");
+        try {
+            int length = 1000000;
+            TwoSatSolver solver = new TwoSatSolver();
+            for (int atom = 1; atom < length; atom++) {
+                solver.addClause(new int[] {-atom, atom + 1});
+            }
+            solver.addClause(new int[] {-length, 1});
+            solver.addClause(new int[] {1, 2});
+            long start = System.nanoTime();
+            check(solver.isSatisfiable() && solver.getModel()[length], "all atoms true");
+            solver.addClause(new int[] {-1, -2});
+            check(!solver.isSatisfiable(), "equivalent atoms that differ");
+            long millis = (System.nanoTime() - start) / 1000000;
+            check(millis < 5000, "took " + millis + " ms");
+            recordPass("Long cycle");
+
+        } catch (Exception | AssertionError e) {
+            recordFail("Long cycle", e.getMessage());
+        }
+    }
+
+    /**
+     * Tests that the prover service decides binary obligations that are not
+     * Horn without resolvents, and longer ones by resolution.
+     */
+    private static void testService() {
+        System.out.println("Testing service...");
+        try {
+            ProverService service = new ProverService();
+            long decided = MetricsRegistry.getDefault().getCount("twosat.decided");
+            ProofResult result = service.prove(request("(P | Q) => (Q | P)."));
+            check(result.getVerdict() == ProofResult.Verdict.THEOREM && result.getResolvents() == 0, "commuted disjunction");
+            result = service.prove(request("(P | Q) => P."));
+            check(result.getVerdict() == ProofResult.Verdict.NOT_THEOREM, "not a theorem");
+            check(MetricsRegistry.getDefault().getCount("twosat.decided") == decided + 2, "decided as 2-SAT");
+            result = service.prove(request("(P | (Q | R)) => ((R | Q) | P)."));
+            check(result.getVerdict() == ProofResult.Verdict.THEOREM, "three literals");
+            check(MetricsRegistry.getDefault().getCount("twosat.decided") == decided + 2, "left to resolution");
+            recordPass("Service");
+
+        } catch (Exception | AssertionError e) {
+            recordFail("Service", e.getMessage());
+        }
+    }
+
+    private static ProofRequest request(String formula) {
+        return new ProofRequest(null, ProofRequest.Logic.PROPOSITIONAL, formula, false, null);
+    }
+
+    private static TwoSatSolver solver(int[]... clauses) {
+        TwoSatSolver solver = new TwoSatSolver();
+        for (int[] clause : clauses) {
+            solver.addClause(clause);
+        }
+        return solver;
+    }
+
+    /**
+     * Evaluates clauses under an assignment whose bit v - 1 is variable v.
+     */
+    private static boolean satisfies(List<int[]> clauses, int assignment) {
+        for (int[] clause : clauses) {
+            boolean satisfied = false;
+            for (int literal : clause) {
+                satisfied |= (((assignment >>> (Math.abs(literal) - 1)) & 1) == 1) == literal > 0;
+            }
+            if (!satisfied) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Records a passed test.
+     */
+    private static void recordPass(String testName) {
+        testsPassed++;
+        System.out.println("  ✅ " + testName);
+    }
+
+    /**
+     * Records a failed test.
+     */
+    private static void recordFail(String testName, String error) {
+        testsFailed++;
+        System.out.println("  ❌ " + testName + " - " + error);
+    }
+
+    /**
+     * Displays test results summary.
+     */
+    private static void displayResults() {
+        System.out.println("\n📊 2-SAT TEST RESULTS");
+        System.out.println("=".repeat(50));
+        System.out.println("Passed: " + testsPassed);
+        System.out.println("Failed: " + testsFailed);
+        System.out.println("Total: " + (testsPassed + testsFailed));
+
+        if (testsFailed == 0) {
+            System.out.println("\n🎉 All 2-SAT tests passed!");
+        } else {
+            System.out.println("\n⚠️ Some 2-SAT tests failed!");
+        }
+    }
+}
@@ -0,0 +1,206 @@
+package testing.generator;
+
+import common.ClauseSink;
+import common.DimacsClauseSink;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import propositional.common.Formula;
+import propositional.parser.Parser;
+import propositional.scanner.Scanner;
+import predicate.common.WFExpression;
+
+/**
+ * A problem produced by the {@link ProblemGenerator}.
+ *
+ * <p>
+ * Every problem has a text in the input syntax of the scanner of its logic,
+ * ready for the parsers or for writing to a file. Clausal families also keep
+ * their clauses as signed variable numbers, which can be streamed into any
+ * clause sink or written as DIMACS. The text of a clausal problem is the
+ * negation of the clause set, so it is a theorem exactly when the clauses are
+ * unsatisfiable.</p>
+ *
+ * @author Mark Schlichtmann
+ * @version 2.0
+ * @since 2026
+ */
+public class GeneratedProblem {
+
+    /**
+     * The logic a problem is written in.
+     */
+    public enum Logic {
+        PROPOSITIONAL, PREDICATE
+    }
+
+    private final String name;
+    private final Logic logic;
+    private String text;
+    private final Boolean theorem;
+    private final List<int[]> clauses;
+    private final int variables;
+
+    /**
+     * Creates a problem given as formula text.
+     *
+     * @param name the name of the problem, e.g. chain-20
+     * @param logic the logic of the text
+     * @param text the formula, terminated by a full stop
+     * @param theorem whether the formula is valid, or null if unknown
+     */
+    public GeneratedProblem(String name, Logic logic, String text, Boolean theorem) {
+        this.name = name;
+        this.logic = logic;
+        this.text = text;
+        this.theorem = theorem;
+        this.clauses = null;
+        this.variables = 0;
+    }
+
+    /**
+     * Creates a propositional problem given as a clause set.
+     *
+     * @param name the name of the problem, e.g. php-6
+     * @param clauses the clauses as signed variable numbers
+     * @param variables the number of variables
+     * @param unsatisfiable whether the clauses are unsatisfiable, or null if
+     * unknown
+     */
+    public GeneratedProblem(String name, List<int[]> clauses, int variables, Boolean unsatisfiable) {
+        this.name = name;
+        this.logic = Logic.PROPOSITIONAL;
+        this.clauses = Collections.unmodifiableList(clauses);
+        this.variables = variables;
+        this.theorem = unsatisfiable;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Logic getLogic() {
+        return logic;
+    }
+
+    /**
+     * Returns the formula text in the syntax of the scanner of the problem's
+     * logic. The text of a clausal problem is built on first use, since large
+     * clause sets are often only streamed or written as DIMACS.
+     *
+     * @return the formula, terminated by a full stop
+     * @throws IllegalArgumentException if a clausal problem has more variables
+     * than the scanner has atom names
+     */
+    public String getText() {
+        if (text == null) {
+            text = ProblemGenerator.negatedClauseText(clauses);
+        }
+        return text;
+    }
+
+    /**
+     * Returns whether the formula is valid.
+     *
+     * @return TRUE for a theorem, FALSE for a non-theorem, null if unknown
+     */
+    public Boolean getExpectedTheorem() {
+        return theorem;
+    }
+
+    /**
+     * Returns whether the problem was generated as a clause set.
+     *
+     * @return true if the clauses are available
+     */
+    public boolean isClausal() {
+        return clauses != null;
+    }
+
+    /**
+     * Returns the clauses of a clausal problem.
+     *
+     * @return the clauses as signed variable numbers, or an empty list for a
+     * problem given as formula text
+     */
+    public List<int[]> getClauses() {
+        return clauses == null ? Collections.emptyList() : clauses;
+    }
+
+    /**
+     * Returns the number of variables of a clausal problem.
+     *
+     * @return the highest variable number, 0 for a problem given as text
+     */
+    public int getVariableCount() {
+        return variables;
+    }
+
+    /**
+     * Streams the clauses of a clausal problem into a sink and closes it.
+     *
+     * @param sink the sink that receives the clauses
+     */
+    public void streamClauses(ClauseSink<int[]> sink) {
+        for (int[] clause : getClauses()) {
+            sink.addClause(clause.clone());
+        }
+        sink.close();
+    }
+
+    /**
+     * Scans and parses the text with the propositional scanner and parser.
+     *
+     * @return the parsed formula, or null if the text could not be parsed
+     */
+    public Formula parsePropositional() {
+        if (logic != Logic.PROPOSITIONAL) {
+            throw new IllegalStateException(name + " is not a propositional problem");
+        }
+        return new Parser(new Scanner(getText()).getTokens()).parse();
+    }
+
+    /**
+     * Scans and parses the text with the predicate scanner and parser.
+     *
+     * @return the parsed sentence, or null if the text could not be parsed
+     */
+    public WFExpression parsePredicate() {
+        if (logic != Logic.PREDICATE) {
+            throw new IllegalStateException(name + " is not a predicate logic problem");
+        }
+        ArrayList<?> tokens = new predicate.scanner.Scanner(text).getScannedTokens();
+        return tokens == null ? null : new predicate.parser.Parser(tokens).accept();
+    }
+
+    /**
+     * Writes the formula text to a file.
+     *
+     * @param path the file to write
+     * @throws IOException if the file cannot be written
+     */
+    public void writeText(Path path) throws IOException {
+        Files.write(path, (getText() + System.lineSeparator()).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Writes the clauses of a clausal problem as a DIMACS file.
+     *
+     * @param path the file to write
+     */
+    public void writeDimacs(Path path) {
+        if (!isClausal()) {
+            throw new IllegalStateException(name + " is not a clausal problem");
+        }
+        streamClauses(new DimacsClauseSink(path));
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
@@ -0,0 +1,316 @@
+package testing.generator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Generates parameterised problem families for load, scaling and benchmark
+ * testing.
+ *
+ * <p>
+ * The hand-written test formulas stay below five atoms. The families here
+ * reach any size and are chosen to stress different parts of the provers:
+ * pigeonhole and Tseitin parity formulas are hard for resolution, random
+ * k-CNF is the standard satisfiability workload, implication chains and
+ * equivalence ladders scale the normal form algorithms, and the first-order
+ * chains scale the predicate engine.</p>
+ *
+ * <p>
+ * Formulas are written fully bracketed, with long conjunctions and
+ * disjunctions nested as balanced trees, so the nesting depth grows with the
+ * logarithm of the size. Random families take a seed and are reproducible.</p>
+ *
+ * @author Mark Schlichtmann
+ * @version 2.0
+ * @since 2026
+ */
+public final class ProblemGenerator {
+
+    /**
+     * The number of predicate letters F to T of the predicate scanner.
+     */
+    private static final int PREDICATE_LETTERS = 15;
+
+    private ProblemGenerator() {
+    }
+
+    /**
+     * The pigeonhole principle PHP(n): n + 1 pigeons do not fit into n holes.
+     * The clause set is unsatisfiable and every resolution refutation is
+     * exponential in n.
+     *
+     * @param holes the number of holes, at least 1
+     * @return the clausal problem with n(n + 1) variables
+     */
+    public static GeneratedProblem pigeonhole(int holes) {
+        requirePositive(holes, "holes");
+        int pigeons = holes + 1;
+        List<int[]> clauses = new ArrayList<>();
+        for (int p = 0; p < pigeons; p++) {
+            int[] somewhere = new int[holes];
+            for (int h = 0; h < holes; h++) {
+                somewhere[h] = pigeonVariable(p, h, holes);
+            }
+            clauses.add(somewhere);
+        }
+        for (int h = 0; h < holes; h++) {
+            for (int p = 0; p < pigeons; p++) {
+                for (int q = p + 1; q < pigeons; q++) {
+                    clauses.add(new int[]{-pigeonVariable(p, h, holes), -pigeonVariable(q, h, holes)});
+                }
+            }
+        }
+        return new GeneratedProblem("php-" + holes, clauses, pigeons * holes, Boolean.TRUE);
+    }
+
+    private static int pigeonVariable(int pigeon, int hole, int holes) {
+        return pigeon * holes + hole + 1;
+    }
+
+    /**
+     * A uniform random k-CNF: every clause has k distinct variables with
+     * random signs. Near the ratio 4.26 for k = 3 about half of the instances
+     * are satisfiable and they are hardest to decide.
+     *
+     * @param k the clause length
+     * @param variables the number of variables, at least k
+     * @param ratio the number of clauses per variable
+     * @param seed the seed of the random generator
+     * @return the clausal problem, satisfiability unknown
+     */
+    public static GeneratedProblem randomKCnf(int k, int variables, double ratio, long seed) {
+        requirePositive(k, "k");
+        if (variables < k) {
+            throw new IllegalArgumentException("at least " + k + " variables are needed, got " + variables);
+        }
+        Random random = new Random(seed);
+        int count = (int) Math.round(ratio * variables);
+        List<int[]> clauses = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int[] clause = new int[k];
+            for (int j = 0; j < k; j++) {
+                int variable;
+                do {
+                    variable = 1 + random.nextInt(variables);
+                } while (contains(clause, j, variable));
+                clause[j] = random.nextBoolean() ? variable : -variable;
+            }
+            clauses.add(clause);
+        }
+        return new GeneratedProblem("rand" + k + "-" + variables + "-" + ratio + "-" + seed, clauses, variables, null);
+    }
+
+    private static boolean contains(int[] clause, int length, int variable) {
+        for (int i = 0; i < length; i++) {
+            if (Math.abs(clause[i]) == variable) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * An Urquhart style Tseitin parity formula. Every edge of a random
+     * 3-regular graph (a cycle plus a random perfect matching, an expander
+     * with high probability) is a variable, and every vertex requires the
+     * parity of its edges to equal its charge. Exactly one vertex is charged,
+     * so the total charge is odd and the clause set is unsatisfiable. Over
+     * expanders these formulas need resolution refutations of exponential
+     * size.
+     *
+     * @param vertices the number of vertices, rounded up to an even number of
+     * at least 4
+     * @param seed the seed of the random matching
+     * @return the clausal problem with 1.5 variables per vertex
+     */
+    public static GeneratedProblem tseitinParity(int vertices, long seed) {
+        int n = Math.max(4, vertices + (vertices & 1));
+        Random random = new Random(seed);
+        List<List<Integer>> incident = new ArrayList<>(n);
+        for (int v = 0; v < n; v++) {
+            incident.add(new ArrayList<>(3));
+        }
+        int edges = 0;
+        for (int v = 0; v < n; v++) {
+            ++edges;
+            incident.get(v).add(edges);
+            incident.get((v + 1) % n).add(edges);
+        }
+        int[] order = new int[n];
+        for (int i = 0; i < n; i++) {
+            order[i] = i;
+        }
+        for (int i = n - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int swap = order[i];
+            order[i] = order[j];
+            order[j] = swap;
+        }
+        for (int i = 0; i < n; i += 2) {
+            ++edges;
+            incident.get(order[i]).add(edges);
+            incident.get(order[i + 1]).add(edges);
+        }
+        List<int[]> clauses = new ArrayList<>();
+        for (int v = 0; v < n; v++) {
+            addParity(incident.get(v), v == 0 ? 1 : 0, clauses);
+        }
+        return new GeneratedProblem("tseitin-" + n + "-" + seed, clauses, edges, Boolean.TRUE);
+    }
+
+    /**
+     * Adds the clauses stating that the number of true variables has the
+     * given parity: one clause excluding each assignment of the wrong parity.
+     */
+    private static void addParity(List<Integer> variables, int parity, List<int[]> clauses) {
+        int size = variables.size();
+        for (int mask = 0; mask < (1 << size); mask++) {
+            if (Integer.bitCount(mask) % 2 != parity) {
+                int[] clause = new int[size];
+                for (int i = 0; i < size; i++) {
+                    // the clause is false exactly under the assignment mask
+                    boolean value = (mask & (1 << i)) != 0;
+                    clause[i] = value ? -variables.get(i) : variables.get(i);
+                }
+                clauses.add(clause);
+            }
+        }
+    }
+
+    /**
+     * A long implication chain: (A1 =&gt; A2) &amp; ... &amp; (An-1 =&gt; An)
+     * =&gt; (A1 =&gt; An), a theorem.
+     *
+     * @param length the number of atoms, at least 2
+     * @return the propositional problem
+     */
+    public static GeneratedProblem implicationChain(int length) {
+        requireAtLeast(length, 2, "length");
+        List<String> links = new ArrayList<>(length - 1);
+        for (int i = 1; i < length; i++) {
+            links.add(atom(i) + " => " + atom(i + 1));
+        }
+        String text = "(" + join(links, "&") + ") => (" + atom(1) + " => " + atom(length) + ").";
+        return new GeneratedProblem("chain-" + length, GeneratedProblem.Logic.PROPOSITIONAL, text, Boolean.TRUE);
+    }
+
+    /**
+     * A nested equivalence ladder compared with its reverse:
+     * (A1 &lt;=&gt; (A2 &lt;=&gt; ... An)) &lt;=&gt; (An &lt;=&gt; (... &lt;=&gt;
+     * A1)). Equivalence is associative and commutative, so the formula is a
+     * theorem, but its clausal form doubles with every rung.
+     *
+     * @param rungs the number of atoms, at least 2
+     * @return the propositional problem
+     */
+    public static GeneratedProblem iffLadder(int rungs) {
+        requireAtLeast(rungs, 2, "rungs");
+        String text = "(" + ladder(rungs, true) + ") <=> (" + ladder(rungs, false) + ").";
+        return new GeneratedProblem("iff-" + rungs, GeneratedProblem.Logic.PROPOSITIONAL, text, Boolean.TRUE);
+    }
+
+    private static String ladder(int rungs, boolean ascending) {
+        String result = atom(ascending ? rungs : 1);
+        for (int i = rungs - 1; i >= 1; i--) {
+            result = atom(ascending ? i : rungs + 1 - i) + " <=> (" + result + ")";
+        }
+        return result;
+    }
+
+    /**
+     * A first-order chain in the syntax of the predicate scanner:
+     * (Ax (P1(x) =&gt; P2(x))) &amp; ... &amp; P1(a) =&gt; Pn(a), a theorem.
+     *
+     * @param length the number of predicates, from 2 to 1500
+     * @return the predicate logic problem
+     */
+    public static GeneratedProblem firstOrderChain(int length) {
+        requireAtLeast(length, 2, "length");
+        if (length >= PREDICATE_LETTERS * 100) {
+            throw new IllegalArgumentException("at most " + (PREDICATE_LETTERS * 100 - 1) + " predicates, got " + length);
+        }
+        List<String> premises = new ArrayList<>(length);
+        for (int i = 1; i < length; i++) {
+            premises.add("Ax (" + predicate(i) + "(x) => " + predicate(i + 1) + "(x))");
+        }
+        premises.add(predicate(1) + "(a)");
+        String text = "(" + join(premises, "&") + ") => " + predicate(length) + "(a).";
+        return new GeneratedProblem("fo-chain-" + length, GeneratedProblem.Logic.PREDICATE, text, Boolean.TRUE);
+    }
+
+    /**
+     * Returns the name of a propositional atom. The scanners read a letter
+     * followed by at most two digits, so the letter advances every hundred
+     * atoms: A1 ... A99, B0 ... B99 and so on.
+     *
+     * @param index the atom number, from 1 to 2599
+     * @return the atom name
+     */
+    public static String atom(int index) {
+        if (index < 1 || index >= 26 * 100) {
+            throw new IllegalArgumentException("atom number out of range: " + index);
+        }
+        return (char) ('A' + index / 100) + Integer.toString(index % 100);
+    }
+
+    /**
+     * Returns the name of a predicate symbol of the predicate scanner, using
+     * the letters F to T in the same way as {@link #atom(int)}.
+     */
+    private static String predicate(int index) {
+        return (char) ('F' + index / 100) + Integer.toString(index % 100);
+    }
+
+    /**
+     * Returns the propositional text of the negation of a clause set.
+     */
+    static String negatedClauseText(List<int[]> clauses) {
+        List<String> parts = new ArrayList<>(clauses.size());
+        for (int[] clause : clauses) {
+            List<String> literals = new ArrayList<>(clause.length);
+            for (int literal : clause) {
+                literals.add(literal < 0 ? "!" + atom(-literal) : atom(literal));
+            }
+            parts.add(join(literals, "|"));
+        }
+        return "!(" + join(parts, "&") + ").";
+    }
+
+    /**
+     * Joins formulas with a connective as a balanced tree of fully bracketed
+     * binary formulas.
+     *
+     * @param parts the formulas, at least one
+     * @param connective the connective symbol
+     * @return the joined formula
+     */
+    public static String join(List<String> parts, String connective) {
+        StringBuilder text = new StringBuilder();
+        join(parts, 0, parts.size(), " " + connective + " ", text);
+        return text.toString();
+    }
+
+    private static void join(List<String> parts, int from, int to, String connective, StringBuilder text) {
+        if (to - from == 1) {
+            text.append(parts.get(from));
+            return;
+        }
+        int middle = (from + to) >>> 1;
+        text.append('(');
+        join(parts, from, middle, connective, text);
+        text.append(')').append(connective).append('(');
+        join(parts, middle, to, connective, text);
+        text.append(')');
+    }
+
+    private static void requirePositive(int value, String name) {
+        requireAtLeast(value, 1, name);
+    }
+
+    private static void requireAtLeast(int value, int minimum, String name) {
+        if (value < minimum) {
+            throw new IllegalArgumentException(name + " must be at least " + minimum + ", got " + value);
+        }
+    }
+}
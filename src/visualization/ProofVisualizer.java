@@ -2,6 +2,8 @@ package visualization;
 
 import common.ProofStep;
 import common.ProofTree;
+import common.metrics.MetricsRegistry;
+import common.metrics.Stage;
 import java.io.*;
 import java.util.*;
 
@@ -140,11 +142,13 @@ public class ProofVisualizer {
     public static class ASCIIProofTreeVisualizer {
 
         public static void displayProofTree(ProofTree proofTree) {
+            long start = System.nanoTime();
             System.out.println("\n🌳 PROOF TREE VISUALIZATION");
             System.out.println("=".repeat(60));
 
             if (proofTree.getStepCount() == 0) {
                 System.out.println("📋 No proof steps to visualize");
+                MetricsRegistry.getDefault().recordSince(Stage.RENDER, start);
                 return;
             }
 
@@ -167,6 +171,7 @@ public class ProofVisualizer {
             System.out.println("├─ Resolution");
             System.out.println("├─ Contradiction");
             System.out.println("└─ Conclusion");
+            MetricsRegistry.getDefault().recordSince(Stage.RENDER, start);
         }
 
         private static void displayProofStep(ProofStep step, int index) {
@@ -207,6 +212,7 @@ public class ProofVisualizer {
     public static class ProofExporter {
 
         public static void exportToText(ProofTree proofTree, String filename) {
+            long start = System.nanoTime();
             try (PrintWriter writer = new PrintWriter(new FileWriter(filename))) {
                 writer.println("THEOREM PROVER - PROOF EXPORT");
                 writer.println("=".repeat(50));
@@ -228,9 +234,11 @@ public class ProofVisualizer {
             } catch (IOException e) {
                 System.err.println("❌ Error exporting proof: " + e.getMessage());
             }
+            MetricsRegistry.getDefault().recordSince(Stage.RENDER, start);
         }
 
         public static void exportToLaTeX(ProofTree proofTree, String filename) {
+            long start = System.nanoTime();
             try (PrintWriter writer = new PrintWriter(new FileWriter(filename))) {
                 writer.println("\\documentclass{article}");
                 writer.println("\\usepackage{proof}");
@@ -263,6 +271,7 @@ public class ProofVisualizer {
             } catch (IOException e) {
                 System.err.println("❌ Error exporting LaTeX proof: " + e.getMessage());
             }
+            MetricsRegistry.getDefault().recordSince(Stage.RENDER, start);
         }
 
         public static void exportFormulaToFile(String formula, String filename) {
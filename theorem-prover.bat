@@ -2,6 +2,35 @@
 title Theorem Prover - First-Order Logic Theorem Prover
 color 0A
 
+REM Command line modes: --check [--logic L] [--proof] [--strategy S] FORMULA,
+REM --daemon [SOCKET [THREADS]] and --server [PORT [THREADS]]. cmd has no
+REM client for Unix domain sockets, so a check is passed to ProPreTP, which asks
+REM a running daemon on the default socket and proves it itself if there is none.
+REM The sources and classes live next to this script, wherever it is run from.
+set "HERE=%~dp0"
+if "%~1"=="" goto interactive
+set "CLASSES=%HERE%build\classes"
+if not exist "%CLASSES%\.built" goto build
+REM rebuild when a source is newer than the last build
+powershell -NoProfile -Command "$built = (Get-Item -LiteralPath '%CLASSES%\.built').LastWriteTime; if (Get-ChildItem -LiteralPath '%HERE%src' -Recurse -Filter *.java | Where-Object { $_.LastWriteTime -gt $built } | Select-Object -First 1) { exit 1 }"
+if errorlevel 1 goto build
+goto run
+:build
+if exist "%CLASSES%" rmdir /s /q "%CLASSES%"
+mkdir "%CLASSES%"
+type nul > "%HERE%build\sources.txt"
+for /f "delims=" %%f in ('dir /s /b "%HERE%src\*.java" ^| findstr /v /i "\\src\\test\\ \\src\\bench\\"') do call :source "%%f"
+javac -encoding UTF-8 -nowarn -d "%CLASSES%" @"%HERE%build\sources.txt"
+if errorlevel 1 exit /b 3
+type nul > "%CLASSES%\.built"
+:run
+java -cp "%CLASSES%" ProPreTP %*
+exit /b %errorlevel%
+
+:interactive
+REM The interactive prover is built and run in the directory of this script
+cd /d "%HERE%"
+
 echo.
 echo ========================================
 echo   THEOREM PROVER - WINDOWS VERSION
@@ -51,3 +80,11 @@ java -jar theorem-prover.jar
 echo.
 echo Theorem Prover has ended.
 pause
+exit /b
+
+:source
+REM Lists one source for javac quoted, with forward slashes, since javac reads
+REM a backslash in a quoted argument file entry as an escape
+set "SOURCE=%~1"
+>> "%HERE%build\sources.txt" echo "%SOURCE:\=/%"
+exit /b
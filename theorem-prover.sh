@@ -3,6 +3,116 @@
 # Theorem Prover - Linux/macOS Version
 # Author: Mark Schlichtmann
 # Version: 2.0
+#
+# Usage: theorem-prover.sh                     interactive prover
+#        theorem-prover.sh --check [--logic L] [--proof] [--strategy S] FORMULA
+#        theorem-prover.sh --daemon [SOCKET [THREADS]]
+#        theorem-prover.sh --server [PORT [THREADS]]
+#        theorem-prover.sh --calibrate FILE...     learn the fastest engines
+
+# The daemon socket, in the runtime directory of the user or else in a
+# directory of the temporary directory that only the user may enter
+if [ -n "$XDG_RUNTIME_DIR" ] && [ -d "$XDG_RUNTIME_DIR" ]; then
+    SOCKET="${THEOREM_PROVER_SOCKET:-$XDG_RUNTIME_DIR/theorem-prover.sock}"
+else
+    SOCKET="${THEOREM_PROVER_SOCKET:-${TMPDIR:-/tmp}/theorem-prover-$(id -un)/prover.sock}"
+fi
+export THEOREM_PROVER_SOCKET="$SOCKET"
+# The sources and classes live next to this script, wherever it is run from
+HERE="$(cd "$(dirname "${BASH_SOURCE[0]}")" && pwd)"
+CLASSES="$HERE/build/classes"
+BUILT="$CLASSES/.built"
+
+# Compile the sources for the command line modes whenever one of them is
+# newer than the last build
+compile_classes() {
+    if [ ! -f "$BUILT" ] || [ -n "$(find "$HERE/src" -name '*.java' -newer "$BUILT" -print | head -n 1)" ]; then
+        rm -rf "$CLASSES"
+        mkdir -p "$CLASSES"
+        find "$HERE/src" -name '*.java' -not -path "$HERE/src/test/*" -not -path "$HERE/src/bench/*" \
+            | sed 's/.*/"&"/' > "$HERE/build/sources.txt"
+        javac -encoding UTF-8 -nowarn -d "$CLASSES" "@$HERE/build/sources.txt" || exit 3
+        touch "$BUILT"
+    fi
+}
+
+# Escape a string for a JSON string literal
+json_quote() {
+    local text="${1//\\/\\\\}" quoted="" char code
+    text="${text//\"/\\\"}"
+    text="${text//$'\t'/\\t}"
+    text="${text//$'\r'/\\r}"
+    text="${text//$'\n'/\\n}"
+    # the remaining control characters as \u escapes
+    while [[ $text =~ [[:cntrl:]] ]]; do
+        char="${BASH_REMATCH[0]}"
+        printf -v code '\\u%04x' "'$char"
+        quoted="$quoted${text%%"$char"*}$code"
+        text="${text#*"$char"}"
+    done
+    printf '"%s"' "$quoted$text"
+}
+
+# Send one request line to the daemon, printing its answer line
+ask_daemon() {
+    if command -v socat &> /dev/null; then
+        printf '%s\n' "$1" | socat -t 60 - "UNIX-CONNECT:$SOCKET" 2> /dev/null
+    elif command -v nc &> /dev/null; then
+        printf '%s\n' "$1" | nc -U -N "$SOCKET" 2> /dev/null
+    else
+        return 1
+    fi
+}
+
+case "$1" in
+    --check)
+        shift
+        LOGIC="propositional"
+        PROOF="false"
+        STRATEGY=""
+        while [ $# -gt 0 ]; do
+            case "$1" in
+                --logic) LOGIC="$2"; shift 2 ;;
+                --strategy) STRATEGY="$2"; shift 2 ;;
+                --proof) PROOF="true"; shift ;;
+                *) break ;;
+            esac
+        done
+        if [ -S "$SOCKET" ] && [ -O "$SOCKET" ]; then
+            REQUEST="{\"logic\":$(json_quote "$LOGIC"),\"formula\":$(json_quote "$*"),\"proof\":$PROOF"
+            if [ -n "$STRATEGY" ]; then
+                REQUEST="$REQUEST,\"strategy\":$(json_quote "$STRATEGY")"
+            fi
+            ANSWER=$(ask_daemon "$REQUEST}")
+            if [ -n "$ANSWER" ]; then
+                echo "$ANSWER"
+                case "$ANSWER" in
+                    *'"verdict":"theorem"'*) exit 0 ;;
+                    *'"verdict":"not-theorem"'*) exit 1 ;;
+                    *'"verdict":"unknown"'*) exit 2 ;;
+                    *) exit 3 ;;
+                esac
+            fi
+        fi
+        # no daemon answered: prove in this process
+        compile_classes
+        ARGS=(--logic "$LOGIC")
+        if [ "$PROOF" = "true" ]; then
+            ARGS+=(--proof)
+        fi
+        if [ -n "$STRATEGY" ]; then
+            ARGS+=(--strategy "$STRATEGY")
+        fi
+        exec java -cp "$CLASSES" ProPreTP --check "${ARGS[@]}" "$@"
+        ;;
+    --daemon|--server|--calibrate)
+        compile_classes
+        exec java -cp "$CLASSES" ProPreTP "$@"
+        ;;
+esac
+
+# The interactive prover is built and run in the directory of this script
+cd "$HERE" || exit 1
 
 echo ""
 echo "========================================"